@@ -0,0 +1,59 @@
+package com.omp.hub.callback.benchmark;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omp.hub.callback.domain.enums.PaymentTypeEnum;
+import com.omp.hub.callback.domain.model.dto.information.InformationPaymentDTO;
+import com.omp.hub.callback.domain.model.dto.information.PaymentDTO;
+import com.omp.hub.callback.infrastructure.config.JacksonConfiguration;
+import com.omp.hub.callback.infrastructure.persistence.message.sqs.JsonMessageCodec;
+import com.omp.hub.callback.infrastructure.persistence.message.sqs.MessageCodecs;
+import com.omp.hub.callback.infrastructure.persistence.message.sqs.SmileMessageCodec;
+
+/**
+ * Objetos montados como na aplicacao, para que os benchmarks usem a mesma configuracao de
+ * serializacao dos beans.
+ */
+public final class BenchmarkFixtures {
+
+    public static final String TRANSACTION_ORDER_ID = "SV0000012765016H1";
+
+    private BenchmarkFixtures() {
+    }
+
+    public static ObjectMapper objectMapper() {
+        return new JacksonConfiguration().objectMapper();
+    }
+
+    public static MessageCodecs messageCodecs() {
+        ObjectMapper mapper = objectMapper();
+        MessageCodecs codecs = new MessageCodecs(List.of(new JsonMessageCodec(mapper), new SmileMessageCodec(mapper)));
+        codecs.init();
+        return codecs;
+    }
+
+    /**
+     * Pagamento salvo no Journey MS com a jornada de {@code payloads/journey-single.json}.
+     */
+    public static InformationPaymentDTO informationPayment(PaymentTypeEnum type) {
+        return InformationPaymentDTO.builder()
+                .uuid(UUID.fromString("9e1f6a2b-7c3d-4e5f-8a9b-0c1d2e3f4a5b"))
+                .identifier("0012765016")
+                .transactionOrderId(TRANSACTION_ORDER_ID)
+                .channel("LOJA")
+                .store("L123")
+                .pdv("PDV01")
+                .amount(new BigDecimal("2499.80"))
+                .payments(List.of(PaymentDTO.builder()
+                        .transactionOrderId(TRANSACTION_ORDER_ID)
+                        .paymentOrder(1)
+                        .type(type)
+                        .value(new BigDecimal("2499.80"))
+                        .journey(CallbackPayloads.load("journey-single"))
+                        .build()))
+                .build();
+    }
+}
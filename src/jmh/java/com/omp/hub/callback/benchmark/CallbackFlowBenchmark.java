@@ -0,0 +1,137 @@
+package com.omp.hub.callback.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omp.hub.callback.application.service.CallbackParser;
+import com.omp.hub.callback.application.service.CallbackTypeDetectorService;
+import com.omp.hub.callback.application.usecase.callback.CreditCardCallbackUseCase;
+import com.omp.hub.callback.application.usecase.callback.PixCallbackUseCase;
+import com.omp.hub.callback.application.usecase.callback.TefWebCallbackUseCase;
+import com.omp.hub.callback.application.usecase.callback.TransactionsCallbackUseCase;
+import com.omp.hub.callback.application.validator.CallbackValidator;
+import com.omp.hub.callback.domain.model.dto.callback.ParsedCallback;
+import com.omp.hub.callback.domain.model.dto.callback.creditcard.CreditCardCallbackRequest;
+import com.omp.hub.callback.domain.model.dto.callback.pix.PixCallbackRequest;
+import com.omp.hub.callback.domain.model.dto.callback.tefweb.TefWebCallbackRequest;
+import com.omp.hub.callback.domain.model.dto.callback.transactions.TransactionsRequest;
+import com.omp.hub.callback.domain.service.check.impl.CheckTypeObjectServiceImpl;
+import com.omp.hub.callback.domain.service.impl.callback.impl.CallbackServiceImpl;
+import com.omp.hub.callback.infrastructure.util.JsonSanitizerUtil;
+
+import jakarta.validation.Validation;
+
+/**
+ * Fluxo sincrono do controller ate o use case, do corpo ja desserializado em {@code Map}: o caminho
+ * antigo (String serializada e parseada a cada etapa) contra o {@link ParsedCallback}. A diferenca de
+ * alocacao aparece em {@code gc.alloc.rate.norm} com {@code -prof gc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CallbackFlowBenchmark {
+
+    @Param({CallbackPayloads.PIX, CallbackPayloads.CREDIT_CARD, CallbackPayloads.TEF_WEB, CallbackPayloads.TRANSACTIONS})
+    public String payload;
+
+    private Map<String, Object> data;
+    private ObjectMapper mapper;
+    private CallbackTypeDetectorService detector;
+    private CallbackParser parser;
+    private CallbackServiceImpl callbackService;
+    private ConsumingUseCases useCases;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp(Blackhole blackhole) throws Exception {
+        mapper = BenchmarkFixtures.objectMapper();
+        data = mapper.readValue(CallbackPayloads.load(payload), Map.class);
+
+        CheckTypeObjectServiceImpl checkTypeService = new CheckTypeObjectServiceImpl();
+        CallbackValidator validator = new CallbackValidator(Validation.buildDefaultValidatorFactory().getValidator());
+        detector = new CallbackTypeDetectorService(mapper, checkTypeService, validator);
+        parser = new CallbackParser(mapper, checkTypeService);
+
+        useCases = new ConsumingUseCases(blackhole);
+        callbackService = new CallbackServiceImpl();
+        ReflectionTestUtils.setField(callbackService, "pixCallbackUseCase", useCases);
+        ReflectionTestUtils.setField(callbackService, "creditCardCallbackUseCase", useCases);
+        ReflectionTestUtils.setField(callbackService, "tefwebCallbackUseCase", useCases);
+        ReflectionTestUtils.setField(callbackService, "transactionsCallbackUseCase", useCases);
+        ReflectionTestUtils.setField(callbackService, "validateService", checkTypeService);
+        ReflectionTestUtils.setField(callbackService, "objectMapper", mapper);
+    }
+
+    @Benchmark
+    public void stringPerStage() throws Exception {
+        String object = mapper.writeValueAsString(data);
+        String sanitized = JsonSanitizerUtil.sanitizeCallbackJson(object, mapper);
+        detector.isValidCallbackType(sanitized);
+        detector.detectTypeAndValidate(sanitized);
+        callbackService.processCallback(sanitized);
+    }
+
+    @Benchmark
+    public void parsedCallback() throws Exception {
+        ParsedCallback parsed = parser.parseAndSanitize(data);
+        detector.isValidCallbackType(parsed);
+        detector.detectTypeAndValidate(parsed);
+        callbackService.processCallback(parsed);
+    }
+
+    /**
+     * Use cases que so convertem o payload para o request, como os reais fazem antes do envio.
+     */
+    static final class ConsumingUseCases implements PixCallbackUseCase, CreditCardCallbackUseCase,
+            TefWebCallbackUseCase, TransactionsCallbackUseCase {
+
+        private final Blackhole blackhole;
+
+        ConsumingUseCases(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void sendCallback(ParsedCallback callback) {
+            blackhole.consume(callback.getPayload(callback.getType().getRequestClass()));
+        }
+
+        @Override
+        public void sendCallback(PixCallbackRequest request) {
+            blackhole.consume(request);
+        }
+
+        @Override
+        public void sendCallback(CreditCardCallbackRequest request) {
+            blackhole.consume(request);
+        }
+
+        @Override
+        public void sendCallback(TefWebCallbackRequest request) {
+            blackhole.consume(request);
+        }
+
+        @Override
+        public void sendCallback(TransactionsRequest request) {
+            blackhole.consume(request);
+        }
+    }
+}
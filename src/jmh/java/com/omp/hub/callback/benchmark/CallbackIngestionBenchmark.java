@@ -0,0 +1,79 @@
+package com.omp.hub.callback.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omp.hub.callback.application.service.CallbackParser;
+import com.omp.hub.callback.application.service.CallbackTypeDetectorService;
+import com.omp.hub.callback.application.validator.CallbackValidator;
+import com.omp.hub.callback.domain.model.dto.callback.ParsedCallback;
+import com.omp.hub.callback.domain.service.check.impl.CheckTypeObjectServiceImpl;
+import com.omp.hub.callback.infrastructure.util.JsonSanitizerUtil;
+
+import jakarta.validation.Validation;
+
+/**
+ * Entrada de um callback no controller: sanitizacao do texto, o caminho antigo por String
+ * (deteccao, {@code readValue} e validacao) e o caminho atual por {@link ParsedCallback}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CallbackIngestionBenchmark {
+
+    @Param({CallbackPayloads.PIX, CallbackPayloads.CREDIT_CARD, CallbackPayloads.TEF_WEB, CallbackPayloads.TRANSACTIONS})
+    public String payload;
+
+    private String json;
+    private Map<String, Object> data;
+    private ObjectMapper mapper;
+    private CallbackTypeDetectorService detector;
+    private CallbackParser parser;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        mapper = BenchmarkFixtures.objectMapper();
+        json = CallbackPayloads.load(payload);
+        data = mapper.readValue(json, Map.class);
+
+        CheckTypeObjectServiceImpl checkTypeService = new CheckTypeObjectServiceImpl();
+        CallbackValidator validator = new CallbackValidator(Validation.buildDefaultValidatorFactory().getValidator());
+        detector = new CallbackTypeDetectorService(mapper, checkTypeService, validator);
+        parser = new CallbackParser(mapper, checkTypeService);
+    }
+
+    @Benchmark
+    public String sanitizeJson() {
+        return JsonSanitizerUtil.sanitizeCallbackJson(json, mapper);
+    }
+
+    @Benchmark
+    public boolean detectAndValidateString() throws Exception {
+        detector.detectTypeAndValidate(json);
+        return detector.isValidCallbackType(json);
+    }
+
+    @Benchmark
+    public ParsedCallback parseDetectAndValidate() throws Exception {
+        ParsedCallback parsed = parser.parseAndSanitize(data);
+        detector.detectTypeAndValidate(parsed);
+        return parsed;
+    }
+}
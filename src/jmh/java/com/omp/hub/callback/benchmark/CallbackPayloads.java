@@ -0,0 +1,33 @@
+package com.omp.hub.callback.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Payloads de callback usados nos benchmarks, em {@code src/jmh/resources/payloads}.
+ * O TefWeb e o maior (varias vendas e transacoes); o PIX e o menor.
+ */
+public final class CallbackPayloads {
+
+    public static final String PIX = "pix";
+    public static final String CREDIT_CARD = "credit-card";
+    public static final String TEF_WEB = "tefweb";
+    public static final String TRANSACTIONS = "transactions";
+
+    private CallbackPayloads() {
+    }
+
+    public static String load(String name) {
+        String path = "/payloads/" + name + ".json";
+        try (InputStream input = CallbackPayloads.class.getResourceAsStream(path)) {
+            if (input == null) {
+                throw new IllegalArgumentException("Payload nao encontrado: " + path);
+            }
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.omp.hub.callback.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omp.hub.callback.domain.enums.CallbackType;
+import com.omp.hub.callback.domain.model.dto.callback.creditcard.CreditCardCallbackRequest;
+import com.omp.hub.callback.domain.model.dto.callback.pix.PixCallbackRequest;
+import com.omp.hub.callback.domain.model.dto.callback.tefweb.TefWebCallbackRequest;
+import com.omp.hub.callback.domain.model.dto.callback.transactions.TransactionsRequest;
+import com.omp.hub.callback.domain.service.check.impl.CheckTypeObjectServiceImpl;
+
+/**
+ * Deteccao do tipo de callback a partir do texto: a implementacao anterior (uma arvore por candidato,
+ * na ordem de processamento) contra a leitura em streaming dos campos de primeiro nivel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CallbackTypeDetectionBenchmark {
+
+    @Param({CallbackPayloads.PIX, CallbackPayloads.CREDIT_CARD, CallbackPayloads.TEF_WEB, CallbackPayloads.TRANSACTIONS})
+    public String payload;
+
+    private String json;
+    private CheckTypeObjectServiceImpl service;
+    private TreeTypeCheck treeTypeCheck;
+
+    @Setup
+    public void setUp() {
+        json = CallbackPayloads.load(payload);
+        service = new CheckTypeObjectServiceImpl();
+        treeTypeCheck = new TreeTypeCheck();
+    }
+
+    @Benchmark
+    public CallbackType treePerCandidate() {
+        for (CallbackType candidate : CallbackType.processingOrder()) {
+            if (treeTypeCheck.isValid(json, candidate.getRequestClass())) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public CallbackType streamingPerCandidate() {
+        for (CallbackType candidate : CallbackType.processingOrder()) {
+            if (service.isValid(json, candidate.getRequestClass())) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public CallbackType streamingSinglePass() {
+        return service.detect(json, CallbackType.processingOrder());
+    }
+
+    /**
+     * Copia da implementacao anterior de {@code CheckTypeObjectServiceImpl}, mantida so como referencia.
+     */
+    static final class TreeTypeCheck {
+
+        private final ObjectMapper objectMapper = new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+        boolean isValid(String request, Class<?> nameClass) {
+            try {
+                JsonNode node = objectMapper.readTree(request);
+                if (nameClass == TransactionsRequest.class) {
+                    return hasRequiredFields(node, "event");
+                }
+                if (nameClass == TefWebCallbackRequest.class) {
+                    return hasRequiredFields(node, "service", "paymentType", "sales");
+                }
+                if (nameClass == CreditCardCallbackRequest.class) {
+                    return hasRequiredFields(node, "payment");
+                }
+                if (nameClass == PixCallbackRequest.class) {
+                    return hasRequiredFields(node, "txId") || hasRequiredFields(node, "identifier");
+                }
+                return false;
+            } catch (Exception e) {
+                return false;
+            }
+        }
+
+        private boolean hasRequiredFields(JsonNode node, String... fields) {
+            for (String field : fields) {
+                if (!node.has(field) || node.get(field).isNull()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.omp.hub.callback.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omp.hub.callback.domain.model.dto.callback.CallbackRequest;
+import com.omp.hub.callback.infrastructure.persistence.message.sqs.JsonMessageCodec;
+import com.omp.hub.callback.infrastructure.persistence.message.sqs.MessageCodec;
+import com.omp.hub.callback.infrastructure.persistence.message.sqs.MessageCodecs;
+import com.omp.hub.callback.infrastructure.persistence.message.sqs.MessageSQS;
+import com.omp.hub.callback.infrastructure.persistence.message.sqs.SmileMessageCodec;
+
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+/**
+ * Corpo da mensagem SQS em cada {@link MessageCodec}, nas duas direcoes, contra a leitura anterior
+ * ({@code ObjectMapper.readValue} para mapas e depois {@code valueToTree}). O {@code data} e a
+ * arvore do callback, como o produtor envia.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageSqsSerializationBenchmark {
+
+    @Param({CallbackPayloads.PIX, CallbackPayloads.CREDIT_CARD, CallbackPayloads.TEF_WEB, CallbackPayloads.TRANSACTIONS})
+    public String payload;
+
+    @Param({JsonMessageCodec.VERSION, SmileMessageCodec.VERSION})
+    public String codecVersion;
+
+    private ObjectMapper mapper;
+    private MessageCodec codec;
+    private MessageSQS<Object> message;
+    private String body;
+    private String jsonBody;
+
+    @Setup
+    public void setUp() throws Exception {
+        mapper = BenchmarkFixtures.objectMapper();
+        MessageCodecs codecs = BenchmarkFixtures.messageCodecs();
+        codec = codecs.forAttributes(Map.of(MessageCodec.ATTRIBUTE,
+                MessageAttributeValue.builder().dataType("String").stringValue(codecVersion).build()));
+        JsonNode data = mapper.readTree(CallbackPayloads.load(payload));
+        message = MessageSQS.builder()
+                .callbackRequest(CallbackRequest.builder().data(data).build())
+                .timestamp(LocalDateTime.of(2024, 5, 10, 14, 32, 11))
+                .retryCount(0)
+                .build();
+        body = codec.encode(message);
+        jsonBody = codecs.json().encode(message);
+    }
+
+    @Benchmark
+    public String write() throws Exception {
+        return codec.encode(message);
+    }
+
+    @Benchmark
+    public Object read() throws Exception {
+        return codec.decode(body).getCallbackRequest().getData();
+    }
+
+    @Benchmark
+    public JsonNode objectMapperRead() throws Exception {
+        MessageSQS<?> decoded = mapper.readValue(jsonBody, MessageSQS.class);
+        return mapper.valueToTree(decoded.getCallbackRequest().getData());
+    }
+}
@@ -0,0 +1,76 @@
+package com.omp.hub.callback.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omp.hub.callback.domain.model.dto.callback.creditcard.CreditCardCallbackRequest;
+import com.omp.hub.callback.domain.model.dto.callback.pix.PixCallbackRequest;
+import com.omp.hub.callback.domain.model.dto.callback.tefweb.TefWebCallbackRequest;
+import com.omp.hub.callback.domain.model.dto.callback.transactions.TransactionsRequest;
+import com.omp.hub.callback.domain.model.dto.omphub.transaction.notification.OmphubTransactionNotificationRequest;
+import com.omp.hub.callback.domain.service.generate.impl.GenerateCallbackCardServiceImpl;
+import com.omp.hub.callback.domain.service.generate.impl.GenerateCallbackPixServiceImpl;
+import com.omp.hub.callback.domain.service.generate.impl.GenerateCallbackTefWebServiceImpl;
+import com.omp.hub.callback.domain.service.generate.impl.GenerateCallbackTransactionsServiceImpl;
+
+/**
+ * Montagem da notificacao de transacao enviada ao canal, para cada tipo de callback.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NotificationRequestBuilderBenchmark {
+
+    private PixCallbackRequest pix;
+    private CreditCardCallbackRequest creditCard;
+    private TefWebCallbackRequest tefWeb;
+    private TransactionsRequest transactions;
+
+    private final GenerateCallbackPixServiceImpl pixService = new GenerateCallbackPixServiceImpl();
+    private final GenerateCallbackCardServiceImpl cardService = new GenerateCallbackCardServiceImpl();
+    private final GenerateCallbackTefWebServiceImpl tefWebService = new GenerateCallbackTefWebServiceImpl();
+    private final GenerateCallbackTransactionsServiceImpl transactionsService = new GenerateCallbackTransactionsServiceImpl();
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper mapper = BenchmarkFixtures.objectMapper();
+        pix = mapper.readValue(CallbackPayloads.load(CallbackPayloads.PIX), PixCallbackRequest.class);
+        creditCard = mapper.readValue(CallbackPayloads.load(CallbackPayloads.CREDIT_CARD), CreditCardCallbackRequest.class);
+        tefWeb = mapper.readValue(CallbackPayloads.load(CallbackPayloads.TEF_WEB), TefWebCallbackRequest.class);
+        transactions = mapper.readValue(CallbackPayloads.load(CallbackPayloads.TRANSACTIONS), TransactionsRequest.class);
+    }
+
+    @Benchmark
+    public OmphubTransactionNotificationRequest pix() {
+        return pixService.generateRequest(pix);
+    }
+
+    @Benchmark
+    public OmphubTransactionNotificationRequest creditCard() {
+        return cardService.generateRequest(creditCard);
+    }
+
+    @Benchmark
+    public OmphubTransactionNotificationRequest tefWeb() {
+        return tefWebService.generateRequest(tefWeb, tefWeb.getOmpTransactionId());
+    }
+
+    @Benchmark
+    public OmphubTransactionNotificationRequest transactions() {
+        return transactionsService.generateRequest(transactions);
+    }
+}
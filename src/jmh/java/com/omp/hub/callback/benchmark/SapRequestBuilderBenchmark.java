@@ -0,0 +1,88 @@
+package com.omp.hub.callback.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omp.hub.callback.application.service.SapIntegrationService;
+import com.omp.hub.callback.domain.enums.PaymentTypeEnum;
+import com.omp.hub.callback.domain.model.dto.callback.tefweb.TefWebCallbackRequest;
+import com.omp.hub.callback.domain.model.dto.information.InformationPaymentDTO;
+import com.omp.hub.callback.domain.model.dto.sap.billing.payments.SapBillingPaymentsRequest;
+import com.omp.hub.callback.domain.model.dto.sap.payments.SapPaymentsRequest;
+import com.omp.hub.callback.domain.model.dto.sap.redemptions.SapRedemptionsRequest;
+import com.omp.hub.callback.domain.service.check.impl.CheckTypeObjectServiceImpl;
+import com.omp.hub.callback.domain.service.generate.impl.GenerateSapBillingPaymentsRequestServiceImpl;
+import com.omp.hub.callback.domain.service.generate.impl.GenerateSapPaymentRequestServiceImpl;
+import com.omp.hub.callback.domain.service.generate.impl.GenerateSapRedemptionsRequestServiceImpl;
+
+/**
+ * Montagem das requisicoes SAP para um callback TefWeb, incluindo a leitura da jornada salva,
+ * e o calculo do transactionOrderId base usado nos pagamentos multiplos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SapRequestBuilderBenchmark {
+
+    private TefWebCallbackRequest callback;
+    private InformationPaymentDTO info;
+    private GenerateSapRedemptionsRequestServiceImpl redemptionsService;
+    private GenerateSapPaymentRequestServiceImpl paymentsService;
+    private GenerateSapBillingPaymentsRequestServiceImpl billingPaymentsService;
+    private SapIntegrationService sapIntegrationService;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper mapper = BenchmarkFixtures.objectMapper();
+        callback = mapper.readValue(CallbackPayloads.load(CallbackPayloads.TEF_WEB), TefWebCallbackRequest.class);
+        info = BenchmarkFixtures.informationPayment(PaymentTypeEnum.TEFWEB);
+        CheckTypeObjectServiceImpl checkTypeService = new CheckTypeObjectServiceImpl();
+
+        redemptionsService = new GenerateSapRedemptionsRequestServiceImpl();
+        paymentsService = new GenerateSapPaymentRequestServiceImpl();
+        billingPaymentsService = new GenerateSapBillingPaymentsRequestServiceImpl();
+        for (Object service : new Object[] {redemptionsService, paymentsService, billingPaymentsService}) {
+            ReflectionTestUtils.setField(service, "mapper", mapper);
+            ReflectionTestUtils.setField(service, "atvSimplLoja", "L999");
+        }
+        ReflectionTestUtils.setField(paymentsService, "validateService", checkTypeService);
+        ReflectionTestUtils.setField(billingPaymentsService, "validateService", checkTypeService);
+
+        sapIntegrationService = new SapIntegrationService();
+    }
+
+    @Benchmark
+    public SapRedemptionsRequest redemptions() {
+        return redemptionsService.generateRequest(info);
+    }
+
+    @Benchmark
+    public SapPaymentsRequest payments() {
+        return paymentsService.generateRequest(callback, info);
+    }
+
+    @Benchmark
+    public SapBillingPaymentsRequest billingPayments() {
+        return billingPaymentsService.generateRequest(callback, info);
+    }
+
+    @Benchmark
+    public String extractBaseTransactionOrderId() {
+        return sapIntegrationService.extractBaseTransactionOrderId(BenchmarkFixtures.TRANSACTION_ORDER_ID);
+    }
+}
@@ -1,18 +1,41 @@
 package com.omp.hub.callback.application.config;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Executores da aplicacao. Com {@code spring.threads.virtual.enabled=true} em Java 21,
+ * {@code callbackExecutor}, {@code retryExecutor}, {@code retryScheduler} e
+ * {@code notificationExecutor} passam a usar uma virtual thread por tarefa (ver
+ * {@link VirtualThreads}). O {@code apigeeTokenExecutor} continua
+ * com uma thread de plataforma porque a fila de uma posicao e o que descarta refreshes duplicados.
+ */
 @Configuration
 @EnableAsync
+@RequiredArgsConstructor
+@Slf4j
 public class AsyncConfig {
 
+    private final Environment environment;
+
     @Bean(name = "callbackExecutor")
     public Executor callbackExecutor() {
+        if (VirtualThreads.isActive(environment)) {
+            log.info("callbackExecutor usando virtual threads");
+            return VirtualThreads.executor("callback-async-", 60_000);
+        }
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(10);
         executor.setMaxPoolSize(20);
@@ -26,6 +49,10 @@ public class AsyncConfig {
 
     @Bean(name = "retryExecutor")
     public Executor retryExecutor() {
+        if (VirtualThreads.isActive(environment)) {
+            return VirtualThreads.executor("retry-async-", 120_000);
+        }
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(20);
         executor.setMaxPoolSize(50);
@@ -36,4 +63,53 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    @Bean(name = "retryScheduler")
+    public TaskScheduler retryScheduler() {
+        if (VirtualThreads.isActive(environment)) {
+            return VirtualThreads.scheduler("retry-scheduler-");
+        }
+
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(2);
+        scheduler.setThreadNamePrefix("retry-scheduler-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(false);
+        scheduler.initialize();
+        return scheduler;
+    }
+
+    /**
+     * Consultas de enriquecimento e envios de SMS/email das notificacoes de PIX Automatico. Quem
+     * dispara espera o resultado, entao o pool e separado do {@code callbackExecutor} (que pode ser
+     * o proprio chamador) e nao tem fila: sem thread livre, a tarefa roda na thread de quem chamou.
+     */
+    @Bean(name = "notificationExecutor")
+    public Executor notificationExecutor() {
+        if (VirtualThreads.isActive(environment)) {
+            return VirtualThreads.executor("notification-async-", 30_000);
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(10);
+        executor.setMaxPoolSize(40);
+        executor.setQueueCapacity(0);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("notification-async-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "apigeeTokenExecutor")
+    public Executor apigeeTokenExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("apigee-token-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
 }
@@ -0,0 +1,60 @@
+package com.omp.hub.callback.application.config;
+
+import java.util.concurrent.ThreadFactory;
+
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
+
+/**
+ * Modo de execucao em virtual threads, ligado por {@code spring.threads.virtual.enabled}.
+ * <p>
+ * A mesma propriedade faz o Spring Boot rodar o Tomcat em virtual threads. Virtual threads exigem
+ * Java 21: em JVMs anteriores a propriedade e ignorada e os executores continuam com os pools de
+ * plataforma, assim o mesmo artefato roda nas duas versoes.
+ */
+public final class VirtualThreads {
+
+    public static final String PROPERTY = "spring.threads.virtual.enabled";
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        return JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE);
+    }
+
+    public static boolean isActive(boolean requested) {
+        return requested && isSupported();
+    }
+
+    public static boolean isActive(Environment environment) {
+        return isActive(environment.getProperty(PROPERTY, Boolean.class, false));
+    }
+
+    /**
+     * Uma virtual thread por tarefa. Sem limite de concorrencia: quem limita sao os bulkheads de
+     * cada downstream e o {@code max-in-flight} do consumidor.
+     *
+     * @param terminationTimeoutMillis tempo que o {@code close()} espera as tarefas em andamento
+     */
+    public static SimpleAsyncTaskExecutor executor(String threadNamePrefix, long terminationTimeoutMillis) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        executor.setTaskTerminationTimeout(terminationTimeoutMillis);
+        return executor;
+    }
+
+    public static SimpleAsyncTaskScheduler scheduler(String threadNamePrefix) {
+        SimpleAsyncTaskScheduler scheduler = new SimpleAsyncTaskScheduler();
+        scheduler.setThreadNamePrefix(threadNamePrefix);
+        scheduler.setVirtualThreads(true);
+        return scheduler;
+    }
+
+    public static ThreadFactory threadFactory(String threadNamePrefix) {
+        return new VirtualThreadTaskExecutor(threadNamePrefix).getVirtualThreadFactory();
+    }
+}
@@ -0,0 +1,33 @@
+package com.omp.hub.callback.application.consumer;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Executa tarefas de grupos diferentes em paralelo e tarefas do mesmo grupo estritamente em ordem
+ * de submissao, reproduzindo a semantica de {@code messageGroupId} das filas FIFO.
+ */
+public class MessageGroupExecutor {
+
+    private final Executor delegate;
+    private final Map<String, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+
+    public MessageGroupExecutor(Executor delegate) {
+        this.delegate = delegate;
+    }
+
+    public CompletableFuture<Void> submit(String groupId, Runnable task) {
+        CompletableFuture<Void> next = tails.compute(groupId, (key, tail) -> tail == null
+                ? CompletableFuture.runAsync(task, delegate)
+                : tail.handle((ignored, error) -> null).thenRunAsync(task, delegate));
+
+        next.whenComplete((ignored, error) -> tails.remove(groupId, next));
+        return next;
+    }
+
+    public int activeGroups() {
+        return tails.size();
+    }
+}
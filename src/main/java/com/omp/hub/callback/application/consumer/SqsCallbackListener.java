@@ -1,26 +1,51 @@
 package com.omp.hub.callback.application.consumer;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.omp.hub.callback.application.config.VirtualThreads;
 import com.omp.hub.callback.application.service.CallbackErrorNotificationService;
+import com.omp.hub.callback.application.service.CallbackIdempotencyCache;
+import com.omp.hub.callback.application.service.CallbackParser;
+import com.omp.hub.callback.domain.model.dto.callback.ParsedCallback;
 import com.omp.hub.callback.domain.service.impl.callback.CallbackService;
+import com.omp.hub.callback.infrastructure.metrics.CallbackMetrics;
+import com.omp.hub.callback.infrastructure.persistence.message.sqs.CallbackRouting;
+import com.omp.hub.callback.infrastructure.persistence.message.sqs.MessageCodec;
+import com.omp.hub.callback.infrastructure.persistence.message.sqs.MessageCodecs;
 import com.omp.hub.callback.infrastructure.persistence.message.sqs.MessageSQS;
 import com.omp.hub.callback.infrastructure.persistence.message.sqs.SqsMessageRepository;
+import com.omp.hub.callback.infrastructure.util.BoundedMap;
+import com.omp.hub.callback.infrastructure.util.CallbackFingerprint;
 
 import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityRequest;
 import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
 import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
 
@@ -33,13 +58,30 @@ import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
 @Slf4j
 public class SqsCallbackListener {
 
+    private static final String MESSAGE_GROUP_ID = "MessageGroupId";
+    private static final String APPROXIMATE_RECEIVE_COUNT = "ApproximateReceiveCount";
+    private static final String TIMESTAMP_ATTRIBUTE = "timestamp";
+    private static final String RETRY_OPERATION = "sqs-message";
+    private static final String RETRY_MODE_RESEND = "resend";
+    private static final int SQS_MAX_VISIBILITY_TIMEOUT_SECONDS = 43_200;
+    private static final List<String> RECEIVED_ATTRIBUTES = receivedAttributes();
+    private static final int MAX_TRACKED_BOUNCES = 10_000;
+
     private final SqsClient sqsClient;
     private final CallbackService callbackService;
-    private final ObjectMapper objectMapper;
+    private final MessageCodecs codecs;
     private final CallbackErrorNotificationService callbackErrorNotificationService;
     private final SqsMessageRepository sqsMessageRepository;
+    private final CallbackParser callbackParser;
+    private final CallbackIdempotencyCache idempotencyCache;
     private final AtomicBoolean running = new AtomicBoolean(false);
 
+    /**
+     * Quantas vezes cada mensagem (pelo id do SQS) foi devolvida a fila sem processar, para que
+     * essas entregas nao contem como tentativas no {@code ApproximateReceiveCount}.
+     */
+    private final BoundedMap<String, Integer> bounces = new BoundedMap<>(() -> MAX_TRACKED_BOUNCES);
+
     @Value("${aws.sqs.queue-url}")
     private String queueUrl;
 
@@ -52,22 +94,83 @@ public class SqsCallbackListener {
     @Value("${aws.sqs.consumer.wait-time-seconds:20}")
     private int waitTimeSeconds;
 
-    public SqsCallbackListener(SqsClient sqsClient, CallbackService callbackService, ObjectMapper objectMapper,
+    @Value("${aws.sqs.consumer.pollers:1}")
+    private int pollers = 1;
+
+    @Value("${aws.sqs.consumer.worker-threads:10}")
+    private int workerThreads = 10;
+
+    @Value("${aws.sqs.consumer.max-in-flight:20}")
+    private int maxInFlight = 20;
+
+    @Value("${aws.sqs.consumer.shutdown-timeout-seconds:30}")
+    private int shutdownTimeoutSeconds = 30;
+
+    @Value("${aws.sqs.consumer.retry-mode:visibility}")
+    private String retryMode = "visibility";
+
+    @Value("${aws.sqs.consumer.visibility-retry.base-delay-seconds:30}")
+    private int retryBaseDelaySeconds = 30;
+
+    @Value("${aws.sqs.consumer.visibility-retry.max-delay-seconds:900}")
+    private int retryMaxDelaySeconds = 900;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads = false;
+
+    private Semaphore inFlight;
+    private AsyncTaskExecutor workerExecutor;
+    private MessageGroupExecutor groupExecutor;
+
+    public SqsCallbackListener(SqsClient sqsClient, CallbackService callbackService, MessageCodecs codecs,
             CallbackErrorNotificationService callbackErrorNotificationService,
-            SqsMessageRepository sqsMessageRepository) {
+            SqsMessageRepository sqsMessageRepository, CallbackParser callbackParser,
+            CallbackIdempotencyCache idempotencyCache) {
         this.sqsClient = sqsClient;
         this.callbackService = callbackService;
-        this.objectMapper = objectMapper;
+        this.codecs = codecs;
         this.callbackErrorNotificationService = callbackErrorNotificationService;
         this.sqsMessageRepository = sqsMessageRepository;
+        this.callbackParser = callbackParser;
+        this.idempotencyCache = idempotencyCache;
     }
 
     @EventListener(ContextRefreshedEvent.class)
     @Async
     public void startPolling() {
         if (running.compareAndSet(false, true)) {
-            log.info("Iniciando polling do SQS. Queue URL: {}", queueUrl);
+            boolean virtual = VirtualThreads.isActive(virtualThreads);
+            log.info("Iniciando polling do SQS. Queue URL: {}, Pollers: {}, Workers: {}, Max in-flight: {}, Virtual threads: {}",
+                    queueUrl, pollers, virtual ? "sob demanda" : workerThreads, maxInFlight, virtual);
+
+            startWorkers(virtual);
+
+            ThreadFactory pollerFactory = virtual ? VirtualThreads.threadFactory("sqs-poller-") : null;
+            List<Thread> extraPollers = new ArrayList<>();
+            for (int i = 1; i < Math.max(1, pollers); i++) {
+                Thread poller;
+                if (pollerFactory != null) {
+                    poller = pollerFactory.newThread(this::pollMessages);
+                } else {
+                    poller = new Thread(this::pollMessages, "sqs-poller-" + i);
+                    poller.setDaemon(true);
+                }
+                poller.start();
+                extraPollers.add(poller);
+            }
+
             pollMessages();
+
+            for (Thread poller : extraPollers) {
+                try {
+                    poller.join(TimeUnit.SECONDS.toMillis(waitTimeSeconds + 5L));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            awaitInFlight();
+            shutdownWorkers();
         }
     }
 
@@ -77,26 +180,78 @@ public class SqsCallbackListener {
         running.set(false);
     }
 
+    /**
+     * Em virtual threads cada mensagem ganha sua propria thread e {@code worker-threads} deixa de
+     * valer: a concorrencia fica limitada so por {@code max-in-flight}.
+     */
+    private void startWorkers(boolean virtual) {
+        int limit = Math.max(1, maxInFlight);
+        inFlight = new Semaphore(limit);
+
+        if (virtual) {
+            workerExecutor = VirtualThreads.executor("sqs-worker-", 0);
+        } else {
+            ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+            pool.setCorePoolSize(Math.max(1, workerThreads));
+            pool.setMaxPoolSize(Math.max(1, workerThreads));
+            pool.setQueueCapacity(limit);
+            pool.setThreadNamePrefix("sqs-worker-");
+            pool.initialize();
+            workerExecutor = pool;
+        }
+
+        groupExecutor = new MessageGroupExecutor(workerExecutor);
+    }
+
+    private void shutdownWorkers() {
+        if (workerExecutor instanceof ThreadPoolTaskExecutor pool) {
+            pool.shutdown();
+        } else if (workerExecutor instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Erro ao encerrar workers do SQS: {}", e.getMessage());
+            }
+        }
+    }
+
     private void pollMessages() {
         while (running.get()) {
+            int capacity = 0;
             try {
+                capacity = acquireCapacity();
+                if (capacity == 0) {
+                    continue;
+                }
+
                 ReceiveMessageRequest receiveRequest = ReceiveMessageRequest.builder()
                         .queueUrl(queueUrl)
-                        .maxNumberOfMessages(maxNumberOfMessages)
+                        .maxNumberOfMessages(capacity)
                         .waitTimeSeconds(waitTimeSeconds)
+                        .attributeNamesWithStrings(MESSAGE_GROUP_ID, APPROXIMATE_RECEIVE_COUNT)
+                        .messageAttributeNames(RECEIVED_ATTRIBUTES)
                         .build();
 
-                ReceiveMessageResponse response = sqsClient.receiveMessage(receiveRequest);
+                ReceiveMessageResponse response = CallbackMetrics.recordStage(CallbackMetrics.SQS_RECEIVE,
+                        () -> sqsClient.receiveMessage(receiveRequest));
                 List<Message> messages = response.messages();
 
+                int unused = capacity - messages.size();
+                if (unused > 0) {
+                    inFlight.release(unused);
+                }
+                capacity = 0;
+
                 if (!messages.isEmpty()) {
                     log.info("Recebidas {} mensagens do SQS", messages.size());
+                    Set<String> retriedGroups = ConcurrentHashMap.newKeySet();
                     for (Message message : messages) {
-                        processMessage(message);
+                        dispatch(message, retriedGroups);
                     }
                 }
 
             } catch (Exception e) {
+                inFlight.release(capacity);
                 log.error("Erro durante polling do SQS: {}", e.getMessage(), e);
                 try {
                     Thread.sleep(5000);
@@ -109,35 +264,123 @@ public class SqsCallbackListener {
         log.info("Polling do SQS finalizado");
     }
 
-    private void processMessage(Message message) {
+    /**
+     * Reserva vagas de processamento antes do receive, para nunca buscar mais mensagens do que os
+     * workers conseguem absorver (e nao deixar mensagens consumindo visibility timeout na fila local).
+     */
+    private int acquireCapacity() throws InterruptedException {
+        if (!inFlight.tryAcquire(1, TimeUnit.SECONDS)) {
+            return 0;
+        }
+        int capacity = 1;
+        while (capacity < maxNumberOfMessages && inFlight.tryAcquire()) {
+            capacity++;
+        }
+        return capacity;
+    }
+
+    private void dispatch(Message message, Set<String> retriedGroups) {
+        String groupId = message.attributesAsStrings().get(MESSAGE_GROUP_ID);
+        String key = groupId != null ? groupId : message.messageId();
+
+        try {
+            groupExecutor.submit(key, () -> processInGroup(message, groupId, retriedGroups))
+                    .whenComplete((ignored, error) -> inFlight.release());
+        } catch (Exception e) {
+            inFlight.release();
+            log.error("Erro ao despachar mensagem para processamento. MessageId: {}, Erro: {}",
+                    message.messageId(), e.getMessage(), e);
+        }
+    }
+
+    private void awaitInFlight() {
+        int limit = Math.max(1, maxInFlight);
+        try {
+            if (inFlight.tryAcquire(limit, shutdownTimeoutSeconds, TimeUnit.SECONDS)) {
+                inFlight.release(limit);
+            } else {
+                log.warn("Timeout aguardando mensagens em processamento: {} ainda em andamento",
+                        limit - inFlight.availablePermits());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * No modo visibility a mensagem que falhou continua na fila, entao as mensagens seguintes do
+     * mesmo grupo que vieram no mesmo receive sao devolvidas sem processar: o SQS so as entrega de
+     * novo depois da mensagem que esta aguardando retry, mantendo a ordem do grupo. Cada devolucao
+     * e registrada em {@link #bounces} e descontada do contador de tentativas.
+     * <p>
+     * O desconto vale so para esta instancia. Uma redrive policy da fila conta todas as entregas,
+     * entao o {@code maxReceiveCount} precisa cobrir as devolucoes alem das tentativas.
+     */
+    private void processInGroup(Message message, String groupId, Set<String> retriedGroups) {
+        if (groupId != null && retriedGroups.contains(groupId)) {
+            log.info("Mensagem devolvida a fila para preservar a ordem do grupo. MessageId: {}, MessageGroupId: {}",
+                    message.messageId(), groupId);
+            bounces.compute(message.messageId(), (id, count) -> count == null ? 1 : count + 1);
+            changeVisibility(message.receiptHandle(), 0);
+            return;
+        }
+
+        if (processMessage(message)) {
+            bounces.remove(message.messageId());
+        } else if (groupId != null && isVisibilityRetry()) {
+            retriedGroups.add(groupId);
+        }
+    }
+
+    /**
+     * Retorna {@code false} quando a mensagem ficou na fila aguardando retry por visibility timeout.
+     */
+    private boolean processMessage(Message message) {
         String messageId = message.messageId();
-        String txId = null;
+        CallbackRouting routing = CallbackRouting.fromAttributes(message.messageAttributes());
+        String txId = routing.logId();
         MessageSQS<Object> messageSQS = null;
 
         try {
-            log.info("Mensagem recebida do SQS. MessageId: {}", messageId);
-
-            messageSQS = parseMessage(message.body());
-            txId = extractTxId(messageSQS);
+            log.info("Mensagem recebida do SQS. MessageId: {}, TxId: {}, Tipo: {}",
+                    messageId, txId, routing.getCallbackType());
+            recordQueueAge(message);
+
+            messageSQS = parseMessage(message);
+            JsonNode callbackTree = readCallbackTree(messageSQS);
+            if (txId == null) {
+                txId = CallbackFingerprint.txId(callbackTree);
+            }
             messageId = messageSQS.getMessageId() != null ? messageSQS.getMessageId() : messageId;
             
-            int retryCount = getRetryCount(messageSQS);
+            int retryCount = getRetryCount(messageSQS, message);
+
+            String fingerprint = routing.getFingerprint() != null
+                    ? routing.getFingerprint() : CallbackFingerprint.of(callbackTree);
+            CallbackIdempotencyCache.Window processed = idempotencyCache.window(CallbackIdempotencyCache.CONSUMER);
+            if (processed.contains(fingerprint)) {
+                deleteMessage(message.receiptHandle());
+                log.info("Callback repetido removido da fila sem reprocessar. MessageId: {}, TxId: {}", messageId, txId);
+                return true;
+            }
 
             log.info("Processando callback. MessageId: {}, TxId: {}, RetryCount: {}/{}",
                     messageId, txId, retryCount, maxRetries);
 
-            String jsonPayload = extractDataAsJson(messageSQS);
-            callbackService.processCallback(jsonPayload);
+            ParsedCallback parsedCallback = parseCallback(callbackTree, routing);
+            callbackService.processCallback(parsedCallback);
+            processed.record(fingerprint);
 
             deleteMessage(message.receiptHandle());
             log.info("Callback processado com sucesso. MessageId: {}, TxId: {}", messageId, txId);
+            return true;
 
         } catch (Exception e) {
-            int retryCount = getRetryCount(messageSQS);
+            int retryCount = getRetryCount(messageSQS, message);
             log.error("Erro ao processar callback. MessageId: {}, TxId: {}, RetryCount: {}/{}, Erro: {}",
                     messageId, txId, retryCount, maxRetries, e.getMessage(), e);
 
-            handleProcessingError(messageSQS, messageId, txId, e, message.receiptHandle(), retryCount);
+            return handleProcessingError(messageSQS, routing, messageId, txId, e, message.receiptHandle(), retryCount);
         }
     }
 
@@ -147,20 +390,85 @@ public class SqsCallbackListener {
                     .queueUrl(queueUrl)
                     .receiptHandle(receiptHandle)
                     .build();
-            sqsClient.deleteMessage(deleteRequest);
+            CallbackMetrics.recordStage(CallbackMetrics.SQS_DELETE, () -> sqsClient.deleteMessage(deleteRequest));
         } catch (Exception e) {
             log.error("Erro ao deletar mensagem do SQS: {}", e.getMessage(), e);
         }
     }
 
-    private int getRetryCount(MessageSQS<Object> messageSQS) {
+    private boolean changeVisibility(String receiptHandle, int visibilityTimeoutSeconds) {
+        try {
+            sqsClient.changeMessageVisibility(ChangeMessageVisibilityRequest.builder()
+                    .queueUrl(queueUrl)
+                    .receiptHandle(receiptHandle)
+                    .visibilityTimeout(visibilityTimeoutSeconds)
+                    .build());
+            return true;
+        } catch (Exception e) {
+            log.error("Erro ao alterar visibilidade da mensagem no SQS: {}", e.getMessage(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Idade calculada a partir do atributo {@code timestamp} gravado pelo produtor, que e mantido
+     * nos reenvios, de modo que inclui o tempo gasto em tentativas anteriores.
+     */
+    private void recordQueueAge(Message message) {
+        MessageAttributeValue timestamp = message.messageAttributes().get(TIMESTAMP_ATTRIBUTE);
+        if (timestamp == null || timestamp.stringValue() == null) {
+            return;
+        }
+        try {
+            Instant enqueuedAt = LocalDateTime.parse(timestamp.stringValue()).atZone(ZoneId.systemDefault()).toInstant();
+            CallbackMetrics.recordQueueAge(Duration.between(enqueuedAt, Instant.now()));
+        } catch (DateTimeParseException e) {
+            log.debug("Timestamp da mensagem invalido: {}", timestamp.stringValue());
+        }
+    }
+
+    private boolean isVisibilityRetry() {
+        return !RETRY_MODE_RESEND.equalsIgnoreCase(retryMode);
+    }
+
+    /**
+     * No modo resend o contador viaja no corpo da mensagem. No modo visibility a mensagem nao e
+     * reenviada, entao as tentativas anteriores vem do {@code ApproximateReceiveCount}, menos as
+     * entregas em que a mensagem foi devolvida sem processar, somadas ao contador de mensagens que
+     * ja tinham sido reenviadas antes da troca de modo.
+     */
+    private int getRetryCount(MessageSQS<Object> messageSQS, Message message) {
+        if (isVisibilityRetry() && messageSQS != null) {
+            int previousRetries = messageSQS.getRetryCount() != null ? messageSQS.getRetryCount() : 0;
+            Integer bounced = bounces.get(message.messageId());
+            int failedReceives = getReceiveCount(message) - 1 - (bounced != null ? bounced : 0);
+            return previousRetries + Math.max(0, failedReceives);
+        }
         if (messageSQS != null && messageSQS.getRetryCount() != null) {
             return messageSQS.getRetryCount();
         }
         return 1;
     }
 
-    private void handleProcessingError(MessageSQS<Object> messageSQS, String messageId, 
+    private int getReceiveCount(Message message) {
+        String receiveCount = message.attributesAsStrings().get(APPROXIMATE_RECEIVE_COUNT);
+        if (receiveCount == null) {
+            return 1;
+        }
+        try {
+            return Integer.parseInt(receiveCount);
+        } catch (NumberFormatException e) {
+            return 1;
+        }
+    }
+
+    int visibilityBackoffSeconds(int retryCount) {
+        long delay = (long) Math.max(0, retryBaseDelaySeconds) << Math.min(Math.max(0, retryCount), 20);
+        long capped = Math.min(delay, Math.min(retryMaxDelaySeconds, SQS_MAX_VISIBILITY_TIMEOUT_SECONDS));
+        return (int) Math.max(0, capped);
+    }
+
+    private boolean handleProcessingError(MessageSQS<Object> messageSQS, CallbackRouting routing, String messageId,
             String txId, Exception error, String receiptHandle, int retryCount) {
         try {
             if (retryCount >= maxRetries) {
@@ -174,13 +482,27 @@ public class SqsCallbackListener {
                 if (messageSQS != null) {
                     sqsMessageRepository.sendToDLQ(messageSQS, error);
                 }
+                CallbackMetrics.countRetry(RETRY_OPERATION, "exhausted");
                 
                 deleteMessage(receiptHandle);
                 log.info("Mensagem removida da fila e enviada para DLQ. MessageId: {}, TxId: {}", messageId, txId);
                 
+            } else if (isVisibilityRetry() && messageSQS != null) {
+                int delaySeconds = visibilityBackoffSeconds(retryCount);
+                CallbackMetrics.countRetry(RETRY_OPERATION, "visibility");
+                if (changeVisibility(receiptHandle, delaySeconds)) {
+                    log.info("Mensagem mantida na fila para retry {}/{} em {}s. MessageId: {}, TxId: {}",
+                            retryCount + 1, maxRetries, delaySeconds, messageId, txId);
+                } else {
+                    log.warn("Mensagem ficara visivel ao fim do visibility timeout da fila. MessageId: {}, TxId: {}",
+                            messageId, txId);
+                }
+                return false;
+
             } else {
                 if (messageSQS != null) {
-                    sqsMessageRepository.resendForRetry(messageSQS);
+                    sqsMessageRepository.resendForRetry(messageSQS, routing);
+                    CallbackMetrics.countRetry(RETRY_OPERATION, "resend");
                     log.info("Mensagem reenviada para retry {}/{}. MessageId: {}, TxId: {}",
                             retryCount + 1, maxRetries, messageId, txId);
                 }
@@ -197,63 +519,56 @@ public class SqsCallbackListener {
                 log.error("Erro ao deletar mensagem: {}", delError.getMessage());
             }
         }
+        return true;
     }
 
-    @SuppressWarnings("unchecked")
-    private MessageSQS<Object> parseMessage(String messageBody) {
+    private MessageSQS<Object> parseMessage(Message message) {
         try {
-            return objectMapper.readValue(messageBody, MessageSQS.class);
+            MessageCodec codec = codecs.forAttributes(message.messageAttributes());
+            return CallbackMetrics.recordStage(CallbackMetrics.SQS_DECODE, () -> codec.decode(message.body()));
         } catch (Exception e) {
             log.error("Erro ao parsear mensagem: {}", e.getMessage(), e);
             throw new RuntimeException("Falha ao parsear mensagem", e);
         }
     }
 
-    private String extractDataAsJson(MessageSQS<Object> messageSQS) {
+    private JsonNode readCallbackTree(MessageSQS<Object> messageSQS) {
         try {
             if (messageSQS.getCallbackRequest() != null && messageSQS.getCallbackRequest().getData() != null) {
-                return objectMapper.writeValueAsString(messageSQS.getCallbackRequest().getData());
+                Object data = messageSQS.getCallbackRequest().getData();
+                // Mensagens que levavam o data como texto JSON
+                if (data instanceof JsonNode node && node.isTextual()) {
+                    data = node.asText();
+                }
+                return callbackParser.readTree(data);
             }
-            throw new IllegalStateException("CallbackRequest ou Data esta nulo");
         } catch (Exception e) {
-            log.error("Erro ao extrair data como JSON: {}", e.getMessage(), e);
-            throw new RuntimeException("Falha ao extrair payload do callback", e);
+            log.debug("Nao foi possivel ler o payload do callback: {}", e.getMessage());
         }
+        return null;
     }
 
-    private String extractTxId(MessageSQS<Object> messageSQS) {
+    /**
+     * Com o atributo {@code callbackType} o tipo ja vem resolvido pelo produtor e a deteccao e
+     * pulada; mensagens antigas, sem o atributo, passam pela deteccao.
+     */
+    private ParsedCallback parseCallback(JsonNode callbackTree, CallbackRouting routing) {
         try {
-            if (messageSQS.getCallbackRequest() != null && messageSQS.getCallbackRequest().getData() != null) {
-                Object data = messageSQS.getCallbackRequest().getData();
-                String dataJson = objectMapper.writeValueAsString(data);
-
-                com.google.gson.JsonObject jsonObject = com.google.gson.JsonParser.parseString(dataJson).getAsJsonObject();
-
-                if (jsonObject.has("txId") && !jsonObject.get("txId").isJsonNull()) {
-                    String txId = jsonObject.get("txId").getAsString();
-                    if (txId != null && !txId.isEmpty()) {
-                        return txId;
-                    }
-                }
-
-                if (jsonObject.has("identifier") && !jsonObject.get("identifier").isJsonNull()) {
-                    String identifier = jsonObject.get("identifier").getAsString();
-                    if (identifier != null && !identifier.isEmpty()) {
-                        return identifier;
-                    }
-                }
-
-                if (jsonObject.has("ompTransactionId") && !jsonObject.get("ompTransactionId").isJsonNull()) {
-                    String ompTransactionId = jsonObject.get("ompTransactionId").getAsString();
-                    if (ompTransactionId != null && !ompTransactionId.isEmpty()) {
-                        return ompTransactionId;
-                    }
-                }
+            if (callbackTree == null || callbackTree.isNull()) {
+                throw new IllegalStateException("CallbackRequest ou Data esta nulo");
             }
+            return callbackParser.parseAs(callbackTree, routing.getCallbackType());
         } catch (Exception e) {
-            log.debug("Nao foi possivel extrair txId: {}", e.getMessage());
+            log.error("Erro ao extrair payload do callback: {}", e.getMessage(), e);
+            throw new RuntimeException("Falha ao extrair payload do callback", e);
         }
-        return null;
+    }
+
+    private static List<String> receivedAttributes() {
+        List<String> names = new ArrayList<>(CallbackRouting.ATTRIBUTE_NAMES);
+        names.add(TIMESTAMP_ATTRIBUTE);
+        names.add(MessageCodec.ATTRIBUTE);
+        return List.copyOf(names);
     }
 
     // Métodos para teste
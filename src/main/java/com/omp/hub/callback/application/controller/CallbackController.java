@@ -11,14 +11,16 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omp.hub.callback.application.service.CallbackIdempotencyCache;
+import com.omp.hub.callback.application.service.CallbackParser;
 import com.omp.hub.callback.application.service.CallbackTypeDetectorService;
 import com.omp.hub.callback.application.validator.CallbackValidationException;
 import com.omp.hub.callback.domain.exceptions.BusinessException;
 import com.omp.hub.callback.domain.model.dto.callback.CallbackRequest;
+import com.omp.hub.callback.domain.model.dto.callback.ParsedCallback;
 import com.omp.hub.callback.domain.model.dto.response.CallbackResponse;
 import com.omp.hub.callback.domain.service.impl.callback.CallbackService;
-import com.omp.hub.callback.infrastructure.util.JsonSanitizerUtil;
+import com.omp.hub.callback.infrastructure.util.CallbackFingerprint;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -36,11 +38,14 @@ public class CallbackController {
     CallbackService callbackService;
     
     @Autowired
-    ObjectMapper mapper;
+    CallbackParser callbackParser;
 
     @Autowired
     CallbackTypeDetectorService callbackTypeDetector;
 
+    @Autowired
+    CallbackIdempotencyCache idempotencyCache;
+
     @org.springframework.beans.factory.annotation.Value("${feature.async-processing.enabled:true}")
     private boolean asyncProcessingEnabled;
 
@@ -49,17 +54,10 @@ public class CallbackController {
     public <T> ResponseEntity<?> processCallback(@RequestBody CallbackRequest<T> request) {
 
         try {
-            String objetct = mapper.writeValueAsString(request.getData());
-            
-            // Sanitizar o JSON antes de processar para remover valores malformados
             logger.info("JSON original recebido no callback");
-            String sanitizedJson = JsonSanitizerUtil.sanitizeCallbackJson(objetct, mapper);
-            
-            if (!sanitizedJson.equals(objetct)) {
-                logger.info("JSON foi sanitizado. Campos malformados foram removidos.");
-            }
+            ParsedCallback parsedCallback = callbackParser.parseAndSanitize(request.getData());
 
-            if (!callbackTypeDetector.isValidCallbackType(sanitizedJson)) {
+            if (!callbackTypeDetector.isValidCallbackType(parsedCallback)) {
                 throw new BusinessException(
                     "Payload inválido: não corresponde a nenhum tipo de callback suportado (PIX, CreditCard, TefWeb ou Transactions)",
                     "INVALID_CALLBACK_TYPE",
@@ -68,25 +66,34 @@ public class CallbackController {
                 );
             }
 
-            callbackTypeDetector.detectTypeAndValidate(sanitizedJson);
-            
-            if (asyncProcessingEnabled) {
-                callbackService.processCallbackAsync(request);
-            } else {
-                logger.info("Processamento assíncrono desabilitado. Processando callback de forma síncrona.");
-                callbackService.processCallback(sanitizedJson);
+            callbackTypeDetector.detectTypeAndValidate(parsedCallback);
+
+            String fingerprint = parsedCallback.getFingerprint();
+            if (!idempotencyCache.window(CallbackIdempotencyCache.INGRESS).register(fingerprint)) {
+                logger.info("Callback repetido confirmado sem reprocessar. TxId: {}",
+                        CallbackFingerprint.txId(parsedCallback.getTree()));
+                return ResponseEntity.status(HttpStatus.OK).body(successResponse());
             }
-            
-            
-            CallbackResponse response = CallbackResponse.builder()
-                .apiVersion("1;2019-09-11")
-                .transactionId("Id-34fcb05c6d1923e35cef248d")
-                .data(CallbackResponse.ResponseData.builder()
-                    .result("SUCCESS")
-                    .build())
-                .build();
-            
-            return ResponseEntity.status(HttpStatus.OK).body(response);
+
+            try {
+                if (asyncProcessingEnabled) {
+                    callbackService.processCallbackAsync(parsedCallback).whenComplete((sent, error) -> {
+                        if (error != null) {
+                            // O envio falhou fora desta thread; a repetição do hub tem que ser enfileirada
+                            idempotencyCache.window(CallbackIdempotencyCache.INGRESS).forget(fingerprint);
+                        }
+                    });
+                } else {
+                    logger.info("Processamento assíncrono desabilitado. Processando callback de forma síncrona.");
+                    callbackService.processCallback(parsedCallback);
+                }
+            } catch (RuntimeException e) {
+                // O hub vai reenviar o callback; a repetição não pode ser descartada
+                idempotencyCache.window(CallbackIdempotencyCache.INGRESS).forget(fingerprint);
+                throw e;
+            }
+
+            return ResponseEntity.status(HttpStatus.OK).body(successResponse());
             
         } catch (JsonProcessingException e) {
             logger.error("Erro ao converter JSON: {}", e.getMessage());
@@ -105,4 +112,14 @@ public class CallbackController {
                     HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
+
+    private CallbackResponse successResponse() {
+        return CallbackResponse.builder()
+            .apiVersion("1;2019-09-11")
+            .transactionId("Id-34fcb05c6d1923e35cef248d")
+            .data(CallbackResponse.ResponseData.builder()
+                .result("SUCCESS")
+                .build())
+            .build();
+    }
 }
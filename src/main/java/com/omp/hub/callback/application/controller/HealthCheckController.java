@@ -1,6 +1,8 @@
 package com.omp.hub.callback.application.controller;
 
 import com.omp.hub.callback.application.service.SqsHealthCheckService;
+import com.omp.hub.callback.infrastructure.resilience.CircuitBreaker;
+import com.omp.hub.callback.infrastructure.resilience.ResilienceRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -17,6 +19,7 @@ import java.util.Map;
 public class HealthCheckController {
 
     private final SqsHealthCheckService sqsHealthCheckService;
+    private final ResilienceRegistry resilienceRegistry;
 
     @GetMapping
     public ResponseEntity<Map<String, Object>> healthCheck() {
@@ -53,4 +56,19 @@ public class HealthCheckController {
         
         return ResponseEntity.status(httpStatus).body(dlqStatus);
     }
+
+    @GetMapping("/circuit-breakers")
+    public ResponseEntity<Map<String, Object>> circuitBreakersHealthCheck() {
+        Map<String, Object> breakers = resilienceRegistry.snapshot();
+        boolean anyOpen = breakers.values().stream()
+                .map(status -> ((Map<?, ?>) status).get("state"))
+                .anyMatch(state -> !CircuitBreaker.State.CLOSED.name().equals(state));
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", anyOpen ? "WARNING" : "UP");
+        response.put("enabled", resilienceRegistry.isEnabled());
+        response.put("circuitBreakers", breakers);
+
+        return ResponseEntity.ok(response);
+    }
 }
@@ -0,0 +1,133 @@
+package com.omp.hub.callback.application.service;
+
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.omp.hub.callback.infrastructure.util.BoundedMap;
+
+/**
+ * Janela em memoria, com TTL e tamanho maximo, dos callbacks ja vistos, indexados pelo
+ * {@code CallbackFingerprint}. Um callback repetido dentro da janela e confirmado sem nenhum
+ * processamento.
+ * <p>
+ * Ha uma janela para a entrada HTTP ({@link #INGRESS}), registrada quando o callback e aceito, e
+ * outra para o consumer SQS ({@link #CONSUMER}), registrada so depois do processamento com sucesso,
+ * para que uma falha continue sendo reprocessada. Cheia, a janela descarta os callbacks mais antigos.
+ * A janela e local a cada instancia; entre instancias a deduplicacao fica por conta do
+ * {@code MessageDeduplicationId} do SQS.
+ */
+@Component
+public class CallbackIdempotencyCache {
+
+    public static final String INGRESS = "ingress";
+    public static final String CONSUMER = "consumer";
+
+    @Value("${callback.idempotency.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${callback.idempotency.ttl-ms:600000}")
+    private long ttlMillis = 600000;
+
+    @Value("${callback.idempotency.max-entries:50000}")
+    private int maxEntries = 50000;
+
+    private Clock clock = Clock.systemUTC();
+
+    private final Window ingress = new Window();
+    private final Window consumer = new Window();
+
+    public Window window(String scope) {
+        return switch (scope) {
+            case INGRESS -> ingress;
+            case CONSUMER -> consumer;
+            default -> throw new IllegalArgumentException("Janela desconhecida: " + scope);
+        };
+    }
+
+    /**
+     * Callbacks vistos em um ponto do fluxo e seus contadores.
+     */
+    public final class Window {
+
+        private final BoundedMap<String, Long> entries = new BoundedMap<>(() -> maxEntries);
+
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+
+        private Window() {
+        }
+
+        /**
+         * Registra o callback se ele ainda nao estiver na janela, de forma atomica.
+         *
+         * @return {@code false} quando o callback e repetido
+         */
+        public boolean register(String key) {
+            if (!enabled || key == null) {
+                return true;
+            }
+            long now = clock.millis();
+            AtomicBoolean added = new AtomicBoolean();
+            entries.compute(key, (k, expiresAt) -> {
+                if (expiresAt != null && now < expiresAt) {
+                    return expiresAt;
+                }
+                added.set(true);
+                return now + ttlMillis;
+            });
+            count(!added.get());
+            return added.get();
+        }
+
+        public boolean contains(String key) {
+            if (!enabled || key == null) {
+                return false;
+            }
+            Long expiresAt = entries.get(key);
+            boolean seen = expiresAt != null && clock.millis() < expiresAt;
+            count(seen);
+            return seen;
+        }
+
+        public void record(String key) {
+            if (!enabled || key == null) {
+                return;
+            }
+            entries.put(key, clock.millis() + ttlMillis);
+        }
+
+        public void forget(String key) {
+            if (key != null) {
+                entries.remove(key);
+            }
+        }
+
+        private void count(boolean hit) {
+            if (hit) {
+                hits.incrementAndGet();
+            } else {
+                misses.incrementAndGet();
+            }
+        }
+
+        public long getHitCount() {
+            return hits.get();
+        }
+
+        public long getMissCount() {
+            return misses.get();
+        }
+
+        public int size() {
+            return entries.size();
+        }
+
+        public long getEvictionCount() {
+            return entries.getEvictionCount();
+        }
+    }
+}
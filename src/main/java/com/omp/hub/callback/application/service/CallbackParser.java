@@ -0,0 +1,108 @@
+package com.omp.hub.callback.application.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.omp.hub.callback.domain.enums.CallbackType;
+import com.omp.hub.callback.domain.model.dto.callback.CallbackDTO;
+import com.omp.hub.callback.domain.model.dto.callback.ParsedCallback;
+import com.omp.hub.callback.domain.service.check.CheckTypeObjectService;
+import com.omp.hub.callback.infrastructure.metrics.CallbackMetrics;
+import com.omp.hub.callback.infrastructure.util.JsonSanitizerUtil;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Converte o {@code data} de um callback em {@link ParsedCallback}: monta a arvore uma unica vez,
+ * resolve o tipo pelas duas prioridades e converte o DTO tipado a partir da propria arvore.
+ */
+@Service
+@RequiredArgsConstructor
+public class CallbackParser {
+
+    private static final Logger logger = LoggerFactory.getLogger(CallbackParser.class);
+
+    private final ObjectMapper mapper;
+    private final CheckTypeObjectService validateService;
+
+    public ParsedCallback parse(Object data) throws JsonProcessingException {
+        return parse(readTree(data), false);
+    }
+
+    public ParsedCallback parseAndSanitize(Object data) throws JsonProcessingException {
+        JsonNode tree = readTree(data);
+        boolean sanitized = CallbackMetrics.recordStage(CallbackMetrics.SANITIZE,
+                () -> JsonSanitizerUtil.sanitizeCallbackTree(tree));
+        if (sanitized) {
+            logger.info("JSON foi sanitizado. Campos malformados foram removidos.");
+        }
+        return parse(tree, sanitized);
+    }
+
+    public JsonNode readTree(Object data) throws JsonProcessingException {
+        if (data == null) {
+            return NullNode.getInstance();
+        }
+        if (data instanceof JsonNode node) {
+            return node;
+        }
+        return CallbackMetrics.recordStage(CallbackMetrics.PARSE, () -> {
+            if (data instanceof String json) {
+                return mapper.readTree(json);
+            }
+            JsonNode tree = mapper.valueToTree(data);
+            return tree != null ? tree : NullNode.getInstance();
+        });
+    }
+
+    /**
+     * Converte com o tipo ja conhecido, como o atributo {@code callbackType} da mensagem SQS, sem
+     * passar pela deteccao. Sem tipo, faz a deteccao normal.
+     */
+    public ParsedCallback parseAs(JsonNode tree, CallbackType type) throws JsonProcessingException {
+        if (type == null) {
+            return parse(tree, false);
+        }
+        CallbackDTO payload = CallbackMetrics.recordStage(CallbackMetrics.BIND,
+                () -> mapper.treeToValue(tree, type.getRequestClass()));
+        return ParsedCallback.builder()
+                .tree(tree)
+                .type(type)
+                .payload(payload)
+                .validationType(type)
+                .validationPayload(payload)
+                .build();
+    }
+
+    public ParsedCallback parse(JsonNode tree, boolean sanitized) throws JsonProcessingException {
+
+        CallbackType[] detected = CallbackMetrics.recordStage(CallbackMetrics.DETECT, () -> new CallbackType[] {
+                validateService.detect(tree, CallbackType.processingOrder()),
+                validateService.detect(tree, CallbackType.detectionOrder())
+        });
+        CallbackType type = detected[0];
+        CallbackType validationType = detected[1];
+
+        CallbackDTO payload = CallbackMetrics.recordStage(CallbackMetrics.BIND,
+                () -> type != null ? mapper.treeToValue(tree, type.getRequestClass()) : null);
+        CallbackDTO validationPayload = payload;
+        if (validationType != type) {
+            validationPayload = CallbackMetrics.recordStage(CallbackMetrics.BIND,
+                    () -> validationType != null ? mapper.treeToValue(tree, validationType.getRequestClass()) : null);
+        }
+
+        return ParsedCallback.builder()
+                .tree(tree)
+                .type(type)
+                .payload(payload)
+                .validationType(validationType)
+                .validationPayload(validationPayload)
+                .sanitized(sanitized)
+                .build();
+    }
+}
@@ -5,6 +5,7 @@ import org.springframework.stereotype.Service;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.omp.hub.callback.application.validator.CallbackValidator;
+import com.omp.hub.callback.domain.model.dto.callback.ParsedCallback;
 import com.omp.hub.callback.domain.model.dto.callback.creditcard.CreditCardCallbackRequest;
 import com.omp.hub.callback.domain.model.dto.callback.pix.PixCallbackRequest;
 import com.omp.hub.callback.domain.model.dto.callback.tefweb.TefWebCallbackRequest;
@@ -43,4 +44,14 @@ public class CallbackTypeDetectorService {
                validateService.isValid(object, CreditCardCallbackRequest.class) ||
                validateService.isValid(object, PixCallbackRequest.class);
     }
+
+    public void detectTypeAndValidate(ParsedCallback callback) {
+        if (callback.getValidationType() != null) {
+            callbackValidator.validate(callback.getValidationPayload(), callback.getValidationType().getLabel());
+        }
+    }
+
+    public boolean isValidCallbackType(ParsedCallback callback) {
+        return callback.getValidationType() != null;
+    }
 }
@@ -0,0 +1,327 @@
+package com.omp.hub.callback.application.service;
+
+import java.time.Clock;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.omp.hub.callback.domain.enums.NotificationChannelEnum;
+import com.omp.hub.callback.domain.enums.PixAutomaticoEventEnum;
+import com.omp.hub.callback.domain.model.dto.notification.NotificationIntent;
+import com.omp.hub.callback.domain.model.dto.notification.NotificationOutcome;
+import com.omp.hub.callback.domain.ports.outbox.NotificationOutboxPort;
+import com.omp.hub.callback.domain.service.impl.notification.NotificationManagerService;
+import com.omp.hub.callback.infrastructure.metrics.CallbackMetrics;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tira o enriquecimento e o envio das notificacoes de PIX Automatico do caminho do callback.
+ * <p>
+ * O callback so grava a notificacao no {@link NotificationOutboxPort} e segue; um pool proprio
+ * drena o outbox com no maximo {@code concurrency} envios simultaneos e {@code rate-per-second}
+ * inicios por segundo. Falhas recuperaveis (mesmo criterio do {@link RetryService}) e canais de
+ * SMS/e-mail que falharam voltam ao outbox com backoff ate {@code max-attempts}; no reenvio so os
+ * canais pendentes sao enviados de novo. Como a notificacao so sai do outbox depois do envio,
+ * um restart no meio do caminho reenvia a notificacao em vez de perde-la.
+ * <p>
+ * Com o outbox desligado, cheio ou indisponivel, {@link #submit} devolve {@code false} e quem chamou
+ * processa a notificacao na hora, como antes.
+ */
+@Slf4j
+@Component
+public class NotificationOutboxDispatcher {
+
+    public static final String OPERATION = "notification-outbox";
+
+    private final NotificationOutboxPort outbox;
+    private final NotificationManagerService notificationManagerService;
+    private final RetryService retryService;
+
+    @Value("${notification.outbox.enabled:false}")
+    private boolean enabled = false;
+
+    @Value("${notification.outbox.concurrency:4}")
+    private int concurrency = 4;
+
+    @Value("${notification.outbox.rate-per-second:20}")
+    private double ratePerSecond = 20;
+
+    @Value("${notification.outbox.max-attempts:5}")
+    private int maxAttempts = 5;
+
+    @Value("${notification.outbox.poll-interval-ms:500}")
+    private long pollIntervalMillis = 500;
+
+    @Value("${notification.outbox.max-pending:10000}")
+    private int maxPending = 10000;
+
+    private Clock clock = Clock.systemUTC();
+
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private volatile Semaphore slots;
+    private volatile ExecutorService workers;
+    private volatile ScheduledExecutorService poller;
+    private final Object rateLock = new Object();
+    private long nextStartNanos;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong bypassed = new AtomicLong();
+
+    public NotificationOutboxDispatcher(NotificationOutboxPort outbox,
+                                        NotificationManagerService notificationManagerService,
+                                        RetryService retryService) {
+        this.outbox = outbox;
+        this.notificationManagerService = notificationManagerService;
+        this.retryService = retryService;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled || workers != null) {
+            return;
+        }
+        // Abre o outbox na subida: sem diretorio configurado a aplicacao nao deve subir com ele ligado
+        int pending = outbox.size();
+        slots = new Semaphore(concurrency);
+        workers = Executors.newFixedThreadPool(concurrency, threadFactory("notification-outbox-"));
+        poller = Executors.newSingleThreadScheduledExecutor(threadFactory("notification-outbox-poller-"));
+        poller.scheduleWithFixedDelay(this::drain, 0, pollIntervalMillis, TimeUnit.MILLISECONDS);
+        log.info("Outbox de notificacoes ativo - concorrencia: {}, limite: {}/s, tentativas: {}, pendentes: {}",
+                concurrency, ratePerSecond, maxAttempts, pending);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+        if (workers != null) {
+            workers.shutdown();
+            try {
+                workers.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Grava a notificacao para envio posterior.
+     *
+     * @return {@code false} quando a notificacao nao foi aceita e deve ser processada por quem chamou
+     */
+    public boolean submit(UUID uuid, String txId, PixAutomaticoEventEnum eventType) {
+        if (!enabled || workers == null) {
+            return false;
+        }
+
+        try {
+            if (outbox.size() >= maxPending) {
+                log.warn("TxId: {} - Outbox de notificacoes cheio ({}); processando na hora", txId, maxPending);
+                bypassed.incrementAndGet();
+                return false;
+            }
+
+            long now = clock.millis();
+            outbox.save(NotificationIntent.builder()
+                    .id(UUID.randomUUID().toString())
+                    .txId(txId)
+                    .eventType(eventType)
+                    .correlationId(uuid != null ? uuid.toString() : null)
+                    .createdAt(now)
+                    .nextAttemptAt(now)
+                    .build());
+        } catch (RuntimeException e) {
+            log.warn("TxId: {} - Erro ao gravar no outbox de notificacoes; processando na hora: {}", txId, e.getMessage());
+            bypassed.incrementAndGet();
+            return false;
+        }
+
+        enqueued.incrementAndGet();
+        wakeUp();
+        return true;
+    }
+
+    /**
+     * Dispara as notificacoes vencidas enquanto houver vaga no pool. Pode rodar em paralelo (timer
+     * e {@link #submit}): a vaga e o registro em {@code inFlight} garantem um unico envio por
+     * notificacao. Busca no outbox so as vencidas que cabem nas vagas livres.
+     */
+    void drain() {
+        try {
+            int free = slots.availablePermits();
+            if (free == 0) {
+                return;
+            }
+            long now = clock.millis();
+            // As notificacoes em envio continuam no outbox e vencidas; a busca as inclui alem das vagas
+            for (NotificationIntent intent : outbox.findDue(now, free + inFlight.size())) {
+                if (inFlight.contains(intent.getId())) {
+                    continue;
+                }
+                if (!slots.tryAcquire()) {
+                    return;
+                }
+                if (!inFlight.add(intent.getId())) {
+                    slots.release();
+                    continue;
+                }
+                // A lista pode ter sido lida antes de um envio terminar ou reagendar a notificacao
+                NotificationIntent current = outbox.findById(intent.getId()).orElse(null);
+                if (current == null || current.getNextAttemptAt() > now) {
+                    inFlight.remove(intent.getId());
+                    slots.release();
+                    continue;
+                }
+                try {
+                    workers.execute(() -> deliver(current));
+                } catch (RejectedExecutionException e) {
+                    inFlight.remove(intent.getId());
+                    slots.release();
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Erro ao drenar o outbox de notificacoes: {}", e.getMessage(), e);
+        }
+    }
+
+    void deliver(NotificationIntent intent) {
+        UUID uuid = intent.getCorrelationId() != null ? UUID.fromString(intent.getCorrelationId()) : UUID.randomUUID();
+        try {
+            awaitRate();
+            NotificationOutcome outcome = CallbackMetrics.recordStage(CallbackMetrics.RTDM_NOTIFICATION,
+                    () -> notificationManagerService.deliverPixAutomaticoNotification(uuid, intent.getTxId(),
+                            intent.getEventType(), intent.getChannels()));
+            if (outcome.hasFailures()) {
+                // So os canais que falharam voltam ao outbox; os que sairam nao sao reenviados
+                reschedule(intent, outcome.getFailedChannels(), true,
+                        "falha nos canais " + outcome.getFailedChannels());
+                return;
+            }
+            outbox.remove(intent.getId());
+            delivered.incrementAndGet();
+            log.info("TxId: {} - Notificacao {} processada pelo outbox - criterios atendidos: {}",
+                    intent.getTxId(), intent.getEventType(), outcome.isCriteriaMet());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            reschedule(intent, intent.getChannels(), retryService.isRetryable(e), e.getMessage());
+        } finally {
+            inFlight.remove(intent.getId());
+            slots.release();
+        }
+    }
+
+    private void reschedule(NotificationIntent intent, Set<NotificationChannelEnum> channels, boolean retryable,
+                            String reason) {
+        int attempt = intent.getAttempts() + 1;
+
+        if (!retryable || attempt >= maxAttempts) {
+            log.error("TxId: {} - Notificacao {} descartada do outbox apos {} tentativa(s): {}",
+                    intent.getTxId(), intent.getEventType(), attempt, reason);
+            CallbackMetrics.countRetry(OPERATION, retryable ? "exhausted" : "not-retryable");
+            failed.incrementAndGet();
+            outbox.remove(intent.getId());
+            return;
+        }
+
+        long delay = retryService.backoffMillis(attempt);
+        log.warn("TxId: {} - Falha na notificacao {} - tentativa {}/{}, nova tentativa em {} ms: {}",
+                intent.getTxId(), intent.getEventType(), attempt, maxAttempts, delay, reason);
+        CallbackMetrics.countRetry(OPERATION, "retried");
+        retried.incrementAndGet();
+        outbox.save(intent.toBuilder()
+                .channels(channels)
+                .attempts(attempt)
+                .nextAttemptAt(clock.millis() + delay)
+                .build());
+    }
+
+    /**
+     * Espaca o inicio dos envios em {@code 1/rate-per-second}, sem segurar o lock durante a espera.
+     */
+    private void awaitRate() throws InterruptedException {
+        if (ratePerSecond <= 0) {
+            return;
+        }
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        long waitNanos;
+        synchronized (rateLock) {
+            long now = System.nanoTime();
+            long start = Math.max(now, nextStartNanos);
+            nextStartNanos = start + interval;
+            waitNanos = start - now;
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    private void wakeUp() {
+        if (slots.availablePermits() == 0) {
+            // Pool ocupado: o timer drena a notificacao quando uma vaga abrir
+            return;
+        }
+        try {
+            poller.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            log.debug("Poller do outbox encerrado; a notificacao fica para o proximo start");
+        }
+    }
+
+    private static ThreadFactory threadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getPendingCount() {
+        return enabled ? outbox.size() : 0;
+    }
+
+    public long getEnqueuedCount() {
+        return enqueued.get();
+    }
+
+    public long getDeliveredCount() {
+        return delivered.get();
+    }
+
+    public long getRetriedCount() {
+        return retried.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    public long getBypassedCount() {
+        return bypassed.get();
+    }
+}
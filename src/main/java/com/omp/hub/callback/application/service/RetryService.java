@@ -1,21 +1,28 @@
 package com.omp.hub.callback.application.service;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Service;
 
 import com.omp.hub.callback.domain.exceptions.BusinessException;
+import com.omp.hub.callback.domain.exceptions.CallNotPermittedException;
 import com.omp.hub.callback.domain.model.dto.callback.CallbackRequest;
+import com.omp.hub.callback.infrastructure.metrics.CallbackMetrics;
 import com.omp.hub.callback.infrastructure.persistence.message.sqs.MessageSQS;
 import com.omp.hub.callback.infrastructure.persistence.message.sqs.SqsMessageRepository;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class RetryService {
 
@@ -25,7 +32,26 @@ public class RetryService {
     @Value("${client.retry.retry-delay-api-seconds:60}")
     private long delaySeconds;
 
+    @Value("${client.retry.backoff-multiplier:2.0}")
+    private double backoffMultiplier = 2.0;
+
+    @Value("${client.retry.max-delay-api-seconds:300}")
+    private long maxDelaySeconds = 300;
+
+    @Value("${client.retry.jitter-factor:0.2}")
+    private double jitterFactor = 0.2;
+
     private final SqsMessageRepository sqsMessageRepository;
+    private final Executor retryExecutor;
+    private final TaskScheduler retryScheduler;
+
+    public RetryService(SqsMessageRepository sqsMessageRepository,
+                        @Qualifier("retryExecutor") Executor retryExecutor,
+                        @Qualifier("retryScheduler") TaskScheduler retryScheduler) {
+        this.sqsMessageRepository = sqsMessageRepository;
+        this.retryExecutor = retryExecutor;
+        this.retryScheduler = retryScheduler;
+    }
 
     public void executeWithRetrySyncVoid(UUID uuid, String operationName, Runnable operation) {
         executeWithRetrySyncVoid(uuid, operationName, operation, null);
@@ -33,55 +59,166 @@ public class RetryService {
 
     public void executeWithRetrySyncVoid(UUID uuid, String operationName, Runnable operation, Object callbackData) {
         int attempt = 1;
-        Exception lastException = null;
 
-        while (attempt <= maxAttempts) {
+        while (true) {
             try {
-                log.info("TxId: {} - Executando operacao: {} - Tentativa: {}/{}", 
-                        uuid, operationName, attempt, maxAttempts);
-                
-                operation.run();
-                
-                if (attempt > 1) {
-                    log.info("TxId: {} - Operacao: {} bem-sucedida apos {} tentativas", 
-                            uuid, operationName, attempt);
-                }
-                
+                runAttempt(uuid, operationName, operation, attempt);
                 return;
-                
+
             } catch (Exception e) {
-                lastException = e;
-                
-                if (e instanceof BusinessException) {
-                    BusinessException businessException = (BusinessException) e;
-                    
-                    if (businessException.isUnprocessableEntity()) {
-                        log.error("TxId: {} - Operacao: {} retornou erro 422 (Unprocessable Entity). Enviando para DLQ sem retry.", 
-                                uuid, operationName);
-                        sendToDLQ(callbackData, businessException);
-                        throw businessException;
-                    }
+                RuntimeException terminal = handleFailure(uuid, operationName, e, callbackData, attempt);
+                if (terminal != null) {
+                    throw terminal;
                 }
-                
-                log.warn("TxId: {} - Falha na operacao: {} - Tentativa: {}/{} - Erro: {}", 
-                        uuid, operationName, attempt, maxAttempts, e.getMessage());
-                
-                if (attempt < maxAttempts) {
-                    try {
-                        Thread.sleep(delaySeconds * 1000 * attempt);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        throw new RuntimeException("Retry interrompido", ie);
-                    }
+
+                try {
+                    Thread.sleep(backoffMillis(attempt));
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Retry interrompido", ie);
                 }
-                
+
                 attempt++;
             }
         }
+    }
+
+    public CompletableFuture<Void> executeWithRetryAsync(UUID uuid, String operationName, Runnable operation) {
+        return executeWithRetryAsync(uuid, operationName, operation, null);
+    }
+
+    /**
+     * Versao nao bloqueante de {@link #executeWithRetrySyncVoid}: cada tentativa roda no
+     * {@code retryExecutor} e a espera entre tentativas e agendada no {@code retryScheduler},
+     * sem manter nenhuma thread parada durante o backoff.
+     */
+    public CompletableFuture<Void> executeWithRetryAsync(UUID uuid, String operationName, Runnable operation,
+                                                         Object callbackData) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        submitAttempt(uuid, operationName, operation, callbackData, 1, result);
+        return result;
+    }
+
+    private void submitAttempt(UUID uuid, String operationName, Runnable operation, Object callbackData,
+                               int attempt, CompletableFuture<Void> result) {
+        try {
+            retryExecutor.execute(() -> runAsyncAttempt(uuid, operationName, operation, callbackData, attempt, result));
+        } catch (RejectedExecutionException e) {
+            log.error("TxId: {} - Tentativa {} da operacao: {} rejeitada pelo executor de retry",
+                    uuid, attempt, operationName);
+            result.completeExceptionally(e);
+        }
+    }
+
+    private void runAsyncAttempt(UUID uuid, String operationName, Runnable operation, Object callbackData,
+                                 int attempt, CompletableFuture<Void> result) {
+        if (result.isDone()) {
+            return;
+        }
+
+        try {
+            runAttempt(uuid, operationName, operation, attempt);
+            result.complete(null);
+
+        } catch (Exception e) {
+            RuntimeException terminal = handleFailure(uuid, operationName, e, callbackData, attempt);
+            if (terminal != null) {
+                result.completeExceptionally(terminal);
+                return;
+            }
+
+            try {
+                retryScheduler.schedule(
+                        () -> submitAttempt(uuid, operationName, operation, callbackData, attempt + 1, result),
+                        Instant.now().plusMillis(backoffMillis(attempt)));
+            } catch (RejectedExecutionException re) {
+                log.error("TxId: {} - Nao foi possivel agendar nova tentativa da operacao: {}", uuid, operationName);
+                result.completeExceptionally(new RuntimeException("Retry interrompido", e));
+            }
+        }
+    }
 
-        log.error("TxId: {} - Operacao: {} falhou apos {} tentativas", 
-                uuid, operationName, maxAttempts);
-        throw new RuntimeException("Operacao falhou apos " + maxAttempts + " tentativas", lastException);
+    private void runAttempt(UUID uuid, String operationName, Runnable operation, int attempt) {
+        log.info("TxId: {} - Executando operacao: {} - Tentativa: {}/{}",
+                uuid, operationName, attempt, maxAttempts);
+
+        operation.run();
+
+        if (attempt > 1) {
+            log.info("TxId: {} - Operacao: {} bem-sucedida apos {} tentativas",
+                    uuid, operationName, attempt);
+        }
+    }
+
+    /**
+     * Decide o destino de uma tentativa que falhou. Retorna a excecao a propagar quando nao ha
+     * mais o que tentar, ou {@code null} quando a operacao deve ser repetida.
+     */
+    private RuntimeException handleFailure(UUID uuid, String operationName, Exception e, Object callbackData,
+                                           int attempt) {
+
+        if (e instanceof BusinessException businessException && businessException.isUnprocessableEntity()) {
+            log.error("TxId: {} - Operacao: {} retornou erro 422 (Unprocessable Entity). Enviando para DLQ sem retry.",
+                    uuid, operationName);
+            sendToDLQ(callbackData, businessException);
+            CallbackMetrics.countRetry(operationName, "unprocessable");
+            return businessException;
+        }
+
+        if (e instanceof CallNotPermittedException notPermitted) {
+            log.warn("TxId: {} - Operacao: {} recusada sem chamar o downstream ({}). Devolvendo para o retry da fila.",
+                    uuid, operationName, notPermitted.getError().getErrorCode());
+            CallbackMetrics.countRetry(operationName, "not-permitted");
+            return notPermitted;
+        }
+
+        if (!isRetryable(e)) {
+            log.error("TxId: {} - Operacao: {} falhou com erro nao recuperavel - Tentativa: {}/{} - Erro: {}",
+                    uuid, operationName, attempt, maxAttempts, e.getMessage());
+            CallbackMetrics.countRetry(operationName, "not-retryable");
+            return e instanceof RuntimeException runtimeException ? runtimeException : new RuntimeException(e);
+        }
+
+        log.warn("TxId: {} - Falha na operacao: {} - Tentativa: {}/{} - Erro: {}",
+                uuid, operationName, attempt, maxAttempts, e.getMessage());
+
+        if (attempt >= maxAttempts) {
+            log.error("TxId: {} - Operacao: {} falhou apos {} tentativas",
+                    uuid, operationName, maxAttempts);
+            CallbackMetrics.countRetry(operationName, "exhausted");
+            return new RuntimeException("Operacao falhou apos " + maxAttempts + " tentativas", e);
+        }
+
+        CallbackMetrics.countRetry(operationName, "retried");
+        return null;
+    }
+
+    /**
+     * Erros 4xx indicam problema na propria requisicao e nao mudam com uma nova tentativa,
+     * exceto timeout (408) e rate limit (429). Erros 5xx, de rede ou sem status sao repetidos.
+     */
+    boolean isRetryable(Throwable e) {
+        if (e instanceof BusinessException businessException && businessException.getError() != null) {
+            Integer status = businessException.getError().getStatus();
+            if (status != null && status >= 400 && status < 500) {
+                return status == 408 || status == 429;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Backoff exponencial limitado a {@code max-delay-api-seconds}, com jitter para que
+     * callbacks que falharam juntos nao voltem a chamar o downstream ao mesmo tempo.
+     */
+    long backoffMillis(int attempt) {
+        double base = delaySeconds * 1000d * Math.pow(backoffMultiplier, attempt - 1d);
+        double capped = Math.min(base, maxDelaySeconds * 1000d);
+        if (capped <= 0) {
+            return 0;
+        }
+        double jitter = capped * jitterFactor * ThreadLocalRandom.current().nextDouble();
+        return (long) (capped - jitter);
     }
 
     private void sendToDLQ(Object callbackData, BusinessException exception) {
@@ -107,4 +244,3 @@ public class RetryService {
         }
     }
 }
-
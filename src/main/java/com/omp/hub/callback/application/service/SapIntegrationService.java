@@ -5,6 +5,7 @@ import com.omp.hub.callback.domain.enums.PaymentTypeEnum;
 import com.omp.hub.callback.domain.model.dto.callback.tefweb.TefWebCallbackRequest;
 import com.omp.hub.callback.domain.model.dto.information.InformationPaymentDTO;
 import com.omp.hub.callback.domain.model.dto.information.PaymentDTO;
+import com.omp.hub.callback.domain.model.dto.journey.JourneyContext;
 import com.omp.hub.callback.domain.model.dto.journey.single.DataSingleDTO;
 import com.omp.hub.callback.domain.model.dto.journey.single.ProductDTO;
 import com.omp.hub.callback.domain.model.dto.omphub.transaction.notification.OmphubTransactionNotificationRequest;
@@ -27,6 +28,7 @@ import org.springframework.stereotype.Service;
 import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class SapIntegrationService {
@@ -423,29 +425,48 @@ public class SapIntegrationService {
             InformationPaymentDTO info,
             Headers.Builder headerBuilder, DataSingleDTO dto) {
 
-        String transactionOrderId = getTransactionOrderIdForSap(info, dto);
+        InformationPaymentDTO infoForSap = buildInfoForSap(info, dto);
+        JourneyContext journey = JourneyContext.of(dto);
 
-        InformationPaymentDTO infoForSap = InformationPaymentDTO.builder()
-                .uuid(info.getUuid())
-                .identifier(info.getIdentifier())
-                .transactionOrderId(transactionOrderId)
-                .channel(info.getChannel())
-                .store(info.getStore())
-                .pdv(info.getPdv())
-                .multiplePayment(info.getMultiplePayment())
-                .mixedPaymentTypes(info.getMixedPaymentTypes())
-                .payments(info.getPayments())
-                .amount(info.getAmount())
-                .paymentStatus(info.getPaymentStatus())
-                .build();
-
-        logger.info("Enviando para SAP Redemptions - uuid: {}, transactionOrderId: {}", uuid, transactionOrderId);
+        logger.info("Enviando para SAP Redemptions - uuid: {}, transactionOrderId: {}", uuid, infoForSap.getTransactionOrderId());
         retryService.executeWithRetrySyncVoid(uuid, "SAP Redemptions",
-                () -> redemptionsPort.send(uuid, generateRedemptionsService.generateRequest(infoForSap), headerBuilder), request);
+                () -> redemptionsPort.send(uuid, generateRedemptionsService.generateRequest(infoForSap, journey), headerBuilder), request);
 
-        logger.info("Enviando para SAP Payments - uuid: {}, transactionOrderId: {}", uuid, transactionOrderId);
+        logger.info("Enviando para SAP Payments - uuid: {}, transactionOrderId: {}", uuid, infoForSap.getTransactionOrderId());
         retryService.executeWithRetrySyncVoid(uuid, "SAP Payments",
-                () -> paymentsPort.send(uuid, generatePaymentsService.generateRequest(request, infoForSap), headerBuilder), request);
+                () -> paymentsPort.send(uuid, generatePaymentsService.generateRequest(request, infoForSap, journey), headerBuilder), request);
+    }
+
+    /**
+     * Envio ao SAP Redemptions pelo retry assincrono, para compor com outras etapas em um
+     * {@link StageGraph}. O SAP Payments deve ser declarado como dependente desta etapa.
+     */
+    public CompletableFuture<Void> sendToSapRedemptionsAsync(
+            UUID uuid,
+            TefWebCallbackRequest request,
+            InformationPaymentDTO info,
+            Headers.Builder headerBuilder, DataSingleDTO dto) {
+
+        InformationPaymentDTO infoForSap = buildInfoForSap(info, dto);
+        JourneyContext journey = JourneyContext.of(dto);
+
+        logger.info("Enviando para SAP Redemptions - uuid: {}, transactionOrderId: {}", uuid, infoForSap.getTransactionOrderId());
+        return retryService.executeWithRetryAsync(uuid, "SAP Redemptions",
+                () -> redemptionsPort.send(uuid, generateRedemptionsService.generateRequest(infoForSap, journey), headerBuilder), request);
+    }
+
+    public CompletableFuture<Void> sendToSapPaymentsAsync(
+            UUID uuid,
+            TefWebCallbackRequest request,
+            InformationPaymentDTO info,
+            Headers.Builder headerBuilder, DataSingleDTO dto) {
+
+        InformationPaymentDTO infoForSap = buildInfoForSap(info, dto);
+        JourneyContext journey = JourneyContext.of(dto);
+
+        logger.info("Enviando para SAP Payments - uuid: {}, transactionOrderId: {}", uuid, infoForSap.getTransactionOrderId());
+        return retryService.executeWithRetryAsync(uuid, "SAP Payments",
+                () -> paymentsPort.send(uuid, generatePaymentsService.generateRequest(request, infoForSap, journey), headerBuilder), request);
     }
 
     public void sendToSapBillingPayments(
@@ -454,25 +475,27 @@ public class SapIntegrationService {
             InformationPaymentDTO info,
             Headers.Builder headerBuilder, DataSingleDTO dto) {
 
-        String transactionOrderId = getTransactionOrderIdForSap(info, dto);
+        InformationPaymentDTO infoForSap = buildInfoForSap(info, dto);
 
-        InformationPaymentDTO infoForSap = InformationPaymentDTO.builder()
-                .uuid(info.getUuid())
-                .identifier(info.getIdentifier())
-                .transactionOrderId(transactionOrderId)
-                .channel(info.getChannel())
-                .store(info.getStore())
-                .pdv(info.getPdv())
-                .multiplePayment(info.getMultiplePayment())
-                .mixedPaymentTypes(info.getMixedPaymentTypes())
-                .payments(info.getPayments())
-                .amount(info.getAmount())
-                .paymentStatus(info.getPaymentStatus())
-                .build();
+        logger.info("Enviando para SAP Billing Payments - uuid: {}, transactionOrderId: {}", uuid, infoForSap.getTransactionOrderId());
+        JourneyContext journey = JourneyContext.of(dto);
 
-        logger.info("Enviando para SAP Billing Payments - uuid: {}, transactionOrderId: {}", uuid, transactionOrderId);
         retryService.executeWithRetrySyncVoid(uuid, "SAP Billing Payments",
-                () -> billingPaymentsPort.send(uuid, generateBillingPaymentsService.generateRequest(request, infoForSap), headerBuilder), request);
+                () -> billingPaymentsPort.send(uuid, generateBillingPaymentsService.generateRequest(request, infoForSap, journey), headerBuilder), request);
+    }
+
+    public CompletableFuture<Void> sendToSapBillingPaymentsAsync(
+            UUID uuid,
+            TefWebCallbackRequest request,
+            InformationPaymentDTO info,
+            Headers.Builder headerBuilder, DataSingleDTO dto) {
+
+        InformationPaymentDTO infoForSap = buildInfoForSap(info, dto);
+        JourneyContext journey = JourneyContext.of(dto);
+
+        logger.info("Enviando para SAP Billing Payments - uuid: {}, transactionOrderId: {}", uuid, infoForSap.getTransactionOrderId());
+        return retryService.executeWithRetryAsync(uuid, "SAP Billing Payments",
+                () -> billingPaymentsPort.send(uuid, generateBillingPaymentsService.generateRequest(request, infoForSap, journey), headerBuilder), request);
     }
 
     public void sendChannelNotification(
@@ -481,6 +504,27 @@ public class SapIntegrationService {
             Headers.Builder headerBuilder,
             InformationPaymentDTO info) throws Exception {
 
+        OmphubTransactionNotificationRequest notificationRequest = buildChannelNotification(uuid, request, info);
+        retryService.executeWithRetrySyncVoid(uuid, "Channel Notification",
+                () -> transactionsPort.send(uuid, notificationRequest, headerBuilder), request);
+    }
+
+    public CompletableFuture<Void> sendChannelNotificationAsync(
+            UUID uuid,
+            TefWebCallbackRequest request,
+            Headers.Builder headerBuilder,
+            InformationPaymentDTO info) {
+
+        OmphubTransactionNotificationRequest notificationRequest = buildChannelNotification(uuid, request, info);
+        return retryService.executeWithRetryAsync(uuid, "Channel Notification",
+                () -> transactionsPort.send(uuid, notificationRequest, headerBuilder), request);
+    }
+
+    private OmphubTransactionNotificationRequest buildChannelNotification(
+            UUID uuid,
+            TefWebCallbackRequest request,
+            InformationPaymentDTO info) {
+
         String transactionOrderId = info.getTransactionOrderId();
         String ompTransactionId = request.getOmpTransactionId();
 
@@ -495,10 +539,25 @@ public class SapIntegrationService {
         } else {
             notificationRequest = callbackTefWebService.generateRequest(request, transactionOrderId);
         }
-        
+
         logger.info("Enviando notificacao para o canal - uuid: {}, ompTransactionId: {}", uuid, ompTransactionId);
-        retryService.executeWithRetrySyncVoid(uuid, "Channel Notification",
-                () -> transactionsPort.send(uuid, notificationRequest, headerBuilder), request);
+        return notificationRequest;
+    }
+
+    private InformationPaymentDTO buildInfoForSap(InformationPaymentDTO info, DataSingleDTO dto) {
+        return InformationPaymentDTO.builder()
+                .uuid(info.getUuid())
+                .identifier(info.getIdentifier())
+                .transactionOrderId(getTransactionOrderIdForSap(info, dto))
+                .channel(info.getChannel())
+                .store(info.getStore())
+                .pdv(info.getPdv())
+                .multiplePayment(info.getMultiplePayment())
+                .mixedPaymentTypes(info.getMixedPaymentTypes())
+                .payments(info.getPayments())
+                .amount(info.getAmount())
+                .paymentStatus(info.getPaymentStatus())
+                .build();
     }
 
     public boolean hasBillingProducts(DataSingleDTO dto) {
@@ -0,0 +1,179 @@
+package com.omp.hub.callback.application.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Etapas de um fluxo de callback e as dependencias entre elas. Etapas sem dependencia pendente
+ * rodam ao mesmo tempo, entao a latencia do fluxo fica proxima da maior cadeia de dependencias em
+ * vez da soma de todas as chamadas.
+ * <p>
+ * Cada etapa devolve um {@link CompletableFuture}, normalmente de
+ * {@link RetryService#executeWithRetryAsync}, e so comeca quando todas as suas dependencias
+ * terminaram com sucesso. Se uma etapa falha, as que dependem dela nao rodam e as independentes
+ * seguem ate o fim. {@link #execute()} espera todas e relanca a falha da primeira etapa declarada
+ * que falhou, com as demais como suprimidas, para que o fluxo faca uma unica compensacao.
+ * <p>
+ * Com {@code parallel=false} cada etapa passa a depender de todas as declaradas antes dela, o que
+ * reproduz a execucao sequencial.
+ */
+@Slf4j
+public final class StageGraph {
+
+    private final UUID uuid;
+    private final boolean parallel;
+    private final Map<String, Stage> stages = new LinkedHashMap<>();
+
+    private StageGraph(UUID uuid, boolean parallel) {
+        this.uuid = uuid;
+        this.parallel = parallel;
+    }
+
+    public static StageGraph of(UUID uuid, boolean parallel) {
+        return new StageGraph(uuid, parallel);
+    }
+
+    /**
+     * @param dependsOn etapas que precisam terminar com sucesso antes desta; devem ter sido
+     *                  declaradas antes, o que tambem impede ciclos
+     */
+    public StageGraph stage(String name, Supplier<? extends CompletableFuture<?>> action, String... dependsOn) {
+        if (stages.containsKey(name)) {
+            throw new IllegalArgumentException("Etapa duplicada: " + name);
+        }
+        for (String dependency : dependsOn) {
+            if (!stages.containsKey(dependency)) {
+                throw new IllegalArgumentException(
+                        "Etapa " + name + " depende de " + dependency + ", que precisa ser declarada antes");
+            }
+        }
+
+        List<String> dependencies = parallel ? List.of(dependsOn) : new ArrayList<>(stages.keySet());
+        stages.put(name, new Stage(name, action, dependencies));
+        return this;
+    }
+
+    /**
+     * Dispara as etapas e devolve um future que completa quando todas terminarem. Em caso de
+     * falha, completa com a excecao original da primeira etapa declarada que falhou.
+     */
+    public CompletableFuture<Void> run() {
+        Map<String, CompletableFuture<Void>> futures = new HashMap<>();
+        Map<String, Throwable> failures = new ConcurrentHashMap<>();
+
+        for (Stage stage : stages.values()) {
+            CompletableFuture<?>[] dependencies = stage.dependsOn.stream()
+                    .map(futures::get)
+                    .toArray(CompletableFuture[]::new);
+
+            futures.put(stage.name, CompletableFuture.allOf(dependencies)
+                    .thenCompose(ignored -> start(stage, failures)));
+        }
+
+        return CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new))
+                .handle((ignored, error) -> {
+                    Throwable failure = combine(futures, failures);
+                    if (failure != null) {
+                        throw new CompletionException(failure);
+                    }
+                    return null;
+                });
+    }
+
+    /**
+     * Versao bloqueante de {@link #run()} para os fluxos sincronos.
+     */
+    public void execute() {
+        try {
+            run().get();
+        } catch (ExecutionException e) {
+            Throwable cause = unwrap(e);
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new RuntimeException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Execucao das etapas interrompida", e);
+        }
+    }
+
+    private CompletableFuture<Void> start(Stage stage, Map<String, Throwable> failures) {
+        long startNanos = System.nanoTime();
+
+        CompletableFuture<?> action;
+        try {
+            action = Objects.requireNonNull(stage.action.get(), "Etapa " + stage.name + " nao devolveu um future");
+        } catch (RuntimeException e) {
+            action = CompletableFuture.failedFuture(e);
+        }
+
+        return action.handle((ignored, error) -> {
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            if (error != null) {
+                Throwable cause = unwrap(error);
+                failures.put(stage.name, cause);
+                log.warn("TxId: {} - Etapa {} falhou em {} ms: {}", uuid, stage.name, elapsedMillis, cause.getMessage());
+                throw new CompletionException(cause);
+            }
+            log.debug("TxId: {} - Etapa {} concluida em {} ms", uuid, stage.name, elapsedMillis);
+            return null;
+        });
+    }
+
+    private Throwable combine(Map<String, CompletableFuture<Void>> futures, Map<String, Throwable> failures) {
+        Throwable primary = null;
+        for (Stage stage : stages.values()) {
+            Throwable failure = failures.get(stage.name);
+            if (failure == null) {
+                if (futures.get(stage.name).isCompletedExceptionally()) {
+                    log.info("TxId: {} - Etapa {} nao executada porque uma dependencia falhou", uuid, stage.name);
+                }
+                continue;
+            }
+            if (primary == null) {
+                primary = failure;
+            } else if (failure != primary) {
+                primary.addSuppressed(failure);
+            }
+        }
+        return primary;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static final class Stage {
+
+        private final String name;
+        private final Supplier<? extends CompletableFuture<?>> action;
+        private final List<String> dependsOn;
+
+        private Stage(String name, Supplier<? extends CompletableFuture<?>> action, List<String> dependsOn) {
+            this.name = name;
+            this.action = action;
+            this.dependsOn = dependsOn;
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package com.omp.hub.callback.application.usecase.callback;
 
+import com.omp.hub.callback.domain.model.dto.callback.ParsedCallback;
 import com.omp.hub.callback.domain.model.dto.callback.creditcard.CreditCardCallbackRequest;
 
 public interface CreditCardCallbackUseCase {
 
     void sendCallback(CreditCardCallbackRequest request);
+
+    void sendCallback(ParsedCallback callback);
 }
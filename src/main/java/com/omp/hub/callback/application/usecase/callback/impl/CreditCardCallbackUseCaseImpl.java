@@ -5,20 +5,24 @@ import java.util.Collections;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.omp.hub.callback.application.service.RetryService;
+import com.omp.hub.callback.application.service.StageGraph;
 import com.omp.hub.callback.application.usecase.callback.CreditCardCallbackUseCase;
 import com.omp.hub.callback.application.utils.apigee.ApigeeHeaderService;
 import com.omp.hub.callback.domain.enums.PaymentStatusEnum;
 import com.omp.hub.callback.domain.enums.RetryErrorMessageEnum;
 import com.omp.hub.callback.domain.exceptions.BusinessException;
 import com.omp.hub.callback.domain.exceptions.ErrorResponse;
+import com.omp.hub.callback.domain.model.dto.callback.ParsedCallback;
 import com.omp.hub.callback.domain.model.dto.callback.creditcard.CreditCardCallbackRequest;
 import com.omp.hub.callback.domain.model.dto.information.InformationPaymentDTO;
 import com.omp.hub.callback.domain.model.dto.information.PaymentDTO;
+import com.omp.hub.callback.domain.model.dto.journey.JourneyContext;
 import com.omp.hub.callback.domain.model.dto.journey.single.DataSingleDTO;
 import com.omp.hub.callback.domain.ports.client.InformationPaymentPort;
 import com.omp.hub.callback.domain.ports.client.SapPaymentsPort;
@@ -33,6 +37,10 @@ import okhttp3.Headers;
 @Component
 public class CreditCardCallbackUseCaseImpl implements CreditCardCallbackUseCase {
 
+    private static final String SAP_REDEMPTIONS = "SAP Redemptions";
+    private static final String SAP_PAYMENTS = "SAP Payments";
+    private static final String CHANNEL_NOTIFICATION = "Channel Notification";
+
     @Autowired
     private InformationPaymentPort port;
 
@@ -63,6 +71,14 @@ public class CreditCardCallbackUseCaseImpl implements CreditCardCallbackUseCase
     @Autowired
     private RetryService retryService;
 
+    @Value("${callback.stages.parallel:true}")
+    private boolean parallelStages = true;
+
+    @Override
+    public void sendCallback(ParsedCallback callback) {
+        sendCallback(callback.getPayload(CreditCardCallbackRequest.class));
+    }
+
     @Override
     public void sendCallback(CreditCardCallbackRequest request) {
 
@@ -83,17 +99,14 @@ public class CreditCardCallbackUseCaseImpl implements CreditCardCallbackUseCase
 
             uuid = info.getUuid();
 
+            JourneyContext journey;
             DataSingleDTO dto = null;
             try {
-                String data = (String) info.getPayments().get(0).getJourney();
-                String journeyTrim = data.trim();
-
-                if (journeyTrim.startsWith("{")) {
-                    dto = mapper.readValue(journeyTrim, DataSingleDTO.class);
-                } else {
-                    String unwrapped = mapper.readValue(journeyTrim, String.class);
-                    dto = mapper.readValue(unwrapped, DataSingleDTO.class);
+                journey = JourneyContext.of(info.getPayments().get(0).getJourney(), mapper);
+                if (!journey.isPresent()) {
+                    throw new IllegalArgumentException("Journey ausente nos dados do pagamento");
                 }
+                dto = journey.getSingle();
 
             } catch (Exception e) {
                 ErrorResponse error = ErrorResponse.builder()
@@ -123,15 +136,19 @@ public class CreditCardCallbackUseCaseImpl implements CreditCardCallbackUseCase
                 final InformationPaymentDTO finalInfo = info;
                 final UUID finalUuid = uuid;
 
-                try {
-                    retryService.executeWithRetrySyncVoid(finalUuid, "SAP Redemptions",
-                            () -> redemptionsPort.send(finalUuid, generateRedemptionsService.generateRequest(finalInfo), finalBuilder), request);
-
-                    retryService.executeWithRetrySyncVoid(finalUuid, "SAP Payments",
-                            () -> paymentsPort.send(finalUuid, generatePaymentsService.generateRequest(request, finalInfo), finalBuilder), request);
+                // Headers.Builder nao e thread-safe e os clients adicionam headers nele
+                final Headers.Builder channelBuilder = finalBuilder.build().newBuilder();
 
-                    retryService.executeWithRetrySyncVoid(finalUuid, "Channel Notification",
-                            () -> transactionsPort.send(finalUuid, service.generateRequest(request), finalBuilder), request);
+                try {
+                    StageGraph.of(finalUuid, parallelStages)
+                            .stage(SAP_REDEMPTIONS, () -> retryService.executeWithRetryAsync(finalUuid, SAP_REDEMPTIONS,
+                                    () -> redemptionsPort.send(finalUuid, generateRedemptionsService.generateRequest(finalInfo, journey), finalBuilder), request))
+                            .stage(SAP_PAYMENTS, () -> retryService.executeWithRetryAsync(finalUuid, SAP_PAYMENTS,
+                                    () -> paymentsPort.send(finalUuid, generatePaymentsService.generateRequest(request, finalInfo, journey), finalBuilder), request),
+                                    SAP_REDEMPTIONS)
+                            .stage(CHANNEL_NOTIFICATION, () -> retryService.executeWithRetryAsync(finalUuid, CHANNEL_NOTIFICATION,
+                                    () -> transactionsPort.send(finalUuid, service.generateRequest(request), channelBuilder), request))
+                            .execute();
 
                 } catch (Exception e) {
                     ErrorResponse error = ErrorResponse.builder()
@@ -5,13 +5,16 @@ import java.util.UUID;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import com.omp.hub.callback.application.service.NotificationOutboxDispatcher;
 import com.omp.hub.callback.application.usecase.callback.PixCallbackUseCase;
 import com.omp.hub.callback.application.utils.apigee.ApigeeHeaderService;
 import com.omp.hub.callback.domain.enums.PaymentStatusEnum;
 import com.omp.hub.callback.domain.enums.PixAutomaticoEventEnum;
 import com.omp.hub.callback.domain.exceptions.BusinessException;
+import com.omp.hub.callback.domain.model.dto.callback.ParsedCallback;
 import com.omp.hub.callback.domain.model.dto.callback.pix.PixCallbackRequest;
 import com.omp.hub.callback.domain.model.dto.information.InformationPaymentDTO;
 import com.omp.hub.callback.domain.model.dto.information.PaymentDTO;
@@ -20,6 +23,7 @@ import com.omp.hub.callback.domain.ports.client.TransationsNotificationsPort;
 import com.omp.hub.callback.domain.service.generate.GenerateCallbackPixService;
 import com.omp.hub.callback.domain.service.impl.notification.NotificationManagerService;
 import com.omp.hub.callback.domain.service.impl.notification.PixEventMappingService;
+import com.omp.hub.callback.infrastructure.metrics.CallbackMetrics;
 
 import lombok.RequiredArgsConstructor;
 
@@ -36,22 +40,28 @@ public class PixCallbackUseCaseImpl implements PixCallbackUseCase {
     private final PixEventMappingService pixEventMappingService;
     private final NotificationManagerService notificationManagerService;
 
-    private String txId;
+    @Autowired(required = false)
+    private NotificationOutboxDispatcher notificationOutbox;
+
+    @Override
+    public void sendCallback(ParsedCallback callback) {
+        sendCallback(callback.getPayload(PixCallbackRequest.class));
+    }
 
     @Override
     public void sendCallback(PixCallbackRequest request) {
 
-        this.txId = request.getOmpTransactionId() != null ? request.getOmpTransactionId() : request.getTxId();
+        String txId = request.getOmpTransactionId() != null ? request.getOmpTransactionId() : request.getTxId();
 
         try {
             UUID uuid = UUID.randomUUID();
             String gevenue = "gevenue";
 
             if (request.getService() != null && !request.getService().isEmpty() && request.getService().toLowerCase().contains(gevenue)) {
-                sendHubNotification(uuid, request);
+                sendHubNotification(uuid, txId, request);
             }
             else {
-                processPixAutomaticoNotification(uuid, request);
+                processPixAutomaticoNotification(uuid, txId, request);
             }
 
             if (request.getOmpTransactionId() != null && !request.getOmpTransactionId().isEmpty()) {
@@ -77,11 +87,11 @@ public class PixCallbackUseCaseImpl implements PixCallbackUseCase {
 
         } catch (BusinessException e) {
             logger.error("Erro de negócio no callback PIX - TxId: {}, Erro: {}",
-                    this.txId, e.getMessage(), e);
+                    txId, e.getMessage(), e);
             throw e;
         } catch (Exception e) {
             logger.error("Erro interno no callback PIX - TxId: {}, Erro: {}",
-                    this.txId, e.getMessage(), e);
+                    txId, e.getMessage(), e);
 
             throw new BusinessException("Ocorreu um erro interno no callback PIX", "PIX_CALLBACK_ERROR",
                     e.getMessage() + "\n" + e.getCause() + "\n" + e.getClass(),
@@ -89,18 +99,18 @@ public class PixCallbackUseCaseImpl implements PixCallbackUseCase {
         }
     }
 
-    private void processPixAutomaticoNotification(UUID uuid, PixCallbackRequest request) {
+    private void processPixAutomaticoNotification(UUID uuid, String txId, PixCallbackRequest request) {
 
-        logger.info("Notificação HUB enviada com sucesso para evento PIX Automático - txId: {}", this.txId);
+        logger.info("Notificação HUB enviada com sucesso para evento PIX Automático - txId: {}", txId);
 
-        if (!pixEventMappingService.isPixAutomaticoEvent(this.txId, request.getPaymentType())) {
-            sendHubNotification(uuid, request);
+        if (!pixEventMappingService.isPixAutomaticoEvent(txId, request.getPaymentType())) {
+            sendHubNotification(uuid, txId, request);
             return;
         }
 
-        PixAutomaticoEventEnum eventType = pixEventMappingService.mapPaymentTypeToEvent(this.txId, request.getPaymentType());
+        PixAutomaticoEventEnum eventType = pixEventMappingService.mapPaymentTypeToEvent(txId, request.getPaymentType());
         if (eventType == null) {
-            logger.warn("TxId: {} - Não foi possível mapear evento PIX Automático para: {}", this.txId, request.getPaymentType());
+            logger.warn("TxId: {} - Não foi possível mapear evento PIX Automático para: {}", txId, request.getPaymentType());
 
             throw new BusinessException("Ocorreu um erro interno no callback PIX", "PIX_CALLBACK_ERROR",
                     "Não foi possível mapear evento PIX Automático para o PaymentType: " + request.getPaymentType(),
@@ -108,45 +118,52 @@ public class PixCallbackUseCaseImpl implements PixCallbackUseCase {
         }
 
         logger.info("Processando notificação PIX Automático - txId: {}, evento: {}",
-                this.txId, eventType.getDescription());
+                txId, eventType.getDescription());
 
         logger.info("Iniciando envio de notificação HUB para evento PIX Automático - txId: {}, evento: {}",
-                this.txId, eventType.getDescription());
+                txId, eventType.getDescription());
 
-        sendHubNotification(uuid, request);
+        sendHubNotification(uuid, txId, request);
 
         logger.info("Notificação HUB enviada com sucesso para evento PIX Automático - txId: {}, evento: {}",
-                this.txId, eventType.getDescription());
+                txId, eventType.getDescription());
 
         logger.info("Iniciando envio de notificação RTDM para evento PIX Automático - txId: {}, evento: {}",
-                this.txId, eventType.getDescription());
+                txId, eventType.getDescription());
+
+        if (notificationOutbox != null && notificationOutbox.submit(uuid, txId, eventType)) {
+            logger.info("Notificação RTDM enfileirada no outbox para evento PIX Automático - txId: {}, evento: {}",
+                    txId, eventType.getDescription());
+            return;
+        }
 
-        boolean criteriosAtendidos = sendRtdmNotification(uuid, request, eventType);
+        boolean criteriosAtendidos = sendRtdmNotification(uuid, txId, eventType);
         
         if (criteriosAtendidos) {
             logger.info("Critérios atendidos - Notificação RTDM enviada com sucesso para evento PIX Automático - txId: {}, evento: {}",
-                    this.txId, eventType.getDescription());
+                    txId, eventType.getDescription());
         } else {
             logger.info("Critérios NÃO atendidos - Notificação RTDM não enviada para evento PIX Automático - txId: {}, evento: {}",
-                    this.txId, eventType.getDescription());
+                    txId, eventType.getDescription());
         }
     }
 
-    private boolean sendRtdmNotification(UUID uuid, PixCallbackRequest request, PixAutomaticoEventEnum eventType) {
+    private boolean sendRtdmNotification(UUID uuid, String txId, PixAutomaticoEventEnum eventType) {
         logger.info("Processando notificação RTDM - txId: {}, evento: {}",
-                this.txId, eventType.getDescription());
+                txId, eventType.getDescription());
 
-        return notificationManagerService.processPixAutomaticoNotification(uuid, this.txId, eventType);
+        return CallbackMetrics.recordStage(CallbackMetrics.RTDM_NOTIFICATION,
+                () -> notificationManagerService.processPixAutomaticoNotification(uuid, txId, eventType));
     }
 
 
-    private void sendHubNotification(UUID uuid, PixCallbackRequest request) {
-        logger.info("Enviando callback PIX - TxId: {}", this.txId);
+    private void sendHubNotification(UUID uuid, String txId, PixCallbackRequest request) {
+        logger.info("Enviando callback PIX - TxId: {}", txId);
 
         transactionsPort.send(uuid,
                 service.generateRequest(request),
                 apigeeHeaderService.generateHeaderApigee(uuid));
 
-        logger.info("Callback PIX enviado com sucesso - TxId: {}", this.txId);
+        logger.info("Callback PIX enviado com sucesso - TxId: {}", txId);
     }
 }
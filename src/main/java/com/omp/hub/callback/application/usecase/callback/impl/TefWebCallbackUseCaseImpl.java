@@ -3,6 +3,7 @@ package com.omp.hub.callback.application.usecase.callback.impl;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.omp.hub.callback.application.service.SapIntegrationService;
+import com.omp.hub.callback.application.service.StageGraph;
 import com.omp.hub.callback.application.usecase.callback.TefWebCallbackUseCase;
 import com.omp.hub.callback.application.utils.apigee.ApigeeHeaderService;
 import com.omp.hub.callback.domain.enums.PaymentStatusEnum;
@@ -12,17 +13,20 @@ import com.omp.hub.callback.domain.enums.TefWebStatusEnum;
 import com.omp.hub.callback.domain.exceptions.BusinessException;
 import com.omp.hub.callback.domain.exceptions.ErrorResponse;
 import com.omp.hub.callback.domain.model.dto.callback.tefweb.SalesDTO;
+import com.omp.hub.callback.domain.model.dto.callback.ParsedCallback;
 import com.omp.hub.callback.domain.model.dto.callback.tefweb.TefWebCallbackRequest;
 import com.omp.hub.callback.domain.model.dto.callback.tefweb.TransactionsDTO;
 import com.omp.hub.callback.domain.model.dto.journey.UpdateCancellationStatusDTO;
 import com.omp.hub.callback.domain.model.dto.information.InformationPaymentDTO;
 import com.omp.hub.callback.domain.model.dto.information.PaymentDTO;
+import com.omp.hub.callback.domain.model.dto.journey.JourneyContext;
 import com.omp.hub.callback.domain.model.dto.journey.single.DataSingleDTO;
 import com.omp.hub.callback.domain.ports.client.InformationPaymentPort;
 import okhttp3.Headers;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 
@@ -35,6 +39,11 @@ public class TefWebCallbackUseCaseImpl implements TefWebCallbackUseCase {
 
     private static final Logger logger = LoggerFactory.getLogger(TefWebCallbackUseCaseImpl.class);
 
+    private static final String SAP_REDEMPTIONS = "SAP Redemptions";
+    private static final String SAP_PAYMENTS = "SAP Payments";
+    private static final String SAP_BILLING_PAYMENTS = "SAP Billing Payments";
+    private static final String CHANNEL_NOTIFICATION = "Channel Notification";
+
     @Autowired
     private InformationPaymentPort port;
 
@@ -47,6 +56,14 @@ public class TefWebCallbackUseCaseImpl implements TefWebCallbackUseCase {
     @Autowired
     private ObjectMapper mapper;
 
+    @Value("${callback.stages.parallel:true}")
+    private boolean parallelStages = true;
+
+    @Override
+    public void sendCallback(ParsedCallback callback) {
+        sendCallback(callback.getPayload(TefWebCallbackRequest.class));
+    }
+
     @Override
     public void sendCallback(TefWebCallbackRequest request) {
         UUID uuid = UUID.randomUUID();
@@ -70,28 +87,11 @@ public class TefWebCallbackUseCaseImpl implements TefWebCallbackUseCase {
                     uuid = info.getUuid();
                 }
 
-                String journey = null;
-                if (info != null && info.getPayments() != null) {
-                    for (PaymentDTO p : info.getPayments()) {
-                        if (p.getJourney() != null) {
-                            journey = (String) p.getJourney();
-                            break;
-                        }
-                    }
-                }
-
+                JourneyContext journey = JourneyContext.from(info, mapper);
                 DataSingleDTO dto = null;
 
-                if (journey != null && !journey.isBlank()) {
-                    String journeyTrim = journey.trim();
-                    if (journeyTrim.startsWith("{")) {
-                        dto = mapper.readValue(journeyTrim, DataSingleDTO.class);
-                    } else {
-                        String unwrapped = mapper.readValue(journeyTrim, String.class);
-                        if (unwrapped != null) {
-                            dto = mapper.readValue(unwrapped, DataSingleDTO.class);
-                        }
-                    }
+                if (journey.isPresent()) {
+                    dto = journey.getSingle();
                 } else {
                     logger.warn("TxId: {} - Journey está nulo ou vazio, continuando sem dados de jornada", identifier);
                 }
@@ -192,32 +192,35 @@ public class TefWebCallbackUseCaseImpl implements TefWebCallbackUseCase {
         }
     }
 
+    /**
+     * SAP e notificacao do canal sao independentes e rodam em paralelo; dentro do SAP, o Payments
+     * depende do Redemptions. Qualquer falha gera uma unica atualizacao de erro no Journey.
+     */
     private void processSinglePayment(TefWebCallbackRequest request, InformationPaymentDTO info,
             UUID uuid, String identifier, DataSingleDTO dto, Headers.Builder headerBuilder) {
 
-        if (sapIntegrationService.hasSalesOrderId(dto, identifier)) {
-            try {
-                sapIntegrationService.sendToSapRedemptionsAndPayments(uuid, request, info, headerBuilder, dto);
-                // sapIntegrationService.sendChannelNotification(uuid, request, headerBuilder, info);
-                updatePaymentStatusSuccess(identifier, uuid);
-            } catch (Exception e) {
-                handlePaymentError(e, identifier, uuid);
-            }
-        } else if (sapIntegrationService.hasBillingProducts(dto)) {
-            try {
-                sapIntegrationService.sendToSapBillingPayments(uuid, request, info, headerBuilder, dto);
-                // sapIntegrationService.sendChannelNotification(uuid, request, headerBuilder, info);
-                updatePaymentStatusSuccess(identifier, uuid);
-            } catch (Exception e) {
-                handlePaymentError(e, identifier, uuid);
-            }
-        } 
+        // Headers.Builder nao e thread-safe e os clients adicionam headers nele
+        Headers.Builder channelBuilder = headerBuilder.build().newBuilder();
 
         try {
-            sapIntegrationService.sendChannelNotification(uuid, request, headerBuilder, info);
-            if (identifier != null) {
-                updatePaymentStatusSuccess(identifier, uuid);
+            StageGraph stages = StageGraph.of(uuid, parallelStages);
+
+            if (sapIntegrationService.hasSalesOrderId(dto, identifier)) {
+                stages.stage(SAP_REDEMPTIONS,
+                                () -> sapIntegrationService.sendToSapRedemptionsAsync(uuid, request, info, headerBuilder, dto))
+                        .stage(SAP_PAYMENTS,
+                                () -> sapIntegrationService.sendToSapPaymentsAsync(uuid, request, info, headerBuilder, dto),
+                                SAP_REDEMPTIONS);
+            } else if (sapIntegrationService.hasBillingProducts(dto)) {
+                stages.stage(SAP_BILLING_PAYMENTS,
+                        () -> sapIntegrationService.sendToSapBillingPaymentsAsync(uuid, request, info, headerBuilder, dto));
             }
+
+            stages.stage(CHANNEL_NOTIFICATION,
+                            () -> sapIntegrationService.sendChannelNotificationAsync(uuid, request, channelBuilder, info))
+                    .execute();
+
+            updatePaymentStatusSuccess(identifier, uuid);
         } catch (Exception e) {
             handlePaymentError(e, identifier, uuid);
         }
@@ -9,12 +9,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 
+import com.omp.hub.callback.application.service.NotificationOutboxDispatcher;
 import com.omp.hub.callback.application.service.RetryService;
 import com.omp.hub.callback.application.usecase.callback.TransactionsCallbackUseCase;
 import com.omp.hub.callback.application.utils.apigee.ApigeeHeaderService;
 import com.omp.hub.callback.domain.enums.PaymentStatusEnum;
 import com.omp.hub.callback.domain.enums.PixAutomaticoEventEnum;
 import com.omp.hub.callback.domain.exceptions.BusinessException;
+import com.omp.hub.callback.domain.model.dto.callback.ParsedCallback;
 import com.omp.hub.callback.domain.model.dto.callback.transactions.TransactionsRequest;
 import com.omp.hub.callback.domain.model.dto.information.InformationPaymentDTO;
 import com.omp.hub.callback.domain.model.dto.information.PaymentDTO;
@@ -52,6 +54,14 @@ public class TransactionsCallbackUseCaseImpl implements TransactionsCallbackUseC
     @Autowired
     private RetryService retryService;
 
+    @Autowired(required = false)
+    private NotificationOutboxDispatcher notificationOutbox;
+
+    @Override
+    public void sendCallback(ParsedCallback callback) {
+        sendCallback(callback.getPayload(TransactionsRequest.class));
+    }
+
     @Override
     public void sendCallback(TransactionsRequest request){
 
@@ -142,7 +152,11 @@ public class TransactionsCallbackUseCaseImpl implements TransactionsCallbackUseC
 
             PixAutomaticoEventEnum eventEnum = pixEventMappingService.mapEventTypeToEnum(txId, eventType, status, paymentMethod, recurrenceId);
             if (eventEnum != null) {
-                notificationManagerService.processPixAutomaticoNotification(uuid, txId, eventEnum);
+                if (notificationOutbox != null && notificationOutbox.submit(uuid, txId, eventEnum)) {
+                    logger.info("TxId: {} - Notificação {} enfileirada no outbox", txId, eventEnum);
+                } else {
+                    notificationManagerService.processPixAutomaticoNotification(uuid, txId, eventEnum);
+                }
             } else {
                 logger.warn("TxId: {} - Não foi possível mapear evento para notificação - EventType: {}, Status: {}", 
                            txId, eventType, status);
@@ -2,6 +2,7 @@ package com.omp.hub.callback.application.utils.apigee;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.omp.hub.callback.application.utils.apigee.dto.ApigeeTokenDTO;
+import com.omp.hub.callback.infrastructure.config.OkHttpClients;
 import lombok.RequiredArgsConstructor;
 import okhttp3.FormBody;
 import okhttp3.Headers;
@@ -54,6 +55,7 @@ public class AccessTokenApigeeClient implements AccessTokenPort {
                             .apiUrl(urlClient)
                             .headers(Headers.of(map))
                             .httpVerb(HTTP_VERB)
+                            .client(OkHttpClients.APIGEE_TOKEN)
                             .body(body)
                             .build()),
                     urlClient,
@@ -11,11 +11,11 @@ import java.util.UUID;
 public class ApigeeHeaderServiceImpl implements ApigeeHeaderService{
 
     @Autowired
-    private AccessTokenPort port;
+    private ApigeeTokenManager tokenManager;
 
     public Headers.Builder generateHeaderApigee(UUID uuid) {
 
-        ApigeeTokenDTO accessToken = port.getAccessToken(uuid);
+        ApigeeTokenDTO accessToken = tokenManager.getToken(uuid);
 
         return new Headers.Builder()
                 .add("x-client-auth", "Bearer " + accessToken.getAccess_token())
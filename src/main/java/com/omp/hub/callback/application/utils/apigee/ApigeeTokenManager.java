@@ -0,0 +1,221 @@
+package com.omp.hub.callback.application.utils.apigee;
+
+import com.omp.hub.callback.application.utils.apigee.dto.ApigeeTokenDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Mantem o access token do Apigee em cache ate pouco antes de {@code expires_in}.
+ * <p>
+ * Dentro da janela de refresh antecipado o token atual continua sendo devolvido e a renovacao
+ * acontece em background; com o token expirado o chamador aguarda a renovacao. Em ambos os casos
+ * chamadas concorrentes compartilham uma unica requisicao ao endpoint de token.
+ */
+@Component
+public class ApigeeTokenManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApigeeTokenManager.class);
+
+    private final AccessTokenPort port;
+    private final Executor refreshExecutor;
+
+    @Value("${apigee.token.cache.enabled:true}")
+    private boolean cacheEnabled = true;
+
+    @Value("${apigee.token.expiry-skew-seconds:30}")
+    private long expirySkewSeconds = 30;
+
+    @Value("${apigee.token.refresh-ahead-seconds:120}")
+    private long refreshAheadSeconds = 120;
+
+    private Clock clock = Clock.systemUTC();
+
+    private final AtomicReference<CachedToken> current = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<ApigeeTokenDTO>> inFlight = new AtomicReference<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong refreshes = new AtomicLong();
+    private final AtomicLong refreshFailures = new AtomicLong();
+
+    public ApigeeTokenManager(AccessTokenPort port,
+                              @Qualifier("apigeeTokenExecutor") Executor refreshExecutor) {
+        this.port = port;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    public ApigeeTokenDTO getToken(UUID uuid) {
+
+        if (!cacheEnabled) {
+            misses.incrementAndGet();
+            return fetch(uuid);
+        }
+
+        long now = clock.millis();
+        CachedToken cached = current.get();
+
+        if (cached != null && now < cached.expiresAt) {
+            hits.incrementAndGet();
+            if (now >= cached.refreshAt) {
+                refreshInBackground(uuid);
+            }
+            return cached.token;
+        }
+
+        misses.incrementAndGet();
+        return awaitRefresh(uuid);
+    }
+
+    /**
+     * Descarta o token em cache quando o downstream o recusou (401), forcando a proxima chamada a
+     * buscar um novo token. So descarta se o cache ainda guardar o token recusado, para que um 401
+     * atrasado nao derrube um token que ja foi renovado.
+     */
+    public void invalidate(String rejectedAccessToken) {
+        CachedToken cached = current.get();
+        if (cached == null || rejectedAccessToken == null
+                || !rejectedAccessToken.equals(cached.token.getAccess_token())) {
+            return;
+        }
+        if (current.compareAndSet(cached, null)) {
+            logger.warn("Token Apigee recusado pelo downstream (401); descartado do cache");
+        }
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getRefreshCount() {
+        return refreshes.get();
+    }
+
+    public long getRefreshFailureCount() {
+        return refreshFailures.get();
+    }
+
+    private ApigeeTokenDTO awaitRefresh(UUID uuid) {
+
+        CompletableFuture<ApigeeTokenDTO> pending = new CompletableFuture<>();
+        CompletableFuture<ApigeeTokenDTO> existing = inFlight.compareAndExchange(null, pending);
+
+        if (existing == null) {
+            runRefresh(uuid, pending);
+            existing = pending;
+        }
+
+        try {
+            return existing.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void refreshInBackground(UUID uuid) {
+
+        CompletableFuture<ApigeeTokenDTO> pending = new CompletableFuture<>();
+        if (inFlight.compareAndExchange(null, pending) != null) {
+            return;
+        }
+
+        try {
+            refreshExecutor.execute(() -> runRefresh(uuid, pending));
+        } catch (RejectedExecutionException e) {
+            logger.warn("TxId: {} - Refresh antecipado do token Apigee rejeitado pelo executor", uuid);
+            inFlight.set(null);
+            // Quem pegou este refresh em awaitRefresh recebe a causa em vez de um cancelamento
+            pending.completeExceptionally(e);
+        }
+    }
+
+    private void runRefresh(UUID uuid, CompletableFuture<ApigeeTokenDTO> pending) {
+        try {
+            ApigeeTokenDTO token = fetch(uuid);
+            inFlight.set(null);
+            pending.complete(token);
+        } catch (RuntimeException e) {
+            refreshFailures.incrementAndGet();
+            logger.warn("TxId: {} - Falha ao renovar token Apigee: {}", uuid, e.getMessage());
+            inFlight.set(null);
+            pending.completeExceptionally(e);
+        }
+    }
+
+    private ApigeeTokenDTO fetch(UUID uuid) {
+
+        long requestedAt = clock.millis();
+        ApigeeTokenDTO token = port.getAccessToken(uuid);
+        refreshes.incrementAndGet();
+
+        if (cacheEnabled) {
+            cache(uuid, token, requestedAt);
+        }
+
+        return token;
+    }
+
+    private void cache(UUID uuid, ApigeeTokenDTO token, long requestedAt) {
+
+        long expiresInMillis = parseExpiresInMillis(token);
+        if (expiresInMillis <= 0) {
+            current.set(null);
+            return;
+        }
+
+        long expiresAt = requestedAt + expiresInMillis - expirySkewSeconds * 1000;
+        if (expiresAt <= requestedAt) {
+            current.set(null);
+            return;
+        }
+
+        long refreshAt = Math.max(requestedAt, expiresAt - refreshAheadSeconds * 1000);
+        current.set(new CachedToken(token, expiresAt, refreshAt));
+
+        logger.debug("TxId: {} - Token Apigee armazenado em cache por {} ms", uuid, expiresAt - requestedAt);
+    }
+
+    private long parseExpiresInMillis(ApigeeTokenDTO token) {
+
+        if (token == null || token.getAccess_token() == null || token.getExpires_in() == null) {
+            return 0;
+        }
+
+        try {
+            return Long.parseLong(token.getExpires_in().trim()) * 1000;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static final class CachedToken {
+
+        private final ApigeeTokenDTO token;
+        private final long expiresAt;
+        private final long refreshAt;
+
+        private CachedToken(ApigeeTokenDTO token, long expiresAt, long refreshAt) {
+            this.token = token;
+            this.expiresAt = expiresAt;
+            this.refreshAt = refreshAt;
+        }
+    }
+}
@@ -3,26 +3,30 @@ package com.omp.hub.callback.application.utils.apigee;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.omp.hub.callback.domain.exceptions.BusinessException;
 import com.omp.hub.callback.domain.exceptions.ErrorResponse;
+import com.omp.hub.callback.infrastructure.config.OkHttpClients;
 import okhttp3.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.net.ConnectException;
-import java.net.SocketTimeoutException;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @Component
 public class ApigeeUtils {
 
     private static final Logger logger = LoggerFactory.getLogger(ApigeeUtils.class);
 
+    private static final String CLIENT_AUTH_HEADER = "x-client-auth";
+    private static final String BEARER_PREFIX = "Bearer ";
+
     @Autowired
     private ObjectMapper mapper;
 
@@ -32,6 +36,13 @@ public class ApigeeUtils {
     @Autowired
     private OkHttpClient okHttpClient;
 
+    @Autowired
+    private OkHttpClients okHttpClients;
+
+    // Provider porque o proprio ApigeeTokenManager busca o token por este componente
+    @Autowired
+    private ObjectProvider<ApigeeTokenManager> tokenManager;
+
     public void convertApigeeErrorToBusinessError(Response response, String responseBody, String urlClient) {
 
         try {
@@ -81,19 +92,21 @@ public class ApigeeUtils {
             if (dto.getHeaders() == null)
                 dto.setHeaders(Headers.of("Content-Type", "application/json"));
 
+            Request.Builder builder = new Request.Builder()
+                    .url(apigeeUrl + dto.getApiUrl())
+                    .headers(dto.getHeaders())
+                    .tag(OkHttpClients.Profile.class, OkHttpClients.profile(dto.getClient()));
+
             if (dto.getHttpVerb().equals("POST"))
-                return new Request.Builder().url(apigeeUrl + dto.getApiUrl()).post(body).headers(dto.getHeaders())
-                        .build();
+                return builder.post(body).build();
             if (dto.getHttpVerb().equals("GET"))
-                return new Request.Builder().url(apigeeUrl + dto.getApiUrl()).get().headers(dto.getHeaders()).build();
+                return builder.get().build();
             if (dto.getHttpVerb().equals("PUT"))
-                return new Request.Builder().url(apigeeUrl + dto.getApiUrl()).put(body).headers(dto.getHeaders())
-                        .build();
+                return builder.put(body).build();
             if (dto.getHttpVerb().equals("PATCH"))
-                return new Request.Builder().url(apigeeUrl + dto.getApiUrl()).patch(body).headers(dto.getHeaders())
-                        .build();
+                return builder.patch(body).build();
             if (dto.getHttpVerb().equals("DELETE"))
-                return new Request.Builder().url(apigeeUrl + dto.getApiUrl()).get().headers(dto.getHeaders()).build();
+                return builder.get().build();
             return null;
         } catch (IOException e) {
             throw new BusinessException(e);
@@ -103,48 +116,94 @@ public class ApigeeUtils {
     public <T> T sendRequestToApigee(UUID uuid, Request request, String urlClient, Class<T> nameClass) {
         try {
             if (Objects.nonNull(request)) {
-                Response response = okHttpClient.newCall(request).execute();
-                String responseStr = response.body() != null ? response.body().string() : "";
-                logger.info("TxId: " + uuid.toString() + " - RESPONSE: " + responseStr);
-                convertApigeeErrorToBusinessError(response, responseStr, urlClient);
-                logger.info("TxId: " + uuid.toString() + " - Fim chamada para " + urlClient + ":");
-
-                if (nameClass != null) {
-                    // Se não há conteúdo na resposta mas esperamos um objeto, retorna null
-                    if (responseStr.trim().isEmpty()) {
-                        logger.warn("TxId: " + uuid.toString()
-                                + " - Resposta vazia recebida, mas esperava-se um objeto do tipo: "
-                                + nameClass.getSimpleName());
-                        return null;
-                    }
-                    return mapper.readValue(responseStr, nameClass);
-                } else {
-                    return null;
+                Response response = clientFor(request).newCall(request).execute();
+                try (ResponseBody ignored = response.body()) {
+                    return readResponse(uuid, response, urlClient, nameClass);
                 }
             }
             return null;
-        } catch (BusinessException e) {
-            throw e;
-        } catch (ConnectException e) {
-            ErrorResponse error = ErrorResponse.builder()
-                    .message("Erro de conexão")
-                    .details(e.getMessage())
-                    .status(HttpStatus.BAD_GATEWAY.value())
-                    .errorCode("ERROR_BAD_GATEWAY")
-                    .timestamp(Instant.now())
-                    .build();
-            throw new BusinessException(error);
-        } catch (SocketTimeoutException e) {
-            ErrorResponse error = ErrorResponse.builder()
-                    .message("Erro de conexão")
-                    .details(e.getMessage())
-                    .status(HttpStatus.REQUEST_TIMEOUT.value())
-                    .errorCode("ERROR_CONNECTION_TIMEOUT")
-                    .timestamp(Instant.now())
-                    .build();
-            throw new BusinessException(error);
         } catch (Exception e) {
-            throw new BusinessException(e);
+            throw AsyncHttpCall.toBusinessException(e);
+        }
+    }
+
+    public <T> CompletableFuture<T> sendRequestToApigeeAsync(UUID uuid, Request request, String urlClient,
+            Class<T> nameClass) {
+        return sendRequestToApigeeAsync(uuid, request, urlClient, nameClass, null);
+    }
+
+    /**
+     * Versao nao bloqueante de {@link #sendRequestToApigee}, com o mesmo tratamento de resposta e de
+     * erros; as falhas completam o future com {@link BusinessException}.
+     *
+     * @param timeout limite da chamada inteira; {@code null} usa os timeouts do {@link OkHttpClient}
+     */
+    public <T> CompletableFuture<T> sendRequestToApigeeAsync(UUID uuid, Request request, String urlClient,
+            Class<T> nameClass, Duration timeout) {
+        return AsyncHttpCall.enqueue(request != null ? clientFor(request) : okHttpClient, request, timeout,
+                response -> readResponse(uuid, response, urlClient, nameClass));
+    }
+
+    private OkHttpClient clientFor(Request request) {
+        return okHttpClients != null ? okHttpClients.forRequest(request) : okHttpClient;
+    }
+
+    /**
+     * Erros e log em debug leem o body inteiro; no sucesso o objeto e lido direto do stream.
+     */
+    private <T> T readResponse(UUID uuid, Response response, String urlClient, Class<T> nameClass)
+            throws IOException {
+
+        if (response.code() == 401) {
+            invalidateRejectedToken(uuid, response);
+        }
+
+        if (!response.isSuccessful() || logger.isDebugEnabled()) {
+            String responseStr = ResponseBodies.string(response);
+            logger.debug("TxId: " + uuid.toString() + " - RESPONSE: " + responseStr);
+            convertApigeeErrorToBusinessError(response, responseStr, urlClient);
+            logger.info("TxId: " + uuid.toString() + " - Fim chamada para " + urlClient + ":");
+            return nameClass != null ? readValue(uuid, responseStr, nameClass) : null;
+        }
+
+        logger.info("TxId: " + uuid.toString() + " - Fim chamada para " + urlClient + " - status: " + response.code());
+        if (nameClass == null) {
+            return null;
+        }
+
+        T value = ResponseBodies.read(mapper, response, nameClass);
+        if (value == null) {
+            warnEmptyResponse(uuid, nameClass);
         }
+        return value;
+    }
+
+    /**
+     * Um 401 com o header do Apigee indica token revogado ou expirado antes do previsto: o token sai
+     * do cache para que o retry ja busque um novo.
+     */
+    private void invalidateRejectedToken(UUID uuid, Response response) {
+        String auth = response.request().header(CLIENT_AUTH_HEADER);
+        ApigeeTokenManager manager = tokenManager != null ? tokenManager.getIfAvailable() : null;
+        if (auth == null || !auth.startsWith(BEARER_PREFIX) || manager == null) {
+            return;
+        }
+        logger.warn("TxId: " + uuid.toString() + " - Token Apigee recusado (401); descartando o token em cache");
+        manager.invalidate(auth.substring(BEARER_PREFIX.length()));
+    }
+
+    private <T> T readValue(UUID uuid, String responseStr, Class<T> nameClass) throws IOException {
+        // Se não há conteúdo na resposta mas esperamos um objeto, retorna null
+        if (responseStr.trim().isEmpty()) {
+            warnEmptyResponse(uuid, nameClass);
+            return null;
+        }
+        return mapper.readValue(responseStr, nameClass);
+    }
+
+    private void warnEmptyResponse(UUID uuid, Class<?> nameClass) {
+        logger.warn("TxId: " + uuid.toString()
+                + " - Resposta vazia recebida, mas esperava-se um objeto do tipo: "
+                + nameClass.getSimpleName());
     }
 }
@@ -0,0 +1,113 @@
+package com.omp.hub.callback.application.utils.apigee;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpStatus;
+
+import com.omp.hub.callback.domain.exceptions.BusinessException;
+import com.omp.hub.callback.domain.exceptions.ErrorResponse;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Execucao assincrona das chamadas HTTP de {@link ApigeeUtils} e {@link RequestUtils} via
+ * {@link Call#enqueue}, sem prender uma thread da aplicacao enquanto a resposta nao chega.
+ * <p>
+ * O callback roda numa thread do dispatcher do OkHttp, que trata o body e fecha a resposta antes de
+ * completar o future; por isso continuacoes pesadas devem usar as variantes {@code *Async} do
+ * {@link CompletableFuture} com um executor proprio. Cancelar o future cancela a chamada.
+ */
+final class AsyncHttpCall {
+
+    @FunctionalInterface
+    interface ResponseHandler<T> {
+        T handle(Response response) throws Exception;
+    }
+
+    private AsyncHttpCall() {
+    }
+
+    /**
+     * @param timeout limite da chamada inteira (conexao, envio e leitura); {@code null} mantem os
+     *                timeouts do client
+     */
+    static <T> CompletableFuture<T> enqueue(OkHttpClient client, Request request, Duration timeout,
+            ResponseHandler<T> handler) {
+
+        if (request == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        Call call = client.newCall(request);
+        if (timeout != null) {
+            call.timeout().timeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.whenComplete((ignored, error) -> {
+            if (error instanceof CancellationException) {
+                call.cancel();
+            }
+        });
+
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call failed, IOException e) {
+                future.completeExceptionally(toBusinessException(e));
+            }
+
+            @Override
+            public void onResponse(Call completed, Response response) {
+                try (ResponseBody ignored = response.body()) {
+                    future.complete(handler.handle(response));
+                } catch (Exception e) {
+                    future.completeExceptionally(toBusinessException(e));
+                }
+            }
+        });
+
+        return future;
+    }
+
+    /**
+     * Mesmo mapeamento das chamadas sincronas: falha de conexao vira 502, timeout vira 408 e o
+     * restante e encapsulado em {@link BusinessException}.
+     */
+    static BusinessException toBusinessException(Exception e) {
+        if (e instanceof BusinessException businessException) {
+            return businessException;
+        }
+        if (e instanceof ConnectException) {
+            return connectionError(HttpStatus.BAD_GATEWAY, "ERROR_BAD_GATEWAY", e);
+        }
+        if (e instanceof SocketTimeoutException
+                || (e instanceof InterruptedIOException && "timeout".equals(e.getMessage()))) {
+            return connectionError(HttpStatus.REQUEST_TIMEOUT, "ERROR_CONNECTION_TIMEOUT", e);
+        }
+        return new BusinessException(e);
+    }
+
+    private static BusinessException connectionError(HttpStatus status, String errorCode, Exception e) {
+        ErrorResponse error = ErrorResponse.builder()
+                .message("Erro de conexão")
+                .details(e.getMessage())
+                .status(status.value())
+                .errorCode(errorCode)
+                .timestamp(Instant.now())
+                .build();
+        return new BusinessException(error);
+    }
+}
@@ -17,4 +17,7 @@ public class GenerateRequestDTO<T> {
     private Headers headers;
     private String httpVerb;
 
+    // Perfil de OkHttpClients usado na chamada; null usa o client padrao
+    private String client;
+
 }
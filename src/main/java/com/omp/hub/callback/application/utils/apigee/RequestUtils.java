@@ -3,22 +3,22 @@ package com.omp.hub.callback.application.utils.apigee;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.omp.hub.callback.domain.exceptions.BusinessException;
 import com.omp.hub.callback.domain.exceptions.ErrorResponse;
+import com.omp.hub.callback.infrastructure.config.OkHttpClients;
 import okhttp3.Headers;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
+import okhttp3.ResponseBody;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.net.ConnectException;
-import java.net.SocketTimeoutException;
-import java.time.Instant;
+import java.time.Duration;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 @Component
 public class RequestUtils {
@@ -31,6 +31,9 @@ public class RequestUtils {
     @Autowired
     private OkHttpClient okHttpClient;
 
+    @Autowired
+    private OkHttpClients okHttpClients;
+
     public Request generateRequest(GenerateRequestDTO<?> dto) {
         try {
             logger.info("Inicio chamada para " + dto.getApiUrl() + ":");
@@ -39,16 +42,21 @@ public class RequestUtils {
             if (dto.getHeaders() == null)
                 dto.setHeaders(Headers.of("Content-Type", "application/json"));
 
+            Request.Builder builder = new Request.Builder()
+                    .url(dto.getApiUrl())
+                    .headers(dto.getHeaders())
+                    .tag(OkHttpClients.Profile.class, OkHttpClients.profile(dto.getClient()));
+
             if (dto.getHttpVerb().equals("POST"))
-                return new Request.Builder().url(dto.getApiUrl()).post(body).headers(dto.getHeaders()).build();
+                return builder.post(body).build();
             if (dto.getHttpVerb().equals("GET"))
-                return new Request.Builder().url(dto.getApiUrl()).get().headers(dto.getHeaders()).build();
+                return builder.get().build();
             if (dto.getHttpVerb().equals("PUT"))
-                return new Request.Builder().url(dto.getApiUrl()).put(body).headers(dto.getHeaders()).build();
+                return builder.put(body).build();
             if (dto.getHttpVerb().equals("PATCH"))
-                return new Request.Builder().url(dto.getApiUrl()).patch(body).headers(dto.getHeaders()).build();
+                return builder.patch(body).build();
             if (dto.getHttpVerb().equals("DELETE"))
-                return new Request.Builder().url(dto.getApiUrl()).delete().headers(dto.getHeaders()).build();
+                return builder.delete().build();
             return null;
         } catch (IOException e) {
             throw new BusinessException(e);
@@ -58,41 +66,54 @@ public class RequestUtils {
     public <T> T sendRequest(Request request, String urlClient, Class<T> nameClass) {
         try {
             if (Objects.nonNull(request)) {
-                Response response = okHttpClient.newCall(request).execute();
-                String responseStr = response.body() != null ? response.body().string() : "";
-
-                if (!response.isSuccessful()){
-                    ErrorResponse error = mapper.readValue(responseStr, ErrorResponse.class);
-                    throw new BusinessException(error);
+                Response response = clientFor(request).newCall(request).execute();
+                try (ResponseBody ignored = response.body()) {
+                    return readResponse(response, urlClient, nameClass);
                 }
-
-                logger.info("RESPONSE: " + responseStr);
-                logger.info("Fim chamada para " + urlClient + ":");
-                return !responseStr.isEmpty() ? mapper.readValue(responseStr, nameClass) : null;
             }
             return null;
-        } catch (BusinessException e) {
-            throw e;
-        } catch (ConnectException e) {
-            ErrorResponse error = ErrorResponse.builder()
-                    .message("Erro de conexão")
-                    .details(e.getMessage())
-                    .status(HttpStatus.BAD_GATEWAY.value())
-                    .errorCode("ERROR_BAD_GATEWAY")
-                    .timestamp(Instant.now())
-                    .build();
-            throw new BusinessException(error);
-        } catch (SocketTimeoutException e) {
-            ErrorResponse error = ErrorResponse.builder()
-                    .message("Erro de conexão")
-                    .details(e.getMessage())
-                    .status(HttpStatus.REQUEST_TIMEOUT.value())
-                    .errorCode("ERROR_CONNECTION_TIMEOUT")
-                    .timestamp(Instant.now())
-                    .build();
-            throw new BusinessException(error);
         } catch (Exception e) {
-            throw new BusinessException(e);
+            throw AsyncHttpCall.toBusinessException(e);
         }
     }
+
+    public <T> CompletableFuture<T> sendRequestAsync(Request request, String urlClient, Class<T> nameClass) {
+        return sendRequestAsync(request, urlClient, nameClass, null);
+    }
+
+    /**
+     * Versao nao bloqueante de {@link #sendRequest}, com o mesmo tratamento de resposta e de erros;
+     * as falhas completam o future com {@link BusinessException}.
+     *
+     * @param timeout limite da chamada inteira; {@code null} usa os timeouts do {@link OkHttpClient}
+     */
+    public <T> CompletableFuture<T> sendRequestAsync(Request request, String urlClient, Class<T> nameClass,
+            Duration timeout) {
+        return AsyncHttpCall.enqueue(request != null ? clientFor(request) : okHttpClient, request, timeout,
+                response -> readResponse(response, urlClient, nameClass));
+    }
+
+    private OkHttpClient clientFor(Request request) {
+        return okHttpClients != null ? okHttpClients.forRequest(request) : okHttpClient;
+    }
+
+    /**
+     * Erros e log em debug leem o body inteiro; no sucesso o objeto e lido direto do stream.
+     */
+    private <T> T readResponse(Response response, String urlClient, Class<T> nameClass) throws IOException {
+        if (!response.isSuccessful()) {
+            ErrorResponse error = mapper.readValue(ResponseBodies.string(response), ErrorResponse.class);
+            throw new BusinessException(error);
+        }
+
+        if (logger.isDebugEnabled()) {
+            String responseStr = ResponseBodies.string(response);
+            logger.debug("RESPONSE: " + responseStr);
+            logger.info("Fim chamada para " + urlClient + ":");
+            return !responseStr.isEmpty() ? mapper.readValue(responseStr, nameClass) : null;
+        }
+
+        logger.info("Fim chamada para " + urlClient + " - status: " + response.code());
+        return ResponseBodies.read(mapper, response, nameClass);
+    }
 }
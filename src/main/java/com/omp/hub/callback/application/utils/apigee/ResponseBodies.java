@@ -0,0 +1,47 @@
+package com.omp.hub.callback.application.utils.apigee;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+
+/**
+ * Leitura do body das respostas de {@link ApigeeUtils} e {@link RequestUtils}.
+ * <p>
+ * No caminho de sucesso o JSON e desserializado direto do stream do body, sem copiar a resposta
+ * para uma {@link String}; o body inteiro so e lido quando o mapeamento de erro ou o log em debug
+ * precisam dele. Quem chama continua responsavel por fechar o {@link Response}, o que devolve a
+ * conexao ao pool.
+ */
+final class ResponseBodies {
+
+    private ResponseBodies() {
+    }
+
+    static String string(Response response) throws IOException {
+        ResponseBody body = response.body();
+        return body != null ? body.string() : "";
+    }
+
+    /**
+     * @return {@code null} quando o body esta vazio ou so tem espacos, como na leitura via String
+     */
+    static <T> T read(ObjectMapper mapper, Response response, Class<T> type) throws IOException {
+        ResponseBody body = response.body();
+        if (body == null) {
+            return null;
+        }
+
+        BufferedSource source = body.source();
+        while (!source.exhausted() && Character.isWhitespace(source.getBuffer().getByte(0))) {
+            source.skip(1);
+        }
+        if (source.exhausted()) {
+            return null;
+        }
+        return mapper.readValue(source.inputStream(), type);
+    }
+}
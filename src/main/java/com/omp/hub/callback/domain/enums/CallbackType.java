@@ -0,0 +1,47 @@
+package com.omp.hub.callback.domain.enums;
+
+import java.util.List;
+
+import com.omp.hub.callback.domain.model.dto.callback.CallbackDTO;
+import com.omp.hub.callback.domain.model.dto.callback.creditcard.CreditCardCallbackRequest;
+import com.omp.hub.callback.domain.model.dto.callback.pix.PixCallbackRequest;
+import com.omp.hub.callback.domain.model.dto.callback.tefweb.TefWebCallbackRequest;
+import com.omp.hub.callback.domain.model.dto.callback.transactions.TransactionsRequest;
+
+public enum CallbackType {
+
+    // A ordem de declaracao e a prioridade usada no processamento (CallbackServiceImpl)
+    PIX(PixCallbackRequest.class, "Pix"),
+    CREDIT_CARD(CreditCardCallbackRequest.class, "CreditCard"),
+    TEF_WEB(TefWebCallbackRequest.class, "TefWeb"),
+    TRANSACTIONS(TransactionsRequest.class, "Transactions");
+
+    // Prioridade usada na deteccao/validacao de entrada (CallbackTypeDetectorService)
+    private static final List<CallbackType> DETECTION_ORDER = List.of(TRANSACTIONS, TEF_WEB, CREDIT_CARD, PIX);
+
+    private static final List<CallbackType> PROCESSING_ORDER = List.of(values());
+
+    private final Class<? extends CallbackDTO> requestClass;
+    private final String label;
+
+    CallbackType(Class<? extends CallbackDTO> requestClass, String label) {
+        this.requestClass = requestClass;
+        this.label = label;
+    }
+
+    public Class<? extends CallbackDTO> getRequestClass() {
+        return this.requestClass;
+    }
+
+    public String getLabel() {
+        return this.label;
+    }
+
+    public static List<CallbackType> detectionOrder() {
+        return DETECTION_ORDER;
+    }
+
+    public static List<CallbackType> processingOrder() {
+        return PROCESSING_ORDER;
+    }
+}
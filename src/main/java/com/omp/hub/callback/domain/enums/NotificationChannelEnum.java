@@ -0,0 +1,10 @@
+package com.omp.hub.callback.domain.enums;
+
+/**
+ * Canais de comunicacao das notificacoes de PIX Automatico.
+ */
+public enum NotificationChannelEnum {
+
+    SMS,
+    EMAIL
+}
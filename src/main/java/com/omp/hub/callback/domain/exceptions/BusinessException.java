@@ -63,6 +63,6 @@ public class BusinessException extends RuntimeException {
     }
 
     public boolean isUnprocessableEntity() {
-        return error != null && error.getStatus() == 422;
+        return error != null && Integer.valueOf(422).equals(error.getStatus());
     }
 }
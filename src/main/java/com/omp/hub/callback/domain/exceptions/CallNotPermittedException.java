@@ -0,0 +1,29 @@
+package com.omp.hub.callback.domain.exceptions;
+
+import java.time.Instant;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Chamada recusada localmente porque o circuit breaker do downstream esta aberto ou o bulkhead
+ * esta cheio. Nao adianta repetir imediatamente: o callback deve voltar para o retry da fila.
+ */
+public class CallNotPermittedException extends BusinessException {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final String CIRCUIT_OPEN = "ERROR_CIRCUIT_OPEN";
+    public static final String BULKHEAD_FULL = "ERROR_BULKHEAD_FULL";
+
+    public CallNotPermittedException(String downstream, String errorCode) {
+        super(ErrorResponse.builder()
+                .message("Chamada para " + downstream + " nao permitida")
+                .details(CIRCUIT_OPEN.equals(errorCode)
+                        ? "Circuit breaker de " + downstream + " esta aberto"
+                        : "Limite de chamadas simultaneas para " + downstream + " atingido")
+                .errorCode(errorCode)
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .timestamp(Instant.now())
+                .build());
+    }
+}
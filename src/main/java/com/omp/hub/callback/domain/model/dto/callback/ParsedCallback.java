@@ -0,0 +1,58 @@
+package com.omp.hub.callback.domain.model.dto.callback;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.omp.hub.callback.domain.enums.CallbackType;
+import com.omp.hub.callback.infrastructure.util.CallbackFingerprint;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Callback ja parseado uma unica vez: arvore JSON (sanitizada quando aplicavel), tipo resolvido e
+ * DTO tipado. E criado pelo {@code CallbackParser} e repassado ao controller, ao consumer SQS e aos
+ * casos de uso, evitando novos {@code readTree}/{@code readValue} do mesmo payload.
+ * <p>
+ * Como a deteccao na entrada e o processamento usam prioridades diferentes entre os tipos (ver
+ * {@link CallbackType}), o tipo usado na validacao e mantido separado do tipo processado; na
+ * pratica ambos coincidem.
+ */
+@Getter
+@Builder
+public class ParsedCallback {
+
+    private final JsonNode tree;
+
+    /** Tipo pela prioridade de processamento; {@code null} quando o payload nao e suportado. */
+    private final CallbackType type;
+
+    private final CallbackDTO payload;
+
+    /** Tipo pela prioridade de deteccao/validacao de entrada. */
+    private final CallbackType validationType;
+
+    private final CallbackDTO validationPayload;
+
+    private final boolean sanitized;
+
+    /** Calculado na primeira leitura; a idempotencia na entrada e o envio a fila usam o mesmo valor. */
+    @Getter(AccessLevel.NONE)
+    private volatile String fingerprint;
+
+    public boolean isSupported() {
+        return type != null;
+    }
+
+    public String getFingerprint() {
+        String result = fingerprint;
+        if (result == null && tree != null) {
+            result = CallbackFingerprint.of(tree);
+            fingerprint = result;
+        }
+        return result;
+    }
+
+    public <T extends CallbackDTO> T getPayload(Class<T> requestClass) {
+        return requestClass.cast(payload);
+    }
+}
@@ -0,0 +1,161 @@
+package com.omp.hub.callback.domain.model.dto.journey;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omp.hub.callback.domain.model.dto.information.InformationPaymentDTO;
+import com.omp.hub.callback.domain.model.dto.information.PaymentDTO;
+import com.omp.hub.callback.domain.model.dto.journey.recurring.DataRecurringDTO;
+import com.omp.hub.callback.domain.model.dto.journey.single.DataSingleDTO;
+
+/**
+ * Journey de um pagamento decodificado uma unica vez por callback.
+ * <p>
+ * O campo {@code journey} do {@link PaymentDTO} e uma string JSON que as vezes chega
+ * duplamente codificada ({@code "\"{...}\""}). O contexto desfaz essa codificacao e converte
+ * para {@link DataSingleDTO} / {@link DataRecurringDTO} sob demanda, guardando o resultado (ou o
+ * erro) para que use cases e generators compartilhem o mesmo parse.
+ */
+public final class JourneyContext {
+
+    private static final JourneyContext ABSENT = new JourneyContext(null, null, null);
+
+    private final Object raw;
+    private final ObjectMapper mapper;
+
+    private boolean decoded;
+    private String json;
+
+    private boolean singleResolved;
+    private DataSingleDTO single;
+    private JsonProcessingException singleError;
+
+    private boolean recurringResolved;
+    private DataRecurringDTO recurring;
+    private JsonProcessingException recurringError;
+
+    private JourneyContext(Object raw, ObjectMapper mapper, DataSingleDTO single) {
+        this.raw = raw;
+        this.mapper = mapper;
+        if (single != null) {
+            this.single = single;
+            this.singleResolved = true;
+        }
+    }
+
+    /**
+     * Usa a journey do primeiro pagamento que possui uma.
+     */
+    public static JourneyContext from(InformationPaymentDTO info, ObjectMapper mapper) {
+        if (info == null || info.getPayments() == null) {
+            return ABSENT;
+        }
+        for (PaymentDTO payment : info.getPayments()) {
+            if (payment != null && payment.getJourney() != null) {
+                return of(payment.getJourney(), mapper);
+            }
+        }
+        return ABSENT;
+    }
+
+    public static JourneyContext of(Object journey, ObjectMapper mapper) {
+        if (journey == null || (journey instanceof String text && text.isBlank())) {
+            return ABSENT;
+        }
+        return new JourneyContext(journey, mapper, null);
+    }
+
+    /**
+     * Contexto para uma journey que o chamador ja converteu.
+     */
+    public static JourneyContext of(DataSingleDTO single) {
+        return single != null ? new JourneyContext(single, null, single) : ABSENT;
+    }
+
+    public static JourneyContext absent() {
+        return ABSENT;
+    }
+
+    public boolean isPresent() {
+        return raw != null;
+    }
+
+    /**
+     * JSON da journey ja sem a codificacao extra, ou {@code null} quando ausente.
+     */
+    public synchronized String getJson() throws JsonProcessingException {
+        if (!decoded) {
+            json = decode();
+            decoded = true;
+        }
+        return json;
+    }
+
+    /**
+     * Journey como pagamento avulso, ou {@code null} quando ausente.
+     */
+    public synchronized DataSingleDTO getSingle() throws JsonProcessingException {
+        if (!singleResolved) {
+            try {
+                String text = getJson();
+                single = text != null ? mapper.readValue(text, DataSingleDTO.class) : null;
+            } catch (JsonProcessingException e) {
+                singleError = e;
+            }
+            singleResolved = true;
+        }
+        if (singleError != null) {
+            throw singleError;
+        }
+        return single;
+    }
+
+    /**
+     * Journey como pagamento recorrente (Pix Automatico), ou {@code null} quando ausente.
+     */
+    public synchronized DataRecurringDTO getRecurring() throws JsonProcessingException {
+        if (!recurringResolved) {
+            try {
+                String text = getJson();
+                recurring = text != null ? mapper.readValue(text, DataRecurringDTO.class) : null;
+            } catch (JsonProcessingException e) {
+                recurringError = e;
+            }
+            recurringResolved = true;
+        }
+        if (recurringError != null) {
+            throw recurringError;
+        }
+        return recurring;
+    }
+
+    /**
+     * Indica se a journey traz dados de recorrencia, e portanto deve ser tratada como
+     * {@link DataRecurringDTO}.
+     */
+    public boolean isRecurring() {
+        try {
+            DataRecurringDTO dto = getRecurring();
+            return dto != null && (dto.getRecurring() != null || dto.getAutomaticPixData() != null);
+        } catch (JsonProcessingException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    private String decode() throws JsonProcessingException {
+        if (raw == null) {
+            return null;
+        }
+        if (raw instanceof DataSingleDTO) {
+            return mapper != null ? mapper.writeValueAsString(raw) : null;
+        }
+        if (!(raw instanceof String text)) {
+            return mapper.writeValueAsString(raw);
+        }
+
+        String trimmed = text.trim();
+        if (trimmed.startsWith("\"")) {
+            return mapper.readValue(trimmed, String.class);
+        }
+        return trimmed;
+    }
+}
@@ -0,0 +1,41 @@
+package com.omp.hub.callback.domain.model.dto.notification;
+
+import java.util.Set;
+
+import com.omp.hub.callback.domain.enums.NotificationChannelEnum;
+import com.omp.hub.callback.domain.enums.PixAutomaticoEventEnum;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Notificacao de PIX Automatico pendente no outbox: apenas o necessario para refazer o
+ * enriquecimento e o envio depois que o callback ja foi confirmado.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationIntent {
+
+    private String id;
+
+    /** Identificador da transacao usado para buscar os dados do cliente. */
+    private String txId;
+
+    private PixAutomaticoEventEnum eventType;
+
+    /** Canais ainda pendentes; {@code null} envia todos os canais com contato do cliente. */
+    private Set<NotificationChannelEnum> channels;
+
+    /** UUID do callback que gerou a notificacao, para correlacionar os logs. */
+    private String correlationId;
+
+    private int attempts;
+
+    private long createdAt;
+
+    private long nextAttemptAt;
+}
@@ -0,0 +1,28 @@
+package com.omp.hub.callback.domain.model.dto.notification;
+
+import java.util.Set;
+
+import com.omp.hub.callback.domain.enums.NotificationChannelEnum;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Resultado de uma notificacao de PIX Automatico: se os criterios de envio foram atendidos e quais
+ * canais falharam e precisam ser reenviados.
+ */
+@Getter
+@AllArgsConstructor
+public class NotificationOutcome {
+
+    /** Cliente sem dados de contato suficientes: nada foi enviado e nao ha o que reenviar. */
+    public static final NotificationOutcome NOT_ELIGIBLE = new NotificationOutcome(false, Set.of());
+
+    private final boolean criteriaMet;
+
+    private final Set<NotificationChannelEnum> failedChannels;
+
+    public boolean hasFailures() {
+        return !failedChannels.isEmpty();
+    }
+}
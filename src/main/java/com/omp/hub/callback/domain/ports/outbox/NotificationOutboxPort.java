@@ -0,0 +1,30 @@
+package com.omp.hub.callback.domain.ports.outbox;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.omp.hub.callback.domain.model.dto.notification.NotificationIntent;
+
+public interface NotificationOutboxPort {
+
+    /**
+     * Grava ou substitui a notificacao pelo id. Quando retorna, a notificacao sobrevive a um
+     * restart da aplicacao.
+     */
+    void save(NotificationIntent intent);
+
+    void remove(String id);
+
+    Optional<NotificationIntent> findById(String id);
+
+    /** Notificacoes pendentes, das mais antigas para as mais novas. */
+    List<NotificationIntent> findAll();
+
+    /**
+     * Ate {@code limit} notificacoes com {@code nextAttemptAt <= now}, das que venceram primeiro para
+     * as ultimas. Nao copia nem ordena as que ainda nao venceram.
+     */
+    List<NotificationIntent> findDue(long now, int limit);
+
+    int size();
+}
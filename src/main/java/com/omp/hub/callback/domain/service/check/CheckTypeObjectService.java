@@ -1,7 +1,21 @@
 package com.omp.hub.callback.domain.service.check;
 
+import java.util.List;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.omp.hub.callback.domain.enums.CallbackType;
+
 public interface CheckTypeObjectService {
 
     <T> Boolean isValid(String request, Class<T> nameClass);
 
+    <T> Boolean isValid(JsonNode node, Class<T> nameClass);
+
+    /**
+     * Primeiro tipo de {@code order} cujos campos estao presentes, ou {@code null}.
+     */
+    CallbackType detect(String request, List<CallbackType> order);
+
+    CallbackType detect(JsonNode node, List<CallbackType> order);
+
 }
@@ -0,0 +1,121 @@
+package com.omp.hub.callback.domain.service.check.impl;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.omp.hub.callback.domain.enums.CallbackType;
+
+/**
+ * Assinatura de um callback: um bit para cada campo de primeiro nivel que identifica o tipo,
+ * ligado quando o campo existe e nao e {@code null}.
+ * <p>
+ * Cada {@link CallbackType} e uma lista de mascaras alternativas (PIX aceita {@code txId} ou
+ * {@code identifier}); o tipo casa quando todos os bits de alguma delas estao ligados.
+ */
+final class CallbackFieldSignature {
+
+    static final int EVENT = 1;
+    static final int SERVICE = 1 << 1;
+    static final int PAYMENT_TYPE = 1 << 2;
+    static final int SALES = 1 << 3;
+    static final int PAYMENT = 1 << 4;
+    static final int TX_ID = 1 << 5;
+    static final int IDENTIFIER = 1 << 6;
+
+    private static final String[] FIELDS = {"event", "service", "paymentType", "sales", "payment", "txId", "identifier"};
+
+    private static final Map<CallbackType, int[]> REQUIRED = new EnumMap<>(CallbackType.class);
+
+    static {
+        REQUIRED.put(CallbackType.TRANSACTIONS, new int[] {EVENT});
+        REQUIRED.put(CallbackType.TEF_WEB, new int[] {SERVICE | PAYMENT_TYPE | SALES});
+        REQUIRED.put(CallbackType.CREDIT_CARD, new int[] {PAYMENT});
+        REQUIRED.put(CallbackType.PIX, new int[] {TX_ID, IDENTIFIER});
+    }
+
+    private CallbackFieldSignature() {
+    }
+
+    static int bit(String field) {
+        if (field == null) {
+            return 0;
+        }
+        return switch (field) {
+            case "event" -> EVENT;
+            case "service" -> SERVICE;
+            case "paymentType" -> PAYMENT_TYPE;
+            case "sales" -> SALES;
+            case "payment" -> PAYMENT;
+            case "txId" -> TX_ID;
+            case "identifier" -> IDENTIFIER;
+            default -> 0;
+        };
+    }
+
+    static int of(JsonNode node) {
+        if (node == null || !node.isObject()) {
+            return 0;
+        }
+        int signature = 0;
+        for (String field : FIELDS) {
+            JsonNode value = node.get(field);
+            if (value != null && !value.isNull()) {
+                signature |= bit(field);
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * Le apenas os nomes de primeiro nivel, pulando o conteudo de cada valor. Para assim que o
+     * primeiro tipo de {@code order} casa, ja que nenhum campo seguinte mudaria o resultado; por isso
+     * um erro de sintaxe depois desse ponto nao e detectado aqui.
+     */
+    static int read(JsonParser parser, List<CallbackType> order) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return 0;
+        }
+        CallbackType first = order.isEmpty() ? null : order.get(0);
+        int signature = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            int bit = bit(parser.currentName());
+            JsonToken value = parser.nextToken();
+            if (bit != 0) {
+                // Campo repetido: vale a ultima ocorrencia, como no JsonNode
+                signature = value == JsonToken.VALUE_NULL ? signature & ~bit : signature | bit;
+                if (first != null && matches(signature, first)) {
+                    return signature;
+                }
+            }
+            parser.skipChildren();
+        }
+        return signature;
+    }
+
+    static boolean matches(int signature, CallbackType type) {
+        int[] alternatives = REQUIRED.get(type);
+        if (alternatives == null) {
+            return false;
+        }
+        for (int required : alternatives) {
+            if ((signature & required) == required) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static CallbackType firstMatch(int signature, Iterable<CallbackType> order) {
+        for (CallbackType candidate : order) {
+            if (matches(signature, candidate)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+}
@@ -1,18 +1,22 @@
 package com.omp.hub.callback.domain.service.check.impl;
 
+import java.util.List;
+
 import org.springframework.stereotype.Service;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.omp.hub.callback.domain.model.dto.callback.creditcard.CreditCardCallbackRequest;
-import com.omp.hub.callback.domain.model.dto.callback.pix.PixCallbackRequest;
-import com.omp.hub.callback.domain.model.dto.callback.tefweb.TefWebCallbackRequest;
-import com.omp.hub.callback.domain.model.dto.callback.transactions.TransactionsRequest;
+import com.omp.hub.callback.domain.enums.CallbackType;
 import com.omp.hub.callback.domain.service.check.CheckTypeObjectService;
 
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Identifica o tipo do callback pelos campos de primeiro nivel (ver {@link CallbackFieldSignature}).
+ * Para texto, le so os nomes de primeiro nivel em streaming, sem montar a arvore.
+ */
 @Service
 @Slf4j
 public class CheckTypeObjectServiceImpl implements CheckTypeObjectService {
@@ -25,38 +29,39 @@ public class CheckTypeObjectServiceImpl implements CheckTypeObjectService {
     }
 
     public <T> Boolean isValid(String request, Class<T> nameClass) {
-        try {
-            JsonNode node = objectMapper.readTree(request);
-            
-            if (nameClass == TransactionsRequest.class) {
-                return hasRequiredFields(node,  "event");
-            }
-            
-            if (nameClass == TefWebCallbackRequest.class) {
-                return hasRequiredFields(node, "service", "paymentType", "sales");
-            }
-            
-            if (nameClass == CreditCardCallbackRequest.class) {
-                return hasRequiredFields(node, "payment");
-            }
-            
-            if (nameClass == PixCallbackRequest.class) {
-                return hasRequiredFields(node, "txId") || hasRequiredFields(node, "identifier");
-            }
-            
-            return false;
+        CallbackType type = typeOf(nameClass);
+        return type != null && type == detect(request, List.of(type));
+    }
+
+    public <T> Boolean isValid(JsonNode node, Class<T> nameClass) {
+        CallbackType type = typeOf(nameClass);
+        return type != null && CallbackFieldSignature.matches(CallbackFieldSignature.of(node), type);
+    }
+
+    @Override
+    public CallbackType detect(String request, List<CallbackType> order) {
+        if (request == null || request.isEmpty()) {
+            return null;
+        }
+        try (JsonParser parser = objectMapper.getFactory().createParser(request)) {
+            return CallbackFieldSignature.firstMatch(CallbackFieldSignature.read(parser, order), order);
         } catch (Exception e) {
-            log.debug("Erro ao validar tipo {}: {}", nameClass.getSimpleName(), e.getMessage());
-            return false;
+            log.debug("Erro ao identificar tipo do callback: {}", e.getMessage());
+            return null;
         }
     }
 
-    private boolean hasRequiredFields(JsonNode node, String... fields) {
-        for (String field : fields) {
-            if (!node.has(field) || node.get(field).isNull()) {
-                return false;
+    @Override
+    public CallbackType detect(JsonNode node, List<CallbackType> order) {
+        return CallbackFieldSignature.firstMatch(CallbackFieldSignature.of(node), order);
+    }
+
+    private static CallbackType typeOf(Class<?> nameClass) {
+        for (CallbackType type : CallbackType.values()) {
+            if (type.getRequestClass() == nameClass) {
+                return type;
             }
         }
-        return true;
+        return null;
     }
 }
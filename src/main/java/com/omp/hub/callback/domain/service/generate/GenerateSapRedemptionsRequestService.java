@@ -1,6 +1,7 @@
 package com.omp.hub.callback.domain.service.generate;
 
 import com.omp.hub.callback.domain.model.dto.information.InformationPaymentDTO;
+import com.omp.hub.callback.domain.model.dto.journey.JourneyContext;
 import com.omp.hub.callback.domain.model.dto.sap.redemptions.SapRedemptionsRequest;
 import org.springframework.stereotype.Service;
 
@@ -8,4 +9,6 @@ import org.springframework.stereotype.Service;
 public interface GenerateSapRedemptionsRequestService {
 
     public SapRedemptionsRequest generateRequest(InformationPaymentDTO info);
+
+    public SapRedemptionsRequest generateRequest(InformationPaymentDTO info, JourneyContext journey);
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import com.omp.hub.callback.domain.exceptions.ErrorResponse;
 import com.omp.hub.callback.domain.model.dto.callback.CallbackDTO;
 import com.omp.hub.callback.domain.model.dto.callback.tefweb.TefWebCallbackRequest;
 import com.omp.hub.callback.domain.model.dto.information.InformationPaymentDTO;
+import com.omp.hub.callback.domain.model.dto.journey.JourneyContext;
 import com.omp.hub.callback.domain.model.dto.journey.single.DataSingleDTO;
 import com.omp.hub.callback.domain.model.dto.sap.billing.payments.CardDTO;
 import com.omp.hub.callback.domain.model.dto.sap.billing.payments.DataDTO;
@@ -43,14 +44,18 @@ public class GenerateSapBillingPaymentsRequestServiceImpl implements GenerateSap
     private CheckTypeObjectService validateService;
 
     public SapBillingPaymentsRequest generateRequest(CallbackDTO request, InformationPaymentDTO info) {
+        return generateRequest(request, info, JourneyContext.from(info, mapper));
+    }
+
+    public SapBillingPaymentsRequest generateRequest(CallbackDTO request, InformationPaymentDTO info, JourneyContext journey) {
 
         try {
             String callbackSTR = mapper.writeValueAsString(request);
 
-            String data = info != null && !info.getPayments().isEmpty() && info.getPayments().get(0).getJourney() != null
-                    ? (String) info.getPayments().get(0).getJourney()
-                    : null;
-            DataSingleDTO dto = mapper.readValue(data, DataSingleDTO.class);
+            if (journey == null || !journey.isPresent()) {
+                throw new IllegalArgumentException("Journey ausente nos dados do pagamento");
+            }
+            DataSingleDTO dto = journey.getSingle();
 
             if (validateService.isValid(callbackSTR, TefWebCallbackRequest.class)) {
                 TefWebCallbackRequest tefwebCallback = mapper.readValue(callbackSTR, TefWebCallbackRequest.class);
@@ -7,6 +7,7 @@ import com.omp.hub.callback.domain.model.dto.callback.CallbackDTO;
 import com.omp.hub.callback.domain.model.dto.callback.creditcard.CreditCardCallbackRequest;
 import com.omp.hub.callback.domain.model.dto.callback.tefweb.TefWebCallbackRequest;
 import com.omp.hub.callback.domain.model.dto.information.InformationPaymentDTO;
+import com.omp.hub.callback.domain.model.dto.journey.JourneyContext;
 import com.omp.hub.callback.domain.model.dto.journey.single.DataSingleDTO;
 import com.omp.hub.callback.domain.model.dto.journey.single.PaymentDiscountDTO;
 import com.omp.hub.callback.domain.model.dto.journey.single.ProductDTO;
@@ -59,6 +60,10 @@ public class GenerateSapPaymentRequestServiceImpl implements GenerateSapPayments
     String identifier;
 
     public SapPaymentsRequest generateRequest(CallbackDTO request, InformationPaymentDTO info) {
+        return generateRequest(request, info, JourneyContext.from(info, mapper));
+    }
+
+    public SapPaymentsRequest generateRequest(CallbackDTO request, InformationPaymentDTO info, JourneyContext journey) {
 
 
         identifier = info.getIdentifier();
@@ -86,10 +91,10 @@ public class GenerateSapPaymentRequestServiceImpl implements GenerateSapPayments
                 throw new BusinessException("Lista de pagamentos não pode ser nula ou vazia", "INVALID_PAYMENTS", "payments is null or empty", HttpStatus.BAD_REQUEST);
             }
 
-            String data = info.getPayments().get(0).getJourney() != null
-                    ? (String) info.getPayments().get(0).getJourney()
-                    : null;
-            dto = mapper.readValue(data, DataSingleDTO.class);
+            if (journey == null || !journey.isPresent()) {
+                throw new IllegalArgumentException("Journey ausente nos dados do pagamento");
+            }
+            dto = journey.getSingle();
 
             TefWebCallbackRequest tefwebCallback = null;
             CreditCardCallbackRequest creditCallback = null;
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.omp.hub.callback.domain.exceptions.BusinessException;
 import com.omp.hub.callback.domain.exceptions.ErrorResponse;
 import com.omp.hub.callback.domain.model.dto.information.InformationPaymentDTO;
+import com.omp.hub.callback.domain.model.dto.journey.JourneyContext;
 import com.omp.hub.callback.domain.model.dto.journey.single.DataSingleDTO;
 import com.omp.hub.callback.domain.model.dto.sap.redemptions.DataDTO;
 import com.omp.hub.callback.domain.model.dto.sap.redemptions.OrderDTO;
@@ -34,20 +35,16 @@ public class GenerateSapRedemptionsRequestServiceImpl implements GenerateSapRede
     private ObjectMapper mapper;
 
     public SapRedemptionsRequest generateRequest(InformationPaymentDTO info) {
+        return generateRequest(info, JourneyContext.from(info, mapper));
+    }
+
+    public SapRedemptionsRequest generateRequest(InformationPaymentDTO info, JourneyContext journey) {
         DataSingleDTO dto = null;
         String identifier = info.getIdentifier();
 
-        if (info.getPayments() != null && !info.getPayments().isEmpty() && info.getPayments().get(0) != null && info.getPayments().get(0).getJourney() != null) {
-            String data = (String) info.getPayments().get(0).getJourney();
-            String journeyTrim = data.trim();
-
+        if (journey != null && journey.isPresent()) {
             try {
-                if (journeyTrim.startsWith("{")) {
-                    dto = mapper.readValue(journeyTrim, DataSingleDTO.class);
-                } else {
-                    String unwrapped = mapper.readValue(journeyTrim, String.class);
-                    dto = mapper.readValue(unwrapped, DataSingleDTO.class);
-                }
+                dto = journey.getSingle();
             }
             catch (JsonProcessingException e) {
                 logger.info("TxId: " + identifier + " - ERROR: {}", e.getMessage());
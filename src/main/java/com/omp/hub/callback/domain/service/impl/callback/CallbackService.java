@@ -1,11 +1,22 @@
 package com.omp.hub.callback.domain.service.impl.callback;
 
+import java.util.concurrent.CompletableFuture;
+
 import com.omp.hub.callback.domain.model.dto.callback.CallbackRequest;
+import com.omp.hub.callback.domain.model.dto.callback.ParsedCallback;
 
 public interface CallbackService {
     
     void processCallback(String object);
+
+    void processCallback(ParsedCallback callback);
     
     void processCallbackAsync(CallbackRequest<?> callbackRequest);
 
+    /**
+     * Envia o callback para a fila em background. O futuro completa com erro quando o envio falha,
+     * ja que a excecao nao chega a quem chamou.
+     */
+    CompletableFuture<Void> processCallbackAsync(ParsedCallback callback);
+
 }
@@ -1,5 +1,7 @@
 package com.omp.hub.callback.domain.service.impl.callback.impl;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,6 +16,7 @@ import com.omp.hub.callback.application.usecase.callback.TefWebCallbackUseCase;
 import com.omp.hub.callback.application.usecase.callback.TransactionsCallbackUseCase;
 import com.omp.hub.callback.domain.exceptions.BusinessException;
 import com.omp.hub.callback.domain.model.dto.callback.CallbackRequest;
+import com.omp.hub.callback.domain.model.dto.callback.ParsedCallback;
 import com.omp.hub.callback.domain.model.dto.callback.creditcard.CreditCardCallbackRequest;
 import com.omp.hub.callback.domain.model.dto.callback.pix.PixCallbackRequest;
 import com.omp.hub.callback.domain.model.dto.callback.tefweb.TefWebCallbackRequest;
@@ -57,11 +60,37 @@ public class CallbackServiceImpl implements CallbackService{
         internalProcessCallback(object);
     }
 
+    @Override
+    public void processCallback(ParsedCallback callback) {
+        if (callback == null || !callback.isSupported()) {
+            logger.error("Payload não corresponde a nenhum tipo de callback suportado");
+            throw invalidCallbackType();
+        }
+
+        switch (callback.getType()) {
+            case PIX -> pixCallbackUseCase.sendCallback(callback);
+            case CREDIT_CARD -> creditCardCallbackUseCase.sendCallback(callback);
+            case TEF_WEB -> tefwebCallbackUseCase.sendCallback(callback);
+            case TRANSACTIONS -> transactionsCallbackUseCase.sendCallback(callback);
+        }
+    }
+
     @Async("callbackExecutor")
     @Override
     public void processCallbackAsync(CallbackRequest<?> callbackRequest) {
+        sendToQueue(() -> sqsMessageRepository.sendMessage(callbackRequest));
+    }
+
+    @Async("callbackExecutor")
+    @Override
+    public CompletableFuture<Void> processCallbackAsync(ParsedCallback callback) {
+        sendToQueue(() -> sqsMessageRepository.sendMessage(callback));
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private void sendToQueue(Runnable send) {
         try {
-            sqsMessageRepository.sendMessage(callbackRequest);
+            send.run();
             logger.info("Callback enviado para SQS com sucesso");
             
         } catch (Exception e) {
@@ -84,12 +113,7 @@ public class CallbackServiceImpl implements CallbackService{
                 transactionsCallbackUseCase.sendCallback(objectMapper.readValue(object, TransactionsRequest.class));
             } else {
                 logger.error("Payload não corresponde a nenhum tipo de callback suportado");
-                throw new BusinessException(
-                    "Payload inválido: não corresponde a nenhum tipo de callback suportado (PIX, CreditCard, TefWeb ou Transactions)",
-                    "INVALID_CALLBACK_TYPE",
-                    "O payload recebido não possui a estrutura esperada para nenhum dos tipos de callback",
-                    HttpStatus.BAD_REQUEST
-                );
+                throw invalidCallbackType();
             }
         } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
             logger.error("ERROR: {}", e.getMessage());
@@ -100,5 +124,12 @@ public class CallbackServiceImpl implements CallbackService{
         }
     }
 
-
-}
\ No newline at end of file
+    private BusinessException invalidCallbackType() {
+        return new BusinessException(
+            "Payload inválido: não corresponde a nenhum tipo de callback suportado (PIX, CreditCard, TefWeb ou Transactions)",
+            "INVALID_CALLBACK_TYPE",
+            "O payload recebido não possui a estrutura esperada para nenhum dos tipos de callback",
+            HttpStatus.BAD_REQUEST
+        );
+    }
+}
@@ -1,13 +1,24 @@
 package com.omp.hub.callback.domain.service.impl.notification;
 
+import java.util.Set;
 import java.util.UUID;
 
+import com.omp.hub.callback.domain.enums.NotificationChannelEnum;
 import com.omp.hub.callback.domain.enums.PixAutomaticoEventEnum;
 import com.omp.hub.callback.domain.model.dto.customer.ExtractedCustomerDataDTO;
+import com.omp.hub.callback.domain.model.dto.notification.NotificationOutcome;
 
 public interface NotificationManagerService {
 
     boolean processPixAutomaticoNotification(UUID uuid, String txId, PixAutomaticoEventEnum eventType);
 
+    /**
+     * Variante para quem reenvia a notificacao: envia so os canais informados ({@code null} para
+     * todos), devolve os canais que falharam e deixa as excecoes subirem para quem chamou decidir se
+     * a falha e recuperavel.
+     */
+    NotificationOutcome deliverPixAutomaticoNotification(UUID uuid, String txId, PixAutomaticoEventEnum eventType,
+            Set<NotificationChannelEnum> channels);
+
     ExtractedCustomerDataDTO extractCustomerDataFromTxId(UUID uuid, String txId);
 }
\ No newline at end of file
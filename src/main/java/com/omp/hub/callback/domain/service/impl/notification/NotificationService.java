@@ -1,10 +1,27 @@
 package com.omp.hub.callback.domain.service.impl.notification;
 
+import java.util.Set;
 import java.util.UUID;
 
+import com.omp.hub.callback.domain.enums.NotificationChannelEnum;
 import com.omp.hub.callback.domain.enums.PixAutomaticoEventEnum;
 public interface NotificationService {
 
-    void sendPixAutomaticoNotificationWithCustomerData(
+    /**
+     * Envia a notificacao em todos os canais com contato do cliente.
+     *
+     * @return canais que falharam; vazio quando tudo foi enviado ou nao havia o que enviar
+     */
+    Set<NotificationChannelEnum> sendPixAutomaticoNotificationWithCustomerData(
             UUID uuid, String txId, PixAutomaticoEventEnum eventType, String name, String msisdn, String email);
+
+    /**
+     * Envia a notificacao so nos canais informados ({@code null} para todos), usado para reenviar
+     * apenas os canais que falharam.
+     *
+     * @return canais que falharam; vazio quando tudo foi enviado ou nao havia o que enviar
+     */
+    Set<NotificationChannelEnum> sendPixAutomaticoNotificationWithCustomerData(
+            UUID uuid, String txId, PixAutomaticoEventEnum eventType, String name, String msisdn, String email,
+            Set<NotificationChannelEnum> channels);
 }
\ No newline at end of file
@@ -8,6 +8,7 @@ import com.omp.hub.callback.domain.model.dto.customer.SubscriberDTO;
 import com.omp.hub.callback.domain.model.dto.customer.billing.MobileBillingDetailsResponse;
 import com.omp.hub.callback.domain.model.dto.information.InformationPaymentDTO;
 import com.omp.hub.callback.domain.model.dto.information.PaymentDTO;
+import com.omp.hub.callback.domain.model.dto.journey.JourneyContext;
 import com.omp.hub.callback.domain.model.dto.journey.recurring.DataRecurringDTO;
 import com.omp.hub.callback.domain.model.dto.journey.single.ContractSingleDTO;
 import com.omp.hub.callback.domain.model.dto.journey.single.CustomerSingleDTO;
@@ -22,9 +23,15 @@ import com.omp.hub.callback.domain.service.impl.notification.util.CustomerContac
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
@@ -40,6 +47,13 @@ public class CustomerDataExtractionServiceImpl implements CustomerDataExtraction
     private final ObjectMapper objectMapper;
     private final InformationPaymentPort informationPort;
 
+    @Autowired(required = false)
+    @Qualifier("notificationExecutor")
+    private Executor enrichmentExecutor;
+
+    @Value("${callback.stages.parallel:true}")
+    private boolean parallelLookups = true;
+
     @Override
     public ExtractedCustomerDataDTO extractCustomerDataFromPaymentInfo(UUID uuid, String identifier) {
         logger.info("TxId: {} - Extraindo dados do cliente", identifier);
@@ -114,13 +128,14 @@ public class CustomerDataExtractionServiceImpl implements CustomerDataExtraction
                         return buildExtractedData(customer, customer.getContract());
                     }
                     else if (payment.getJourney() != null) {
-                        String data = (String) payment.getJourney();
+                        Object data = payment.getJourney();
+                        JourneyContext journey = JourneyContext.of(data, objectMapper);
 
                         logger.debug("TxId: {} - Extraindo dados do cliente. Data recebida", identifier);
 
                         // Tenta deserializar como DataSingleDTO primeiro
                         try {
-                            DataSingleDTO dto = objectMapper.readValue(data, DataSingleDTO.class);
+                            DataSingleDTO dto = journey.getSingle();
                             if (dto != null && dto.getCustomer() != null) {
                                 return buildExtractedData(dto.getCustomer(), dto.getCustomer().getContract());
                             }
@@ -130,7 +145,7 @@ public class CustomerDataExtractionServiceImpl implements CustomerDataExtraction
 
                         // Tenta deserializar como DataRecurringDTO
                         try {
-                            DataRecurringDTO dto = objectMapper.readValue(data, DataRecurringDTO.class);
+                            DataRecurringDTO dto = journey.getRecurring();
                             if (dto != null && dto.getCustomer() != null) {
                                 return buildExtractedData(dto.getCustomer(), dto.getCustomer().getContract());
                             }
@@ -236,25 +251,54 @@ public class CustomerDataExtractionServiceImpl implements CustomerDataExtraction
 
     private ExtractedCustomerDataDTO enrichMobileCustomerData(UUID uuid, ExtractedCustomerDataDTO customerData, String document) {
         logger.info("Enriquecendo dados do cliente móvel - mobileBan: {}", customerData.getMobileBan());
-        
-        String email = null;
-        String msisdn = null;
-        boolean criteriosAtendidos = false;
 
+        // Billing details e subscribers nao dependem um do outro e sao consultados ao mesmo tempo
+        CompletableFuture<String> email = lookup(() -> findMobileEmail(uuid, customerData));
+        CompletableFuture<SubscriberDTO> subscriber = lookup(() -> findMobileSubscriber(uuid, customerData, document));
+
+        SubscriberDTO matched = subscriber.join();
+        String msisdn = matched != null ? matched.getMsisdn() : null;
+
+        return customerData.toBuilder()
+                .email(email.join())
+                .msisdn(msisdn)
+                .criteriosAtendidos(matched != null)
+                .build();
+    }
+
+    /**
+     * Roda a consulta no {@code notificationExecutor} quando as consultas em paralelo estao ligadas;
+     * do contrario, ou sem executor, consulta na thread atual.
+     */
+    private <T> CompletableFuture<T> lookup(Supplier<T> query) {
+        if (!parallelLookups || enrichmentExecutor == null) {
+            return CompletableFuture.completedFuture(query.get());
+        }
+        return CompletableFuture.supplyAsync(query, enrichmentExecutor);
+    }
+
+    private String findMobileEmail(UUID uuid, ExtractedCustomerDataDTO customerData) {
         try {
             if (customerData.hasValidMobileBan()) {
                 MobileBillingDetailsResponse billingResponse = mobileBillingDetailsPort.getCustomerBillingDetailsByMobileBan(uuid, customerData.getMobileBan());
                 
                 if (billingResponse != null && billingResponse.getData() != null && billingResponse.getData().getCustomer() != null) {
-                    email = billingResponse.getData().getCustomer().getContactEmail();
+                    String email = billingResponse.getData().getCustomer().getContactEmail();
                     logger.debug("Email obtido via billing details: {}", email != null ? "***@***.***" : "null");
+                    return email;
                 }
             }
         } catch (Exception e) {
             logger.warn("Erro ao buscar email via billing details para cliente móvel - mobileBan: {}, erro: {}", 
                     customerData.getMobileBan(), e.getMessage());
         }
+        return null;
+    }
 
+    /**
+     * @return o subscriber que atende aos criterios (mobileBan e nome), ou {@code null}
+     */
+    private SubscriberDTO findMobileSubscriber(UUID uuid, ExtractedCustomerDataDTO customerData, String document) {
         try {
             CustomerMobileResponse subscribersResponse = customerMobilePort.send(uuid, document, "ATIVO");
             
@@ -279,9 +323,9 @@ public class CustomerDataExtractionServiceImpl implements CustomerDataExtraction
                         mobileBanCorreto, nomeCorreto);
                 
                 if (mobileBanCorreto && nomeCorreto) {
-                    msisdn = subscriber.getMsisdn();
-                    criteriosAtendidos = true;
+                    String msisdn = subscriber.getMsisdn();
                     logger.info("Critérios atendidos - MSISDN obtido: {}", msisdn != null ? "***" + msisdn.substring(msisdn.length()-4) : "null");
+                    return subscriber;
                 } else {
                     logger.warn("Critérios NÃO atendidos para cliente móvel - mobileBan: {}", 
                             customerData.getMobileBan());
@@ -291,12 +335,7 @@ public class CustomerDataExtractionServiceImpl implements CustomerDataExtraction
             logger.warn("Erro ao buscar MSISDN via mobile-subscribers para cliente móvel, erro: {}", 
                     e.getMessage());
         }
-
-        return customerData.toBuilder()
-                .email(email)
-                .msisdn(msisdn)
-                .criteriosAtendidos(criteriosAtendidos)
-                .build();
+        return null;
     }
 
     private ExtractedCustomerDataDTO enrichResidentialCustomerData(UUID uuid, ExtractedCustomerDataDTO customerData, String document) {
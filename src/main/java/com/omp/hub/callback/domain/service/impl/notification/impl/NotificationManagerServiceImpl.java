@@ -1,5 +1,6 @@
 package com.omp.hub.callback.domain.service.impl.notification.impl;
 
+import java.util.Set;
 import java.util.UUID;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -8,8 +9,10 @@ import com.omp.hub.callback.domain.service.impl.notification.CustomerDataExtract
 import com.omp.hub.callback.domain.service.impl.notification.NotificationManagerService;
 import org.springframework.stereotype.Service;
 
+import com.omp.hub.callback.domain.enums.NotificationChannelEnum;
 import com.omp.hub.callback.domain.enums.PixAutomaticoEventEnum;
 import com.omp.hub.callback.domain.model.dto.customer.ExtractedCustomerDataDTO;
+import com.omp.hub.callback.domain.model.dto.notification.NotificationOutcome;
 import com.omp.hub.callback.domain.service.impl.notification.NotificationService;
 
 
@@ -31,26 +34,7 @@ public class NotificationManagerServiceImpl implements NotificationManagerServic
 
         try {
             ExtractedCustomerDataDTO customerData = extractCustomerDataFromTxId(uuid, identifier);
-
-
-            if (customerData != null && customerData.hasCompleteData()) {
-                customerData = customerDataExtractionService.enrichCustomerData(uuid, customerData);
-
-                if (customerData.getEmail() != null || customerData.getMsisdn() != null) {
-                    log.info("TxId: {} - Critérios atendidos, enviando notificação de comunicação", identifier);
-                    notificationService.sendPixAutomaticoNotificationWithCustomerData(
-                            uuid, identifier, eventType, customerData.getName(),
-                            customerData.getMsisdn(), customerData.getEmail());
-                    return true;
-                } else {
-                    log.warn("TxId: {} - Critérios NÃO atendidos ou dados de contato ausentes - email: {}, msisdn: {}",
-                            identifier, customerData.getEmail() != null ? customerData.getEmail() : "", customerData.getMsisdn() != null ? customerData.getMsisdn() : "");
-                    return false;
-                }
-            } else {
-                log.warn("TxId: {} - Dados do cliente não encontrados ou incompletos para notificação PIX Automático", identifier);
-                return false;
-            }
+            return notify(uuid, identifier, eventType, customerData, null).isCriteriaMet();
         } catch (BusinessException e) {
             throw e;
         } catch (Exception e) {
@@ -59,6 +43,42 @@ public class NotificationManagerServiceImpl implements NotificationManagerServic
         }
     }
 
+    @Override
+    public NotificationOutcome deliverPixAutomaticoNotification(UUID uuid, String identifier,
+            PixAutomaticoEventEnum eventType, Set<NotificationChannelEnum> channels) {
+        log.info("TxId: {} - Reenviando notificação PIX Automático - evento: {}, canais: {}",
+                identifier, eventType.getDescription(), channels != null ? channels : "todos");
+
+        ExtractedCustomerDataDTO customerData =
+                customerDataExtractionService.extractCustomerDataFromPaymentInfo(uuid, identifier);
+        return notify(uuid, identifier, eventType, customerData, channels);
+    }
+
+    private NotificationOutcome notify(UUID uuid, String identifier, PixAutomaticoEventEnum eventType,
+            ExtractedCustomerDataDTO customerData, Set<NotificationChannelEnum> channels) {
+        if (customerData == null || !customerData.hasCompleteData()) {
+            log.warn("TxId: {} - Dados do cliente não encontrados ou incompletos para notificação PIX Automático", identifier);
+            return NotificationOutcome.NOT_ELIGIBLE;
+        }
+
+        customerData = customerDataExtractionService.enrichCustomerData(uuid, customerData);
+
+        if (customerData.getEmail() == null && customerData.getMsisdn() == null) {
+            log.warn("TxId: {} - Critérios NÃO atendidos ou dados de contato ausentes - email e msisdn vazios", identifier);
+            return NotificationOutcome.NOT_ELIGIBLE;
+        }
+
+        log.info("TxId: {} - Critérios atendidos, enviando notificação de comunicação", identifier);
+        Set<NotificationChannelEnum> failed = channels == null
+                ? notificationService.sendPixAutomaticoNotificationWithCustomerData(
+                        uuid, identifier, eventType, customerData.getName(),
+                        customerData.getMsisdn(), customerData.getEmail())
+                : notificationService.sendPixAutomaticoNotificationWithCustomerData(
+                        uuid, identifier, eventType, customerData.getName(),
+                        customerData.getMsisdn(), customerData.getEmail(), channels);
+        return new NotificationOutcome(true, failed != null ? failed : Set.of());
+    }
+
 
 
     @Override
@@ -1,14 +1,22 @@
 package com.omp.hub.callback.domain.service.impl.notification.impl;
 
+import java.util.EnumSet;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.omp.hub.callback.application.utils.apigee.ApigeeHeaderService;
+import com.omp.hub.callback.domain.enums.NotificationChannelEnum;
 import com.omp.hub.callback.domain.enums.PixAutomaticoEventEnum;
 
 import com.omp.hub.callback.domain.model.dto.communication.CommunicationDataDTO;
@@ -84,12 +92,30 @@ public class NotificationServiceImpl implements NotificationService {
     @Autowired
     private ApigeeHeaderService apigeeHeaderService;
 
+    @Autowired(required = false)
+    @Qualifier("notificationExecutor")
+    private Executor notificationExecutor;
+
+    @Value("${callback.stages.parallel:true}")
+    private boolean parallelChannels = true;
+
+    @Override
+    public Set<NotificationChannelEnum> sendPixAutomaticoNotificationWithCustomerData(UUID uuid, String txId,
+            PixAutomaticoEventEnum eventType, String name, String msisdn, String email) {
+        return sendPixAutomaticoNotificationWithCustomerData(uuid, txId, eventType, name, msisdn, email, null);
+    }
+
     @Override
-    public void sendPixAutomaticoNotificationWithCustomerData(UUID uuid, String txId, PixAutomaticoEventEnum eventType,
-            String name, String msisdn, String email) {
+    public Set<NotificationChannelEnum> sendPixAutomaticoNotificationWithCustomerData(UUID uuid, String txId,
+            PixAutomaticoEventEnum eventType, String name, String msisdn, String email,
+            Set<NotificationChannelEnum> channels) {
         logger.info("TxId: {} - Enviando notificação PIX Automático com dados do cliente - evento: {}, nome: {}, msisdn: {}, email: {}",
                 txId, eventType.getDescription(), name, msisdn, email);
 
+        Set<NotificationChannelEnum> failed = EnumSet.noneOf(NotificationChannelEnum.class);
+        boolean sendSms = msisdn != null && !msisdn.isEmpty() && requested(channels, NotificationChannelEnum.SMS);
+        boolean sendEmail = email != null && !email.isEmpty() && requested(channels, NotificationChannelEnum.EMAIL);
+
         try {
 
             //BLOQUEIO DO RTDM
@@ -100,35 +126,86 @@ public class NotificationServiceImpl implements NotificationService {
 
                 logger.info("TxId: {} - Evento {} bloqueado para RTDM.",
                         txId, eventType.getDescription());
-                return;
+                return failed;
             }
 
-            if (msisdn != null && !msisdn.isEmpty() && email != null && !email.isEmpty()) {
-                sendMobileSmsNotification(uuid, txId, eventType, name, msisdn);
-                sendMobileEmailNotification(uuid, txId, eventType, name, email);
+            if (!sendSms && !sendEmail) {
+                return failed;
             }
-            else if (msisdn != null && !msisdn.isEmpty()) {
-                sendMobileSmsNotification(uuid, txId, eventType, name, msisdn);
+
+            // Um unico header do Apigee para os dois canais; cada envio recebe sua copia do builder
+            Headers headers = apigeeHeaderService.generateHeaderApigee(uuid).build();
+            long start = System.nanoTime();
+
+            CompletableFuture<Boolean> sms = sendSms
+                    ? dispatch(() -> sendMobileSmsNotification(uuid, txId, eventType, name, msisdn, headers.newBuilder()))
+                    : CompletableFuture.completedFuture(null);
+            CompletableFuture<Boolean> mail = sendEmail
+                    ? dispatch(() -> sendMobileEmailNotification(uuid, txId, eventType, name, email, headers.newBuilder()))
+                    : CompletableFuture.completedFuture(null);
+
+            Boolean smsSent = sms.join();
+            Boolean mailSent = mail.join();
+            if (Boolean.FALSE.equals(smsSent)) {
+                failed.add(NotificationChannelEnum.SMS);
             }
-            else if (email != null && !email.isEmpty()) {
-                sendMobileEmailNotification(uuid, txId, eventType, name, email);
+            if (Boolean.FALSE.equals(mailSent)) {
+                failed.add(NotificationChannelEnum.EMAIL);
             }
+
+            logger.info("TxId: {} - Notificação PIX Automático finalizada em {} ms - SMS: {}, email: {}",
+                    txId, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                    outcome(smsSent), outcome(mailSent));
         } catch (Exception e) {
             logger.error("TxId: {} - Erro ao enviar notificação PIX Automático com dados do cliente - erro: {}",
                     txId, e.getMessage(), e);
+            // Falha antes do envio dos canais: todos os solicitados ficam pendentes
+            if (sendSms) {
+                failed.add(NotificationChannelEnum.SMS);
+            }
+            if (sendEmail) {
+                failed.add(NotificationChannelEnum.EMAIL);
+            }
         }
+        return failed;
     }
 
-    private void sendMobileSmsNotification(UUID uuid, String txId, PixAutomaticoEventEnum eventType, String name, String msisdn) {
-        sendSmsNotification(uuid, txId, getTemplateCodeForEvent(eventType), getMessageForEvent(eventType), name, msisdn, "PIX Automático");
+    private static boolean requested(Set<NotificationChannelEnum> channels, NotificationChannelEnum channel) {
+        return channels == null || channels.contains(channel);
     }
 
-    private void sendMobileEmailNotification(UUID uuid, String txId, PixAutomaticoEventEnum eventType, String name, String email) {
-        sendEmailNotification(uuid, txId, getTemplateCodeForEvent(eventType), getMessageForEvent(eventType), name, email, "PIX Automático");
+    /**
+     * Envia o canal no {@code notificationExecutor} quando os envios em paralelo estao ligados; do
+     * contrario, ou sem executor, envia na thread atual.
+     */
+    private CompletableFuture<Boolean> dispatch(Supplier<Boolean> send) {
+        if (!parallelChannels || notificationExecutor == null) {
+            return CompletableFuture.completedFuture(send.get());
+        }
+        return CompletableFuture.supplyAsync(send, notificationExecutor);
+    }
+
+    private static String outcome(Boolean sent) {
+        if (sent == null) {
+            return "não solicitado";
+        }
+        return sent ? "enviado" : "falhou";
+    }
+
+    private boolean sendMobileSmsNotification(UUID uuid, String txId, PixAutomaticoEventEnum eventType, String name,
+            String msisdn, Headers.Builder builder) {
+        return sendSmsNotification(uuid, txId, getTemplateCodeForEvent(eventType), getMessageForEvent(eventType), name,
+                msisdn, "PIX Automático", builder);
+    }
+
+    private boolean sendMobileEmailNotification(UUID uuid, String txId, PixAutomaticoEventEnum eventType, String name,
+            String email, Headers.Builder builder) {
+        return sendEmailNotification(uuid, txId, getTemplateCodeForEvent(eventType), getMessageForEvent(eventType), name,
+                email, "PIX Automático", builder);
     }
 
-    private void sendSmsNotification(UUID uuid, String txId, String templateCode, String message, 
-                                   String name, String msisdn, String eventContext) {
+    private boolean sendSmsNotification(UUID uuid, String txId, String templateCode, String message,
+                                   String name, String msisdn, String eventContext, Headers.Builder builder) {
         try {
             String templateData = msisdn + ";" + name;
 
@@ -148,12 +225,11 @@ public class NotificationServiceImpl implements NotificationService {
                     .build())
                 .build();
 
-            Headers.Builder builder = apigeeHeaderService.generateHeaderApigee(uuid);
-
             CommunicationMessageResponse smsResponse = communicationPort.sendMessage(uuid, smsRequest, builder);
 
             if (smsResponse != null && smsResponse.getError() == null) {
                 logger.info("TxId: {} - SMS {} enviado com sucesso - telefone: {}", txId, eventContext, msisdn);
+                return true;
             } else {
                 logger.error("TxId: {} - Erro ao enviar SMS {} - erro: {}", txId, eventContext,
                         smsResponse != null && smsResponse.getError() != null
@@ -164,10 +240,11 @@ public class NotificationServiceImpl implements NotificationService {
         } catch (Exception e) {
             logger.error("TxId: {} - Erro ao enviar SMS {} - erro: {}", txId, eventContext, e.getMessage(), e);
         }
+        return false;
     }
 
-    private void sendEmailNotification(UUID uuid, String txId, String templateCode, String message, 
-                                     String name, String email, String eventContext) {
+    private boolean sendEmailNotification(UUID uuid, String txId, String templateCode, String message,
+                                     String name, String email, String eventContext, Headers.Builder builder) {
         try {
             String templateData = email + ";" + name;
 
@@ -187,12 +264,11 @@ public class NotificationServiceImpl implements NotificationService {
                             .build())
                     .build();
 
-            Headers.Builder builder = apigeeHeaderService.generateHeaderApigee(uuid);
-
             CommunicationMessageResponse emailResponse = communicationPort.sendMessage(uuid, emailRequest, builder);
 
             if (emailResponse != null && emailResponse.getError() == null) {
                 logger.info("TxId: {} - Email {} enviado com sucesso - email: {}", txId, eventContext, email);
+                return true;
             } else {
                 logger.error("TxId: {} - Erro ao enviar email {} - erro: {}", txId, eventContext,
                         emailResponse != null && emailResponse.getError() != null
@@ -203,6 +279,7 @@ public class NotificationServiceImpl implements NotificationService {
         } catch (Exception e) {
             logger.error("TxId: {} - Erro ao enviar email {} - erro: {}", txId, eventContext, e.getMessage(), e);
         }
+        return false;
     }
 
 
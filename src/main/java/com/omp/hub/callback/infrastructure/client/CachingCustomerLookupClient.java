@@ -0,0 +1,199 @@
+package com.omp.hub.callback.infrastructure.client;
+
+import java.time.Clock;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import com.omp.hub.callback.domain.model.dto.claro.CustomerContractsSubscribersResponse;
+import com.omp.hub.callback.domain.model.dto.customer.CustomerMobileResponse;
+import com.omp.hub.callback.domain.model.dto.customer.ExtractedCustomerDataDTO;
+import com.omp.hub.callback.domain.model.dto.customer.billing.MobileBillingDetailsResponse;
+import com.omp.hub.callback.domain.ports.client.CustomerContractsSubscribersPort;
+import com.omp.hub.callback.domain.ports.client.CustomerMobilePort;
+import com.omp.hub.callback.domain.ports.client.MobileBillingDetailsPort;
+import com.omp.hub.callback.infrastructure.util.BoundedMap;
+
+/**
+ * Cache com TTL na frente das consultas de cliente usadas no enriquecimento das notificacoes de
+ * PIX Automatico: billing details por mobileBan, subscribers moveis por documento e contratos
+ * residenciais por documento + contrato, operadora e cidade.
+ * <p>
+ * Respostas sem cliente (billing sem {@code customer}, lista de subscribers ou de contratos vazia)
+ * ficam em cache negativo com um TTL menor. Erros nao sao guardados: os clients de billing e de
+ * contratos devolvem {@code null} quando a chamada falha, e esse {@code null} sempre vai ao
+ * downstream na proxima consulta. As respostas sao compartilhadas entre os chamadores, que apenas
+ * as leem.
+ */
+@Primary
+@Component
+public class CachingCustomerLookupClient
+        implements MobileBillingDetailsPort, CustomerMobilePort, CustomerContractsSubscribersPort {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachingCustomerLookupClient.class);
+
+    public static final String MOBILE_BILLING = "mobile-billing";
+    public static final String MOBILE_SUBSCRIBERS = "mobile-subscribers";
+    public static final String CONTRACTS = "contracts";
+
+    private final MobileBillingDetailsClient mobileBillingDetailsClient;
+    private final CustomerMobileSubscriberClient customerMobileSubscriberClient;
+    private final CustomerContractsSubscribersClient customerContractsSubscribersClient;
+
+    @Value("${client.customer.cache.enabled:true}")
+    private boolean cacheEnabled = true;
+
+    @Value("${client.customer.cache.ttl-ms:900000}")
+    private long ttlMillis = 900000;
+
+    @Value("${client.customer.cache.negative-ttl-ms:60000}")
+    private long negativeTtlMillis = 60000;
+
+    @Value("${client.customer.cache.max-entries:10000}")
+    private int maxEntries = 10000;
+
+    private Clock clock = Clock.systemUTC();
+
+    private final LookupCache<MobileBillingDetailsResponse> mobileBilling = new LookupCache<>(MOBILE_BILLING);
+    private final LookupCache<CustomerMobileResponse> mobileSubscribers = new LookupCache<>(MOBILE_SUBSCRIBERS);
+    private final LookupCache<CustomerContractsSubscribersResponse> contracts = new LookupCache<>(CONTRACTS);
+
+    public CachingCustomerLookupClient(MobileBillingDetailsClient mobileBillingDetailsClient,
+                                       CustomerMobileSubscriberClient customerMobileSubscriberClient,
+                                       CustomerContractsSubscribersClient customerContractsSubscribersClient) {
+        this.mobileBillingDetailsClient = mobileBillingDetailsClient;
+        this.customerMobileSubscriberClient = customerMobileSubscriberClient;
+        this.customerContractsSubscribersClient = customerContractsSubscribersClient;
+    }
+
+    @Override
+    public MobileBillingDetailsResponse getCustomerBillingDetailsByMobileBan(UUID uuid, String mobileBan) {
+        return mobileBilling.get(mobileBan,
+                () -> mobileBillingDetailsClient.getCustomerBillingDetailsByMobileBan(uuid, mobileBan),
+                response -> response.getData() == null || response.getData().getCustomer() == null);
+    }
+
+    @Override
+    public CustomerMobileResponse send(UUID uuid, String document, String status) {
+        String key = document != null ? document + "|" + status : null;
+        return mobileSubscribers.get(key,
+                () -> customerMobileSubscriberClient.send(uuid, document, status),
+                response -> response.getData() == null || response.getData().getSubscribers() == null
+                        || response.getData().getSubscribers().isEmpty());
+    }
+
+    @Override
+    public CustomerContractsSubscribersResponse send(UUID uuid, String documento,
+                                                     ExtractedCustomerDataDTO customerData) {
+        String key = customerData != null && customerData.getContractNumber() != null
+                ? String.join("|", String.valueOf(documento), customerData.getContractNumber(),
+                        String.valueOf(customerData.getOperatorCode()), String.valueOf(customerData.getCityCode()))
+                : null;
+        return contracts.get(key,
+                () -> customerContractsSubscribersClient.send(uuid, documento, customerData),
+                response -> response.getData() == null || response.getData().getContracts() == null
+                        || response.getData().getContracts().isEmpty());
+    }
+
+    public LookupCache<?> cache(String lookup) {
+        return switch (lookup) {
+            case MOBILE_BILLING -> mobileBilling;
+            case MOBILE_SUBSCRIBERS -> mobileSubscribers;
+            case CONTRACTS -> contracts;
+            default -> throw new IllegalArgumentException("Consulta desconhecida: " + lookup);
+        };
+    }
+
+    public void clear() {
+        mobileBilling.entries.clear();
+        mobileSubscribers.entries.clear();
+        contracts.entries.clear();
+    }
+
+    /**
+     * Entradas de uma consulta e seus contadores. Duas buscas simultaneas pela mesma chave podem ir
+     * ambas ao downstream; a ultima resposta fica no cache.
+     */
+    public final class LookupCache<V> {
+
+        private final String name;
+        private final BoundedMap<String, CacheEntry<V>> entries = new BoundedMap<>(() -> maxEntries);
+
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong negativeHits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+
+        private LookupCache(String name) {
+            this.name = name;
+        }
+
+        private V get(String key, Supplier<V> loader, Predicate<V> notFound) {
+            if (!cacheEnabled || key == null) {
+                return loader.get();
+            }
+
+            long now = clock.millis();
+            CacheEntry<V> current = entries.get(key);
+            if (current != null && now < current.expiresAt) {
+                if (current.negative) {
+                    negativeHits.incrementAndGet();
+                } else {
+                    hits.incrementAndGet();
+                }
+                return current.value;
+            }
+
+            misses.incrementAndGet();
+            V value = loader.get();
+            if (value == null) {
+                entries.remove(key);
+                return null;
+            }
+
+            boolean negative = notFound.test(value);
+            entries.put(key, new CacheEntry<>(value, negative,
+                    clock.millis() + (negative ? negativeTtlMillis : ttlMillis)));
+            if (negative) {
+                logger.debug("Consulta {} sem cliente; resposta guardada em cache negativo", name);
+            }
+
+            return value;
+        }
+
+        public long getHitCount() {
+            return hits.get();
+        }
+
+        public long getNegativeHitCount() {
+            return negativeHits.get();
+        }
+
+        public long getMissCount() {
+            return misses.get();
+        }
+
+        public int size() {
+            return entries.size();
+        }
+    }
+
+    private static final class CacheEntry<V> {
+
+        private final V value;
+        private final boolean negative;
+        private final long expiresAt;
+
+        private CacheEntry(V value, boolean negative, long expiresAt) {
+            this.value = value;
+            this.negative = negative;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.omp.hub.callback.infrastructure.client;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omp.hub.callback.domain.model.dto.information.InformationPaymentDTO;
+import com.omp.hub.callback.domain.ports.client.InformationPaymentPort;
+import com.omp.hub.callback.infrastructure.util.BoundedMap;
+
+/**
+ * Cache read-through de curta duracao na frente do {@link InformationPaymentClient}.
+ * <p>
+ * Consultas concorrentes pelo mesmo identifier compartilham uma unica chamada HTTP e as escritas
+ * ({@code sendCreate}, {@code sendUpdate}, {@code updatePaymentInList}) descartam a entrada do
+ * identifier, de modo que a leitura seguinte sempre busca o estado atualizado. O valor fica
+ * guardado serializado e cada chamador recebe sua propria copia do DTO, ja que os fluxos alteram
+ * o objeto retornado.
+ */
+@Primary
+@Component
+public class CachingInformationPaymentClient implements InformationPaymentPort {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachingInformationPaymentClient.class);
+
+    private final InformationPaymentClient delegate;
+    private final ObjectMapper mapper;
+
+    @Value("${client.information.payment.cache.enabled:true}")
+    private boolean cacheEnabled = true;
+
+    @Value("${client.information.payment.cache.ttl-ms:5000}")
+    private long ttlMillis = 5000;
+
+    @Value("${client.information.payment.cache.max-entries:10000}")
+    private int maxEntries = 10000;
+
+    private Clock clock = Clock.systemUTC();
+
+    private final BoundedMap<String, CacheEntry> entries = new BoundedMap<>(() -> maxEntries);
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public CachingInformationPaymentClient(InformationPaymentClient delegate, ObjectMapper mapper) {
+        this.delegate = delegate;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public InformationPaymentDTO sendCreate(InformationPaymentDTO request) {
+        try {
+            return delegate.sendCreate(request);
+        } finally {
+            invalidate(request != null ? request.getIdentifier() : null);
+        }
+    }
+
+    @Override
+    public InformationPaymentDTO sendUpdate(InformationPaymentDTO request) {
+        try {
+            return delegate.sendUpdate(request);
+        } finally {
+            invalidate(request != null ? request.getIdentifier() : null);
+        }
+    }
+
+    @Override
+    public InformationPaymentDTO updatePaymentInList(String identifier, String paymentType,
+                                                     InformationPaymentDTO request) {
+        try {
+            return delegate.updatePaymentInList(identifier, paymentType, request);
+        } finally {
+            invalidate(identifier);
+        }
+    }
+
+    @Override
+    public InformationPaymentDTO sendFindByIdentifier(String identifier) {
+
+        if (!cacheEnabled || identifier == null) {
+            return delegate.sendFindByIdentifier(identifier);
+        }
+
+        while (true) {
+            CacheEntry current = entries.get(identifier);
+
+            if (current != null && current.isUsable(clock.millis())) {
+                if (current.value.isDone()) {
+                    hits.incrementAndGet();
+                } else {
+                    coalesced.incrementAndGet();
+                }
+                return read(identifier, current);
+            }
+
+            CacheEntry mine = new CacheEntry();
+            boolean owner = current == null
+                    ? entries.putIfAbsent(identifier, mine)
+                    : entries.replace(identifier, current, mine);
+
+            if (owner) {
+                misses.incrementAndGet();
+                return load(identifier, mine);
+            }
+        }
+    }
+
+    /**
+     * Descarta a entrada do identifier. Uma busca que ja estava em andamento nao repovoa o cache.
+     */
+    public void invalidate(String identifier) {
+        if (identifier != null && entries.remove(identifier) != null) {
+            invalidations.incrementAndGet();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    public long getInvalidationCount() {
+        return invalidations.get();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private InformationPaymentDTO load(String identifier, CacheEntry mine) {
+        InformationPaymentDTO result;
+        try {
+            result = delegate.sendFindByIdentifier(identifier);
+        } catch (RuntimeException e) {
+            entries.remove(identifier, mine);
+            mine.value.completeExceptionally(e);
+            throw e;
+        }
+
+        if (result == null) {
+            entries.remove(identifier, mine);
+            mine.value.complete(null);
+            return null;
+        }
+
+        try {
+            mine.expiresAt = clock.millis() + ttlMillis;
+            mine.value.complete(mapper.writeValueAsBytes(result));
+        } catch (IOException e) {
+            logger.warn("TxId: {} - Nao foi possivel armazenar informacao de pagamento em cache: {}",
+                    identifier, e.getMessage());
+            entries.remove(identifier, mine);
+            mine.value.completeExceptionally(new IllegalStateException(e));
+        }
+
+        return result;
+    }
+
+    private InformationPaymentDTO read(String identifier, CacheEntry entry) {
+        byte[] json;
+        try {
+            json = entry.value.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IllegalStateException) {
+                return delegate.sendFindByIdentifier(identifier);
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+
+        if (json == null) {
+            return null;
+        }
+
+        try {
+            return mapper.readValue(json, InformationPaymentDTO.class);
+        } catch (IOException e) {
+            entries.remove(identifier, entry);
+            return delegate.sendFindByIdentifier(identifier);
+        }
+    }
+
+    private static final class CacheEntry {
+
+        private final CompletableFuture<byte[]> value = new CompletableFuture<>();
+        private volatile long expiresAt = Long.MAX_VALUE;
+
+        private boolean isUsable(long now) {
+            return !value.isDone() || (!value.isCompletedExceptionally() && now < expiresAt);
+        }
+    }
+}
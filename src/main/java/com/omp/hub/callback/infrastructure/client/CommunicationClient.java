@@ -7,6 +7,8 @@ import com.omp.hub.callback.domain.model.dto.communication.CommunicationErrorDTO
 import com.omp.hub.callback.domain.model.dto.communication.CommunicationMessageRequest;
 import com.omp.hub.callback.domain.model.dto.communication.CommunicationMessageResponse;
 import com.omp.hub.callback.domain.ports.client.CommunicationPort;
+import com.omp.hub.callback.infrastructure.config.OkHttpClients;
+import com.omp.hub.callback.infrastructure.resilience.ResilienceRegistry;
 import lombok.RequiredArgsConstructor;
 import okhttp3.Headers;
 import okhttp3.Headers.Builder;
@@ -26,6 +28,7 @@ public class CommunicationClient implements CommunicationPort {
     private static final String HTTP_VERB = "POST";
 
     private final ApigeeUtils apigeeUtils;
+    private final ResilienceRegistry resilience;
 
     @Value("${client.communication.url}")
     private String urlClient;
@@ -38,16 +41,18 @@ public class CommunicationClient implements CommunicationPort {
         try {
             Headers headers = generateHeaders(uuid, builder);
             
-            CommunicationMessageResponse response = apigeeUtils.sendRequestToApigee(uuid,
+            CommunicationMessageResponse response = resilience.execute(ResilienceRegistry.COMMUNICATION,
+                () -> apigeeUtils.sendRequestToApigee(uuid,
                 apigeeUtils.generateRequest(uuid,
                     GenerateRequestDTO.builder()
                         .apiUrl(urlClient)
                         .headers(headers)
                         .httpVerb(HTTP_VERB)
+                        .client(OkHttpClients.COMMUNICATION)
                         .body(request)
                         .build()),
                 urlClient,
-                CommunicationMessageResponse.class);
+                CommunicationMessageResponse.class));
             
             return response;
 
@@ -13,6 +13,7 @@ import com.omp.hub.callback.application.utils.apigee.ApigeeUtils;
 import com.omp.hub.callback.application.utils.apigee.GenerateRequestDTO;
 import com.omp.hub.callback.domain.model.dto.claro.CustomerContractsSubscribersResponse;
 import com.omp.hub.callback.domain.ports.client.CustomerContractsSubscribersPort;
+import com.omp.hub.callback.infrastructure.config.OkHttpClients;
 
 import lombok.RequiredArgsConstructor;
 import okhttp3.Headers;
@@ -48,6 +49,7 @@ public class CustomerContractsSubscribersClient implements CustomerContractsSubs
                         .apiUrl(urlWithParams)
                         .headers(this.generateHeaders(uuid, documento, customerData))
                         .httpVerb(HTTP_VERB)
+                        .client(OkHttpClients.CUSTOMER)
                         .body(null)
                         .build()),
                 urlWithParams,
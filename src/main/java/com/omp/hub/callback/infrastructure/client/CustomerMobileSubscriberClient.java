@@ -5,6 +5,7 @@ import com.omp.hub.callback.application.utils.apigee.ApigeeUtils;
 import com.omp.hub.callback.application.utils.apigee.GenerateRequestDTO;
 import com.omp.hub.callback.domain.model.dto.customer.CustomerMobileResponse;
 import com.omp.hub.callback.domain.ports.client.CustomerMobilePort;
+import com.omp.hub.callback.infrastructure.config.OkHttpClients;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.Headers;
@@ -49,6 +50,7 @@ public class CustomerMobileSubscriberClient implements CustomerMobilePort {
                                 .apiUrl(urlWithQuery)
                                 .headers(this.generateHeaders(uuid, document, documentType))
                                 .httpVerb(HTTP_VERB)
+                                .client(OkHttpClients.CUSTOMER)
                                 .build()),
                         urlWithQuery,
                     CustomerMobileResponse.class
@@ -12,6 +12,7 @@ import com.omp.hub.callback.application.utils.apigee.ApigeeUtils;
 import com.omp.hub.callback.application.utils.apigee.GenerateRequestDTO;
 import com.omp.hub.callback.domain.model.dto.customer.residential.CustomerResidentialResponse;
 import com.omp.hub.callback.domain.ports.client.CustomerResidentialPort;
+import com.omp.hub.callback.infrastructure.config.OkHttpClients;
 
 import lombok.RequiredArgsConstructor;
 import okhttp3.Headers;
@@ -40,6 +41,7 @@ public class CustomerResidentialClient implements CustomerResidentialPort {
                                     .apiUrl(urlClient)
                                     .headers(generateHeaders(uuid, phoneNumber, "phoneNumber"))
                                     .httpVerb(HTTP_VERB)
+                                    .client(OkHttpClients.CUSTOMER)
                                     .build()),
                     urlClient,
                     CustomerResidentialResponse.class);
@@ -62,6 +64,7 @@ public class CustomerResidentialClient implements CustomerResidentialPort {
                                     .apiUrl(urlClient)
                                     .headers(generateHeaders(uuid, document, "document"))
                                     .httpVerb(HTTP_VERB)
+                                    .client(OkHttpClients.CUSTOMER)
                                     .build()),
                     urlClient,
                     CustomerResidentialResponse.class);
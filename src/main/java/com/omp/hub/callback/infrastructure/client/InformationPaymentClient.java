@@ -4,6 +4,9 @@ import com.omp.hub.callback.application.utils.apigee.GenerateRequestDTO;
 import com.omp.hub.callback.application.utils.apigee.RequestUtils;
 import com.omp.hub.callback.domain.model.dto.information.InformationPaymentDTO;
 import com.omp.hub.callback.domain.ports.client.InformationPaymentPort;
+import com.omp.hub.callback.infrastructure.config.OkHttpClients;
+import com.omp.hub.callback.infrastructure.metrics.CallbackMetrics;
+import com.omp.hub.callback.infrastructure.resilience.ResilienceRegistry;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,64 +31,71 @@ public class InformationPaymentClient implements InformationPaymentPort {
     @Autowired
     private RequestUtils requestUtils;
 
+    @Autowired
+    private ResilienceRegistry resilience;
+
     public InformationPaymentDTO sendCreate(InformationPaymentDTO request) {
 
-        return requestUtils.sendRequest(
+        return resilience.execute(ResilienceRegistry.INFORMATION_PAYMENT, () -> requestUtils.sendRequest(
             requestUtils.generateRequest(
                 GenerateRequestDTO.builder()
                     .apiUrl(urlHost + urlClient)
                     .headers(null)
                     .httpVerb(HTTP_VERB_POST)
+                    .client(OkHttpClients.JOURNEY)
                     .body(request)
                     .build()),
             urlClient,
             InformationPaymentDTO.class
-        );
+        ));
     }
 
     public InformationPaymentDTO sendUpdate(InformationPaymentDTO request) {
 
-        return requestUtils.sendRequest(
+        return resilience.execute(ResilienceRegistry.INFORMATION_PAYMENT, () -> requestUtils.sendRequest(
             requestUtils.generateRequest(
                 GenerateRequestDTO.builder()
                     .apiUrl(urlHost + urlClient)
                     .headers(null)
                     .httpVerb(HTTP_VERB_PUT)
+                    .client(OkHttpClients.JOURNEY)
                     .body(request)
                     .build()),
             urlClient,
             InformationPaymentDTO.class
-        );
+        ));
     }
 
     public InformationPaymentDTO sendFindByIdentifier(String identifier) {
 
-        return requestUtils.sendRequest(
+        return resilience.execute(ResilienceRegistry.INFORMATION_PAYMENT, CallbackMetrics.JOURNEY_GET, () -> requestUtils.sendRequest(
             requestUtils.generateRequest(
                 GenerateRequestDTO.builder()
                     .apiUrl(urlHost + urlClient + "/" + identifier)
                     .headers(null)
                     .httpVerb(HTTP_VERB_GET)
+                    .client(OkHttpClients.JOURNEY)
                     .body(null)
                     .build()),
             urlClient,
             InformationPaymentDTO.class
-        );
+        ));
     }
 
     public InformationPaymentDTO updatePaymentInList(String identifier, String paymentType, InformationPaymentDTO request) {
 
-        return requestUtils.sendRequest(
+        return resilience.execute(ResilienceRegistry.INFORMATION_PAYMENT, () -> requestUtils.sendRequest(
             requestUtils.generateRequest(
                 GenerateRequestDTO.builder()
                     .apiUrl(urlHost + urlClient + "/" + identifier + "/payments/" + paymentType)
                     .headers(null)
                     .httpVerb(HTTP_VERB_PUT)
+                    .client(OkHttpClients.JOURNEY)
                     .body(request)
                     .build()),
             urlClient,
             InformationPaymentDTO.class
-        );
+        ));
     }
 
 }
\ No newline at end of file
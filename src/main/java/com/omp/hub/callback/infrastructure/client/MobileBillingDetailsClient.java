@@ -10,6 +10,7 @@ import com.omp.hub.callback.application.utils.apigee.ApigeeUtils;
 import com.omp.hub.callback.application.utils.apigee.GenerateRequestDTO;
 import com.omp.hub.callback.domain.model.dto.customer.billing.MobileBillingDetailsResponse;
 import com.omp.hub.callback.domain.ports.client.MobileBillingDetailsPort;
+import com.omp.hub.callback.infrastructure.config.OkHttpClients;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -46,6 +47,7 @@ public class MobileBillingDetailsClient implements MobileBillingDetailsPort {
                         .apiUrl(urlClient)
                         .headers(this.generateHeaders(uuid, mobileBan))
                         .httpVerb(HTTP_VERB)
+                        .client(OkHttpClients.CUSTOMER)
                         .body(null)
                         .build()),
                 urlClient,
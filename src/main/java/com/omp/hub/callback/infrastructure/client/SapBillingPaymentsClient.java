@@ -11,6 +11,8 @@ import com.omp.hub.callback.application.utils.apigee.GenerateRequestDTO;
 import com.omp.hub.callback.domain.model.dto.sap.billing.payments.SapBillingPaymentsRequest;
 import com.omp.hub.callback.domain.model.dto.sap.billing.payments.SapBillingPaymentsResponse;
 import com.omp.hub.callback.domain.ports.client.SapBillingPaymentsPort;
+import com.omp.hub.callback.infrastructure.config.OkHttpClients;
+import com.omp.hub.callback.infrastructure.resilience.ResilienceRegistry;
 
 import lombok.RequiredArgsConstructor;
 import okhttp3.Headers;
@@ -26,9 +28,12 @@ public class SapBillingPaymentsClient implements SapBillingPaymentsPort {
     @Autowired
     private ApigeeUtils apigeeUtils;
 
+    @Autowired
+    private ResilienceRegistry resilience;
+
     public SapBillingPaymentsResponse send(UUID uuid, SapBillingPaymentsRequest request, Headers.Builder builder) {
 
-        return apigeeUtils.sendRequestToApigee(
+        return resilience.execute(ResilienceRegistry.SAP_BILLING_PAYMENTS, () -> apigeeUtils.sendRequestToApigee(
             uuid,
             apigeeUtils.generateRequest(
                 uuid,
@@ -36,10 +41,11 @@ public class SapBillingPaymentsClient implements SapBillingPaymentsPort {
                     .apiUrl(urlClient)
                     .headers(this.generateHeader(builder))
                     .httpVerb(HTTP_VERB)
+                    .client(OkHttpClients.SAP)
                     .body(request)
                     .build()),
             urlClient,
-            SapBillingPaymentsResponse.class);
+            SapBillingPaymentsResponse.class));
     }
 
     private Headers generateHeader(Headers.Builder builder) {
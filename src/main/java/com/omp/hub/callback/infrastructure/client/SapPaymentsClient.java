@@ -5,6 +5,8 @@ import com.omp.hub.callback.application.utils.apigee.GenerateRequestDTO;
 import com.omp.hub.callback.domain.model.dto.sap.payments.SapPaymentsRequest;
 import com.omp.hub.callback.domain.model.dto.sap.payments.SapPaymentsResponse;
 import com.omp.hub.callback.domain.ports.client.SapPaymentsPort;
+import com.omp.hub.callback.infrastructure.config.OkHttpClients;
+import com.omp.hub.callback.infrastructure.resilience.ResilienceRegistry;
 import lombok.RequiredArgsConstructor;
 import okhttp3.Headers;
 import org.slf4j.Logger;
@@ -27,10 +29,13 @@ public class SapPaymentsClient implements SapPaymentsPort {
     @Autowired
     private ApigeeUtils apigeeUtils;
 
+    @Autowired
+    private ResilienceRegistry resilience;
+
 
     public SapPaymentsResponse send(UUID uuid, SapPaymentsRequest request, Headers.Builder builder) {
 
-        return  apigeeUtils.sendRequestToApigee(
+        return  resilience.execute(ResilienceRegistry.SAP_PAYMENTS, () -> apigeeUtils.sendRequestToApigee(
                     uuid,
                     apigeeUtils.generateRequest(
                         uuid,
@@ -38,11 +43,12 @@ public class SapPaymentsClient implements SapPaymentsPort {
                             .apiUrl(urlClient)
                             .headers(this.generateHeader(builder))
                             .httpVerb(HTTP_VERB)
+                            .client(OkHttpClients.SAP)
                             .body(request)
                             .build()),
                     urlClient,
                 SapPaymentsResponse.class
-        );
+        ));
     }
 
     private Headers generateHeader(Headers.Builder builder) {
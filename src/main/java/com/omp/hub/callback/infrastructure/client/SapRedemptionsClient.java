@@ -6,6 +6,8 @@ import com.omp.hub.callback.application.utils.apigee.GenerateRequestDTO;
 import com.omp.hub.callback.domain.model.dto.sap.redemptions.SapRedemptionsRequest;
 import com.omp.hub.callback.domain.model.dto.sap.redemptions.SapRedemptionsResponse;
 import com.omp.hub.callback.domain.ports.client.SapRedemptionsPort;
+import com.omp.hub.callback.infrastructure.config.OkHttpClients;
+import com.omp.hub.callback.infrastructure.resilience.ResilienceRegistry;
 import lombok.RequiredArgsConstructor;
 import okhttp3.Headers;
 import org.slf4j.Logger;
@@ -30,9 +32,12 @@ public class SapRedemptionsClient implements SapRedemptionsPort {
     @Autowired
     private ApigeeHeaderService apigeeHeaderService;
 
+    @Autowired
+    private ResilienceRegistry resilience;
+
     public SapRedemptionsResponse send(UUID uuid, SapRedemptionsRequest request, Headers.Builder builder) {
 
-        return apigeeUtils.sendRequestToApigee(
+        return resilience.execute(ResilienceRegistry.SAP_REDEMPTIONS, () -> apigeeUtils.sendRequestToApigee(
             uuid,
             apigeeUtils.generateRequest(
                     uuid,
@@ -40,10 +45,11 @@ public class SapRedemptionsClient implements SapRedemptionsPort {
                     .apiUrl(urlClient)
                     .headers(this.generateHeader(builder))
                     .httpVerb(HTTP_VERB)
+                    .client(OkHttpClients.SAP)
                     .body(request)
                     .build()),
             urlClient,
-            SapRedemptionsResponse.class);
+            SapRedemptionsResponse.class));
     }
 
     private Headers generateHeader(Headers.Builder builder) {
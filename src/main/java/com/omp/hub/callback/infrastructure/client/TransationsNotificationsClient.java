@@ -13,6 +13,9 @@ import com.omp.hub.callback.application.utils.apigee.ApigeeUtils;
 import com.omp.hub.callback.application.utils.apigee.GenerateRequestDTO;
 import com.omp.hub.callback.domain.model.dto.omphub.transaction.notification.OmphubTransactionNotificationRequest;
 import com.omp.hub.callback.domain.ports.client.TransationsNotificationsPort;
+import com.omp.hub.callback.infrastructure.config.OkHttpClients;
+import com.omp.hub.callback.infrastructure.metrics.CallbackMetrics;
+import com.omp.hub.callback.infrastructure.resilience.ResilienceRegistry;
 
 import lombok.RequiredArgsConstructor;
 import okhttp3.Headers;
@@ -32,6 +35,9 @@ public class TransationsNotificationsClient implements TransationsNotificationsP
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private ResilienceRegistry resilience;
+
     @Override
     public void send(UUID uuid, OmphubTransactionNotificationRequest request, Headers.Builder builder){
         logger.info("UUID: {} - Enviando notificação de transação para URL: {}", uuid, urlClient);
@@ -45,7 +51,7 @@ public class TransationsNotificationsClient implements TransationsNotificationsP
             }
         }
 
-        apigeeUtils.sendRequestToApigee(
+        resilience.execute(ResilienceRegistry.TRANSACTIONS_NOTIFICATIONS, CallbackMetrics.CHANNEL_NOTIFICATION, () -> apigeeUtils.sendRequestToApigee(
             uuid,
             apigeeUtils.generateRequest(
                 uuid,
@@ -53,11 +59,12 @@ public class TransationsNotificationsClient implements TransationsNotificationsP
                     .apiUrl(urlClient)
                     .headers(this.generateHeader(builder))
                     .httpVerb(HTTP_VERB)
+                    .client(OkHttpClients.NOTIFICATIONS)
                     .body(request)
                     .build()),
             urlClient,
             null
-        );
+        ));
     }
 
     private Headers generateHeader(Headers.Builder builder) {
@@ -0,0 +1,167 @@
+package com.omp.hub.callback.infrastructure.config;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.omp.hub.callback.application.service.CallbackIdempotencyCache;
+import com.omp.hub.callback.application.service.NotificationOutboxDispatcher;
+import com.omp.hub.callback.application.utils.apigee.ApigeeTokenManager;
+import com.omp.hub.callback.infrastructure.client.CachingCustomerLookupClient;
+import com.omp.hub.callback.infrastructure.client.CachingInformationPaymentClient;
+import com.omp.hub.callback.infrastructure.persistence.message.sqs.SqsBatchSender;
+import com.omp.hub.callback.infrastructure.resilience.CircuitBreaker;
+import com.omp.hub.callback.infrastructure.resilience.ResilienceRegistry;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publica como metricas os contadores que os componentes ja mantem em memoria.
+ */
+@Configuration
+public class MetricsConfiguration {
+
+    @Bean
+    public MeterBinder apigeeTokenMetrics(ApigeeTokenManager tokenManager) {
+        return registry -> {
+            FunctionCounter.builder("apigee.token.cache.hits", tokenManager, ApigeeTokenManager::getHitCount)
+                    .register(registry);
+            FunctionCounter.builder("apigee.token.cache.misses", tokenManager, ApigeeTokenManager::getMissCount)
+                    .register(registry);
+            FunctionCounter.builder("apigee.token.refreshes", tokenManager, ApigeeTokenManager::getRefreshCount)
+                    .tag("outcome", "success")
+                    .register(registry);
+            FunctionCounter.builder("apigee.token.refreshes", tokenManager, ApigeeTokenManager::getRefreshFailureCount)
+                    .tag("outcome", "error")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder sqsBatchSenderMetrics(SqsBatchSender batchSender) {
+        return registry -> {
+            FunctionCounter.builder("sqs.producer.batches", batchSender, SqsBatchSender::getBatchCount)
+                    .register(registry);
+            FunctionCounter.builder("sqs.producer.batches.failed", batchSender, SqsBatchSender::getFailedBatchCount)
+                    .register(registry);
+            FunctionCounter.builder("sqs.producer.entries", batchSender, SqsBatchSender::getEntryCount)
+                    .register(registry);
+            FunctionCounter.builder("sqs.producer.entries.failed", batchSender, SqsBatchSender::getFailedEntryCount)
+                    .register(registry);
+            Gauge.builder("sqs.producer.batch.size.avg", batchSender, SqsBatchSender::getAverageBatchSize)
+                    .register(registry);
+            Gauge.builder("sqs.producer.batch.latency.avg", batchSender, SqsBatchSender::getAverageLatencyMillis)
+                    .baseUnit("milliseconds")
+                    .register(registry);
+            Gauge.builder("sqs.producer.batch.latency.max", batchSender, SqsBatchSender::getMaxLatencyMillis)
+                    .baseUnit("milliseconds")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder informationPaymentCacheMetrics(CachingInformationPaymentClient cache) {
+        return registry -> {
+            FunctionCounter.builder("information.payment.cache.hits", cache,
+                    CachingInformationPaymentClient::getHitCount).register(registry);
+            FunctionCounter.builder("information.payment.cache.misses", cache,
+                    CachingInformationPaymentClient::getMissCount).register(registry);
+            FunctionCounter.builder("information.payment.cache.coalesced", cache,
+                    CachingInformationPaymentClient::getCoalescedCount).register(registry);
+            FunctionCounter.builder("information.payment.cache.invalidations", cache,
+                    CachingInformationPaymentClient::getInvalidationCount).register(registry);
+            Gauge.builder("information.payment.cache.size", cache, CachingInformationPaymentClient::size)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder customerLookupCacheMetrics(CachingCustomerLookupClient cache) {
+        return registry -> List.of(CachingCustomerLookupClient.MOBILE_BILLING,
+                CachingCustomerLookupClient.MOBILE_SUBSCRIBERS, CachingCustomerLookupClient.CONTRACTS)
+                .forEach(lookup -> {
+                    CachingCustomerLookupClient.LookupCache<?> lookupCache = cache.cache(lookup);
+                    FunctionCounter.builder("customer.lookup.cache.hits", lookupCache, c -> c.getHitCount())
+                            .tag("lookup", lookup)
+                            .register(registry);
+                    FunctionCounter.builder("customer.lookup.cache.negative.hits", lookupCache,
+                            c -> c.getNegativeHitCount())
+                            .tag("lookup", lookup)
+                            .register(registry);
+                    FunctionCounter.builder("customer.lookup.cache.misses", lookupCache, c -> c.getMissCount())
+                            .tag("lookup", lookup)
+                            .register(registry);
+                    Gauge.builder("customer.lookup.cache.size", lookupCache, c -> c.size())
+                            .tag("lookup", lookup)
+                            .register(registry);
+                });
+    }
+
+    @Bean
+    public MeterBinder callbackIdempotencyMetrics(CallbackIdempotencyCache idempotencyCache) {
+        return registry -> {
+            for (String scope : List.of(CallbackIdempotencyCache.INGRESS, CallbackIdempotencyCache.CONSUMER)) {
+                CallbackIdempotencyCache.Window window = idempotencyCache.window(scope);
+                FunctionCounter.builder("callback.idempotency.hits", window, CallbackIdempotencyCache.Window::getHitCount)
+                        .tag("scope", scope)
+                        .register(registry);
+                FunctionCounter.builder("callback.idempotency.misses", window, CallbackIdempotencyCache.Window::getMissCount)
+                        .tag("scope", scope)
+                        .register(registry);
+                Gauge.builder("callback.idempotency.size", window, CallbackIdempotencyCache.Window::size)
+                        .tag("scope", scope)
+                        .register(registry);
+                FunctionCounter.builder("callback.idempotency.evictions", window,
+                                CallbackIdempotencyCache.Window::getEvictionCount)
+                        .tag("scope", scope)
+                        .register(registry);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder notificationOutboxMetrics(NotificationOutboxDispatcher dispatcher) {
+        return registry -> {
+            Gauge.builder("notification.outbox.pending", dispatcher, NotificationOutboxDispatcher::getPendingCount)
+                    .register(registry);
+            FunctionCounter.builder("notification.outbox.enqueued", dispatcher,
+                    NotificationOutboxDispatcher::getEnqueuedCount).register(registry);
+            FunctionCounter.builder("notification.outbox.delivered", dispatcher,
+                    NotificationOutboxDispatcher::getDeliveredCount).register(registry);
+            FunctionCounter.builder("notification.outbox.retried", dispatcher,
+                    NotificationOutboxDispatcher::getRetriedCount).register(registry);
+            FunctionCounter.builder("notification.outbox.failed", dispatcher,
+                    NotificationOutboxDispatcher::getFailedCount).register(registry);
+            FunctionCounter.builder("notification.outbox.bypassed", dispatcher,
+                    NotificationOutboxDispatcher::getBypassedCount).register(registry);
+        };
+    }
+
+    /**
+     * Estado de cada circuit breaker: 0 fechado, 1 aberto, 2 meio-aberto.
+     */
+    @Bean
+    public MeterBinder resilienceMetrics(ResilienceRegistry resilience) {
+        return registry -> resilience.snapshot().keySet().forEach(name -> {
+            CircuitBreaker circuitBreaker = resilience.circuitBreaker(name);
+            Gauge.builder("resilience.circuitbreaker.state", circuitBreaker, cb -> cb.getState().ordinal())
+                    .tag("downstream", name)
+                    .register(registry);
+            FunctionCounter.builder("resilience.circuitbreaker.not.permitted", circuitBreaker,
+                    CircuitBreaker::getNotPermittedCalls)
+                    .tag("downstream", name)
+                    .register(registry);
+            FunctionCounter.builder("resilience.bulkhead.rejected", resilience.bulkhead(name),
+                    b -> b.getRejectedCalls())
+                    .tag("downstream", name)
+                    .register(registry);
+            Gauge.builder("resilience.bulkhead.available", resilience.bulkhead(name),
+                    b -> b.getAvailableConcurrentCalls())
+                    .tag("downstream", name)
+                    .register(registry);
+        });
+    }
+}
@@ -1,18 +1,40 @@
 package com.omp.hub.callback.infrastructure.config;
 
+import com.omp.hub.callback.infrastructure.metrics.OkHttpMetricsEventListener;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.X509TrustManager;
 import java.security.cert.X509Certificate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Client HTTP padrao e os perfis por downstream ({@link OkHttpClients}).
+ * <p>
+ * Cada perfil le {@code okhttp.clients.<perfil>.*} com fallback para as chaves globais
+ * {@code okhttp.*}: {@code connect-timeout}, {@code read-timeout}, {@code write-timeout},
+ * {@code call-timeout}, {@code max-idle-connections}, {@code keep-alive}, {@code max-requests},
+ * {@code max-requests-per-host} e {@code http2}. Os perfis derivam do client padrao, entao
+ * compartilham o listener de metricas e a configuracao de TLS, mas nao o pool nem o dispatcher.
+ */
 @Configuration
+@Slf4j
 public class OkHttpClientConfig {
+
+    private static final String PROFILE_PREFIX = "okhttp.clients.";
+
     @Value("${okhttp.connect-timeout:10s}")
     private String connectTimeout;
 
@@ -25,6 +47,27 @@ public class OkHttpClientConfig {
     @Value("${okhttp.trust-all:false}")
     private boolean trustAll;
 
+    // Limites do Dispatcher, que so valem para chamadas assincronas (enqueue)
+    @Value("${okhttp.max-requests:64}")
+    private int maxRequests = 64;
+
+    @Value("${okhttp.max-requests-per-host:20}")
+    private int maxRequestsPerHost = 20;
+
+    // Mesmos valores do ConnectionPool padrao do OkHttp
+    @Value("${okhttp.max-idle-connections:5}")
+    private int maxIdleConnections = 5;
+
+    @Value("${okhttp.keep-alive:5m}")
+    private String keepAlive = "5m";
+
+    // Limite da chamada inteira; 0 desliga
+    @Value("${okhttp.call-timeout:0}")
+    private String callTimeout = "0";
+
+    @Value("${okhttp.http2:true}")
+    private boolean http2 = true;
+
     private long parseDuration(String duration) {
         // Suporta "5s", "1000ms", "2m"
         if (duration.endsWith("ms")) {
@@ -41,10 +84,19 @@ public class OkHttpClientConfig {
 
     @Bean
     public OkHttpClient okHttpClient() {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(maxRequests);
+        dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+
         OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(maxIdleConnections, parseDuration(keepAlive), TimeUnit.MILLISECONDS))
                 .connectTimeout(parseDuration(connectTimeout), TimeUnit.MILLISECONDS)
                 .readTimeout(parseDuration(readTimeout), TimeUnit.MILLISECONDS)
-                .writeTimeout(parseDuration(writeTimeout), TimeUnit.MILLISECONDS);
+                .writeTimeout(parseDuration(writeTimeout), TimeUnit.MILLISECONDS)
+                .callTimeout(parseDuration(callTimeout), TimeUnit.MILLISECONDS)
+                .protocols(protocols(http2))
+                .eventListenerFactory(OkHttpMetricsEventListener.FACTORY);
 
         if (trustAll) {
             try {
@@ -73,4 +125,56 @@ public class OkHttpClientConfig {
 
         return builder.build();
     }
+
+    @Bean
+    public OkHttpClients okHttpClients(OkHttpClient okHttpClient, Environment environment) {
+        Map<String, OkHttpClient> clients = new LinkedHashMap<>();
+        for (String profile : OkHttpClients.PROFILES) {
+            clients.put(profile, profileClient(okHttpClient, profile, environment));
+        }
+        return new OkHttpClients(okHttpClient, clients);
+    }
+
+    OkHttpClient profileClient(OkHttpClient base, String profile, Environment environment) {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(property(environment, profile, "max-requests", Integer.class, maxRequests));
+        dispatcher.setMaxRequestsPerHost(
+                property(environment, profile, "max-requests-per-host", Integer.class, maxRequestsPerHost));
+
+        int idleConnections = property(environment, profile, "max-idle-connections", Integer.class, maxIdleConnections);
+        long keepAliveMillis = parseDuration(property(environment, profile, "keep-alive", String.class, keepAlive));
+        boolean profileHttp2 = property(environment, profile, "http2", Boolean.class, http2);
+
+        OkHttpClient client = base.newBuilder()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(idleConnections, keepAliveMillis, TimeUnit.MILLISECONDS))
+                .protocols(protocols(profileHttp2))
+                .connectTimeout(parseDuration(property(environment, profile, "connect-timeout", String.class, connectTimeout)),
+                        TimeUnit.MILLISECONDS)
+                .readTimeout(parseDuration(property(environment, profile, "read-timeout", String.class, readTimeout)),
+                        TimeUnit.MILLISECONDS)
+                .writeTimeout(parseDuration(property(environment, profile, "write-timeout", String.class, writeTimeout)),
+                        TimeUnit.MILLISECONDS)
+                .callTimeout(parseDuration(property(environment, profile, "call-timeout", String.class, callTimeout)),
+                        TimeUnit.MILLISECONDS)
+                .build();
+
+        log.info("OkHttp perfil {}: connect={}ms read={}ms write={}ms call={}ms pool={}/{}ms dispatcher={}/{} http2={}",
+                profile, client.connectTimeoutMillis(), client.readTimeoutMillis(), client.writeTimeoutMillis(),
+                client.callTimeoutMillis(), idleConnections, keepAliveMillis, dispatcher.getMaxRequests(),
+                dispatcher.getMaxRequestsPerHost(), profileHttp2);
+        return client;
+    }
+
+    private static List<Protocol> protocols(boolean http2) {
+        // Sem HTTP/2 o OkHttp nao oferece h2 no ALPN; em HTTP puro ele ja usa HTTP/1.1
+        return http2 ? List.of(Protocol.HTTP_2, Protocol.HTTP_1_1) : List.of(Protocol.HTTP_1_1);
+    }
+
+    /**
+     * @param globalValue valor da chave global {@code okhttp.<key>}, usado quando o perfil nao a define
+     */
+    private static <T> T property(Environment environment, String profile, String key, Class<T> type, T globalValue) {
+        return environment.getProperty(PROFILE_PREFIX + profile + "." + key, type, globalValue);
+    }
 }
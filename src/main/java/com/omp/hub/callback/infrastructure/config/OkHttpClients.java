@@ -0,0 +1,80 @@
+package com.omp.hub.callback.infrastructure.config;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+
+/**
+ * Um {@link OkHttpClient} por perfil de downstream, cada um com pool de conexoes, dispatcher,
+ * timeouts e protocolos proprios (ver {@link OkHttpClientConfig}).
+ * <p>
+ * O perfil viaja na propria requisicao como tag, preenchida a partir de
+ * {@code GenerateRequestDTO.client}; requisicoes sem perfil, ou com um perfil desconhecido, usam o
+ * client padrao.
+ */
+public class OkHttpClients {
+
+    public static final String SAP = "sap";
+    public static final String JOURNEY = "journey";
+    public static final String APIGEE_TOKEN = "apigee-token";
+    public static final String CUSTOMER = "customer";
+    public static final String COMMUNICATION = "communication";
+    public static final String NOTIFICATIONS = "notifications";
+
+    public static final List<String> PROFILES = List.of(SAP, JOURNEY, APIGEE_TOKEN, CUSTOMER, COMMUNICATION,
+            NOTIFICATIONS);
+
+    private final OkHttpClient defaultClient;
+    private final Map<String, OkHttpClient> clients;
+
+    public OkHttpClients(OkHttpClient defaultClient, Map<String, OkHttpClient> clients) {
+        this.defaultClient = defaultClient;
+        this.clients = Collections.unmodifiableMap(new LinkedHashMap<>(clients));
+    }
+
+    public OkHttpClient get(String profile) {
+        if (profile == null) {
+            return defaultClient;
+        }
+        return clients.getOrDefault(profile, defaultClient);
+    }
+
+    public OkHttpClient forRequest(Request request) {
+        Profile profile = request.tag(Profile.class);
+        return get(profile != null ? profile.getName() : null);
+    }
+
+    public Map<String, OkHttpClient> profiles() {
+        return clients;
+    }
+
+    /**
+     * Tag a ser colocada na requisicao; {@code null} quando nao ha perfil, o que no
+     * {@link Request.Builder#tag(Class, Object)} equivale a nao ter tag.
+     */
+    public static Profile profile(String name) {
+        return name != null ? new Profile(name) : null;
+    }
+
+    public static final class Profile {
+
+        private final String name;
+
+        private Profile(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.omp.hub.callback.infrastructure.metrics;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Metricas do processamento de callbacks.
+ * <p>
+ * Usa o {@link Metrics#globalRegistry}, ao qual o Spring Boot adiciona o registry do Prometheus,
+ * para que qualquer classe (inclusive as criadas fora do contexto, como nos testes) possa registrar
+ * sem injecao. Sem registry configurado as chamadas viram no-op.
+ * <p>
+ * Chamadas feitas pelo {@code ResilienceRegistry} usam o nome do downstream como etapa
+ * ({@code sap-redemptions}, {@code sap-payments}, ...), exceto quando o cliente informa uma etapa propria.
+ */
+public final class CallbackMetrics {
+
+    public static final String STAGE_TIMER = "callback.stage";
+    public static final String QUEUE_AGE_TIMER = "callback.queue.age";
+    public static final String RETRY_COUNTER = "callback.retry";
+    public static final String DLQ_COUNTER = "callback.dlq";
+    public static final String BODY_SIZE_SUMMARY = "callback.sqs.body.size";
+
+    public static final String PARSE = "parse";
+    public static final String SANITIZE = "sanitize";
+    public static final String DETECT = "detect";
+    public static final String BIND = "bind";
+    public static final String JOURNEY_GET = "journey-get";
+    public static final String CHANNEL_NOTIFICATION = "channel-notification";
+    public static final String RTDM_NOTIFICATION = "rtdm-notification";
+    public static final String SQS_SEND = "sqs-send";
+    public static final String SQS_RECEIVE = "sqs-receive";
+    public static final String SQS_DELETE = "sqs-delete";
+    public static final String SQS_ENCODE = "sqs-encode";
+    public static final String SQS_DECODE = "sqs-decode";
+
+    private static final String OUTCOME_SUCCESS = "success";
+    private static final String OUTCOME_ERROR = "error";
+
+    private CallbackMetrics() {
+    }
+
+    @FunctionalInterface
+    public interface StageCall<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    @FunctionalInterface
+    public interface StageRun<E extends Exception> {
+        void run() throws E;
+    }
+
+    /**
+     * Executa {@code call} registrando a duracao em {@code callback.stage}, com o resultado
+     * ({@code success}/{@code error}) como tag.
+     */
+    public static <T, E extends Exception> T recordStage(String stage, StageCall<T, E> call) throws E {
+        long start = System.nanoTime();
+        String outcome = OUTCOME_ERROR;
+        try {
+            T result = call.call();
+            outcome = OUTCOME_SUCCESS;
+            return result;
+        } finally {
+            stageTimer(stage, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public static <E extends Exception> void recordStage(String stage, StageRun<E> run) throws E {
+        recordStage(stage, () -> {
+            run.run();
+            return null;
+        });
+    }
+
+    /**
+     * Tempo desde que o callback entrou na fila pela primeira vez. Retries preservam o timestamp
+     * original, entao o valor inclui o tempo gasto em tentativas anteriores.
+     */
+    public static void recordQueueAge(Duration age) {
+        if (age == null || age.isNegative()) {
+            return;
+        }
+        Timer.builder(QUEUE_AGE_TIMER)
+                .description("Idade da mensagem SQS no momento do processamento")
+                .publishPercentileHistogram()
+                .register(registry())
+                .record(age);
+    }
+
+    /**
+     * Conta o destino de uma falha: {@code retried}, {@code exhausted}, {@code not-retryable},
+     * {@code not-permitted}, {@code unprocessable}, {@code visibility} ou {@code resend}.
+     */
+    public static void countRetry(String operation, String outcome) {
+        Counter.builder(RETRY_COUNTER)
+                .description("Falhas tratadas pelos mecanismos de retry")
+                .tag("operation", operation != null ? operation : "unknown")
+                .tag("outcome", outcome)
+                .register(registry())
+                .increment();
+    }
+
+    public static void countDlq(Throwable error) {
+        Counter.builder(DLQ_COUNTER)
+                .description("Mensagens enviadas para a DLQ")
+                .tag("reason", error != null ? error.getClass().getSimpleName() : "unknown")
+                .register(registry())
+                .increment();
+    }
+
+    /**
+     * Tamanho, em caracteres, do corpo enviado para a fila, com o codec como tag.
+     */
+    public static void recordBodySize(String codec, int bytes) {
+        DistributionSummary.builder(BODY_SIZE_SUMMARY)
+                .description("Tamanho do corpo das mensagens enviadas para o SQS")
+                .baseUnit("characters")
+                .tag("codec", codec)
+                .register(registry())
+                .record(bytes);
+    }
+
+    static Timer stageTimer(String stage, String outcome) {
+        return Timer.builder(STAGE_TIMER)
+                .description("Duracao de cada etapa do processamento de callbacks")
+                .tag("stage", stage)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry());
+    }
+
+    private static MeterRegistry registry() {
+        return Metrics.globalRegistry;
+    }
+}
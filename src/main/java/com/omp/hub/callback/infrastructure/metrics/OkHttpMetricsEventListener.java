@@ -0,0 +1,85 @@
+package com.omp.hub.callback.infrastructure.metrics;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.HttpUrl;
+import okhttp3.Response;
+
+/**
+ * Histograma de latencia por downstream para todas as chamadas do {@link okhttp3.OkHttpClient}.
+ * <p>
+ * Registra {@code http.client.downstream} (chamada completa) e {@code http.client.downstream.ttfb}
+ * (ate o primeiro byte da resposta), com metodo, uri e status como tags. Segmentos da uri que
+ * parecem identificadores (so digitos, longos com digitos ou muito longos) viram {@code {id}} para
+ * manter a cardinalidade baixa.
+ */
+public class OkHttpMetricsEventListener extends EventListener {
+
+    public static final String CALL_TIMER = "http.client.downstream";
+    public static final String TTFB_TIMER = "http.client.downstream.ttfb";
+
+    public static final EventListener.Factory FACTORY = call -> new OkHttpMetricsEventListener();
+
+    private static final Pattern ID_SEGMENT = Pattern.compile("\\d+|(?=.*\\d).{8,}|.{25,}");
+
+    private long callStart;
+    private long requestStart;
+    private int status;
+
+    @Override
+    public void callStart(Call call) {
+        callStart = System.nanoTime();
+    }
+
+    @Override
+    public void requestHeadersStart(Call call) {
+        if (requestStart == 0) {
+            requestStart = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void responseHeadersEnd(Call call, Response response) {
+        status = response.code();
+        if (requestStart != 0) {
+            timer(TTFB_TIMER, call, "success").record(System.nanoTime() - requestStart, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void callEnd(Call call) {
+        timer(CALL_TIMER, call, "success").record(System.nanoTime() - callStart, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void callFailed(Call call, IOException ioe) {
+        timer(CALL_TIMER, call, "error").record(System.nanoTime() - callStart, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer timer(String name, Call call, String outcome) {
+        return Timer.builder(name)
+                .tag("method", call.request().method())
+                .tag("uri", normalize(call.request().url()))
+                .tag("status", status != 0 ? String.valueOf(status) : "NONE")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(Metrics.globalRegistry);
+    }
+
+    static String normalize(HttpUrl url) {
+        StringBuilder path = new StringBuilder();
+        for (String segment : url.pathSegments()) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            path.append('/').append(ID_SEGMENT.matcher(segment).matches() ? "{id}" : segment);
+        }
+        return path.length() == 0 ? "/" : path.toString();
+    }
+}
@@ -0,0 +1,117 @@
+package com.omp.hub.callback.infrastructure.metrics;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.omp.hub.callback.application.config.VirtualThreads;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Detecta virtual threads presas ao carrier (pinning), por exemplo I/O dentro de um bloco
+ * {@code synchronized}, que bloqueia a thread de plataforma e anula o ganho do modo virtual.
+ * <p>
+ * Assina o evento JFR {@code jdk.VirtualThreadPinned} acima de
+ * {@code virtual-threads.pinned-threshold-ms}, registra a duracao em {@code jvm.threads.virtual.pinned}
+ * e loga a pilha uma vez por ponto de origem (o primeiro frame da aplicacao, quando houver).
+ */
+@Component
+@ConditionalOnProperty(name = VirtualThreads.PROPERTY, havingValue = "true")
+@Slf4j
+public class VirtualThreadPinningMonitor {
+
+    public static final String PINNED_TIMER = "jvm.threads.virtual.pinned";
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final String APPLICATION_PACKAGE = "com.omp.hub.";
+    private static final int MAX_FRAMES = 15;
+    private static final int MAX_REPORTED_SITES = 100;
+
+    private final Duration threshold;
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(@Value("${virtual-threads.pinned-threshold-ms:20}") long thresholdMillis) {
+        this.threshold = Duration.ofMillis(thresholdMillis);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!VirtualThreads.isSupported()) {
+            log.warn("{}=true ignorado: Java {} nao suporta virtual threads, executores seguem com threads de plataforma",
+                    VirtualThreads.PROPERTY, Runtime.version().feature());
+            return;
+        }
+
+        try {
+            RecordingStream recording = new RecordingStream();
+            recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+            recording.onEvent(PINNED_EVENT, this::onEvent);
+            recording.startAsync();
+            stream = recording;
+            log.info("Monitor de pinning de virtual threads ativo. Limite: {} ms", threshold.toMillis());
+        } catch (Exception e) {
+            log.warn("Nao foi possivel iniciar o monitor de pinning de virtual threads: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    private void onEvent(RecordedEvent event) {
+        List<String> frames = event.getStackTrace() == null
+                ? List.of()
+                : event.getStackTrace().getFrames().stream()
+                        .limit(MAX_FRAMES)
+                        .map(VirtualThreadPinningMonitor::format)
+                        .toList();
+        record(event.getDuration(), frames);
+    }
+
+    void record(Duration duration, List<String> frames) {
+        Timer.builder(PINNED_TIMER)
+                .description("Tempo em que uma virtual thread ficou presa ao carrier")
+                .register(Metrics.globalRegistry)
+                .record(duration);
+
+        String site = site(frames);
+        if (reportedSites.size() < MAX_REPORTED_SITES && reportedSites.add(site)) {
+            log.warn("Virtual thread presa ao carrier por {} ms em {}. Pilha:\n    {}",
+                    duration.toMillis(), site, String.join("\n    ", frames));
+        }
+    }
+
+    static String site(List<String> frames) {
+        return frames.stream()
+                .filter(frame -> frame.startsWith(APPLICATION_PACKAGE))
+                .findFirst()
+                .orElse(frames.isEmpty() ? "desconhecido" : frames.get(0));
+    }
+
+    private static String format(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
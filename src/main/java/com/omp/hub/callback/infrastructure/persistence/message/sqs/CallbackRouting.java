@@ -0,0 +1,179 @@
+package com.omp.hub.callback.infrastructure.persistence.message.sqs;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.omp.hub.callback.domain.enums.CallbackType;
+import com.omp.hub.callback.infrastructure.util.CallbackFingerprint;
+
+import lombok.Builder;
+import lombok.Getter;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+/**
+ * Chaves de roteamento de um callback, extraidas uma unica vez no produtor e enviadas como
+ * atributos da mensagem SQS. O consumer roteia, loga e escolhe o tipo a partir dos atributos, sem
+ * ler o {@code data} para isso.
+ * <p>
+ * Mensagens sem os atributos (enviadas antes desta versao) voltam com todos os campos
+ * {@code null}, e o consumer usa o proprio payload.
+ */
+@Getter
+@Builder
+public class CallbackRouting {
+
+    public static final String CALLBACK_TYPE = "callbackType";
+    public static final String TX_ID = "txId";
+    public static final String IDENTIFIER = "identifier";
+    public static final String OMP_TRANSACTION_ID = "ompTransactionId";
+    public static final String FINGERPRINT = "fingerprint";
+
+    public static final List<String> ATTRIBUTE_NAMES = List.of(CALLBACK_TYPE, TX_ID, IDENTIFIER, OMP_TRANSACTION_ID,
+            FINGERPRINT);
+
+    static final String DEFAULT_GROUP_ID = "payment-callback-default";
+
+    private static final ObjectMapper MAPPER = JsonMapper.builder().findAndAddModules().build();
+
+    private final CallbackType callbackType;
+    private final String txId;
+    private final String identifier;
+    private final String ompTransactionId;
+    private final String fingerprint;
+
+    /**
+     * @param callbackType tipo ja resolvido na entrada; {@code null} quando nao conhecido
+     */
+    public static CallbackRouting of(JsonNode data, CallbackType callbackType) {
+        return of(data, callbackType, null);
+    }
+
+    /**
+     * @param callbackType tipo ja resolvido na entrada; {@code null} quando nao conhecido
+     * @param fingerprint fingerprint ja calculado na entrada; {@code null} para calcular a partir do {@code data}
+     */
+    public static CallbackRouting of(JsonNode data, CallbackType callbackType, String fingerprint) {
+        if (data == null || !data.isObject()) {
+            return CallbackRouting.builder().callbackType(callbackType).build();
+        }
+        return CallbackRouting.builder()
+                .callbackType(callbackType)
+                .txId(text(data, TX_ID))
+                .identifier(text(data, IDENTIFIER))
+                .ompTransactionId(text(data, OMP_TRANSACTION_ID))
+                .fingerprint(fingerprint != null ? fingerprint : CallbackFingerprint.of(data))
+                .build();
+    }
+
+    /**
+     * Para chamadores que ainda enviam o {@code data} sem arvore: objeto, mapa ou texto JSON.
+     */
+    public static CallbackRouting of(Object data, CallbackType callbackType) {
+        return of(toTree(data), callbackType);
+    }
+
+    public static CallbackRouting fromAttributes(Map<String, MessageAttributeValue> attributes) {
+        CallbackRouting.CallbackRoutingBuilder builder = CallbackRouting.builder();
+        if (attributes == null || attributes.isEmpty()) {
+            return builder.build();
+        }
+        String type = value(attributes, CALLBACK_TYPE);
+        if (type != null) {
+            try {
+                builder.callbackType(CallbackType.valueOf(type));
+            } catch (IllegalArgumentException e) {
+                // Tipo desconhecido nesta versao: o consumer detecta pelo payload
+            }
+        }
+        return builder
+                .txId(value(attributes, TX_ID))
+                .identifier(value(attributes, IDENTIFIER))
+                .ompTransactionId(value(attributes, OMP_TRANSACTION_ID))
+                .fingerprint(value(attributes, FINGERPRINT))
+                .build();
+    }
+
+    /**
+     * Grupo FIFO: ompTransactionId, identifier ou txId, nessa ordem.
+     */
+    public String messageGroupId() {
+        for (String id : new String[] {ompTransactionId, identifier, txId}) {
+            if (id != null) {
+                return "callback-" + id;
+            }
+        }
+        return DEFAULT_GROUP_ID;
+    }
+
+    /**
+     * Identificador usado nos logs: txId, identifier ou ompTransactionId, nessa ordem.
+     */
+    public String logId() {
+        for (String id : new String[] {txId, identifier, ompTransactionId}) {
+            if (id != null) {
+                return id;
+            }
+        }
+        return null;
+    }
+
+    public boolean isEmpty() {
+        return callbackType == null && logId() == null && fingerprint == null;
+    }
+
+    public void addTo(Map<String, MessageAttributeValue> attributes) {
+        put(attributes, CALLBACK_TYPE, callbackType != null ? callbackType.name() : null);
+        put(attributes, TX_ID, txId);
+        put(attributes, IDENTIFIER, identifier);
+        put(attributes, OMP_TRANSACTION_ID, ompTransactionId);
+        put(attributes, FINGERPRINT, fingerprint);
+    }
+
+    private static JsonNode toTree(Object data) {
+        if (data == null || data instanceof JsonNode) {
+            return (JsonNode) data;
+        }
+        if (data instanceof String json) {
+            try {
+                return MAPPER.readTree(json);
+            } catch (IOException e) {
+                return null;
+            }
+        }
+        try {
+            return MAPPER.valueToTree(data);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String text(JsonNode data, String field) {
+        JsonNode value = data.get(field);
+        if (value == null || !value.isValueNode() || value.isNull() || value.asText().isEmpty()) {
+            return null;
+        }
+        return value.asText();
+    }
+
+    private static String value(Map<String, MessageAttributeValue> attributes, String name) {
+        MessageAttributeValue attribute = attributes.get(name);
+        if (attribute == null || attribute.stringValue() == null || attribute.stringValue().isEmpty()) {
+            return null;
+        }
+        return attribute.stringValue();
+    }
+
+    private static void put(Map<String, MessageAttributeValue> attributes, String name, String value) {
+        if (value == null) {
+            return;
+        }
+        attributes.put(name, MessageAttributeValue.builder()
+                .dataType("String")
+                .stringValue(value)
+                .build());
+    }
+}
@@ -0,0 +1,51 @@
+package com.omp.hub.callback.infrastructure.persistence.message.sqs;
+
+import java.io.IOException;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * JSON com o {@code ObjectMapper} da aplicacao. Datas saem em ISO-8601 e campos nulos sao omitidos,
+ * o mesmo corpo que o Gson gerava, entao consumers de versoes anteriores continuam lendo as
+ * mensagens. Reader e writer sao criados uma unica vez e reaproveitados.
+ */
+@Component
+public class JsonMessageCodec implements MessageCodec {
+
+    public static final String VERSION = "json-v1";
+
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+
+    public JsonMessageCodec(ObjectMapper objectMapper) {
+        ObjectMapper mapper = objectMapper.copy()
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        JavaType type = mapper.getTypeFactory().constructParametricType(MessageSQS.class, JsonNode.class);
+        this.writer = mapper.writerFor(MessageSQS.class);
+        this.reader = mapper.readerFor(type);
+    }
+
+    @Override
+    public String version() {
+        return VERSION;
+    }
+
+    @Override
+    public String encode(MessageSQS<?> message) throws IOException {
+        return writer.writeValueAsString(message);
+    }
+
+    @Override
+    public MessageSQS<Object> decode(String body) throws IOException {
+        return reader.readValue(body);
+    }
+}
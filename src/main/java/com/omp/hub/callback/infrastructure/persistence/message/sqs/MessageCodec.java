@@ -0,0 +1,28 @@
+package com.omp.hub.callback.infrastructure.persistence.message.sqs;
+
+import java.io.IOException;
+
+/**
+ * Formato do corpo das mensagens {@link MessageSQS} na fila.
+ * <p>
+ * O produtor grava a {@link #version()} no atributo {@link #ATTRIBUTE} e o consumer escolhe o
+ * codec pelo atributo, de modo que mensagens em formatos diferentes convivem na fila durante a
+ * troca de formato. Mensagens sem o atributo sao JSON.
+ */
+public interface MessageCodec {
+
+    String ATTRIBUTE = "bodyCodec";
+
+    /**
+     * Identificador do formato e da versao, gravado em cada mensagem.
+     */
+    String version();
+
+    String encode(MessageSQS<?> message) throws IOException;
+
+    /**
+     * O {@code data} do callback volta como {@code JsonNode}, pronto para o parser, sem passar por
+     * mapas intermediarios.
+     */
+    MessageSQS<Object> decode(String body) throws IOException;
+}
@@ -0,0 +1,77 @@
+package com.omp.hub.callback.infrastructure.persistence.message.sqs;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+/**
+ * Escolhe o {@link MessageCodec} de cada lado da fila: o produtor usa o configurado em
+ * {@code aws.sqs.producer.codec} e o consumer usa o indicado no atributo
+ * {@link MessageCodec#ATTRIBUTE} de cada mensagem, para drenar mensagens antigas durante a troca de
+ * formato.
+ */
+@Component
+@Slf4j
+public class MessageCodecs {
+
+    private final Map<String, MessageCodec> byVersion = new HashMap<>();
+
+    @Value("${aws.sqs.producer.codec:" + JsonMessageCodec.VERSION + "}")
+    private String producerVersion = JsonMessageCodec.VERSION;
+
+    private MessageCodec producer;
+
+    public MessageCodecs(List<MessageCodec> codecs) {
+        codecs.forEach(codec -> byVersion.put(codec.version(), codec));
+    }
+
+    @PostConstruct
+    public void init() {
+        producer = byVersion.get(producerVersion);
+        if (producer == null) {
+            throw new IllegalStateException("Codec de mensagem SQS desconhecido: " + producerVersion
+                    + ". Disponiveis: " + byVersion.keySet());
+        }
+        log.info("Codec das mensagens SQS: {}", producerVersion);
+    }
+
+    /**
+     * Codec das mensagens enviadas para a fila principal.
+     */
+    public MessageCodec producer() {
+        if (producer == null) {
+            init();
+        }
+        return producer;
+    }
+
+    /**
+     * Codec da DLQ, sempre JSON para que as mensagens possam ser lidas direto no console.
+     */
+    public MessageCodec json() {
+        return byVersion.get(JsonMessageCodec.VERSION);
+    }
+
+    /**
+     * @throws IllegalArgumentException quando a mensagem foi gravada em um formato que esta versao
+     *                                  nao conhece
+     */
+    public MessageCodec forAttributes(Map<String, MessageAttributeValue> attributes) {
+        MessageAttributeValue version = attributes != null ? attributes.get(MessageCodec.ATTRIBUTE) : null;
+        if (version == null || version.stringValue() == null) {
+            return json();
+        }
+        MessageCodec codec = byVersion.get(version.stringValue());
+        if (codec == null) {
+            throw new IllegalArgumentException("Codec de mensagem SQS desconhecido: " + version.stringValue());
+        }
+        return codec;
+    }
+}
@@ -0,0 +1,56 @@
+package com.omp.hub.callback.infrastructure.persistence.message.sqs;
+
+import java.io.IOException;
+import java.util.Base64;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Smile, o JSON binario do Jackson, em Base64 porque o corpo de uma mensagem SQS precisa ser
+ * texto. Nomes de campo repetidos viram referencias e numeros e datas saem em binario, sem texto
+ * para escapar e parsear.
+ * <p>
+ * So deve ser ligado no produtor depois que todos os consumers lerem o atributo
+ * {@link MessageCodec#ATTRIBUTE}.
+ */
+@Component
+public class SmileMessageCodec implements MessageCodec {
+
+    public static final String VERSION = "smile-v1";
+
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+
+    public SmileMessageCodec(ObjectMapper objectMapper) {
+        ObjectMapper mapper = objectMapper.copyWith(new SmileFactory())
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        JavaType type = mapper.getTypeFactory().constructParametricType(MessageSQS.class, JsonNode.class);
+        this.writer = mapper.writerFor(MessageSQS.class);
+        this.reader = mapper.readerFor(type);
+    }
+
+    @Override
+    public String version() {
+        return VERSION;
+    }
+
+    @Override
+    public String encode(MessageSQS<?> message) throws IOException {
+        return Base64.getEncoder().encodeToString(writer.writeValueAsBytes(message));
+    }
+
+    @Override
+    public MessageSQS<Object> decode(String body) throws IOException {
+        return reader.readValue(Base64.getDecoder().decode(body));
+    }
+}
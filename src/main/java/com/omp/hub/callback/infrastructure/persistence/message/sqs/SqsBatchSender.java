@@ -0,0 +1,403 @@
+package com.omp.hub.callback.infrastructure.persistence.message.sqs;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SqsException;
+
+/**
+ * Agrupa envios concorrentes para a mesma fila em chamadas {@code SendMessageBatch}.
+ * <p>
+ * Cada fila tem uma thread coletora que espera no maximo {@code linger-ms} para completar um lote
+ * de ate 10 mensagens (limite do SQS) e entrega o lote ao pool de envio. O resultado de cada
+ * entrada e devolvido individualmente, entao uma falha parcial afeta apenas as mensagens recusadas.
+ */
+@Component
+@Slf4j
+public class SqsBatchSender {
+
+    static final int SQS_MAX_BATCH_ENTRIES = 10;
+    static final int SQS_MAX_BATCH_BYTES = 262_144;
+
+    private final SqsClient sqsClient;
+
+    @Value("${aws.sqs.producer.batch.linger-ms:10}")
+    private long lingerMillis = 10;
+
+    @Value("${aws.sqs.producer.batch.max-entries:10}")
+    private int maxEntries = SQS_MAX_BATCH_ENTRIES;
+
+    @Value("${aws.sqs.producer.batch.sender-threads:4}")
+    private int senderThreads = 4;
+
+    @Value("${aws.sqs.producer.batch.send-timeout-seconds:30}")
+    private long sendTimeoutSeconds = 30;
+
+    private final Map<String, QueueBatcher> batchers = new ConcurrentHashMap<>();
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    private volatile ExecutorService senderPool;
+
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong entries = new AtomicLong();
+    private final AtomicLong failedEntries = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+    private final AtomicLong totalLatencyMillis = new AtomicLong();
+    private final AtomicLong maxLatencyMillis = new AtomicLong();
+
+    public SqsBatchSender(SqsClient sqsClient) {
+        this.sqsClient = sqsClient;
+    }
+
+    /**
+     * Envia a mensagem em lote e aguarda o resultado da propria entrada, preservando o contrato
+     * sincrono de {@code SqsClient.sendMessage}.
+     */
+    public SendMessageResponse send(SendMessageRequest request) {
+        CompletableFuture<SendMessageResponse> future = sendAsync(request);
+        try {
+            return future.get(sendTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Falha ao enviar lote para SQS", e.getCause());
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            throw new IllegalStateException("Timeout aguardando envio em lote para SQS", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Envio em lote para SQS interrompido", e);
+        }
+    }
+
+    public CompletableFuture<SendMessageResponse> sendAsync(SendMessageRequest request) {
+        if (closed.get()) {
+            return CompletableFuture.supplyAsync(() -> sqsClient.sendMessage(request), Runnable::run);
+        }
+
+        PendingEntry entry = new PendingEntry(request);
+        batchers.computeIfAbsent(request.queueUrl(), this::newBatcher).offer(entry);
+        return entry.result;
+    }
+
+    @PreDestroy
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        batchers.values().forEach(QueueBatcher::stop);
+        batchers.values().forEach(QueueBatcher::join);
+        if (senderPool != null) {
+            senderPool.shutdown();
+            try {
+                senderPool.awaitTermination(sendTimeoutSeconds, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public long getBatchCount() {
+        return batches.get();
+    }
+
+    public long getEntryCount() {
+        return entries.get();
+    }
+
+    public long getFailedEntryCount() {
+        return failedEntries.get();
+    }
+
+    public long getFailedBatchCount() {
+        return failedBatches.get();
+    }
+
+    public double getAverageBatchSize() {
+        long count = batches.get();
+        return count == 0 ? 0 : (double) entries.get() / count;
+    }
+
+    public double getAverageLatencyMillis() {
+        long count = batches.get();
+        return count == 0 ? 0 : (double) totalLatencyMillis.get() / count;
+    }
+
+    public long getMaxLatencyMillis() {
+        return maxLatencyMillis.get();
+    }
+
+    private QueueBatcher newBatcher(String queueUrl) {
+        QueueBatcher batcher = new QueueBatcher(queueUrl);
+        batcher.start();
+        return batcher;
+    }
+
+    private ExecutorService senderPool() {
+        ExecutorService pool = senderPool;
+        if (pool == null) {
+            synchronized (this) {
+                pool = senderPool;
+                if (pool == null) {
+                    AtomicInteger counter = new AtomicInteger();
+                    pool = Executors.newFixedThreadPool(Math.max(1, senderThreads), runnable -> {
+                        Thread thread = new Thread(runnable, "sqs-batch-sender-" + counter.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    senderPool = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
+    private void dispatch(String queueUrl, List<PendingEntry> batch) {
+        try {
+            senderPool().execute(() -> sendBatch(queueUrl, batch));
+        } catch (RejectedExecutionException e) {
+            sendBatch(queueUrl, batch);
+        }
+    }
+
+    private void sendBatch(String queueUrl, List<PendingEntry> batch) {
+        Map<String, PendingEntry> byId = new HashMap<>();
+        List<SendMessageBatchRequestEntry> requestEntries = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            PendingEntry entry = batch.get(i);
+            String id = String.valueOf(i);
+            byId.put(id, entry);
+            requestEntries.add(toBatchEntry(id, entry.request));
+        }
+
+        long start = System.nanoTime();
+        try {
+            SendMessageBatchResponse response = sqsClient.sendMessageBatch(SendMessageBatchRequest.builder()
+                    .queueUrl(queueUrl)
+                    .entries(requestEntries)
+                    .build());
+            recordBatch(batch.size(), start);
+
+            for (SendMessageBatchResultEntry success : response.successful()) {
+                PendingEntry entry = byId.remove(success.id());
+                if (entry != null) {
+                    entry.result.complete(SendMessageResponse.builder()
+                            .messageId(success.messageId())
+                            .sequenceNumber(success.sequenceNumber())
+                            .md5OfMessageBody(success.md5OfMessageBody())
+                            .build());
+                }
+            }
+
+            for (BatchResultErrorEntry failure : response.failed()) {
+                PendingEntry entry = byId.remove(failure.id());
+                if (entry != null) {
+                    failedEntries.incrementAndGet();
+                    log.warn("Entrada do lote recusada pelo SQS. Fila: {}, Code: {}, SenderFault: {}, Erro: {}",
+                            queueUrl, failure.code(), failure.senderFault(), failure.message());
+                    entry.result.completeExceptionally(SqsException.builder()
+                            .message(failure.message())
+                            .awsErrorDetails(AwsErrorDetails.builder()
+                                    .errorCode(failure.code())
+                                    .errorMessage(failure.message())
+                                    .build())
+                            .build());
+                }
+            }
+
+            for (PendingEntry missing : byId.values()) {
+                failedEntries.incrementAndGet();
+                missing.result.completeExceptionally(
+                        SqsException.builder().message("Entrada sem resultado na resposta do lote").build());
+            }
+
+        } catch (RuntimeException e) {
+            recordBatch(batch.size(), start);
+            failedBatches.incrementAndGet();
+            failedEntries.addAndGet(batch.size());
+            log.error("Erro ao enviar lote de {} mensagens para SQS. Fila: {}, Erro: {}",
+                    batch.size(), queueUrl, e.getMessage());
+            batch.forEach(entry -> entry.result.completeExceptionally(e));
+        }
+    }
+
+    private void recordBatch(int size, long startNanos) {
+        long latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        batches.incrementAndGet();
+        entries.addAndGet(size);
+        totalLatencyMillis.addAndGet(latency);
+        maxLatencyMillis.accumulateAndGet(latency, Math::max);
+    }
+
+    private static SendMessageBatchRequestEntry toBatchEntry(String id, SendMessageRequest request) {
+        return SendMessageBatchRequestEntry.builder()
+                .id(id)
+                .messageBody(request.messageBody())
+                .messageAttributes(request.messageAttributes())
+                .messageGroupId(request.messageGroupId())
+                .messageDeduplicationId(request.messageDeduplicationId())
+                .delaySeconds(request.delaySeconds())
+                .build();
+    }
+
+    static int estimateSize(SendMessageRequest request) {
+        int size = request.messageBody() != null
+                ? request.messageBody().getBytes(StandardCharsets.UTF_8).length
+                : 0;
+        for (Map.Entry<String, MessageAttributeValue> attribute : request.messageAttributes().entrySet()) {
+            size += attribute.getKey().length();
+            MessageAttributeValue value = attribute.getValue();
+            size += value.dataType() != null ? value.dataType().length() : 0;
+            size += value.stringValue() != null ? value.stringValue().getBytes(StandardCharsets.UTF_8).length : 0;
+        }
+        return size;
+    }
+
+    private static final class PendingEntry {
+
+        private final SendMessageRequest request;
+        private final int size;
+        private final CompletableFuture<SendMessageResponse> result = new CompletableFuture<>();
+
+        private PendingEntry(SendMessageRequest request) {
+            this.request = request;
+            this.size = estimateSize(request);
+        }
+    }
+
+    private final class QueueBatcher implements Runnable {
+
+        private final String queueUrl;
+        private final BlockingQueue<PendingEntry> pending = new LinkedBlockingQueue<>();
+        private final Thread thread;
+        private volatile boolean running = true;
+
+        private QueueBatcher(String queueUrl) {
+            this.queueUrl = queueUrl;
+            this.thread = new Thread(this, "sqs-batch-collector-" + batchers.size());
+            this.thread.setDaemon(true);
+        }
+
+        private void start() {
+            thread.start();
+        }
+
+        private void offer(PendingEntry entry) {
+            pending.add(entry);
+        }
+
+        private void stop() {
+            running = false;
+            thread.interrupt();
+        }
+
+        private void join() {
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(sendTimeoutSeconds));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            List<PendingEntry> leftover = new ArrayList<>();
+            pending.drainTo(leftover);
+            for (PendingEntry entry : leftover) {
+                sendBatch(queueUrl, List.of(entry));
+            }
+        }
+
+        @Override
+        public void run() {
+            PendingEntry carry = null;
+            while (running || carry != null || !pending.isEmpty()) {
+                try {
+                    PendingEntry first = carry != null ? carry : pending.poll(1, TimeUnit.SECONDS);
+                    carry = null;
+                    if (first == null) {
+                        continue;
+                    }
+                    carry = collect(first);
+                } catch (InterruptedException e) {
+                    if (running) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Monta um lote a partir de {@code first} respeitando quantidade, tamanho total e a janela
+         * de linger. Retorna a entrada que nao coube no lote, para abrir o proximo.
+         */
+        private PendingEntry collect(PendingEntry first) throws InterruptedException {
+            int limit = Math.max(1, Math.min(maxEntries, SQS_MAX_BATCH_ENTRIES));
+            List<PendingEntry> batch = new ArrayList<>(limit);
+            batch.add(first);
+            int bytes = first.size;
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+            PendingEntry overflow = null;
+
+            while (batch.size() < limit) {
+                PendingEntry next = pending.poll();
+                if (next == null) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0 || !running) {
+                        break;
+                    }
+                    try {
+                        next = pending.poll(remaining, TimeUnit.NANOSECONDS);
+                    } catch (InterruptedException e) {
+                        if (running) {
+                            dispatch(queueUrl, batch);
+                            throw e;
+                        }
+                        continue;
+                    }
+                    if (next == null) {
+                        break;
+                    }
+                }
+                if (bytes + next.size > SQS_MAX_BATCH_BYTES) {
+                    overflow = next;
+                    break;
+                }
+                batch.add(next);
+                bytes += next.size;
+            }
+
+            dispatch(queueUrl, batch);
+            return overflow;
+        }
+    }
+}
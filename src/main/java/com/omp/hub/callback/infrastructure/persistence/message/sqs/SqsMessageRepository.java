@@ -1,7 +1,9 @@
 package com.omp.hub.callback.infrastructure.persistence.message.sqs;
 
-import com.google.gson.Gson;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.omp.hub.callback.domain.model.dto.callback.CallbackRequest;
+import com.omp.hub.callback.domain.model.dto.callback.ParsedCallback;
+import com.omp.hub.callback.infrastructure.metrics.CallbackMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -13,6 +15,7 @@ import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
 import software.amazon.awssdk.services.sqs.model.SqsException;
 import software.amazon.awssdk.services.sqs.model.KmsAccessDeniedException;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
@@ -24,7 +27,8 @@ import java.util.UUID;
 public class SqsMessageRepository {
 
     private final SqsClient sqsClient;
-    private final Gson gson;
+    private final MessageCodecs codecs;
+    private final SqsBatchSender batchSender;
 
     @Value("${aws.sqs.queue-url}")
     private String queueUrl;
@@ -32,7 +36,28 @@ public class SqsMessageRepository {
     @Value("${aws.sqs.dlq-url}")
     private String dlqUrl;
 
+    @Value("${aws.sqs.producer.batch.enabled:true}")
+    private boolean batchEnabled = true;
+
+    /**
+     * Envia o callback ja parseado na entrada: o {@code data} vai como a arvore sanitizada, escrita
+     * direto pelo codec, e as chaves de roteamento saem da mesma arvore, sem serializar e ler o
+     * payload de novo. O fingerprint e o mesmo ja calculado para a idempotencia na entrada.
+     */
+    public void sendMessage(ParsedCallback callback) {
+        JsonNode tree = callback.getTree();
+        CallbackRequest<JsonNode> callbackRequest = CallbackRequest.<JsonNode>builder()
+                .data(tree)
+                .build();
+        sendMessage(callbackRequest, CallbackRouting.of(tree, callback.getType(), callback.getFingerprint()));
+    }
+
     public <T> void sendMessage(CallbackRequest<T> callbackRequest) {
+        sendMessage(callbackRequest,
+                CallbackRouting.of(callbackRequest != null ? callbackRequest.getData() : null, null));
+    }
+
+    private <T> void sendMessage(CallbackRequest<T> callbackRequest, CallbackRouting routing) {
         try {
             log.info("Enviando mensagem para a fila SQS: {}", queueUrl);
 
@@ -42,24 +67,25 @@ public class SqsMessageRepository {
                     .retryCount(0)
                     .build();
 
-            String messageBody = gson.toJson(messageSQS);
-            String messageGroupId = extractMessageGroupId(callbackRequest);
-
             Map<String, MessageAttributeValue> messageAttributes = new HashMap<>();
+            String messageBody = encode(codecs.producer(), messageSQS, messageAttributes);
+            String messageGroupId = routing.messageGroupId();
+
             messageAttributes.put("timestamp", MessageAttributeValue.builder()
                     .dataType("String")
                     .stringValue(messageSQS.getTimestamp().toString())
                     .build());
+            routing.addTo(messageAttributes);
 
             SendMessageRequest sendMessageRequest = SendMessageRequest.builder()
                     .queueUrl(queueUrl)
                     .messageBody(messageBody)
                     .messageAttributes(messageAttributes)
                     .messageGroupId(messageGroupId)
-                    .messageDeduplicationId(UUID.randomUUID().toString())
+                    .messageDeduplicationId(deduplicationId(routing, null))
                     .build();
 
-            SendMessageResponse response = sqsClient.sendMessage(sendMessageRequest);
+            SendMessageResponse response = send(sendMessageRequest);
 
             log.info("Mensagem enviada com sucesso. MessageId: {}, MessageGroupId: {}",
                     response.messageId(), messageGroupId);
@@ -85,9 +111,9 @@ public class SqsMessageRepository {
             message.setErrorStackTrace(getStackTraceAsString(error));
             message.setFailureTimestamp(LocalDateTime.now());
 
-            String messageBody = gson.toJson(message);
-
             Map<String, MessageAttributeValue> messageAttributes = new HashMap<>();
+            String messageBody = encode(codecs.json(), message, messageAttributes);
+
             messageAttributes.put("originalTimestamp", MessageAttributeValue.builder()
                     .dataType("String")
                     .stringValue(message.getTimestamp() != null ? message.getTimestamp().toString() : LocalDateTime.now().toString())
@@ -113,9 +139,10 @@ public class SqsMessageRepository {
                     .messageDeduplicationId((message.getMessageId() != null ? message.getMessageId() : UUID.randomUUID().toString()) + "-" + System.currentTimeMillis())
                     .build();
 
-            SendMessageResponse response = sqsClient.sendMessage(sendMessageRequest);
+            SendMessageResponse response = send(sendMessageRequest);
 
             log.info("Mensagem enviada para DLQ com sucesso. MessageId: {}", response.messageId());
+            CallbackMetrics.countDlq(error);
 
         } catch (KmsAccessDeniedException e) {
             log.error("Erro de acesso KMS ao enviar mensagem para DLQ. RequestId={}, ErrorCode={}",
@@ -131,6 +158,14 @@ public class SqsMessageRepository {
     }
 
     public <T> void resendForRetry(MessageSQS<T> message) {
+        resendForRetry(message, null);
+    }
+
+    /**
+     * @param routing chaves recebidas nos atributos da mensagem original; sem elas, sao extraidas
+     *                do {@code data}
+     */
+    public <T> void resendForRetry(MessageSQS<T> message, CallbackRouting routing) {
         try {
             int currentRetryCount = message.getRetryCount() != null ? message.getRetryCount() : 0;
             int newRetryCount = currentRetryCount + 1;
@@ -140,10 +175,13 @@ public class SqsMessageRepository {
 
             message.setRetryCount(newRetryCount);
             
-            String messageBody = gson.toJson(message);
-            String messageGroupId = extractMessageGroupIdFromMessage(message);
-
             Map<String, MessageAttributeValue> messageAttributes = new HashMap<>();
+            String messageBody = encode(codecs.producer(), message, messageAttributes);
+            CallbackRouting keys = routing != null && !routing.isEmpty() ? routing
+                    : CallbackRouting.of(message.getCallbackRequest() != null ? message.getCallbackRequest().getData() : null,
+                            null);
+            String messageGroupId = keys.messageGroupId();
+
             messageAttributes.put("timestamp", MessageAttributeValue.builder()
                     .dataType("String")
                     .stringValue(message.getTimestamp() != null ? message.getTimestamp().toString() : LocalDateTime.now().toString())
@@ -152,16 +190,17 @@ public class SqsMessageRepository {
                     .dataType("Number")
                     .stringValue(String.valueOf(newRetryCount))
                     .build());
+            keys.addTo(messageAttributes);
 
             SendMessageRequest sendMessageRequest = SendMessageRequest.builder()
                     .queueUrl(queueUrl)
                     .messageBody(messageBody)
                     .messageAttributes(messageAttributes)
                     .messageGroupId(messageGroupId)
-                    .messageDeduplicationId(UUID.randomUUID().toString())
+                    .messageDeduplicationId(deduplicationId(keys, newRetryCount))
                     .build();
 
-            SendMessageResponse response = sqsClient.sendMessage(sendMessageRequest);
+            SendMessageResponse response = send(sendMessageRequest);
 
             log.info("Mensagem reenviada para retry com sucesso. NewMessageId: {}, RetryCount: {}", 
                     response.messageId(), newRetryCount);
@@ -172,11 +211,44 @@ public class SqsMessageRepository {
         }
     }
 
-    private <T> String extractMessageGroupIdFromMessage(MessageSQS<T> message) {
-        if (message.getCallbackRequest() != null) {
-            return extractMessageGroupId(message.getCallbackRequest());
+    /**
+     * Serializa a mensagem e grava no atributo {@link MessageCodec#ATTRIBUTE} o formato usado, para
+     * o consumer escolher o codec certo.
+     */
+    private String encode(MessageCodec codec, MessageSQS<?> message, Map<String, MessageAttributeValue> attributes)
+            throws IOException {
+        String body = CallbackMetrics.recordStage(CallbackMetrics.SQS_ENCODE, () -> codec.encode(message));
+        CallbackMetrics.recordBodySize(codec.version(), body.length());
+        attributes.put(MessageCodec.ATTRIBUTE, MessageAttributeValue.builder()
+                .dataType("String")
+                .stringValue(codec.version())
+                .build());
+        return body;
+    }
+
+    private SendMessageResponse send(SendMessageRequest sendMessageRequest) {
+        return CallbackMetrics.recordStage(CallbackMetrics.SQS_SEND, () -> batchEnabled
+                ? batchSender.send(sendMessageRequest)
+                : sqsClient.sendMessage(sendMessageRequest));
+    }
+
+    /**
+     * Mesmo callback, mesmo id: o SQS descarta o reenvio do hub que chegar dentro da janela de
+     * deduplicacao de 5 minutos. Cada retry recebe um sufixo proprio para nao ser descartado como
+     * copia do envio original.
+     */
+    private String deduplicationId(CallbackRouting routing, Integer retryCount) {
+        String fingerprint = routing.getFingerprint();
+        if (fingerprint == null) {
+            return UUID.randomUUID().toString();
+        }
+        if (retryCount == null) {
+            return fingerprint;
         }
-        return "payment-callback-default";
+        String suffix = "-r" + retryCount;
+        return fingerprint.length() + suffix.length() > 128
+                ? fingerprint.substring(fingerprint.length() - (128 - suffix.length())) + suffix
+                : fingerprint + suffix;
     }
 
     private String getStackTraceAsString(Exception error) {
@@ -197,44 +269,4 @@ public class SqsMessageRepository {
 
         return sb.toString();
     }
-
-    private <T> String extractMessageGroupId(CallbackRequest<T> callbackRequest) {
-        try {
-            if (callbackRequest == null || callbackRequest.getData() == null) {
-                return "payment-callback-default";
-            }
-
-            String dataJson = gson.toJson(callbackRequest.getData());
-
-            com.google.gson.JsonObject jsonObject = com.google.gson.JsonParser.parseString(dataJson).getAsJsonObject();
-
-            if (jsonObject.has("ompTransactionId") && !jsonObject.get("ompTransactionId").isJsonNull()) {
-                String ompTransactionId = jsonObject.get("ompTransactionId").getAsString();
-                if (ompTransactionId != null && !ompTransactionId.isEmpty()) {
-                    return "callback-" + ompTransactionId;
-                }
-            }
-
-            if (jsonObject.has("identifier") && !jsonObject.get("identifier").isJsonNull()) {
-                String identifier = jsonObject.get("identifier").getAsString();
-                if (identifier != null && !identifier.isEmpty()) {
-                    return "callback-" + identifier;
-                }
-            }
-
-            if (jsonObject.has("txId") && !jsonObject.get("txId").isJsonNull()) {
-                String txId = jsonObject.get("txId").getAsString();
-                if (txId != null && !txId.isEmpty()) {
-                    return "callback-" + txId;
-                }
-            }
-
-            return "payment-callback-default";
-
-        } catch (Exception e) {
-            log.warn("Nao foi possivel extrair identificador para message group. Usando default. Erro: {}",
-                    e.getMessage());
-            return "payment-callback-default";
-        }
-    }
 }
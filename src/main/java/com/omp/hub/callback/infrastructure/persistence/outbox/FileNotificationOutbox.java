@@ -0,0 +1,385 @@
+package com.omp.hub.callback.infrastructure.persistence.outbox;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omp.hub.callback.domain.model.dto.notification.NotificationIntent;
+import com.omp.hub.callback.domain.ports.outbox.NotificationOutboxPort;
+
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Outbox de notificacoes em um journal local, uma linha JSON por operacao ({@code PUT} com a
+ * notificacao ou {@code DEL} com o id).
+ * <p>
+ * O estado fica em memoria e o arquivo so e lido na abertura, quando o journal e reaplicado; uma
+ * ultima linha incompleta, de uma escrita interrompida por crash, e ignorada. Com {@code fsync}
+ * ligado cada escrita so retorna depois de chegar ao disco, mas o {@code fsync} roda fora do lock e
+ * e compartilhado pelas escritas concorrentes. O lock e um {@link ReentrantLock}, que nao prende
+ * virtual threads ao carrier durante o I/O. Quando o journal passa de
+ * {@code compact-threshold} linhas e tem mais que o dobro de linhas das notificacoes pendentes, ele
+ * e reescrito so com as pendentes e trocado de forma atomica.
+ * <p>
+ * Nao ha diretorio padrao: {@code notification.outbox.dir} precisa apontar para um volume que
+ * sobreviva ao redeploy, senao as notificacoes pendentes se perdem junto com o container.
+ */
+@Component
+@Slf4j
+public class FileNotificationOutbox implements NotificationOutboxPort {
+
+    static final String JOURNAL_FILE = "notifications.log";
+
+    private static final String PUT = "PUT";
+    private static final String DEL = "DEL";
+
+    private static final Comparator<NotificationIntent> BY_NEXT_ATTEMPT = Comparator
+            .comparingLong(NotificationIntent::getNextAttemptAt)
+            .thenComparingLong(NotificationIntent::getCreatedAt);
+
+    private final ObjectMapper mapper;
+
+    @Value("${notification.outbox.dir:}")
+    private String directory;
+
+    @Value("${notification.outbox.fsync:true}")
+    private boolean fsync = true;
+
+    @Value("${notification.outbox.compact-threshold:1000}")
+    private int compactThreshold = 1000;
+
+    private final Map<String, NotificationIntent> intents = new LinkedHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private FileChannel channel;
+    private Path journal;
+    private int journalLines;
+    private long written;
+    private volatile long synced;
+
+    public FileNotificationOutbox(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    @Override
+    public void save(NotificationIntent intent) {
+        long position;
+        lock.lock();
+        try {
+            open();
+            position = append(new JournalRecord(PUT, intent.getId(), intent));
+            intents.put(intent.getId(), intent.toBuilder().build());
+        } finally {
+            lock.unlock();
+        }
+        sync(position);
+    }
+
+    @Override
+    public void remove(String id) {
+        long position;
+        boolean compact;
+        lock.lock();
+        try {
+            open();
+            if (intents.remove(id) == null) {
+                return;
+            }
+            position = append(new JournalRecord(DEL, id, null));
+            compact = needsCompaction();
+        } finally {
+            lock.unlock();
+        }
+        if (compact) {
+            compact();
+        }
+        sync(position);
+    }
+
+    @Override
+    public Optional<NotificationIntent> findById(String id) {
+        lock.lock();
+        try {
+            open();
+            NotificationIntent intent = intents.get(id);
+            return intent != null ? Optional.of(intent.toBuilder().build()) : Optional.empty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<NotificationIntent> findAll() {
+        lock.lock();
+        try {
+            open();
+            List<NotificationIntent> pending = new ArrayList<>(intents.size());
+            intents.values().forEach(intent -> pending.add(intent.toBuilder().build()));
+            pending.sort(Comparator.comparingLong(NotificationIntent::getCreatedAt));
+            return pending;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<NotificationIntent> findDue(long now, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        // Heap com as limit que venceram primeiro: o topo e a que venceu por ultimo entre elas
+        PriorityQueue<NotificationIntent> due = new PriorityQueue<>(limit, BY_NEXT_ATTEMPT.reversed());
+        lock.lock();
+        try {
+            open();
+            for (NotificationIntent intent : intents.values()) {
+                if (intent.getNextAttemptAt() > now) {
+                    continue;
+                }
+                if (due.size() < limit) {
+                    due.add(intent);
+                } else if (BY_NEXT_ATTEMPT.compare(intent, due.peek()) < 0) {
+                    due.poll();
+                    due.add(intent);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        // As notificacoes guardadas sao substituidas a cada save, nunca alteradas: a copia pode sair do lock
+        List<NotificationIntent> result = new ArrayList<>(due.size());
+        due.forEach(intent -> result.add(intent.toBuilder().build()));
+        result.sort(BY_NEXT_ATTEMPT);
+        return result;
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            open();
+            return intents.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        syncLock.lock();
+        lock.lock();
+        try {
+            if (channel == null) {
+                return;
+            }
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Erro ao fechar o outbox de notificacoes: {}", e.getMessage());
+            }
+            channel = null;
+        } finally {
+            lock.unlock();
+            syncLock.unlock();
+        }
+    }
+
+    private void open() {
+        if (channel != null) {
+            return;
+        }
+        if (directory == null || directory.isBlank()) {
+            throw new IllegalStateException("notification.outbox.dir nao configurado; o outbox precisa de um volume persistente");
+        }
+        try {
+            Path dir = Path.of(directory);
+            Files.createDirectories(dir);
+            journal = dir.resolve(JOURNAL_FILE);
+            if (Files.exists(journal)) {
+                replay();
+            }
+            boolean truncated = endsWithPartialLine();
+            channel = FileChannel.open(journal, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+            if (truncated) {
+                // Separa a linha incompleta para que o proximo registro nao seja colado nela
+                channel.write(ByteBuffer.wrap(new byte[] {'\n'}));
+            }
+            log.info("Outbox de notificacoes aberto em {} com {} notificacoes pendentes", journal, intents.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Nao foi possivel abrir o outbox de notificacoes em " + directory, e);
+        }
+    }
+
+    private void replay() throws IOException {
+        intents.clear();
+        journalLines = 0;
+        try (BufferedReader reader = Files.newBufferedReader(journal, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                journalLines++;
+                try {
+                    JournalRecord journalRecord = mapper.readValue(line, JournalRecord.class);
+                    if (PUT.equals(journalRecord.getOp()) && journalRecord.getIntent() != null) {
+                        intents.put(journalRecord.getId(), journalRecord.getIntent());
+                    } else if (DEL.equals(journalRecord.getOp())) {
+                        intents.remove(journalRecord.getId());
+                    }
+                } catch (JsonProcessingException e) {
+                    log.warn("Linha invalida ignorada no outbox de notificacoes: {}", e.getOriginalMessage());
+                }
+            }
+        }
+    }
+
+    private boolean endsWithPartialLine() throws IOException {
+        if (!Files.exists(journal) || Files.size(journal) == 0) {
+            return false;
+        }
+        try (FileChannel reader = FileChannel.open(journal, StandardOpenOption.READ)) {
+            ByteBuffer last = ByteBuffer.allocate(1);
+            reader.read(last, reader.size() - 1);
+            return last.get(0) != '\n';
+        }
+    }
+
+    /**
+     * Grava a linha sem {@code fsync}; chamado com {@code lock} tomado.
+     *
+     * @return posicao da escrita, para {@link #sync(long)}
+     */
+    private long append(JournalRecord journalRecord) {
+        try {
+            byte[] line = (mapper.writeValueAsString(journalRecord) + "\n").getBytes(StandardCharsets.UTF_8);
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            journalLines++;
+            return ++written;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Nao foi possivel gravar no outbox de notificacoes", e);
+        }
+    }
+
+    /**
+     * Espera a escrita {@code position} chegar ao disco. O {@code fsync} roda fora de {@code lock},
+     * entao leituras e outras escritas seguem enquanto o disco responde, e um unico {@code fsync}
+     * cobre todas as escritas feitas ate ali (group commit): quem chega depois e ja foi coberto
+     * retorna sem tocar no disco.
+     */
+    private void sync(long position) {
+        if (!fsync || synced >= position) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            if (synced >= position) {
+                return;
+            }
+            long target;
+            FileChannel current;
+            lock.lock();
+            try {
+                target = written;
+                current = channel;
+            } finally {
+                lock.unlock();
+            }
+            // syncLock tambem e tomado pela compactacao e pelo close, entao o canal nao fecha aqui
+            if (current != null) {
+                current.force(false);
+            }
+            synced = target;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Nao foi possivel gravar no outbox de notificacoes", e);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private boolean needsCompaction() {
+        return journalLines >= compactThreshold && journalLines > intents.size() * 2;
+    }
+
+    private void compact() {
+        syncLock.lock();
+        lock.lock();
+        try {
+            if (channel == null || !needsCompaction()) {
+                return;
+            }
+            rewrite();
+        } finally {
+            lock.unlock();
+            syncLock.unlock();
+        }
+    }
+
+    private void rewrite() {
+        Path tmp = journal.resolveSibling(JOURNAL_FILE + ".tmp");
+        try {
+            try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                for (NotificationIntent intent : intents.values()) {
+                    byte[] line = (mapper.writeValueAsString(new JournalRecord(PUT, intent.getId(), intent)) + "\n")
+                            .getBytes(StandardCharsets.UTF_8);
+                    ByteBuffer buffer = ByteBuffer.wrap(line);
+                    while (buffer.hasRemaining()) {
+                        out.write(buffer);
+                    }
+                }
+                out.force(true);
+            }
+            channel.close();
+            Files.move(tmp, journal, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel = FileChannel.open(journal, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            // O journal novo ja foi gravado com fsync e cobre todas as escritas anteriores
+            synced = written;
+            log.debug("Outbox de notificacoes compactado de {} para {} linhas", journalLines, intents.size());
+            journalLines = intents.size();
+        } catch (IOException e) {
+            // O journal antigo continua valido; a compactacao e tentada de novo na proxima remocao
+            log.warn("Erro ao compactar o outbox de notificacoes: {}", e.getMessage());
+            if (!channel.isOpen()) {
+                channel = null;
+            }
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class JournalRecord {
+        private String op;
+        private String id;
+        private NotificationIntent intent;
+    }
+}
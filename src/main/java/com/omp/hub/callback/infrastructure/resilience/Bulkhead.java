@@ -0,0 +1,62 @@
+package com.omp.hub.callback.infrastructure.resilience;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limita quantas chamadas simultaneas um downstream pode ocupar, para que um servico lento nao
+ * prenda todos os workers do consumer.
+ */
+public final class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrentCalls;
+    private final long maxWaitMillis;
+    private final Semaphore permits;
+
+    private final AtomicLong rejectedCalls = new AtomicLong();
+
+    public Bulkhead(String name, int maxConcurrentCalls, long maxWaitMillis) {
+        this.name = name;
+        this.maxConcurrentCalls = Math.max(1, maxConcurrentCalls);
+        this.maxWaitMillis = Math.max(0, maxWaitMillis);
+        this.permits = new Semaphore(this.maxConcurrentCalls);
+    }
+
+    /**
+     * Aguarda no maximo {@code maxWaitMillis} por uma vaga. Retorna {@code false} quando a chamada
+     * deve ser recusada.
+     */
+    public boolean tryAcquire() {
+        try {
+            if (permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejectedCalls.incrementAndGet();
+        return false;
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    public int getAvailableConcurrentCalls() {
+        return permits.availablePermits();
+    }
+
+    public long getRejectedCalls() {
+        return rejectedCalls.get();
+    }
+}
@@ -0,0 +1,196 @@
+package com.omp.hub.callback.infrastructure.resilience;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Circuit breaker por contagem para um downstream.
+ * <p>
+ * Guarda o resultado das ultimas {@code windowSize} chamadas e abre quando a taxa de falhas atinge
+ * {@code failureRateThreshold} (com pelo menos {@code minimumCalls} chamadas na janela). Aberto, recusa
+ * chamadas por {@code openDurationMillis}; depois libera {@code halfOpenCalls} chamadas de teste, que
+ * fecham o circuito se todas tiverem sucesso ou o reabrem na primeira falha.
+ * <p>
+ * Cada chamada liberada recebe um {@link Permit} com o estado em que foi admitida. Resultados de
+ * permissoes emitidas antes da ultima transicao sao ignorados: uma chamada admitida com o circuito
+ * fechado que termina depois do {@code openDurationMillis} nao conta como chamada de teste.
+ */
+public final class CircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+    private final float failureRateThreshold;
+    private final int minimumCalls;
+    private final long openDurationMillis;
+    private final int halfOpenCalls;
+    private final LongSupplier clock;
+
+    private final boolean[] window;
+    private int windowIndex;
+    private int bufferedCalls;
+    private int failedCalls;
+
+    private State state = State.CLOSED;
+    private long generation;
+    private long openedAt;
+    private int halfOpenInFlight;
+    private int halfOpenSuccesses;
+
+    private final AtomicLong notPermittedCalls = new AtomicLong();
+
+    public CircuitBreaker(String name, float failureRateThreshold, int windowSize, int minimumCalls,
+                          long openDurationMillis, int halfOpenCalls) {
+        this(name, failureRateThreshold, windowSize, minimumCalls, openDurationMillis, halfOpenCalls,
+                System::currentTimeMillis);
+    }
+
+    CircuitBreaker(String name, float failureRateThreshold, int windowSize, int minimumCalls,
+                   long openDurationMillis, int halfOpenCalls, LongSupplier clock) {
+        this.name = name;
+        this.failureRateThreshold = failureRateThreshold;
+        this.window = new boolean[Math.max(1, windowSize)];
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, this.window.length));
+        this.openDurationMillis = openDurationMillis;
+        this.halfOpenCalls = Math.max(1, halfOpenCalls);
+        this.clock = clock;
+    }
+
+    /**
+     * Retorna {@code null} quando a chamada deve ser recusada sem chegar ao downstream. A permissao
+     * devolvida deve ser entregue a {@link #onSuccess(Permit)} ou {@link #onFailure(Permit)}.
+     */
+    public synchronized Permit tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (clock.getAsLong() - openedAt < openDurationMillis) {
+                notPermittedCalls.incrementAndGet();
+                return null;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+
+        if (state == State.HALF_OPEN) {
+            if (halfOpenInFlight >= halfOpenCalls) {
+                notPermittedCalls.incrementAndGet();
+                return null;
+            }
+            halfOpenInFlight++;
+        }
+        return new Permit(state, generation);
+    }
+
+    public synchronized void onSuccess(Permit permit) {
+        if (permit.generation != generation) {
+            return;
+        }
+        if (permit.state == State.HALF_OPEN) {
+            halfOpenInFlight = Math.max(0, halfOpenInFlight - 1);
+            if (++halfOpenSuccesses >= halfOpenCalls) {
+                transitionTo(State.CLOSED);
+            }
+        } else {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure(Permit permit) {
+        if (permit.generation != generation) {
+            return;
+        }
+        if (permit.state == State.HALF_OPEN) {
+            transitionTo(State.OPEN);
+        } else {
+            record(true);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Percentual de falhas na janela atual, ou {@code -1} enquanto ha menos de {@code minimumCalls} chamadas.
+     */
+    public synchronized float getFailureRate() {
+        if (bufferedCalls < minimumCalls) {
+            return -1f;
+        }
+        return failedCalls * 100f / bufferedCalls;
+    }
+
+    public synchronized int getBufferedCalls() {
+        return bufferedCalls;
+    }
+
+    public synchronized int getFailedCalls() {
+        return failedCalls;
+    }
+
+    public long getNotPermittedCalls() {
+        return notPermittedCalls.get();
+    }
+
+    private void record(boolean failure) {
+        if (bufferedCalls == window.length) {
+            if (window[windowIndex]) {
+                failedCalls--;
+            }
+        } else {
+            bufferedCalls++;
+        }
+        window[windowIndex] = failure;
+        if (failure) {
+            failedCalls++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+
+        if (bufferedCalls >= minimumCalls && getFailureRate() >= failureRateThreshold) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    private void transitionTo(State next) {
+        logger.warn("Circuit breaker {} mudou de {} para {}", name, state, next);
+        state = next;
+        generation++;
+        halfOpenInFlight = 0;
+        halfOpenSuccesses = 0;
+        if (next == State.OPEN) {
+            openedAt = clock.getAsLong();
+        }
+        if (next == State.CLOSED) {
+            bufferedCalls = 0;
+            failedCalls = 0;
+            windowIndex = 0;
+        }
+    }
+
+    /**
+     * Permissao para uma chamada, valida apenas enquanto o circuito nao mudar de estado.
+     */
+    public static final class Permit {
+
+        private final State state;
+        private final long generation;
+
+        private Permit(State state, long generation) {
+            this.state = state;
+            this.generation = generation;
+        }
+
+        public State getState() {
+            return state;
+        }
+    }
+}
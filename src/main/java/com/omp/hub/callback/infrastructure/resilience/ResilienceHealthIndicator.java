@@ -0,0 +1,27 @@
+package com.omp.hub.callback.infrastructure.resilience;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Publica o estado dos circuit breakers em {@code /actuator/health}. Um breaker aberto nao derruba
+ * o status da aplicacao: o servico continua consumindo e devolvendo para a fila o que depende do
+ * downstream indisponivel.
+ */
+@Component("circuitBreakers")
+@RequiredArgsConstructor
+public class ResilienceHealthIndicator implements HealthIndicator {
+
+    private final ResilienceRegistry resilienceRegistry;
+
+    @Override
+    public Health health() {
+        return Health.up()
+                .withDetail("enabled", resilienceRegistry.isEnabled())
+                .withDetails(resilienceRegistry.snapshot())
+                .build();
+    }
+}
@@ -0,0 +1,186 @@
+package com.omp.hub.callback.infrastructure.resilience;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import com.omp.hub.callback.domain.exceptions.BusinessException;
+import com.omp.hub.callback.domain.exceptions.CallNotPermittedException;
+import com.omp.hub.callback.infrastructure.metrics.CallbackMetrics;
+
+/**
+ * Um circuit breaker e um bulkhead por downstream.
+ * <p>
+ * Os limites sao lidos de {@code client.resilience.<downstream>.*}, com fallback para
+ * {@code client.resilience.defaults.*}. Erros 4xx (exceto 408 e 429) mostram que o downstream
+ * respondeu e contam como sucesso para o breaker; 5xx, timeouts e falhas de rede contam como falha.
+ */
+@Component
+public class ResilienceRegistry {
+
+    public static final String SAP_REDEMPTIONS = "sap-redemptions";
+    public static final String SAP_PAYMENTS = "sap-payments";
+    public static final String SAP_BILLING_PAYMENTS = "sap-billing-payments";
+    public static final String TRANSACTIONS_NOTIFICATIONS = "transactions-notifications";
+    public static final String INFORMATION_PAYMENT = "information-payment";
+    public static final String COMMUNICATION = "communication";
+
+    private static final List<String> DOWNSTREAMS = List.of(SAP_REDEMPTIONS, SAP_PAYMENTS, SAP_BILLING_PAYMENTS,
+            TRANSACTIONS_NOTIFICATIONS, INFORMATION_PAYMENT, COMMUNICATION);
+
+    private static final String PREFIX = "client.resilience.";
+
+    private final Environment environment;
+    private final boolean enabled;
+    private final Map<String, Guard> guards = new ConcurrentHashMap<>();
+
+    public ResilienceRegistry(Environment environment) {
+        this.environment = environment;
+        this.enabled = environment.getProperty(PREFIX + "enabled", Boolean.class, true);
+        DOWNSTREAMS.forEach(this::guard);
+    }
+
+    public <T> T execute(String downstream, Supplier<T> call) {
+        return execute(downstream, downstream, call);
+    }
+
+    /**
+     * Como {@link #execute(String, Supplier)}, registrando a duracao (inclusive chamadas recusadas)
+     * na etapa {@code stage} de {@link CallbackMetrics#STAGE_TIMER}.
+     */
+    public <T> T execute(String downstream, String stage, Supplier<T> call) {
+        return CallbackMetrics.recordStage(stage, () -> guarded(downstream, call));
+    }
+
+    public void run(String downstream, Runnable call) {
+        run(downstream, downstream, call);
+    }
+
+    public void run(String downstream, String stage, Runnable call) {
+        execute(downstream, stage, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    private <T> T guarded(String downstream, Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+
+        Guard guard = guard(downstream);
+        if (!guard.bulkhead.tryAcquire()) {
+            throw new CallNotPermittedException(downstream, CallNotPermittedException.BULKHEAD_FULL);
+        }
+
+        try {
+            CircuitBreaker.Permit permit = guard.circuitBreaker.tryAcquirePermission();
+            if (permit == null) {
+                throw new CallNotPermittedException(downstream, CallNotPermittedException.CIRCUIT_OPEN);
+            }
+
+            // Qualquer Throwable (inclusive Error) conta como falha, para a chamada de teste nunca ficar presa
+            boolean failed = true;
+            try {
+                T result = call.get();
+                failed = false;
+                return result;
+            } catch (RuntimeException e) {
+                failed = countsAsFailure(e);
+                throw e;
+            } finally {
+                if (failed) {
+                    guard.circuitBreaker.onFailure(permit);
+                } else {
+                    guard.circuitBreaker.onSuccess(permit);
+                }
+            }
+
+        } finally {
+            guard.bulkhead.release();
+        }
+    }
+
+    public CircuitBreaker circuitBreaker(String downstream) {
+        return guard(downstream).circuitBreaker;
+    }
+
+    public Bulkhead bulkhead(String downstream) {
+        return guard(downstream).bulkhead;
+    }
+
+    /**
+     * Estado de cada downstream, no formato exposto pelo health check.
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        guards.keySet().stream().sorted().forEach(name -> {
+            Guard guard = guards.get(name);
+            Map<String, Object> status = new LinkedHashMap<>();
+            status.put("state", guard.circuitBreaker.getState().name());
+            status.put("failureRate", guard.circuitBreaker.getFailureRate());
+            status.put("bufferedCalls", guard.circuitBreaker.getBufferedCalls());
+            status.put("failedCalls", guard.circuitBreaker.getFailedCalls());
+            status.put("notPermittedCalls", guard.circuitBreaker.getNotPermittedCalls());
+            status.put("bulkheadMaxConcurrentCalls", guard.bulkhead.getMaxConcurrentCalls());
+            status.put("bulkheadAvailableConcurrentCalls", guard.bulkhead.getAvailableConcurrentCalls());
+            status.put("bulkheadRejectedCalls", guard.bulkhead.getRejectedCalls());
+            result.put(name, status);
+        });
+        return result;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    static boolean countsAsFailure(Throwable e) {
+        if (e instanceof BusinessException businessException && businessException.getError() != null) {
+            Integer status = businessException.getError().getStatus();
+            if (status != null && status >= 400 && status < 500) {
+                return status == 408 || status == 429;
+            }
+        }
+        return true;
+    }
+
+    private Guard guard(String downstream) {
+        return guards.computeIfAbsent(downstream, this::create);
+    }
+
+    private Guard create(String downstream) {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(downstream,
+                property(downstream, "failure-rate-threshold", Float.class, 50f),
+                property(downstream, "sliding-window-size", Integer.class, 20),
+                property(downstream, "minimum-calls", Integer.class, 10),
+                property(downstream, "open-duration-ms", Long.class, 30000L),
+                property(downstream, "half-open-calls", Integer.class, 3));
+
+        Bulkhead bulkhead = new Bulkhead(downstream,
+                property(downstream, "max-concurrent-calls", Integer.class, 20),
+                property(downstream, "max-wait-ms", Long.class, 100L));
+
+        return new Guard(circuitBreaker, bulkhead);
+    }
+
+    private <T> T property(String downstream, String key, Class<T> type, T defaultValue) {
+        T fallback = environment.getProperty(PREFIX + "defaults." + key, type, defaultValue);
+        return environment.getProperty(PREFIX + downstream + "." + key, type, fallback);
+    }
+
+    private static final class Guard {
+
+        private final CircuitBreaker circuitBreaker;
+        private final Bulkhead bulkhead;
+
+        private Guard(CircuitBreaker circuitBreaker, Bulkhead bulkhead) {
+            this.circuitBreaker = circuitBreaker;
+            this.bulkhead = bulkhead;
+        }
+    }
+}
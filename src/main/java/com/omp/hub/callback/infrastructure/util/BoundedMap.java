@@ -0,0 +1,165 @@
+package com.omp.hub.callback.infrastructure.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.IntSupplier;
+
+/**
+ * Mapa thread-safe com tamanho maximo, usado pelos caches e janelas em memoria. Ao passar do
+ * limite, descarta as entradas mais antigas pela ordem de escrita: um pico de chaves novas so
+ * empurra para fora as chaves mais velhas, em vez de esvaziar o mapa inteiro.
+ * <p>
+ * Trocar o valor de uma chave conta como escrita nova e move a chave para o fim da fila. Todas as
+ * operacoes sao O(1) sob um {@link ReentrantLock}, que nao prende virtual threads ao carrier. A
+ * expiracao por TTL fica com quem usa o mapa, guardando o vencimento no proprio valor.
+ */
+public class BoundedMap<K, V> {
+
+    private final IntSupplier maxEntries;
+    private final LinkedHashMap<K, V> entries = new LinkedHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * @param maxEntries limite lido a cada escrita, para acompanhar propriedades injetadas depois
+     *                   da construcao
+     */
+    public BoundedMap(IntSupplier maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public V get(K key) {
+        lock.lock();
+        try {
+            return entries.get(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(K key, V value) {
+        lock.lock();
+        try {
+            write(key, value);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return {@code true} quando a chave ainda nao existia e o valor foi gravado
+     */
+    public boolean putIfAbsent(K key, V value) {
+        lock.lock();
+        try {
+            if (entries.containsKey(key)) {
+                return false;
+            }
+            write(key, value);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Troca o valor so se a chave ainda estiver com {@code expected} (comparado por identidade).
+     */
+    public boolean replace(K key, V expected, V value) {
+        lock.lock();
+        try {
+            if (entries.get(key) != expected) {
+                return false;
+            }
+            write(key, value);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Calcula o novo valor de forma atomica; {@code null} remove a chave. A funcao roda com o lock
+     * tomado e nao deve bloquear.
+     */
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+        lock.lock();
+        try {
+            V current = entries.get(key);
+            V value = remapping.apply(key, current);
+            if (value == null) {
+                entries.remove(key);
+            } else if (value != current) {
+                write(key, value);
+            }
+            return value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public V remove(K key) {
+        lock.lock();
+        try {
+            return entries.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove so se a chave ainda estiver com {@code expected} (comparado por identidade).
+     */
+    public boolean remove(K key, V expected) {
+        lock.lock();
+        try {
+            if (entries.get(key) != expected) {
+                return false;
+            }
+            entries.remove(key);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    private void write(K key, V value) {
+        // Remove antes de gravar para a chave ir para o fim da ordem de escrita
+        entries.remove(key);
+        entries.put(key, Objects.requireNonNull(value));
+        int limit = Math.max(1, maxEntries.getAsInt());
+        Iterator<Map.Entry<K, V>> oldest = entries.entrySet().iterator();
+        while (entries.size() > limit && oldest.hasNext()) {
+            oldest.next();
+            oldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+}
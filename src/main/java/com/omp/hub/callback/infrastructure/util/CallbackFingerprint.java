@@ -0,0 +1,140 @@
+package com.omp.hub.callback.infrastructure.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Identificador estavel de um callback: SHA-256 do {@code data} sanitizado, com as chaves dos
+ * objetos em ordem alfabetica, prefixado pelo txId.
+ * <p>
+ * O mesmo callback reenviado pelo hub gera o mesmo valor, independente da ordem dos campos ou de
+ * campos malformados que a sanitizacao remove. Usado como {@code MessageDeduplicationId} no SQS e
+ * como chave do {@code CallbackIdempotencyCache}.
+ */
+@UtilityClass
+public class CallbackFingerprint {
+
+    private static final ObjectMapper MAPPER = JsonMapper.builder().findAndAddModules().build();
+
+    private static final String[] TX_ID_FIELDS = {"txId", "identifier", "ompTransactionId"};
+
+    /**
+     * Tamanho maximo do {@code MessageDeduplicationId} no SQS.
+     */
+    private static final int MAX_LENGTH = 128;
+
+    /**
+     * @return {@code null} quando o {@code data} nao e um objeto JSON
+     */
+    public static String of(Object data) {
+        if (data == null) {
+            return null;
+        }
+        if (data instanceof JsonNode node) {
+            return of(node);
+        }
+        if (data instanceof String json) {
+            try {
+                return of(MAPPER.readTree(json));
+            } catch (IOException e) {
+                return null;
+            }
+        }
+        return of((JsonNode) MAPPER.valueToTree(data));
+    }
+
+    /**
+     * Calcula sobre uma copia da arvore; a arvore recebida nao e alterada.
+     *
+     * @return {@code null} quando a arvore nao e um objeto JSON
+     */
+    public static String of(JsonNode tree) {
+        if (tree == null || !tree.isObject()) {
+            return null;
+        }
+
+        JsonNode sanitized = tree.deepCopy();
+        JsonSanitizerUtil.sanitizeCallbackTree(sanitized);
+
+        MessageDigest digest = sha256();
+        try (JsonGenerator generator = MAPPER.getFactory()
+                .createGenerator(new DigestOutputStream(OutputStream.nullOutputStream(), digest))) {
+            writeCanonical(generator, sanitized);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        String hash = HexFormat.of().formatHex(digest.digest());
+        String txId = txId(sanitized);
+        if (txId == null) {
+            return hash;
+        }
+        String prefix = txId.replaceAll("[^A-Za-z0-9_-]", "");
+        int maxPrefix = MAX_LENGTH - hash.length() - 1;
+        if (prefix.length() > maxPrefix) {
+            prefix = prefix.substring(0, maxPrefix);
+        }
+        return prefix.isEmpty() ? hash : prefix + "-" + hash;
+    }
+
+    /**
+     * Primeiro identificador preenchido entre {@code txId}, {@code identifier} e
+     * {@code ompTransactionId}.
+     */
+    public static String txId(JsonNode tree) {
+        if (tree == null) {
+            return null;
+        }
+        for (String field : TX_ID_FIELDS) {
+            JsonNode value = tree.get(field);
+            if (value != null && value.isValueNode() && !value.isNull() && !value.asText().isEmpty()) {
+                return value.asText();
+            }
+        }
+        return null;
+    }
+
+    private static void writeCanonical(JsonGenerator generator, JsonNode node) throws IOException {
+        if (node.isObject()) {
+            List<String> names = new ArrayList<>();
+            node.fieldNames().forEachRemaining(names::add);
+            names.sort(null);
+            generator.writeStartObject();
+            for (String name : names) {
+                generator.writeFieldName(name);
+                writeCanonical(generator, node.get(name));
+            }
+            generator.writeEndObject();
+        } else if (node.isArray()) {
+            generator.writeStartArray();
+            for (JsonNode item : node) {
+                writeCanonical(generator, item);
+            }
+            generator.writeEndArray();
+        } else {
+            MAPPER.writeTree(generator, node);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponivel", e);
+        }
+    }
+}
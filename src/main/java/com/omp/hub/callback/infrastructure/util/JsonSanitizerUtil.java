@@ -1,5 +1,14 @@
 package com.omp.hub.callback.infrastructure.util;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -10,59 +19,166 @@ import lombok.extern.slf4j.Slf4j;
 @UtilityClass
 public class JsonSanitizerUtil {
 
+    // Campos de event.payment[] que podem chegar como string malformada no lugar de um objeto
+    private static final Set<String> PAYMENT_FIELDS = Set.of("cash", "pix", "tefweb", "card");
+
+    /**
+     * Remove os campos malformados de {@code event.payment[]} lendo o JSON em streaming, sem montar
+     * a arvore.
+     * <p>
+     * Uma primeira leitura procura um campo a remover, pulando as subarvores que nao levam a
+     * {@code event.payment[]}; sem nenhum, o proprio {@code jsonString} e retornado. So quando ha o
+     * que remover os tokens sao copiados para a saida, omitindo esses campos.
+     */
     public static String sanitizeCallbackJson(String jsonString, ObjectMapper mapper) {
+        if (jsonString == null || jsonString.isEmpty()) {
+            return jsonString;
+        }
+
         try {
-            JsonNode rootNode = mapper.readTree(jsonString);
-            
-            // Procurar por event.payment[] e sanitizar cada item
-            if (rootNode.has("event") && rootNode.get("event").has("payment")) {
-                JsonNode paymentArray = rootNode.get("event").get("payment");
-                
-                if (paymentArray.isArray()) {
-                    for (JsonNode paymentItem : paymentArray) {
-                        if (paymentItem.isObject()) {
-                            ObjectNode paymentObj = (ObjectNode) paymentItem;
-                            sanitizePaymentItem(paymentObj);
-                        }
-                    }
-                }
+            JsonFactory factory = mapper.getFactory();
+            if (!hasMalformedField(factory, jsonString)) {
+                return jsonString;
             }
-            
-            return mapper.writeValueAsString(rootNode);
-            
+            return rewrite(factory, jsonString);
+
         } catch (Exception e) {
             log.error("Erro ao sanitizar JSON: {}", e.getMessage());
             // Em caso de erro, retorna o JSON original
             return jsonString;
         }
     }
+
+    private static boolean hasMalformedField(JsonFactory factory, String json) throws IOException {
+        try (JsonParser parser = factory.createParser(json)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token != JsonToken.FIELD_NAME) {
+                    continue;
+                }
+                JsonStreamContext context = parser.getParsingContext();
+                if (isPaymentField(context)) {
+                    if (parser.nextToken() == JsonToken.VALUE_STRING) {
+                        return true;
+                    }
+                    parser.skipChildren();
+                } else if (!leadsToPayment(context)) {
+                    parser.nextToken();
+                    parser.skipChildren();
+                }
+            }
+            return false;
+        }
+    }
+
+    private static String rewrite(JsonFactory factory, String json) throws IOException {
+        StringWriter writer = new StringWriter(json.length());
+        try (JsonParser parser = factory.createParser(json);
+             JsonGenerator generator = factory.createGenerator(writer)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token == JsonToken.FIELD_NAME && isPaymentField(parser.getParsingContext())) {
+                    String field = parser.currentName();
+                    if (parser.nextToken() == JsonToken.VALUE_STRING) {
+                        logRemoval(field, parser.getText());
+                        continue;
+                    }
+                    generator.writeFieldName(field);
+                }
+                generator.copyCurrentEventExact(parser);
+            }
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Campo {@code cash}/{@code pix}/{@code tefweb}/{@code card} de um item de {@code event.payment[]}.
+     */
+    private static boolean isPaymentField(JsonStreamContext context) {
+        return PAYMENT_FIELDS.contains(context.getCurrentName()) && isPaymentItem(context);
+    }
+
+    /**
+     * {@code event} na raiz ou {@code payment} dentro de {@code event}.
+     */
+    private static boolean leadsToPayment(JsonStreamContext context) {
+        String name = context.getCurrentName();
+        return ("event".equals(name) && isRootObject(context))
+                || ("payment".equals(name) && isEventObject(context));
+    }
+
+    private static boolean isRootObject(JsonStreamContext context) {
+        return context != null && context.inObject() && context.getParent() != null && context.getParent().inRoot();
+    }
+
+    private static boolean isEventObject(JsonStreamContext context) {
+        if (context == null || !context.inObject()) {
+            return false;
+        }
+        JsonStreamContext root = context.getParent();
+        return isRootObject(root) && "event".equals(root.getCurrentName());
+    }
+
+    private static boolean isPaymentItem(JsonStreamContext context) {
+        if (!context.inObject() || context.getParent() == null || !context.getParent().inArray()) {
+            return false;
+        }
+        JsonStreamContext event = context.getParent().getParent();
+        return isEventObject(event) && "payment".equals(event.getCurrentName());
+    }
+
+    /**
+     * Sanitiza a arvore do callback no proprio lugar, sem serializar novamente.
+     *
+     * @return {@code true} se algum campo foi removido
+     */
+    public static boolean sanitizeCallbackTree(JsonNode rootNode) {
+        boolean changed = false;
+
+        // Procurar por event.payment[] e sanitizar cada item
+        if (rootNode != null && rootNode.has("event") && rootNode.get("event").has("payment")) {
+            JsonNode paymentArray = rootNode.get("event").get("payment");
+            
+            if (paymentArray.isArray()) {
+                for (JsonNode paymentItem : paymentArray) {
+                    if (paymentItem.isObject()) {
+                        ObjectNode paymentObj = (ObjectNode) paymentItem;
+                        changed |= sanitizePaymentItem(paymentObj);
+                    }
+                }
+            }
+        }
+
+        return changed;
+    }
     
-    private static void sanitizePaymentItem(ObjectNode paymentObj) {
-        // Lista de campos que podem conter strings malformadas representando null
-        String[] fieldsToCheck = {"cash", "pix", "tefweb", "card"};
+    private static boolean sanitizePaymentItem(ObjectNode paymentObj) {
+        boolean changed = false;
         
-        for (String field : fieldsToCheck) {
+        for (String field : PAYMENT_FIELDS) {
             if (paymentObj.has(field)) {
                 JsonNode fieldNode = paymentObj.get(field);
                 
                 // Se o campo for uma string, verificar se é uma representação malformada de null
                 if (fieldNode.isTextual()) {
-                    String value = fieldNode.asText();
-                    
-                    // Detectar strings com múltiplos escapes que representam null
-                    if (isEscapedNullString(value)) {
-                        log.warn("Campo '{}' contém string malformada representando null. Removendo campo.", field);
-                        paymentObj.remove(field);
-                    } else {
-                        log.warn("Campo '{}' é uma string mas deveria ser um objeto. Valor: {}", field, value);
-                        // Opcional: você pode decidir remover ou converter
-                        paymentObj.remove(field);
-                    }
+                    logRemoval(field, fieldNode.asText());
+                    paymentObj.remove(field);
+                    changed = true;
                 }
             }
         }
+        return changed;
     }
     
+    private static void logRemoval(String field, String value) {
+        // Detectar strings com múltiplos escapes que representam null
+        if (isEscapedNullString(value)) {
+            log.warn("Campo '{}' contém string malformada representando null. Removendo campo.", field);
+        } else {
+            log.warn("Campo '{}' é uma string mas deveria ser um objeto. Valor: {}", field, value);
+        }
+    }
+
     private static boolean isEscapedNullString(String value) {
         if (value == null || value.isEmpty()) {
             return false;
@@ -0,0 +1,107 @@
+package com.omp.hub.callback.application.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+class AsyncConfigTest {
+
+    @Test
+    void shouldUsePlatformPoolsByDefault() {
+        // Given
+        AsyncConfig config = new AsyncConfig(new MockEnvironment());
+
+        // When
+        Executor callbackExecutor = config.callbackExecutor();
+        Executor retryExecutor = config.retryExecutor();
+        TaskScheduler retryScheduler = config.retryScheduler();
+
+        // Then
+        ThreadPoolTaskExecutor callbackPool = assertInstanceOf(ThreadPoolTaskExecutor.class, callbackExecutor);
+        assertEquals(10, callbackPool.getCorePoolSize());
+        assertEquals(20, callbackPool.getMaxPoolSize());
+        assertInstanceOf(ThreadPoolTaskExecutor.class, retryExecutor);
+        assertInstanceOf(ThreadPoolTaskScheduler.class, retryScheduler);
+
+        callbackPool.shutdown();
+        ((ThreadPoolTaskExecutor) retryExecutor).shutdown();
+        ((ThreadPoolTaskScheduler) retryScheduler).shutdown();
+    }
+
+    @Test
+    void notificationExecutor_ShouldGrowWithoutQueueAndRunOnCallerWhenSaturated() {
+        // Given
+        AsyncConfig config = new AsyncConfig(new MockEnvironment());
+
+        // When
+        Executor notificationExecutor = config.notificationExecutor();
+
+        // Then
+        ThreadPoolTaskExecutor pool = assertInstanceOf(ThreadPoolTaskExecutor.class, notificationExecutor);
+        assertEquals(10, pool.getCorePoolSize());
+        assertEquals(40, pool.getMaxPoolSize());
+        assertEquals(0, pool.getQueueCapacity());
+        assertInstanceOf(ThreadPoolExecutor.CallerRunsPolicy.class,
+                pool.getThreadPoolExecutor().getRejectedExecutionHandler());
+
+        pool.shutdown();
+    }
+
+    @Test
+    void shouldFallBackToPlatformPoolsWhenJvmHasNoVirtualThreads() {
+        // Given
+        assumeFalse(VirtualThreads.isSupported());
+        AsyncConfig config = new AsyncConfig(new MockEnvironment()
+                .withProperty(VirtualThreads.PROPERTY, "true"));
+
+        // When
+        Executor callbackExecutor = config.callbackExecutor();
+        TaskScheduler retryScheduler = config.retryScheduler();
+
+        // Then
+        assertInstanceOf(ThreadPoolTaskExecutor.class, callbackExecutor);
+        assertInstanceOf(ThreadPoolTaskScheduler.class, retryScheduler);
+
+        ((ThreadPoolTaskExecutor) callbackExecutor).shutdown();
+        ((ThreadPoolTaskScheduler) retryScheduler).shutdown();
+    }
+
+    @Test
+    void shouldRunCallbacksOnVirtualThreadsWhenEnabled() throws Exception {
+        // Given
+        assumeTrue(VirtualThreads.isSupported());
+        AsyncConfig config = new AsyncConfig(new MockEnvironment()
+                .withProperty(VirtualThreads.PROPERTY, "true"));
+
+        // When
+        Executor callbackExecutor = config.callbackExecutor();
+        TaskScheduler retryScheduler = config.retryScheduler();
+        CompletableFuture<Thread> thread = new CompletableFuture<>();
+        callbackExecutor.execute(() -> thread.complete(Thread.currentThread()));
+
+        // Then
+        assertInstanceOf(SimpleAsyncTaskExecutor.class, callbackExecutor);
+        assertInstanceOf(SimpleAsyncTaskScheduler.class, retryScheduler);
+        Thread worker = thread.get(5, TimeUnit.SECONDS);
+        assertTrue((Boolean) Thread.class.getMethod("isVirtual").invoke(worker));
+        assertTrue(worker.getName().startsWith("callback-async-"));
+
+        ((SimpleAsyncTaskExecutor) callbackExecutor).close();
+        ((SimpleAsyncTaskScheduler) retryScheduler).close();
+    }
+}
@@ -0,0 +1,28 @@
+package com.omp.hub.callback.application.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+class VirtualThreadsTest {
+
+    @Test
+    void isActive_WhenNotRequested_ShouldBeFalse() {
+        // When / Then
+        assertFalse(VirtualThreads.isActive(false));
+        assertFalse(VirtualThreads.isActive(new MockEnvironment()));
+    }
+
+    @Test
+    void isActive_WhenRequested_ShouldDependOnJavaVersion() {
+        // Given
+        MockEnvironment environment = new MockEnvironment().withProperty(VirtualThreads.PROPERTY, "true");
+
+        // When / Then
+        assertEquals(Runtime.version().feature() >= 21, VirtualThreads.isSupported());
+        assertEquals(VirtualThreads.isSupported(), VirtualThreads.isActive(true));
+        assertEquals(VirtualThreads.isSupported(), VirtualThreads.isActive(environment));
+    }
+}
@@ -0,0 +1,116 @@
+package com.omp.hub.callback.application.consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MessageGroupExecutorTest {
+
+    private ExecutorService pool;
+    private MessageGroupExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        pool = Executors.newFixedThreadPool(4);
+        executor = new MessageGroupExecutor(pool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void submit_SameGroup_ShouldRunInSubmissionOrder() throws Exception {
+        // Given
+        List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            int value = i;
+            futures.add(executor.submit("callback-tx-1", () -> {
+                sleepQuietly(value % 3);
+                executed.add(value);
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+
+        // Then
+        for (int i = 0; i < 50; i++) {
+            assertEquals(i, executed.get(i));
+        }
+    }
+
+    @Test
+    void submit_DifferentGroups_ShouldRunInParallel() throws Exception {
+        // Given
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        Runnable blocking = () -> {
+            bothStarted.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        // When
+        CompletableFuture<Void> first = executor.submit("callback-tx-1", blocking);
+        CompletableFuture<Void> second = executor.submit("callback-tx-2", blocking);
+
+        // Then
+        assertTrue(bothStarted.await(5, TimeUnit.SECONDS), "grupos diferentes deveriam executar em paralelo");
+        release.countDown();
+        CompletableFuture.allOf(first, second).get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void submit_WhenTaskFails_ShouldStillRunNextTaskOfGroup() throws Exception {
+        // Given
+        List<String> executed = Collections.synchronizedList(new ArrayList<>());
+
+        // When
+        executor.submit("group", () -> {
+            throw new IllegalStateException("falha");
+        });
+        executor.submit("group", () -> executed.add("next")).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertEquals(List.of("next"), executed);
+    }
+
+    @Test
+    void submit_AfterCompletion_ShouldReleaseGroup() throws Exception {
+        // When
+        executor.submit("group", () -> { }).get(5, TimeUnit.SECONDS);
+
+        // Then
+        long deadline = System.currentTimeMillis() + 2000;
+        while (executor.activeGroups() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, executor.activeGroups());
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
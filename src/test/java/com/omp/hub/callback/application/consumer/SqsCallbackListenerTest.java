@@ -1,19 +1,32 @@
 package com.omp.hub.callback.application.consumer;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -21,16 +34,27 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
 import com.omp.hub.callback.application.service.CallbackErrorNotificationService;
+import com.omp.hub.callback.application.service.CallbackIdempotencyCache;
+import com.omp.hub.callback.application.service.CallbackParser;
+import com.omp.hub.callback.domain.enums.CallbackType;
 import com.omp.hub.callback.domain.model.dto.callback.CallbackRequest;
+import com.omp.hub.callback.domain.model.dto.callback.ParsedCallback;
+import com.omp.hub.callback.domain.service.check.impl.CheckTypeObjectServiceImpl;
 import com.omp.hub.callback.domain.service.impl.callback.CallbackService;
+import com.omp.hub.callback.infrastructure.persistence.message.sqs.CallbackRouting;
+import com.omp.hub.callback.infrastructure.persistence.message.sqs.MessageCodec;
+import com.omp.hub.callback.infrastructure.persistence.message.sqs.MessageCodecs;
 import com.omp.hub.callback.infrastructure.persistence.message.sqs.MessageSQS;
 import com.omp.hub.callback.infrastructure.persistence.message.sqs.SqsMessageRepository;
 
 import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityRequest;
 import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
 import software.amazon.awssdk.services.sqs.model.DeleteMessageResponse;
 import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
 
@@ -47,23 +71,32 @@ class SqsCallbackListenerTest {
     private CallbackService callbackService;
 
     @Mock
-    private ObjectMapper objectMapper;
+    private MessageCodecs codecs;
+
+    @Mock
+    private MessageCodec codec;
 
     @Mock
     private CallbackErrorNotificationService callbackErrorNotificationService;
 
     private SqsCallbackListener sqsCallbackListener;
 
+    private CallbackIdempotencyCache idempotencyCache;
+
     private MessageSQS<Object> messageSQS;
     private CallbackRequest<Object> callbackRequest;
     private String messageBody;
 
     @BeforeEach
     void setUp() throws Exception {
+        idempotencyCache = new CallbackIdempotencyCache();
         sqsCallbackListener = new SqsCallbackListener(
-                sqsClient, callbackService, objectMapper, callbackErrorNotificationService, sqsMessageRepository);
+                sqsClient, callbackService, codecs, callbackErrorNotificationService, sqsMessageRepository,
+                new CallbackParser(new ObjectMapper(), new CheckTypeObjectServiceImpl()), idempotencyCache);
+        lenient().when(codecs.forAttributes(any())).thenReturn(codec);
         ReflectionTestUtils.setField(sqsCallbackListener, "maxRetries", 3);
         ReflectionTestUtils.setField(sqsCallbackListener, "queueUrl", "https://sqs.test.amazonaws.com/queue");
+        ReflectionTestUtils.setField(sqsCallbackListener, "retryMode", "resend");
 
         callbackRequest = new CallbackRequest<>();
         callbackRequest.setData(Collections.singletonMap("txId", "12345"));
@@ -78,6 +111,15 @@ class SqsCallbackListenerTest {
         messageBody = "{\"messageId\":\"msg-123\",\"callbackRequest\":{\"data\":{\"txId\":\"12345\"}},\"retryCount\":0}";
     }
 
+    private Message createSqsMessage(String body, String groupId, String receiveCount) {
+        return Message.builder()
+                .messageId("sqs-msg-id")
+                .body(body)
+                .receiptHandle("receipt-handle-123")
+                .attributesWithStrings(Map.of("MessageGroupId", groupId, "ApproximateReceiveCount", receiveCount))
+                .build();
+    }
+
     private Message createSqsMessage(String body) {
         return Message.builder()
                 .messageId("sqs-msg-id")
@@ -101,17 +143,93 @@ class SqsCallbackListenerTest {
                 });
         when(sqsClient.deleteMessage(any(DeleteMessageRequest.class)))
                 .thenReturn(DeleteMessageResponse.builder().build());
-        when(objectMapper.readValue(anyString(), eq(MessageSQS.class))).thenReturn(messageSQS);
-        when(objectMapper.writeValueAsString(any())).thenReturn("{\"txId\":\"12345\"}");
-        doNothing().when(callbackService).processCallback(anyString());
+        when(codec.decode(anyString())).thenReturn(messageSQS);
+        doNothing().when(callbackService).processCallback(any(ParsedCallback.class));
 
         sqsCallbackListener.startPolling();
 
-        verify(callbackService).processCallback(anyString());
+        verify(callbackService).processCallback(any(ParsedCallback.class));
         verify(sqsClient).deleteMessage(any(DeleteMessageRequest.class));
         verify(sqsMessageRepository, never()).sendToDLQ(any(), any());
     }
 
+    @Test
+    void startPolling_withRepeatedCallback_shouldDeleteCopyWithoutProcessing() throws Exception {
+        ReflectionTestUtils.setField(sqsCallbackListener, "maxNumberOfMessages", 10);
+        Message first = createSqsMessage(messageBody);
+        Message copy = first.toBuilder().receiptHandle("receipt-handle-456").build();
+        ReceiveMessageResponse response = ReceiveMessageResponse.builder()
+                .messages(List.of(first, copy))
+                .build();
+
+        when(sqsClient.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenReturn(response)
+                .thenAnswer(inv -> {
+                    sqsCallbackListener.setRunning(false);
+                    return ReceiveMessageResponse.builder().messages(Collections.emptyList()).build();
+                });
+        when(sqsClient.deleteMessage(any(DeleteMessageRequest.class)))
+                .thenReturn(DeleteMessageResponse.builder().build());
+        when(codec.decode(anyString())).thenReturn(messageSQS);
+
+        sqsCallbackListener.startPolling();
+
+        verify(callbackService, times(1)).processCallback(any(ParsedCallback.class));
+        verify(sqsClient, times(2)).deleteMessage(any(DeleteMessageRequest.class));
+        CallbackIdempotencyCache.Window consumer = idempotencyCache.window(CallbackIdempotencyCache.CONSUMER);
+        assertEquals(1, consumer.getHitCount());
+        assertEquals(1, consumer.getMissCount());
+    }
+
+    @Test
+    void startPolling_withRepeatedCallbackAfterFailure_shouldProcessAgain() throws Exception {
+        ReflectionTestUtils.setField(sqsCallbackListener, "maxNumberOfMessages", 10);
+        Message first = createSqsMessage(messageBody);
+        Message copy = first.toBuilder().receiptHandle("receipt-handle-456").build();
+        ReceiveMessageResponse response = ReceiveMessageResponse.builder()
+                .messages(List.of(first, copy))
+                .build();
+
+        when(sqsClient.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenReturn(response)
+                .thenAnswer(inv -> {
+                    sqsCallbackListener.setRunning(false);
+                    return ReceiveMessageResponse.builder().messages(Collections.emptyList()).build();
+                });
+        when(codec.decode(anyString())).thenReturn(messageSQS);
+        doThrow(new RuntimeException("Processing error")).doNothing()
+                .when(callbackService).processCallback(any(ParsedCallback.class));
+
+        sqsCallbackListener.startPolling();
+
+        verify(callbackService, times(2)).processCallback(any(ParsedCallback.class));
+    }
+
+    @Test
+    void startPolling_withVirtualThreadsEnabled_shouldProcessWithExtraPollers() throws Exception {
+        ReflectionTestUtils.setField(sqsCallbackListener, "virtualThreads", true);
+        ReflectionTestUtils.setField(sqsCallbackListener, "pollers", 2);
+        ReflectionTestUtils.setField(sqsCallbackListener, "waitTimeSeconds", 0);
+        Message sqsMessage = createSqsMessage(messageBody);
+        AtomicInteger receives = new AtomicInteger();
+
+        when(sqsClient.receiveMessage(any(ReceiveMessageRequest.class))).thenAnswer(inv -> {
+            if (receives.getAndIncrement() == 0) {
+                return ReceiveMessageResponse.builder().messages(List.of(sqsMessage)).build();
+            }
+            sqsCallbackListener.setRunning(false);
+            return ReceiveMessageResponse.builder().messages(Collections.emptyList()).build();
+        });
+        when(sqsClient.deleteMessage(any(DeleteMessageRequest.class)))
+                .thenReturn(DeleteMessageResponse.builder().build());
+        when(codec.decode(anyString())).thenReturn(messageSQS);
+
+        sqsCallbackListener.startPolling();
+
+        verify(callbackService).processCallback(any(ParsedCallback.class));
+        verify(sqsClient).deleteMessage(any(DeleteMessageRequest.class));
+    }
+
     @Test
     void startPolling_shouldResendForRetryOnFirstAttempt() throws Exception {
         messageSQS.setRetryCount(1);
@@ -128,14 +246,13 @@ class SqsCallbackListenerTest {
                 });
         when(sqsClient.deleteMessage(any(DeleteMessageRequest.class)))
                 .thenReturn(DeleteMessageResponse.builder().build());
-        when(objectMapper.readValue(anyString(), eq(MessageSQS.class))).thenReturn(messageSQS);
-        when(objectMapper.writeValueAsString(any())).thenReturn("{\"txId\":\"12345\"}");
-        doThrow(new RuntimeException("Processing error")).when(callbackService).processCallback(anyString());
+        when(codec.decode(anyString())).thenReturn(messageSQS);
+        doThrow(new RuntimeException("Processing error")).when(callbackService).processCallback(any(ParsedCallback.class));
 
         sqsCallbackListener.startPolling();
 
-        verify(callbackService).processCallback(anyString());
-        verify(sqsMessageRepository).resendForRetry(eq(messageSQS));
+        verify(callbackService).processCallback(any(ParsedCallback.class));
+        verify(sqsMessageRepository).resendForRetry(eq(messageSQS), any(CallbackRouting.class));
         verify(sqsClient).deleteMessage(any(DeleteMessageRequest.class));
         verify(sqsMessageRepository, never()).sendToDLQ(any(), any());
     }
@@ -156,14 +273,13 @@ class SqsCallbackListenerTest {
                 });
         when(sqsClient.deleteMessage(any(DeleteMessageRequest.class)))
                 .thenReturn(DeleteMessageResponse.builder().build());
-        when(objectMapper.readValue(anyString(), eq(MessageSQS.class))).thenReturn(messageSQS);
-        when(objectMapper.writeValueAsString(any())).thenReturn("{\"txId\":\"12345\"}");
+        when(codec.decode(anyString())).thenReturn(messageSQS);
         RuntimeException exception = new RuntimeException("Processing error");
-        doThrow(exception).when(callbackService).processCallback(anyString());
+        doThrow(exception).when(callbackService).processCallback(any(ParsedCallback.class));
 
         sqsCallbackListener.startPolling();
 
-        verify(callbackService).processCallback(anyString());
+        verify(callbackService).processCallback(any(ParsedCallback.class));
         verify(callbackErrorNotificationService).notifyJourneyAboutCallbackFailure(eq("12345"), eq(3), eq(exception));
         verify(sqsMessageRepository).sendToDLQ(eq(messageSQS), eq(exception));
         verify(sqsClient).deleteMessage(any(DeleteMessageRequest.class));
@@ -184,12 +300,12 @@ class SqsCallbackListenerTest {
                 });
         when(sqsClient.deleteMessage(any(DeleteMessageRequest.class)))
                 .thenReturn(DeleteMessageResponse.builder().build());
-        when(objectMapper.readValue(anyString(), eq(MessageSQS.class)))
+        when(codec.decode(anyString()))
                 .thenThrow(new RuntimeException("JSON parsing error"));
 
         sqsCallbackListener.startPolling();
 
-        verify(callbackService, never()).processCallback(anyString());
+        verify(callbackService, never()).processCallback(any(ParsedCallback.class));
         verify(sqsClient).deleteMessage(any(DeleteMessageRequest.class));
     }
 
@@ -211,10 +327,9 @@ class SqsCallbackListenerTest {
                 });
         when(sqsClient.deleteMessage(any(DeleteMessageRequest.class)))
                 .thenReturn(DeleteMessageResponse.builder().build());
-        when(objectMapper.readValue(anyString(), eq(MessageSQS.class))).thenReturn(messageSQS);
-        when(objectMapper.writeValueAsString(any())).thenReturn("{\"identifier\":\"identifier-123\"}");
+        when(codec.decode(anyString())).thenReturn(messageSQS);
         RuntimeException exception = new RuntimeException("Processing error");
-        doThrow(exception).when(callbackService).processCallback(anyString());
+        doThrow(exception).when(callbackService).processCallback(any(ParsedCallback.class));
 
         sqsCallbackListener.startPolling();
 
@@ -239,10 +354,9 @@ class SqsCallbackListenerTest {
                 });
         when(sqsClient.deleteMessage(any(DeleteMessageRequest.class)))
                 .thenReturn(DeleteMessageResponse.builder().build());
-        when(objectMapper.readValue(anyString(), eq(MessageSQS.class))).thenReturn(messageSQS);
-        when(objectMapper.writeValueAsString(any())).thenReturn("{\"ompTransactionId\":\"omp-tx-456\"}");
+        when(codec.decode(anyString())).thenReturn(messageSQS);
         RuntimeException exception = new RuntimeException("Processing error");
-        doThrow(exception).when(callbackService).processCallback(anyString());
+        doThrow(exception).when(callbackService).processCallback(any(ParsedCallback.class));
 
         sqsCallbackListener.startPolling();
 
@@ -265,13 +379,12 @@ class SqsCallbackListenerTest {
                 });
         when(sqsClient.deleteMessage(any(DeleteMessageRequest.class)))
                 .thenReturn(DeleteMessageResponse.builder().build());
-        when(objectMapper.readValue(anyString(), eq(MessageSQS.class))).thenReturn(messageSQS);
-        when(objectMapper.writeValueAsString(any())).thenReturn("{\"txId\":\"12345\"}");
-        doThrow(new RuntimeException("Processing error")).when(callbackService).processCallback(anyString());
+        when(codec.decode(anyString())).thenReturn(messageSQS);
+        doThrow(new RuntimeException("Processing error")).when(callbackService).processCallback(any(ParsedCallback.class));
 
         sqsCallbackListener.startPolling();
 
-        verify(sqsMessageRepository).resendForRetry(eq(messageSQS));
+        verify(sqsMessageRepository).resendForRetry(eq(messageSQS), any(CallbackRouting.class));
         verify(sqsClient).deleteMessage(any(DeleteMessageRequest.class));
         verify(sqsMessageRepository, never()).sendToDLQ(any(), any());
     }
@@ -293,11 +406,11 @@ class SqsCallbackListenerTest {
                 });
         when(sqsClient.deleteMessage(any(DeleteMessageRequest.class)))
                 .thenReturn(DeleteMessageResponse.builder().build());
-        when(objectMapper.readValue(anyString(), eq(MessageSQS.class))).thenReturn(messageSQS);
+        when(codec.decode(anyString())).thenReturn(messageSQS);
 
         sqsCallbackListener.startPolling();
 
-        verify(callbackService, never()).processCallback(anyString());
+        verify(callbackService, never()).processCallback(any(ParsedCallback.class));
     }
 
     @Test
@@ -316,10 +429,9 @@ class SqsCallbackListenerTest {
                 });
         when(sqsClient.deleteMessage(any(DeleteMessageRequest.class)))
                 .thenReturn(DeleteMessageResponse.builder().build());
-        when(objectMapper.readValue(anyString(), eq(MessageSQS.class))).thenReturn(messageSQS);
-        when(objectMapper.writeValueAsString(any())).thenReturn("{\"txId\":\"12345\"}");
+        when(codec.decode(anyString())).thenReturn(messageSQS);
         RuntimeException exception = new RuntimeException("Processing error");
-        doThrow(exception).when(callbackService).processCallback(anyString());
+        doThrow(exception).when(callbackService).processCallback(any(ParsedCallback.class));
         doThrow(new RuntimeException("Notification error")).when(callbackErrorNotificationService)
                 .notifyJourneyAboutCallbackFailure(anyString(), eq(3), any());
 
@@ -336,4 +448,309 @@ class SqsCallbackListenerTest {
         
         assert !sqsCallbackListener.isRunning();
     }
+
+    @Test
+    void startPolling_shouldRequestMessageGroupIdAttribute() throws Exception {
+        when(sqsClient.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenAnswer(inv -> {
+                    sqsCallbackListener.setRunning(false);
+                    return ReceiveMessageResponse.builder().messages(Collections.emptyList()).build();
+                });
+
+        sqsCallbackListener.startPolling();
+
+        ArgumentCaptor<ReceiveMessageRequest> captor = ArgumentCaptor.forClass(ReceiveMessageRequest.class);
+        verify(sqsClient).receiveMessage(captor.capture());
+        assertTrue(captor.getValue().attributeNamesAsStrings().contains("MessageGroupId"));
+    }
+
+    @Test
+    void startPolling_shouldRouteByMessageAttributesWithoutDetection() throws Exception {
+        callbackRequest.setData("{\"ompTransactionId\":\"omp-1\",\"flowType\":1}");
+        Message sqsMessage = Message.builder()
+                .messageId("sqs-msg-id")
+                .body(messageBody)
+                .receiptHandle("receipt-handle-123")
+                .messageAttributes(Map.of(
+                        CallbackRouting.CALLBACK_TYPE, MessageAttributeValue.builder().dataType("String").stringValue("TRANSACTIONS").build(),
+                        CallbackRouting.OMP_TRANSACTION_ID, MessageAttributeValue.builder().dataType("String").stringValue("omp-1").build()))
+                .build();
+
+        when(sqsClient.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenReturn(ReceiveMessageResponse.builder().messages(List.of(sqsMessage)).build())
+                .thenAnswer(inv -> {
+                    sqsCallbackListener.setRunning(false);
+                    return ReceiveMessageResponse.builder().messages(Collections.emptyList()).build();
+                });
+        when(sqsClient.deleteMessage(any(DeleteMessageRequest.class)))
+                .thenReturn(DeleteMessageResponse.builder().build());
+        when(codec.decode(anyString())).thenReturn(messageSQS);
+
+        sqsCallbackListener.startPolling();
+
+        ArgumentCaptor<ParsedCallback> captor = ArgumentCaptor.forClass(ParsedCallback.class);
+        verify(callbackService).processCallback(captor.capture());
+        assertEquals(CallbackType.TRANSACTIONS, captor.getValue().getType());
+        assertEquals("omp-1", captor.getValue().getTree().get("ompTransactionId").asText());
+
+        ArgumentCaptor<ReceiveMessageRequest> receiveCaptor = ArgumentCaptor.forClass(ReceiveMessageRequest.class);
+        verify(sqsClient, atLeastOnce()).receiveMessage(receiveCaptor.capture());
+        assertTrue(receiveCaptor.getValue().messageAttributeNames().containsAll(CallbackRouting.ATTRIBUTE_NAMES));
+    }
+
+    @Test
+    void startPolling_shouldDecodeWithCodecFromMessageAttributes() throws Exception {
+        callbackRequest.setData(TextNode.valueOf("{\"txId\":\"12345\"}"));
+        Map<String, MessageAttributeValue> attributes = Map.of(MessageCodec.ATTRIBUTE,
+                MessageAttributeValue.builder().dataType("String").stringValue("smile-v1").build());
+        Message sqsMessage = Message.builder()
+                .messageId("sqs-msg-id")
+                .body("c21pbGU=")
+                .receiptHandle("receipt-handle-123")
+                .messageAttributes(attributes)
+                .build();
+
+        when(sqsClient.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenReturn(ReceiveMessageResponse.builder().messages(List.of(sqsMessage)).build())
+                .thenAnswer(inv -> {
+                    sqsCallbackListener.setRunning(false);
+                    return ReceiveMessageResponse.builder().messages(Collections.emptyList()).build();
+                });
+        when(sqsClient.deleteMessage(any(DeleteMessageRequest.class)))
+                .thenReturn(DeleteMessageResponse.builder().build());
+        when(codec.decode("c21pbGU=")).thenReturn(messageSQS);
+
+        sqsCallbackListener.startPolling();
+
+        verify(codecs).forAttributes(attributes);
+        ArgumentCaptor<ParsedCallback> captor = ArgumentCaptor.forClass(ParsedCallback.class);
+        verify(callbackService).processCallback(captor.capture());
+        assertEquals("12345", captor.getValue().getTree().get("txId").asText());
+
+        ArgumentCaptor<ReceiveMessageRequest> receiveCaptor = ArgumentCaptor.forClass(ReceiveMessageRequest.class);
+        verify(sqsClient, atLeastOnce()).receiveMessage(receiveCaptor.capture());
+        assertTrue(receiveCaptor.getValue().messageAttributeNames().contains(MessageCodec.ATTRIBUTE));
+    }
+
+    @Test
+    void startPolling_shouldProcessDifferentGroupsInParallelAndSameGroupInOrder() throws Exception {
+        ReflectionTestUtils.setField(sqsCallbackListener, "workerThreads", 4);
+        ReflectionTestUtils.setField(sqsCallbackListener, "maxNumberOfMessages", 10);
+
+        List<Message> batch = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            String group = i < 3 ? "callback-A" : "callback-B";
+            batch.add(Message.builder()
+                    .messageId("sqs-msg-" + i)
+                    .body("{\"order\":" + i + "}")
+                    .receiptHandle("receipt-" + i)
+                    .attributesWithStrings(Map.of("MessageGroupId", group))
+                    .build());
+        }
+
+        when(sqsClient.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenReturn(ReceiveMessageResponse.builder().messages(batch).build())
+                .thenAnswer(inv -> {
+                    sqsCallbackListener.setRunning(false);
+                    return ReceiveMessageResponse.builder().messages(Collections.emptyList()).build();
+                });
+        when(sqsClient.deleteMessage(any(DeleteMessageRequest.class)))
+                .thenReturn(DeleteMessageResponse.builder().build());
+
+        Map<String, MessageSQS<Object>> bodies = new ConcurrentHashMap<>();
+        for (int i = 0; i < 6; i++) {
+            CallbackRequest<Object> request = new CallbackRequest<>();
+            request.setData(Collections.singletonMap("txId", "tx-" + i));
+            bodies.put("{\"order\":" + i + "}", MessageSQS.<Object>builder()
+                    .messageId("msg-" + i).callbackRequest(request).retryCount(0).build());
+        }
+        when(codec.decode(anyString()))
+                .thenAnswer(inv -> bodies.get(inv.getArgument(0, String.class)));
+
+        CountDownLatch groupsOverlap = new CountDownLatch(2);
+        List<String> processed = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger concurrentInGroupA = new AtomicInteger();
+        AtomicInteger maxConcurrentInGroupA = new AtomicInteger();
+        doAnswer(inv -> {
+            ParsedCallback parsed = inv.getArgument(0);
+            String txId = parsed.getTree().get("txId").asText();
+            int order = Integer.parseInt(txId.substring(3));
+            boolean groupA = order < 3;
+            if (groupA) {
+                maxConcurrentInGroupA.accumulateAndGet(concurrentInGroupA.incrementAndGet(), Math::max);
+            }
+            if (order == 0 || order == 3) {
+                groupsOverlap.countDown();
+                groupsOverlap.await(5, TimeUnit.SECONDS);
+            }
+            processed.add(txId);
+            if (groupA) {
+                concurrentInGroupA.decrementAndGet();
+            }
+            return null;
+        }).when(callbackService).processCallback(any(ParsedCallback.class));
+
+        sqsCallbackListener.startPolling();
+
+        assertEquals(0, groupsOverlap.getCount(), "grupos diferentes deveriam ser processados em paralelo");
+        assertEquals(1, maxConcurrentInGroupA.get(), "mensagens do mesmo grupo nao podem ser concorrentes");
+        List<String> groupA = processed.stream().filter(id -> id.compareTo("tx-3") < 0).toList();
+        List<String> groupB = processed.stream().filter(id -> id.compareTo("tx-3") >= 0).toList();
+        assertEquals(List.of("tx-0", "tx-1", "tx-2"), groupA);
+        assertEquals(List.of("tx-3", "tx-4", "tx-5"), groupB);
+        verify(sqsClient, times(6)).deleteMessage(any(DeleteMessageRequest.class));
+    }
+
+    @Test
+    void startPolling_visibilityMode_shouldChangeVisibilityInsteadOfResending() throws Exception {
+        ReflectionTestUtils.setField(sqsCallbackListener, "retryMode", "visibility");
+        Message sqsMessage = createSqsMessage(messageBody, "group-1", "2");
+
+        when(sqsClient.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenReturn(ReceiveMessageResponse.builder().messages(List.of(sqsMessage)).build())
+                .thenAnswer(inv -> {
+                    sqsCallbackListener.setRunning(false);
+                    return ReceiveMessageResponse.builder().messages(Collections.emptyList()).build();
+                });
+        when(codec.decode(anyString())).thenReturn(messageSQS);
+        doThrow(new RuntimeException("Processing error")).when(callbackService).processCallback(any(ParsedCallback.class));
+
+        sqsCallbackListener.startPolling();
+
+        ArgumentCaptor<ChangeMessageVisibilityRequest> captor = ArgumentCaptor.forClass(ChangeMessageVisibilityRequest.class);
+        verify(sqsClient).changeMessageVisibility(captor.capture());
+        assertEquals("receipt-handle-123", captor.getValue().receiptHandle());
+        assertEquals(60, captor.getValue().visibilityTimeout());
+        verify(sqsMessageRepository, never()).resendForRetry(any(), any());
+        verify(sqsClient, never()).deleteMessage(any(DeleteMessageRequest.class));
+    }
+
+    @Test
+    void startPolling_visibilityMode_shouldSendToDLQWhenReceiveCountExceedsMaxRetries() throws Exception {
+        ReflectionTestUtils.setField(sqsCallbackListener, "retryMode", "visibility");
+        Message sqsMessage = createSqsMessage(messageBody, "group-1", "4");
+
+        when(sqsClient.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenReturn(ReceiveMessageResponse.builder().messages(List.of(sqsMessage)).build())
+                .thenAnswer(inv -> {
+                    sqsCallbackListener.setRunning(false);
+                    return ReceiveMessageResponse.builder().messages(Collections.emptyList()).build();
+                });
+        when(sqsClient.deleteMessage(any(DeleteMessageRequest.class)))
+                .thenReturn(DeleteMessageResponse.builder().build());
+        when(codec.decode(anyString())).thenReturn(messageSQS);
+        doThrow(new RuntimeException("Processing error")).when(callbackService).processCallback(any(ParsedCallback.class));
+
+        sqsCallbackListener.startPolling();
+
+        verify(sqsMessageRepository).sendToDLQ(eq(messageSQS), any(Exception.class));
+        verify(callbackErrorNotificationService).notifyJourneyAboutCallbackFailure(eq("12345"), eq(3), any(Exception.class));
+        verify(sqsClient).deleteMessage(any(DeleteMessageRequest.class));
+        verify(sqsClient, never()).changeMessageVisibility(any(ChangeMessageVisibilityRequest.class));
+    }
+
+    @Test
+    void startPolling_visibilityMode_shouldReleaseLaterMessagesOfFailedGroup() throws Exception {
+        ReflectionTestUtils.setField(sqsCallbackListener, "retryMode", "visibility");
+        ReflectionTestUtils.setField(sqsCallbackListener, "maxNumberOfMessages", 10);
+        Message first = createSqsMessage(messageBody, "group-1", "1");
+        Message second = Message.builder()
+                .messageId("sqs-msg-id-2")
+                .body(messageBody)
+                .receiptHandle("receipt-handle-456")
+                .attributesWithStrings(Map.of("MessageGroupId", "group-1", "ApproximateReceiveCount", "1"))
+                .build();
+
+        when(sqsClient.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenReturn(ReceiveMessageResponse.builder().messages(List.of(first, second)).build())
+                .thenAnswer(inv -> {
+                    sqsCallbackListener.setRunning(false);
+                    return ReceiveMessageResponse.builder().messages(Collections.emptyList()).build();
+                });
+        when(codec.decode(anyString())).thenReturn(messageSQS);
+        doThrow(new RuntimeException("Processing error")).when(callbackService).processCallback(any(ParsedCallback.class));
+
+        sqsCallbackListener.startPolling();
+
+        ArgumentCaptor<ChangeMessageVisibilityRequest> captor = ArgumentCaptor.forClass(ChangeMessageVisibilityRequest.class);
+        verify(sqsClient, times(2)).changeMessageVisibility(captor.capture());
+        assertEquals("receipt-handle-123", captor.getAllValues().get(0).receiptHandle());
+        assertEquals(30, captor.getAllValues().get(0).visibilityTimeout());
+        assertEquals("receipt-handle-456", captor.getAllValues().get(1).receiptHandle());
+        assertEquals(0, captor.getAllValues().get(1).visibilityTimeout());
+        verify(callbackService, times(1)).processCallback(any(ParsedCallback.class));
+    }
+
+    @Test
+    void startPolling_visibilityMode_shouldNotCountBouncesAsFollowerRetries() throws Exception {
+        ReflectionTestUtils.setField(sqsCallbackListener, "retryMode", "visibility");
+        ReflectionTestUtils.setField(sqsCallbackListener, "maxNumberOfMessages", 10);
+        List<ReceiveMessageResponse> receives = new ArrayList<>();
+        for (int receive = 1; receive <= 4; receive++) {
+            receives.add(ReceiveMessageResponse.builder().messages(
+                    groupMessage("head", "head-" + receive, receive),
+                    groupMessage("follower", "follower-" + receive, receive)).build());
+        }
+
+        when(sqsClient.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenReturn(receives.get(0), receives.subList(1, 4).toArray(new ReceiveMessageResponse[0]))
+                .thenAnswer(inv -> {
+                    sqsCallbackListener.setRunning(false);
+                    return ReceiveMessageResponse.builder().messages(Collections.emptyList()).build();
+                });
+        when(sqsClient.deleteMessage(any(DeleteMessageRequest.class)))
+                .thenReturn(DeleteMessageResponse.builder().build());
+        when(codec.decode(anyString())).thenReturn(messageSQS);
+        doThrow(new RuntimeException("Processing error")).when(callbackService).processCallback(any(ParsedCallback.class));
+
+        sqsCallbackListener.startPolling();
+
+        // A cabeca esgota as tentativas; o seguidor, devolvido 3 vezes, falha pela primeira vez
+        verify(callbackService, times(5)).processCallback(any(ParsedCallback.class));
+        verify(sqsMessageRepository, times(1)).sendToDLQ(any(), any(Exception.class));
+        ArgumentCaptor<ChangeMessageVisibilityRequest> captor = ArgumentCaptor.forClass(ChangeMessageVisibilityRequest.class);
+        verify(sqsClient, times(7)).changeMessageVisibility(captor.capture());
+        ChangeMessageVisibilityRequest followerRetry = captor.getAllValues().stream()
+                .filter(request -> request.receiptHandle().equals("follower-4"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(30, followerRetry.visibilityTimeout());
+    }
+
+    private Message groupMessage(String messageId, String receiptHandle, int receiveCount) {
+        return Message.builder()
+                .messageId(messageId)
+                .body(messageBody)
+                .receiptHandle(receiptHandle)
+                .attributesWithStrings(Map.of("MessageGroupId", "group-1",
+                        "ApproximateReceiveCount", String.valueOf(receiveCount)))
+                .build();
+    }
+
+    @Test
+    void startPolling_shouldRequestApproximateReceiveCountAttribute() throws Exception {
+        when(sqsClient.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenAnswer(inv -> {
+                    sqsCallbackListener.setRunning(false);
+                    return ReceiveMessageResponse.builder().messages(Collections.emptyList()).build();
+                });
+
+        sqsCallbackListener.startPolling();
+
+        ArgumentCaptor<ReceiveMessageRequest> captor = ArgumentCaptor.forClass(ReceiveMessageRequest.class);
+        verify(sqsClient).receiveMessage(captor.capture());
+        assertTrue(captor.getValue().attributeNamesAsStrings().contains("ApproximateReceiveCount"));
+    }
+
+    @Test
+    void visibilityBackoffSeconds_shouldGrowExponentiallyUpToMax() {
+        ReflectionTestUtils.setField(sqsCallbackListener, "retryBaseDelaySeconds", 30);
+        ReflectionTestUtils.setField(sqsCallbackListener, "retryMaxDelaySeconds", 900);
+
+        assertEquals(30, sqsCallbackListener.visibilityBackoffSeconds(0));
+        assertEquals(60, sqsCallbackListener.visibilityBackoffSeconds(1));
+        assertEquals(120, sqsCallbackListener.visibilityBackoffSeconds(2));
+        assertEquals(900, sqsCallbackListener.visibilityBackoffSeconds(10));
+        assertEquals(900, sqsCallbackListener.visibilityBackoffSeconds(100));
+    }
 }
@@ -3,6 +3,7 @@ package com.omp.hub.callback.application.controller;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -11,12 +12,12 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -25,10 +26,14 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omp.hub.callback.application.service.CallbackIdempotencyCache;
+import com.omp.hub.callback.application.service.CallbackParser;
 import com.omp.hub.callback.application.service.CallbackTypeDetectorService;
 import com.omp.hub.callback.application.validator.CallbackValidationException;
+import com.omp.hub.callback.domain.enums.CallbackType;
 import com.omp.hub.callback.domain.exceptions.BusinessException;
 import com.omp.hub.callback.domain.model.dto.callback.CallbackRequest;
+import com.omp.hub.callback.domain.model.dto.callback.ParsedCallback;
 import com.omp.hub.callback.domain.model.dto.callback.creditcard.AcquiratorDTO;
 import com.omp.hub.callback.domain.model.dto.callback.creditcard.AntifraudDTO;
 import com.omp.hub.callback.domain.model.dto.callback.creditcard.CreditCardCallbackRequest;
@@ -50,7 +55,7 @@ class CallbackControllerTest {
     private CallbackService callbackService;
     
     @Mock
-    private ObjectMapper mapper;
+    private CallbackParser callbackParser;
 
     @Mock
     private CallbackTypeDetectorService callbackTypeDetector;
@@ -61,9 +66,13 @@ class CallbackControllerTest {
     private CallbackRequest<TransactionsRequest> transactionsCallbackRequest;
     private CallbackRequest<Object> invalidCallbackRequest;
 
+    private CallbackIdempotencyCache idempotencyCache;
+
     @BeforeEach
     void setUp() {
         ReflectionTestUtils.setField(callbackController, "asyncProcessingEnabled", true);
+        idempotencyCache = new CallbackIdempotencyCache();
+        ReflectionTestUtils.setField(callbackController, "idempotencyCache", idempotencyCache);
 
         PixCallbackRequest pixData = PixCallbackRequest.builder()
                 .service("PIX")
@@ -137,13 +146,20 @@ class CallbackControllerTest {
                 .build();
     }
 
+    private ParsedCallback parsed(CallbackType type) {
+        return ParsedCallback.builder()
+                .type(type)
+                .validationType(type)
+                .build();
+    }
+
     @Test
     void getPaymentMethods_WithValidPixCallback_ShouldReturnSuccess() throws Exception {
-        String jsonData = "{\"service\":\"PIX\",\"txId\":\"test-tx-123\"}";
-        when(mapper.writeValueAsString(any())).thenReturn(jsonData);
-        when(callbackTypeDetector.isValidCallbackType(anyString())).thenReturn(true);
-        doNothing().when(callbackTypeDetector).detectTypeAndValidate(anyString());
-        doNothing().when(callbackService).processCallbackAsync(any(CallbackRequest.class));
+        ParsedCallback parsedCallback = parsed(CallbackType.PIX);
+        when(callbackParser.parseAndSanitize(any())).thenReturn(parsedCallback);
+        when(callbackTypeDetector.isValidCallbackType(any(ParsedCallback.class))).thenReturn(true);
+        doNothing().when(callbackTypeDetector).detectTypeAndValidate(any(ParsedCallback.class));
+        when(callbackService.processCallbackAsync(any(ParsedCallback.class))).thenReturn(CompletableFuture.completedFuture(null));
 
         ResponseEntity<?> response = callbackController.processCallback(pixCallbackRequest);
 
@@ -155,16 +171,16 @@ class CallbackControllerTest {
         assertNotNull(body.getTransactionId());
         assertNotNull(body.getData());
         assertEquals("SUCCESS", body.getData().getResult());
-        verify(callbackService).processCallbackAsync(any(CallbackRequest.class));
+        verify(callbackService).processCallbackAsync(any(ParsedCallback.class));
     }
 
     @Test
     void getPaymentMethods_WithValidCreditCardCallback_ShouldReturnSuccess() throws Exception {
-        String jsonData = "{\"service\":\"CREDIT_CARD\",\"transactionId\":\"cc-tx-456\"}";
-        when(mapper.writeValueAsString(any())).thenReturn(jsonData);
-        when(callbackTypeDetector.isValidCallbackType(anyString())).thenReturn(true);
-        doNothing().when(callbackTypeDetector).detectTypeAndValidate(anyString());
-        doNothing().when(callbackService).processCallbackAsync(any(CallbackRequest.class));
+        ParsedCallback parsedCallback = parsed(CallbackType.CREDIT_CARD);
+        when(callbackParser.parseAndSanitize(any())).thenReturn(parsedCallback);
+        when(callbackTypeDetector.isValidCallbackType(any(ParsedCallback.class))).thenReturn(true);
+        doNothing().when(callbackTypeDetector).detectTypeAndValidate(any(ParsedCallback.class));
+        when(callbackService.processCallbackAsync(any(ParsedCallback.class))).thenReturn(CompletableFuture.completedFuture(null));
 
         ResponseEntity<?> response = callbackController.processCallback(creditCardCallbackRequest);
 
@@ -176,16 +192,16 @@ class CallbackControllerTest {
         assertNotNull(body.getTransactionId());
         assertNotNull(body.getData());
         assertEquals("SUCCESS", body.getData().getResult());
-        verify(callbackService).processCallbackAsync(any(CallbackRequest.class));
+        verify(callbackService).processCallbackAsync(any(ParsedCallback.class));
     }
 
     @Test
     void getPaymentMethods_WithValidTefWebCallback_ShouldReturnSuccess() throws Exception {
-        String jsonData = "{\"service\":\"TEF_WEB\",\"transactionId\":\"tef-tx-789\"}";
-        when(mapper.writeValueAsString(any())).thenReturn(jsonData);
-        when(callbackTypeDetector.isValidCallbackType(anyString())).thenReturn(true);
-        doNothing().when(callbackTypeDetector).detectTypeAndValidate(anyString());
-        doNothing().when(callbackService).processCallbackAsync(any(CallbackRequest.class));
+        ParsedCallback parsedCallback = parsed(CallbackType.TEF_WEB);
+        when(callbackParser.parseAndSanitize(any())).thenReturn(parsedCallback);
+        when(callbackTypeDetector.isValidCallbackType(any(ParsedCallback.class))).thenReturn(true);
+        doNothing().when(callbackTypeDetector).detectTypeAndValidate(any(ParsedCallback.class));
+        when(callbackService.processCallbackAsync(any(ParsedCallback.class))).thenReturn(CompletableFuture.completedFuture(null));
 
         ResponseEntity<?> response = callbackController.processCallback(tefWebCallbackRequest);
 
@@ -197,16 +213,16 @@ class CallbackControllerTest {
         assertNotNull(body.getTransactionId());
         assertNotNull(body.getData());
         assertEquals("SUCCESS", body.getData().getResult());
-        verify(callbackService).processCallbackAsync(any(CallbackRequest.class));
+        verify(callbackService).processCallbackAsync(any(ParsedCallback.class));
     }
 
     @Test
     void getPaymentMethods_WithValidTransactionsCallback_ShouldReturnSuccess() throws Exception {
-        String jsonData = "{\"service\":\"TRANSACTIONS\",\"transactionId\":\"trans-tx-101\"}";
-        when(mapper.writeValueAsString(any())).thenReturn(jsonData);
-        when(callbackTypeDetector.isValidCallbackType(anyString())).thenReturn(true);
-        doNothing().when(callbackTypeDetector).detectTypeAndValidate(anyString());
-        doNothing().when(callbackService).processCallbackAsync(any(CallbackRequest.class));
+        ParsedCallback parsedCallback = parsed(CallbackType.TRANSACTIONS);
+        when(callbackParser.parseAndSanitize(any())).thenReturn(parsedCallback);
+        when(callbackTypeDetector.isValidCallbackType(any(ParsedCallback.class))).thenReturn(true);
+        doNothing().when(callbackTypeDetector).detectTypeAndValidate(any(ParsedCallback.class));
+        when(callbackService.processCallbackAsync(any(ParsedCallback.class))).thenReturn(CompletableFuture.completedFuture(null));
 
         ResponseEntity<?> response = callbackController.processCallback(transactionsCallbackRequest);
 
@@ -218,14 +234,14 @@ class CallbackControllerTest {
         assertNotNull(body.getTransactionId());
         assertNotNull(body.getData());
         assertEquals("SUCCESS", body.getData().getResult());
-        verify(callbackService).processCallbackAsync(any(CallbackRequest.class));
+        verify(callbackService).processCallbackAsync(any(ParsedCallback.class));
     }
 
     @Test
     void getPaymentMethods_WithInvalidCallback_ShouldThrowBusinessException() throws Exception {
-        String jsonData = "{\"invalid\":\"data\"}";
-        when(mapper.writeValueAsString(any())).thenReturn(jsonData);
-        when(callbackTypeDetector.isValidCallbackType(anyString())).thenReturn(false);
+        ParsedCallback parsedCallback = parsed(null);
+        when(callbackParser.parseAndSanitize(any())).thenReturn(parsedCallback);
+        when(callbackTypeDetector.isValidCallbackType(any(ParsedCallback.class))).thenReturn(false);
 
         BusinessException exception = assertThrows(BusinessException.class, () -> {
             callbackController.processCallback(invalidCallbackRequest);
@@ -238,7 +254,7 @@ class CallbackControllerTest {
 
     @Test
     void getPaymentMethods_WithJsonProcessingException_ShouldThrowBusinessException() throws Exception {
-        when(mapper.writeValueAsString(any())).thenThrow(com.fasterxml.jackson.core.JsonProcessingException.class);
+        when(callbackParser.parseAndSanitize(any())).thenThrow(com.fasterxml.jackson.core.JsonProcessingException.class);
 
         BusinessException exception = assertThrows(BusinessException.class, () -> {
             callbackController.processCallback(pixCallbackRequest);
@@ -252,29 +268,29 @@ class CallbackControllerTest {
     void getPaymentMethods_WithAsyncProcessingDisabled_ShouldProcessSynchronously() throws Exception {
         ReflectionTestUtils.setField(callbackController, "asyncProcessingEnabled", false);
         
-        String jsonData = "{\"service\":\"PIX\",\"txId\":\"test-tx-123\"}";
-        when(mapper.writeValueAsString(any())).thenReturn(jsonData);
-        when(callbackTypeDetector.isValidCallbackType(anyString())).thenReturn(true);
-        doNothing().when(callbackTypeDetector).detectTypeAndValidate(anyString());
-        doNothing().when(callbackService).processCallback(anyString());
+        ParsedCallback parsedCallback = parsed(CallbackType.PIX);
+        when(callbackParser.parseAndSanitize(any())).thenReturn(parsedCallback);
+        when(callbackTypeDetector.isValidCallbackType(any(ParsedCallback.class))).thenReturn(true);
+        doNothing().when(callbackTypeDetector).detectTypeAndValidate(any(ParsedCallback.class));
+        doNothing().when(callbackService).processCallback(any(ParsedCallback.class));
 
         ResponseEntity<?> response = callbackController.processCallback(pixCallbackRequest);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        verify(callbackService).processCallback(jsonData);
-        verify(callbackService, never()).processCallbackAsync(any(CallbackRequest.class));
+        verify(callbackService).processCallback(parsedCallback);
+        verify(callbackService, never()).processCallbackAsync(any(ParsedCallback.class));
         
         ReflectionTestUtils.setField(callbackController, "asyncProcessingEnabled", true);
     }
 
     @Test
     void getPaymentMethods_WithCallbackValidationException_ShouldThrowBusinessException() throws Exception {
-        String jsonData = "{\"service\":\"PIX\",\"txId\":\"test-tx-123\"}";
-        when(mapper.writeValueAsString(any())).thenReturn(jsonData);
-        when(callbackTypeDetector.isValidCallbackType(anyString())).thenReturn(true);
+        ParsedCallback parsedCallback = parsed(CallbackType.PIX);
+        when(callbackParser.parseAndSanitize(any())).thenReturn(parsedCallback);
+        when(callbackTypeDetector.isValidCallbackType(any(ParsedCallback.class))).thenReturn(true);
         doThrow(new CallbackValidationException("Validation failed", "field1: must not be null"))
-                .when(callbackTypeDetector).detectTypeAndValidate(anyString());
+                .when(callbackTypeDetector).detectTypeAndValidate(any(ParsedCallback.class));
 
         BusinessException exception = assertThrows(BusinessException.class, () -> {
             callbackController.processCallback(pixCallbackRequest);
@@ -288,12 +304,12 @@ class CallbackControllerTest {
 
     @Test
     void getPaymentMethods_WithUnexpectedException_ShouldThrowBusinessException() throws Exception {
-        String jsonData = "{\"service\":\"PIX\",\"txId\":\"test-tx-123\"}";
-        when(mapper.writeValueAsString(any())).thenReturn(jsonData);
-        when(callbackTypeDetector.isValidCallbackType(anyString())).thenReturn(true);
-        doNothing().when(callbackTypeDetector).detectTypeAndValidate(anyString());
+        ParsedCallback parsedCallback = parsed(CallbackType.PIX);
+        when(callbackParser.parseAndSanitize(any())).thenReturn(parsedCallback);
+        when(callbackTypeDetector.isValidCallbackType(any(ParsedCallback.class))).thenReturn(true);
+        doNothing().when(callbackTypeDetector).detectTypeAndValidate(any(ParsedCallback.class));
         doThrow(new RuntimeException("Unexpected error"))
-                .when(callbackService).processCallbackAsync(any(CallbackRequest.class));
+                .when(callbackService).processCallbackAsync(any(ParsedCallback.class));
 
         BusinessException exception = assertThrows(BusinessException.class, () -> {
             callbackController.processCallback(pixCallbackRequest);
@@ -304,14 +320,83 @@ class CallbackControllerTest {
         assertEquals("ERROR_PROCESS_CALLBACK", exception.getError().getErrorCode());
     }
 
+    @Test
+    void processCallback_WithRepeatedCallback_ShouldAcknowledgeWithoutProcessingAgain() throws Exception {
+        // Given
+        ParsedCallback parsedCallback = parsedWithTree(CallbackType.PIX);
+        when(callbackParser.parseAndSanitize(any())).thenReturn(parsedCallback);
+        when(callbackTypeDetector.isValidCallbackType(any(ParsedCallback.class))).thenReturn(true);
+        when(callbackService.processCallbackAsync(any(ParsedCallback.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        callbackController.processCallback(pixCallbackRequest);
+        ResponseEntity<?> repeated = callbackController.processCallback(pixCallbackRequest);
+
+        // Then
+        assertEquals(HttpStatus.OK, repeated.getStatusCode());
+        assertEquals("SUCCESS", ((CallbackResponse) repeated.getBody()).getData().getResult());
+        verify(callbackService, times(1)).processCallbackAsync(any(ParsedCallback.class));
+        CallbackIdempotencyCache.Window ingress = idempotencyCache.window(CallbackIdempotencyCache.INGRESS);
+        assertEquals(1, ingress.getHitCount());
+        assertEquals(1, ingress.getMissCount());
+    }
+
+    @Test
+    void processCallback_WhenProcessingFails_ShouldAcceptRetryFromHub() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(callbackController, "asyncProcessingEnabled", false);
+        ParsedCallback parsedCallback = parsedWithTree(CallbackType.PIX);
+        when(callbackParser.parseAndSanitize(any())).thenReturn(parsedCallback);
+        when(callbackTypeDetector.isValidCallbackType(any(ParsedCallback.class))).thenReturn(true);
+        doThrow(new RuntimeException("SAP indisponivel")).doNothing()
+                .when(callbackService).processCallback(any(ParsedCallback.class));
+
+        // When
+        assertThrows(BusinessException.class, () -> callbackController.processCallback(pixCallbackRequest));
+        ResponseEntity<?> retried = callbackController.processCallback(pixCallbackRequest);
+
+        // Then
+        assertEquals(HttpStatus.OK, retried.getStatusCode());
+        verify(callbackService, times(2)).processCallback(parsedCallback);
+    }
+
+    @Test
+    void processCallback_WhenAsyncSendFails_ShouldEnqueueRetryFromHub() throws Exception {
+        // Given
+        ParsedCallback parsedCallback = parsedWithTree(CallbackType.PIX);
+        when(callbackParser.parseAndSanitize(any())).thenReturn(parsedCallback);
+        when(callbackTypeDetector.isValidCallbackType(any(ParsedCallback.class))).thenReturn(true);
+        when(callbackService.processCallbackAsync(any(ParsedCallback.class)))
+                .thenReturn(CompletableFuture.failedFuture(new BusinessException("Erro ao enviar callback para fila", "ERROR_SEND_TO_QUEUE")))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        ResponseEntity<?> first = callbackController.processCallback(pixCallbackRequest);
+        ResponseEntity<?> retried = callbackController.processCallback(pixCallbackRequest);
+
+        // Then
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertEquals(HttpStatus.OK, retried.getStatusCode());
+        verify(callbackService, times(2)).processCallbackAsync(parsedCallback);
+        assertEquals(0, idempotencyCache.window(CallbackIdempotencyCache.INGRESS).getHitCount());
+    }
+
+    private ParsedCallback parsedWithTree(CallbackType type) {
+        return ParsedCallback.builder()
+                .tree(new ObjectMapper().valueToTree(Map.of("txId", "test-tx-123", "value", "100.50")))
+                .type(type)
+                .validationType(type)
+                .build();
+    }
+
     @Test
     void getPaymentMethods_WithBusinessException_ShouldRethrowAsIs() throws Exception {
-        String jsonData = "{\"service\":\"PIX\",\"txId\":\"test-tx-123\"}";
-        when(mapper.writeValueAsString(any())).thenReturn(jsonData);
-        when(callbackTypeDetector.isValidCallbackType(anyString())).thenReturn(true);
+        ParsedCallback parsedCallback = parsed(CallbackType.PIX);
+        when(callbackParser.parseAndSanitize(any())).thenReturn(parsedCallback);
+        when(callbackTypeDetector.isValidCallbackType(any(ParsedCallback.class))).thenReturn(true);
         
         BusinessException originalException = new BusinessException("Original error", "ORIGINAL_ERROR");
-        doThrow(originalException).when(callbackTypeDetector).detectTypeAndValidate(anyString());
+        doThrow(originalException).when(callbackTypeDetector).detectTypeAndValidate(any(ParsedCallback.class));
 
         BusinessException exception = assertThrows(BusinessException.class, () -> {
             callbackController.processCallback(pixCallbackRequest);
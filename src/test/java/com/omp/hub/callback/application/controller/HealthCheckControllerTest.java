@@ -16,6 +16,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import com.omp.hub.callback.application.service.SqsHealthCheckService;
+import com.omp.hub.callback.infrastructure.resilience.ResilienceRegistry;
 
 @ExtendWith(MockitoExtension.class)
 class HealthCheckControllerTest {
@@ -23,6 +24,9 @@ class HealthCheckControllerTest {
     @Mock
     private SqsHealthCheckService sqsHealthCheckService;
 
+    @Mock
+    private ResilienceRegistry resilienceRegistry;
+
     @InjectMocks
     private HealthCheckController healthCheckController;
 
@@ -175,4 +179,38 @@ class HealthCheckControllerTest {
         assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
         assertEquals(dlqResponse, response.getBody());
     }
+
+    @Test
+    void circuitBreakersHealthCheck_WhenAllClosed_ShouldReturnUp() {
+        // Given
+        Map<String, Object> breakers = new HashMap<>();
+        breakers.put("sap-payments", Map.of("state", "CLOSED"));
+        when(resilienceRegistry.snapshot()).thenReturn(breakers);
+        when(resilienceRegistry.isEnabled()).thenReturn(true);
+
+        // When
+        ResponseEntity<Map<String, Object>> response = healthCheckController.circuitBreakersHealthCheck();
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("UP", response.getBody().get("status"));
+        assertEquals(breakers, response.getBody().get("circuitBreakers"));
+    }
+
+    @Test
+    void circuitBreakersHealthCheck_WhenAnyOpen_ShouldReturnWarning() {
+        // Given
+        Map<String, Object> breakers = new HashMap<>();
+        breakers.put("sap-payments", Map.of("state", "OPEN"));
+        breakers.put("communication", Map.of("state", "CLOSED"));
+        when(resilienceRegistry.snapshot()).thenReturn(breakers);
+        when(resilienceRegistry.isEnabled()).thenReturn(true);
+
+        // When
+        ResponseEntity<Map<String, Object>> response = healthCheckController.circuitBreakersHealthCheck();
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("WARNING", response.getBody().get("status"));
+    }
 }
@@ -0,0 +1,156 @@
+package com.omp.hub.callback.application.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class CallbackIdempotencyCacheTest {
+
+    private CallbackIdempotencyCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CallbackIdempotencyCache();
+        ReflectionTestUtils.setField(cache, "ttlMillis", 1000L);
+        setNow(0);
+    }
+
+    @Test
+    void register_ShouldRejectRepeatedKeyWithinTtl() {
+        // Given
+        CallbackIdempotencyCache.Window window = cache.window(CallbackIdempotencyCache.INGRESS);
+
+        // When
+        boolean first = window.register("key");
+        boolean repeated = window.register("key");
+
+        // Then
+        assertTrue(first);
+        assertFalse(repeated);
+        assertEquals(1, window.getHitCount());
+        assertEquals(1, window.getMissCount());
+        assertEquals(1, window.size());
+    }
+
+    @Test
+    void register_AfterTtl_ShouldAcceptKeyAgain() {
+        // Given
+        CallbackIdempotencyCache.Window window = cache.window(CallbackIdempotencyCache.INGRESS);
+        window.register("key");
+
+        // When
+        setNow(1000);
+
+        // Then
+        assertTrue(window.register("key"));
+    }
+
+    @Test
+    void forget_ShouldAcceptKeyAgain() {
+        // Given
+        CallbackIdempotencyCache.Window window = cache.window(CallbackIdempotencyCache.INGRESS);
+        window.register("key");
+
+        // When
+        window.forget("key");
+
+        // Then
+        assertTrue(window.register("key"));
+    }
+
+    @Test
+    void contains_ShouldOnlySeeRecordedKeys() {
+        // Given
+        CallbackIdempotencyCache.Window window = cache.window(CallbackIdempotencyCache.CONSUMER);
+
+        // When
+        boolean beforeRecord = window.contains("key");
+        window.record("key");
+        boolean afterRecord = window.contains("key");
+
+        // Then
+        assertFalse(beforeRecord);
+        assertTrue(afterRecord);
+        assertEquals(1, window.getHitCount());
+        assertEquals(1, window.getMissCount());
+    }
+
+    @Test
+    void windows_ShouldBeIndependent() {
+        // Given
+        cache.window(CallbackIdempotencyCache.INGRESS).register("key");
+
+        // When & Then
+        assertFalse(cache.window(CallbackIdempotencyCache.CONSUMER).contains("key"));
+    }
+
+    @Test
+    void register_WithNullKeyOrDisabled_ShouldAlwaysAccept() {
+        // Given
+        CallbackIdempotencyCache.Window window = cache.window(CallbackIdempotencyCache.INGRESS);
+
+        // When & Then
+        assertTrue(window.register(null));
+        assertTrue(window.register(null));
+
+        ReflectionTestUtils.setField(cache, "enabled", false);
+        assertTrue(window.register("key"));
+        assertTrue(window.register("key"));
+        assertEquals(0, window.size());
+    }
+
+    @Test
+    void register_AboveMaxEntries_ShouldEvictExpiredEntriesFirst() {
+        // Given
+        ReflectionTestUtils.setField(cache, "maxEntries", 2);
+        CallbackIdempotencyCache.Window window = cache.window(CallbackIdempotencyCache.INGRESS);
+        window.register("old");
+        setNow(900);
+        window.register("recent");
+        setNow(1100);
+
+        // When
+        window.register("new");
+
+        // Then
+        assertEquals(2, window.size());
+        assertFalse(window.register("recent"));
+    }
+
+    @Test
+    void register_BurstAboveMaxEntries_ShouldKeepNewestKeys() {
+        // Given
+        ReflectionTestUtils.setField(cache, "maxEntries", 3);
+        CallbackIdempotencyCache.Window window = cache.window(CallbackIdempotencyCache.CONSUMER);
+
+        // When
+        for (int i = 1; i <= 5; i++) {
+            window.register("key-" + i);
+        }
+
+        // Then
+        assertEquals(3, window.size());
+        assertEquals(2, window.getEvictionCount());
+        assertTrue(window.contains("key-3"));
+        assertTrue(window.contains("key-5"));
+        assertFalse(window.contains("key-1"));
+    }
+
+    @Test
+    void window_WithUnknownScope_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> cache.window("outro"));
+    }
+
+    private void setNow(long millis) {
+        ReflectionTestUtils.setField(cache, "clock", Clock.fixed(Instant.ofEpochMilli(millis), ZoneOffset.UTC));
+    }
+}
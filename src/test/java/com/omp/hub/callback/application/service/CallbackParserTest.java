@@ -0,0 +1,165 @@
+package com.omp.hub.callback.application.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omp.hub.callback.domain.enums.CallbackType;
+import com.omp.hub.callback.domain.model.dto.callback.ParsedCallback;
+import com.omp.hub.callback.domain.model.dto.callback.creditcard.CreditCardCallbackRequest;
+import com.omp.hub.callback.domain.model.dto.callback.pix.PixCallbackRequest;
+import com.omp.hub.callback.domain.model.dto.callback.transactions.TransactionsRequest;
+import com.omp.hub.callback.domain.service.check.CheckTypeObjectService;
+import com.omp.hub.callback.domain.service.check.impl.CheckTypeObjectServiceImpl;
+
+class CallbackParserTest {
+
+    private CallbackParser parser;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        parser = new CallbackParser(mapper, new CheckTypeObjectServiceImpl());
+    }
+
+    @Test
+    void parse_WithPixMap_ShouldResolveTypeAndPayload() throws JsonProcessingException {
+        // Given
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("txId", "tx-123");
+        data.put("service", "PIX");
+
+        // When
+        ParsedCallback parsed = parser.parse(data);
+
+        // Then
+        assertTrue(parsed.isSupported());
+        assertEquals(CallbackType.PIX, parsed.getType());
+        assertEquals(CallbackType.PIX, parsed.getValidationType());
+        assertEquals("tx-123", parsed.getPayload(PixCallbackRequest.class).getTxId());
+        assertSame(parsed.getPayload(), parsed.getValidationPayload());
+        assertEquals("tx-123", parsed.getTree().get("txId").asText());
+        assertFalse(parsed.isSanitized());
+    }
+
+    @Test
+    void parseAs_WithKnownType_ShouldBindWithoutDetection() throws JsonProcessingException {
+        // Given
+        CheckTypeObjectService detector = mock(CheckTypeObjectService.class);
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        CallbackParser knownTypeParser = new CallbackParser(mapper, detector);
+
+        // When
+        ParsedCallback parsed = knownTypeParser.parseAs(mapper.readTree("{\"txId\":\"tx-123\",\"service\":\"PIX\"}"),
+                CallbackType.PIX);
+
+        // Then
+        assertEquals(CallbackType.PIX, parsed.getType());
+        assertEquals(CallbackType.PIX, parsed.getValidationType());
+        assertEquals("tx-123", parsed.getPayload(PixCallbackRequest.class).getTxId());
+        verifyNoInteractions(detector);
+    }
+
+    @Test
+    void parseAs_WithoutType_ShouldDetect() throws JsonProcessingException {
+        // When
+        ParsedCallback parsed = parser.parseAs(new ObjectMapper().readTree("{\"txId\":\"tx-123\",\"service\":\"PIX\"}"),
+                null);
+
+        // Then
+        assertEquals(CallbackType.PIX, parsed.getType());
+    }
+
+    @Test
+    void parse_WithJsonString_ShouldReadTree() throws JsonProcessingException {
+        // When
+        ParsedCallback parsed = parser.parse("{\"payment\":{\"status\":\"APPROVED\"},\"orderId\":\"ORDER-1\"}");
+
+        // Then
+        assertEquals(CallbackType.CREDIT_CARD, parsed.getType());
+        assertEquals("ORDER-1", parsed.getPayload(CreditCardCallbackRequest.class).getOrderId());
+    }
+
+    @Test
+    void parse_WithFieldsOfTwoTypes_ShouldKeepBothPriorityOrders() throws JsonProcessingException {
+        // Given - "event" (Transactions) e "txId" (Pix) no mesmo payload
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("txId", "tx-123");
+        data.put("event", Map.of("type", "PAYMENT"));
+
+        // When
+        ParsedCallback parsed = parser.parse(data);
+
+        // Then - processamento prioriza Pix, validacao de entrada prioriza Transactions
+        assertEquals(CallbackType.PIX, parsed.getType());
+        assertInstanceOf(PixCallbackRequest.class, parsed.getPayload());
+        assertEquals(CallbackType.TRANSACTIONS, parsed.getValidationType());
+        assertInstanceOf(TransactionsRequest.class, parsed.getValidationPayload());
+    }
+
+    @Test
+    void parse_WithUnsupportedPayload_ShouldReturnUnsupported() throws JsonProcessingException {
+        // When
+        ParsedCallback parsed = parser.parse(Map.of("invalid", "data"));
+
+        // Then
+        assertFalse(parsed.isSupported());
+        assertNull(parsed.getType());
+        assertNull(parsed.getValidationType());
+        assertNull(parsed.getPayload());
+    }
+
+    @Test
+    void parse_WithNullData_ShouldReturnUnsupported() throws JsonProcessingException {
+        // When
+        ParsedCallback parsed = parser.parse(null);
+
+        // Then
+        assertFalse(parsed.isSupported());
+        assertTrue(parsed.getTree().isNull());
+    }
+
+    @Test
+    void parse_WithInvalidJsonString_ShouldThrowJsonProcessingException() {
+        assertThrows(JsonProcessingException.class, () -> parser.parse("{ invalid json }"));
+    }
+
+    @Test
+    void parseAndSanitize_WithMalformedPaymentField_ShouldSanitizeTree() throws JsonProcessingException {
+        // Given
+        Map<String, Object> cash = new LinkedHashMap<>();
+        cash.put("cash", "\"\\\\\\\"null\\\\\\\"\"");
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("type", "PAYMENT");
+        event.put("payment", List.of(cash, Map.of("pix", Map.of("txId", "tx-1"))));
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("event", event);
+
+        // When
+        ParsedCallback parsed = parser.parseAndSanitize(data);
+
+        // Then
+        assertTrue(parsed.isSanitized());
+        assertEquals(CallbackType.TRANSACTIONS, parsed.getType());
+        assertFalse(parsed.getTree().get("event").get("payment").get(0).has("cash"));
+        assertTrue(parsed.getTree().get("event").get("payment").get(1).has("pix"));
+    }
+}
@@ -8,6 +8,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -20,6 +21,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.omp.hub.callback.application.validator.CallbackValidator;
+import com.omp.hub.callback.domain.enums.CallbackType;
+import com.omp.hub.callback.domain.model.dto.callback.ParsedCallback;
 import com.omp.hub.callback.domain.model.dto.callback.creditcard.CreditCardCallbackRequest;
 import com.omp.hub.callback.domain.model.dto.callback.pix.PixCallbackRequest;
 import com.omp.hub.callback.domain.model.dto.callback.tefweb.TefWebCallbackRequest;
@@ -195,4 +198,39 @@ class CallbackTypeDetectorServiceTest {
         // Then
         assertFalse(result);
     }
+
+    @Test
+    void detectTypeAndValidate_WithParsedCallback_ShouldValidateValidationPayload() {
+        // Given
+        TransactionsRequest request = new TransactionsRequest();
+        ParsedCallback parsed = ParsedCallback.builder()
+                .type(CallbackType.PIX)
+                .payload(new PixCallbackRequest())
+                .validationType(CallbackType.TRANSACTIONS)
+                .validationPayload(request)
+                .build();
+
+        // When
+        service.detectTypeAndValidate(parsed);
+
+        // Then
+        verify(callbackValidator).validate(request, "Transactions");
+        verifyNoInteractions(mapper, validateService);
+    }
+
+    @Test
+    void detectTypeAndValidate_WithUnsupportedParsedCallback_ShouldSkipValidation() {
+        // When
+        service.detectTypeAndValidate(ParsedCallback.builder().build());
+
+        // Then
+        verify(callbackValidator, never()).validate(any(), anyString());
+    }
+
+    @Test
+    void isValidCallbackType_WithParsedCallback_ShouldUseResolvedType() {
+        assertTrue(service.isValidCallbackType(ParsedCallback.builder().validationType(CallbackType.PIX).build()));
+        assertFalse(service.isValidCallbackType(ParsedCallback.builder().build()));
+        verifyNoInteractions(validateService);
+    }
 }
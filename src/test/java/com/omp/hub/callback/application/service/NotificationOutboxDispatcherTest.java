@@ -0,0 +1,372 @@
+package com.omp.hub.callback.application.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.omp.hub.callback.domain.enums.NotificationChannelEnum;
+import com.omp.hub.callback.domain.enums.PixAutomaticoEventEnum;
+import com.omp.hub.callback.domain.model.dto.notification.NotificationIntent;
+import com.omp.hub.callback.domain.model.dto.notification.NotificationOutcome;
+import com.omp.hub.callback.domain.ports.outbox.NotificationOutboxPort;
+import com.omp.hub.callback.domain.service.impl.notification.NotificationManagerService;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationOutboxDispatcherTest {
+
+    private static final long NOW = 1_000_000L;
+
+    @Mock
+    private NotificationOutboxPort outbox;
+
+    @Mock
+    private NotificationManagerService notificationManagerService;
+
+    @Mock
+    private RetryService retryService;
+
+    @Mock
+    private ExecutorService workers;
+
+    @Mock
+    private ScheduledExecutorService poller;
+
+    private NotificationOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new NotificationOutboxDispatcher(outbox, notificationManagerService, retryService);
+        ReflectionTestUtils.setField(dispatcher, "enabled", true);
+        ReflectionTestUtils.setField(dispatcher, "ratePerSecond", 0);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(dispatcher, "maxPending", 2);
+        ReflectionTestUtils.setField(dispatcher, "clock", Clock.fixed(Instant.ofEpochMilli(NOW), ZoneOffset.UTC));
+        ReflectionTestUtils.setField(dispatcher, "slots", new Semaphore(2));
+        ReflectionTestUtils.setField(dispatcher, "workers", workers);
+        ReflectionTestUtils.setField(dispatcher, "poller", poller);
+    }
+
+    @Test
+    void submit_WhenDisabled_ShouldReturnFalse() {
+        // Given
+        ReflectionTestUtils.setField(dispatcher, "enabled", false);
+
+        // When
+        boolean accepted = dispatcher.submit(UUID.randomUUID(), "tx-1", PixAutomaticoEventEnum.PAGAMENTO);
+
+        // Then
+        assertFalse(accepted);
+        verify(outbox, never()).save(any());
+        assertEquals(0, dispatcher.getPendingCount());
+    }
+
+    @Test
+    void start_WhenOutboxCannotOpen_ShouldFailStartup() {
+        // Given
+        ReflectionTestUtils.setField(dispatcher, "workers", null);
+        when(outbox.size()).thenThrow(new IllegalStateException("notification.outbox.dir nao configurado"));
+
+        // When & Then
+        assertThrows(IllegalStateException.class, dispatcher::start);
+        assertNull(ReflectionTestUtils.getField(dispatcher, "workers"));
+    }
+
+    @Test
+    void submit_ShouldSaveIntentAndWakeUpPoller() {
+        // Given
+        UUID uuid = UUID.randomUUID();
+        when(outbox.size()).thenReturn(0);
+
+        // When
+        boolean accepted = dispatcher.submit(uuid, "tx-1", PixAutomaticoEventEnum.PAGAMENTO);
+
+        // Then
+        assertTrue(accepted);
+        ArgumentCaptor<NotificationIntent> captor = ArgumentCaptor.forClass(NotificationIntent.class);
+        verify(outbox).save(captor.capture());
+        NotificationIntent saved = captor.getValue();
+        assertEquals("tx-1", saved.getTxId());
+        assertEquals(PixAutomaticoEventEnum.PAGAMENTO, saved.getEventType());
+        assertEquals(uuid.toString(), saved.getCorrelationId());
+        assertEquals(NOW, saved.getNextAttemptAt());
+        assertEquals(0, saved.getAttempts());
+        verify(poller).execute(any(Runnable.class));
+        assertEquals(1, dispatcher.getEnqueuedCount());
+    }
+
+    @Test
+    void submit_WhenNoSlotIsFree_ShouldSaveWithoutWakingUpPoller() {
+        // Given
+        ReflectionTestUtils.setField(dispatcher, "slots", new Semaphore(0));
+        when(outbox.size()).thenReturn(0);
+
+        // When
+        boolean accepted = dispatcher.submit(UUID.randomUUID(), "tx-1", PixAutomaticoEventEnum.PAGAMENTO);
+
+        // Then
+        assertTrue(accepted);
+        verify(outbox).save(any());
+        verify(poller, never()).execute(any());
+    }
+
+    @Test
+    void submit_WhenOutboxIsFull_ShouldBypass() {
+        // Given
+        when(outbox.size()).thenReturn(2);
+
+        // When
+        boolean accepted = dispatcher.submit(UUID.randomUUID(), "tx-1", PixAutomaticoEventEnum.PAGAMENTO);
+
+        // Then
+        assertFalse(accepted);
+        verify(outbox, never()).save(any());
+        assertEquals(1, dispatcher.getBypassedCount());
+    }
+
+    @Test
+    void submit_WhenSaveFails_ShouldBypass() {
+        // Given
+        when(outbox.size()).thenReturn(0);
+        doThrow(new IllegalStateException("disco cheio")).when(outbox).save(any());
+
+        // When
+        boolean accepted = dispatcher.submit(UUID.randomUUID(), "tx-1", PixAutomaticoEventEnum.PAGAMENTO);
+
+        // Then
+        assertFalse(accepted);
+        assertEquals(1, dispatcher.getBypassedCount());
+        verify(poller, never()).execute(any());
+    }
+
+    @Test
+    void deliver_OnSuccess_ShouldRemoveIntent() {
+        // Given
+        NotificationIntent intent = intent("a", NOW);
+        when(notificationManagerService.deliverPixAutomaticoNotification(any(UUID.class), eq("tx-a"),
+                eq(PixAutomaticoEventEnum.PAGAMENTO), isNull())).thenReturn(new NotificationOutcome(true, Set.of()));
+
+        // When
+        dispatcher.deliver(intent);
+
+        // Then
+        verify(outbox).remove("a");
+        assertEquals(1, dispatcher.getDeliveredCount());
+    }
+
+    @Test
+    void deliver_WithRetryableFailure_ShouldRescheduleWithBackoff() {
+        // Given
+        NotificationIntent intent = intent("a", NOW);
+        RuntimeException error = new RuntimeException("timeout");
+        when(notificationManagerService.deliverPixAutomaticoNotification(any(), anyString(), any(), any())).thenThrow(error);
+        when(retryService.isRetryable(error)).thenReturn(true);
+        when(retryService.backoffMillis(1)).thenReturn(250L);
+
+        // When
+        dispatcher.deliver(intent);
+
+        // Then
+        ArgumentCaptor<NotificationIntent> captor = ArgumentCaptor.forClass(NotificationIntent.class);
+        verify(outbox).save(captor.capture());
+        assertEquals(1, captor.getValue().getAttempts());
+        assertEquals(NOW + 250, captor.getValue().getNextAttemptAt());
+        verify(outbox, never()).remove(anyString());
+        assertEquals(1, dispatcher.getRetriedCount());
+    }
+
+    @Test
+    void deliver_WithFailedChannel_ShouldRescheduleOnlyThatChannel() {
+        // Given
+        NotificationIntent intent = intent("a", NOW);
+        when(notificationManagerService.deliverPixAutomaticoNotification(any(), anyString(), any(), isNull()))
+                .thenReturn(new NotificationOutcome(true, Set.of(NotificationChannelEnum.SMS)));
+        when(retryService.backoffMillis(1)).thenReturn(250L);
+
+        // When
+        dispatcher.deliver(intent);
+
+        // Then
+        ArgumentCaptor<NotificationIntent> captor = ArgumentCaptor.forClass(NotificationIntent.class);
+        verify(outbox).save(captor.capture());
+        assertEquals(Set.of(NotificationChannelEnum.SMS), captor.getValue().getChannels());
+        assertEquals(1, captor.getValue().getAttempts());
+        assertEquals(NOW + 250, captor.getValue().getNextAttemptAt());
+        verify(outbox, never()).remove(anyString());
+        assertEquals(0, dispatcher.getDeliveredCount());
+        assertEquals(1, dispatcher.getRetriedCount());
+    }
+
+    @Test
+    void deliver_WithPendingChannels_ShouldResendOnlyThoseChannels() {
+        // Given
+        NotificationIntent intent = intent("a", NOW).toBuilder()
+                .attempts(1)
+                .channels(Set.of(NotificationChannelEnum.EMAIL))
+                .build();
+        when(notificationManagerService.deliverPixAutomaticoNotification(any(), eq("tx-a"), any(),
+                eq(Set.of(NotificationChannelEnum.EMAIL)))).thenReturn(new NotificationOutcome(true, Set.of()));
+
+        // When
+        dispatcher.deliver(intent);
+
+        // Then
+        verify(outbox).remove("a");
+        assertEquals(1, dispatcher.getDeliveredCount());
+    }
+
+    @Test
+    void deliver_WithChannelStillFailingOnLastAttempt_ShouldDropIntent() {
+        // Given
+        NotificationIntent intent = intent("a", NOW).toBuilder()
+                .attempts(2)
+                .channels(Set.of(NotificationChannelEnum.EMAIL))
+                .build();
+        when(notificationManagerService.deliverPixAutomaticoNotification(any(), anyString(), any(), any()))
+                .thenReturn(new NotificationOutcome(true, Set.of(NotificationChannelEnum.EMAIL)));
+
+        // When
+        dispatcher.deliver(intent);
+
+        // Then
+        verify(outbox).remove("a");
+        verify(outbox, never()).save(any());
+        assertEquals(1, dispatcher.getFailedCount());
+    }
+
+    @Test
+    void deliver_WithNonRetryableFailure_ShouldDropIntent() {
+        // Given
+        NotificationIntent intent = intent("a", NOW);
+        RuntimeException error = new IllegalArgumentException("payload invalido");
+        when(notificationManagerService.deliverPixAutomaticoNotification(any(), anyString(), any(), any())).thenThrow(error);
+        when(retryService.isRetryable(error)).thenReturn(false);
+
+        // When
+        dispatcher.deliver(intent);
+
+        // Then
+        verify(outbox).remove("a");
+        verify(outbox, never()).save(any());
+        assertEquals(1, dispatcher.getFailedCount());
+    }
+
+    @Test
+    void deliver_OnLastAttempt_ShouldDropIntent() {
+        // Given
+        NotificationIntent intent = intent("a", NOW).toBuilder().attempts(2).build();
+        RuntimeException error = new RuntimeException("timeout");
+        when(notificationManagerService.deliverPixAutomaticoNotification(any(), anyString(), any(), any())).thenThrow(error);
+        when(retryService.isRetryable(error)).thenReturn(true);
+
+        // When
+        dispatcher.deliver(intent);
+
+        // Then
+        verify(outbox).remove("a");
+        verify(outbox, never()).save(any());
+        assertEquals(1, dispatcher.getFailedCount());
+    }
+
+    @Test
+    void drain_ShouldDispatchOnlyDueIntentsUpToConcurrency() {
+        // Given
+        NotificationIntent first = intent("a", NOW - 2);
+        NotificationIntent second = intent("b", NOW - 1);
+        when(outbox.findDue(NOW, 2)).thenReturn(List.of(first, second));
+        when(outbox.findById("a")).thenReturn(Optional.of(first));
+        when(outbox.findById("b")).thenReturn(Optional.of(second));
+
+        // When
+        dispatcher.drain();
+
+        // Then
+        verify(workers, times(2)).execute(any(Runnable.class));
+        verify(outbox, never()).findAll();
+    }
+
+    @Test
+    void drain_WhenNoSlotIsFree_ShouldNotReadOutbox() {
+        // Given
+        ReflectionTestUtils.setField(dispatcher, "slots", new Semaphore(0));
+
+        // When
+        dispatcher.drain();
+
+        // Then
+        verify(outbox, never()).findDue(anyLong(), anyInt());
+        verify(workers, never()).execute(any(Runnable.class));
+    }
+
+    @Test
+    void drain_WhenIntentWasAlreadyDelivered_ShouldSkipIt() {
+        // Given
+        when(outbox.findDue(NOW, 2)).thenReturn(List.of(intent("a", NOW)));
+        when(outbox.findById("a")).thenReturn(Optional.empty());
+
+        // When
+        dispatcher.drain();
+
+        // Then
+        verify(workers, never()).execute(any(Runnable.class));
+        Semaphore slots = (Semaphore) ReflectionTestUtils.getField(dispatcher, "slots");
+        assertEquals(2, slots.availablePermits());
+    }
+
+    @Test
+    void drain_WithIntentInFlight_ShouldNotDispatchItAgain() {
+        // Given
+        NotificationIntent intent = intent("a", NOW);
+        when(outbox.findDue(NOW, 2)).thenReturn(List.of(intent));
+        when(outbox.findById("a")).thenReturn(Optional.of(intent));
+
+        // When
+        dispatcher.drain();
+        dispatcher.drain();
+
+        // Then
+        verify(workers, times(1)).execute(any(Runnable.class));
+    }
+
+    private static NotificationIntent intent(String id, long nextAttemptAt) {
+        return NotificationIntent.builder()
+                .id(id)
+                .txId("tx-" + id)
+                .eventType(PixAutomaticoEventEnum.PAGAMENTO)
+                .correlationId(UUID.randomUUID().toString())
+                .createdAt(nextAttemptAt)
+                .nextAttemptAt(nextAttemptAt)
+                .build();
+    }
+}
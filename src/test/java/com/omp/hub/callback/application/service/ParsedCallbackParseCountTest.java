@@ -0,0 +1,138 @@
+package com.omp.hub.callback.application.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omp.hub.callback.application.usecase.callback.CreditCardCallbackUseCase;
+import com.omp.hub.callback.application.usecase.callback.PixCallbackUseCase;
+import com.omp.hub.callback.application.usecase.callback.TefWebCallbackUseCase;
+import com.omp.hub.callback.application.usecase.callback.TransactionsCallbackUseCase;
+import com.omp.hub.callback.application.validator.CallbackValidator;
+import com.omp.hub.callback.domain.model.dto.callback.ParsedCallback;
+import com.omp.hub.callback.domain.service.check.impl.CheckTypeObjectServiceImpl;
+import com.omp.hub.callback.domain.service.impl.callback.impl.CallbackServiceImpl;
+import com.omp.hub.callback.infrastructure.util.JsonSanitizerUtil;
+
+/**
+ * Compara o caminho antigo (String serializada e parseada a cada etapa) com o {@link ParsedCallback}
+ * no fluxo sincrono do controller, contando parses e serializacoes de texto por callback. A
+ * comparacao de alocacao fica no {@code CallbackFlowBenchmark} (profile {@code benchmark}).
+ */
+class ParsedCallbackParseCountTest {
+
+    private CountingJsonFactory factory;
+    private ObjectMapper mapper;
+    private CheckTypeObjectServiceImpl checkTypeService;
+    private CallbackTypeDetectorService detector;
+    private CallbackParser parser;
+    private CallbackServiceImpl callbackService;
+    private Map<String, Object> data;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        factory = new CountingJsonFactory();
+        mapper = new ObjectMapper(factory);
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+        checkTypeService = new CheckTypeObjectServiceImpl();
+        ReflectionTestUtils.setField(checkTypeService, "objectMapper", mapper);
+
+        detector = new CallbackTypeDetectorService(mapper, checkTypeService, mock(CallbackValidator.class));
+        parser = new CallbackParser(mapper, checkTypeService);
+
+        callbackService = new CallbackServiceImpl();
+        ReflectionTestUtils.setField(callbackService, "pixCallbackUseCase", mock(PixCallbackUseCase.class));
+        ReflectionTestUtils.setField(callbackService, "creditCardCallbackUseCase", mock(CreditCardCallbackUseCase.class));
+        ReflectionTestUtils.setField(callbackService, "tefwebCallbackUseCase", mock(TefWebCallbackUseCase.class));
+        ReflectionTestUtils.setField(callbackService, "transactionsCallbackUseCase", mock(TransactionsCallbackUseCase.class));
+        ReflectionTestUtils.setField(callbackService, "validateService", checkTypeService);
+        ReflectionTestUtils.setField(callbackService, "objectMapper", mapper);
+
+        String json = """
+            {
+              "callbackTarget": "AtivacaoSimplificadaOmp",
+              "ompTransactionId": "fcfcc572-ac58-437e-898b-16910b2717cb",
+              "event": {
+                "transactionOrderId": "0012765016",
+                "type": "PAYMENT",
+                "status": "PAGO",
+                "payment": [
+                  { "cash": "\\"\\\\\\"null\\\\\\"\\"" },
+                  { "pix": { "txId": "tx-123", "value": "140000", "endToEndId": "E123" } }
+                ]
+              }
+            }
+            """;
+        data = new ObjectMapper().readValue(json, Map.class);
+    }
+
+    private void legacyFlow() throws Exception {
+        String object = mapper.writeValueAsString(data);
+        String sanitized = JsonSanitizerUtil.sanitizeCallbackJson(object, mapper);
+        detector.isValidCallbackType(sanitized);
+        detector.detectTypeAndValidate(sanitized);
+        callbackService.processCallback(sanitized);
+    }
+
+    private void parsedFlow() throws Exception {
+        ParsedCallback parsed = parser.parseAndSanitize(data);
+        detector.isValidCallbackType(parsed);
+        detector.detectTypeAndValidate(parsed);
+        callbackService.processCallback(parsed);
+    }
+
+    @Test
+    void parsedCallback_ShouldNotParseOrSerializeText() throws Exception {
+        // When
+        factory.reset();
+        legacyFlow();
+        long legacyParses = factory.parsers.get();
+
+        factory.reset();
+        parsedFlow();
+
+        // Then
+        assertEquals(0, factory.parsers.get());
+        assertEquals(0, factory.generators.get());
+        assertTrue(legacyParses >= 5, "caminho antigo deveria parsear o payload varias vezes");
+    }
+
+    private static final class CountingJsonFactory extends JsonFactory {
+
+        private final AtomicLong parsers = new AtomicLong();
+        private final AtomicLong generators = new AtomicLong();
+
+        void reset() {
+            parsers.set(0);
+            generators.set(0);
+        }
+
+        @Override
+        public JsonParser createParser(String content) throws IOException {
+            parsers.incrementAndGet();
+            return super.createParser(content);
+        }
+
+        @Override
+        public JsonGenerator createGenerator(Writer w) throws IOException {
+            generators.incrementAndGet();
+            return super.createGenerator(w);
+        }
+    }
+}
@@ -1,18 +1,23 @@
 package com.omp.hub.callback.application.service;
 
 import com.omp.hub.callback.domain.exceptions.BusinessException;
+import com.omp.hub.callback.domain.exceptions.CallNotPermittedException;
 import com.omp.hub.callback.domain.exceptions.ErrorResponse;
 import com.omp.hub.callback.infrastructure.persistence.message.sqs.SqsMessageRepository;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -25,15 +30,25 @@ class RetryServiceTest {
     @Mock
     private SqsMessageRepository sqsMessageRepository;
 
-    @InjectMocks
+    private ThreadPoolTaskScheduler scheduler;
+
     private RetryService retryService;
 
     @BeforeEach
     void setUp() {
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.initialize();
+        retryService = new RetryService(sqsMessageRepository, Runnable::run, scheduler);
         ReflectionTestUtils.setField(retryService, "maxAttempts", 3);
         ReflectionTestUtils.setField(retryService, "delaySeconds", 0L);
     }
 
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
     @Test
     void executeWithRetrySyncVoid_WhenOperationSucceedsOnFirstAttempt_ShouldComplete() {
         // Given
@@ -264,4 +279,185 @@ class RetryServiceTest {
         // Clear interrupted status
         Thread.interrupted();
     }
-}
\ No newline at end of file
+
+    @Test
+    void executeWithRetrySyncVoid_WithBusinessException400_ShouldNotRetry() {
+        // Given
+        UUID uuid = UUID.randomUUID();
+        AtomicInteger attemptCount = new AtomicInteger(0);
+        BusinessException businessException = new BusinessException(ErrorResponse.builder()
+                .status(HttpStatus.BAD_REQUEST.value())
+                .message("Bad request")
+                .build());
+
+        Runnable operation = () -> {
+            attemptCount.incrementAndGet();
+            throw businessException;
+        };
+
+        // When
+        BusinessException thrown = assertThrows(BusinessException.class,
+            () -> retryService.executeWithRetrySyncVoid(uuid, "testOperation", operation, "data"));
+
+        // Then
+        assertEquals(businessException, thrown);
+        assertEquals(1, attemptCount.get());
+        verify(sqsMessageRepository, never()).sendToDLQ(any(), any());
+    }
+
+    @Test
+    void executeWithRetrySyncVoid_WithBusinessException429_ShouldRetry() {
+        // Given
+        UUID uuid = UUID.randomUUID();
+        AtomicInteger attemptCount = new AtomicInteger(0);
+        BusinessException businessException = new BusinessException(ErrorResponse.builder()
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .message("Too many requests")
+                .build());
+
+        Runnable operation = () -> {
+            if (attemptCount.incrementAndGet() < 2) {
+                throw businessException;
+            }
+        };
+
+        // When & Then
+        assertDoesNotThrow(() -> retryService.executeWithRetrySyncVoid(uuid, "testOperation", operation));
+        assertEquals(2, attemptCount.get());
+    }
+
+    @Test
+    void executeWithRetrySyncVoid_WithCallNotPermitted_ShouldFailFastWithoutDLQ() {
+        // Given
+        UUID uuid = UUID.randomUUID();
+        AtomicInteger attemptCount = new AtomicInteger(0);
+        CallNotPermittedException notPermitted =
+                new CallNotPermittedException("sap-payments", CallNotPermittedException.CIRCUIT_OPEN);
+
+        Runnable operation = () -> {
+            attemptCount.incrementAndGet();
+            throw notPermitted;
+        };
+
+        // When
+        CallNotPermittedException thrown = assertThrows(CallNotPermittedException.class,
+            () -> retryService.executeWithRetrySyncVoid(uuid, "SAP Payments", operation, "data"));
+
+        // Then
+        assertSame(notPermitted, thrown);
+        assertEquals(1, attemptCount.get());
+        verify(sqsMessageRepository, never()).sendToDLQ(any(), any());
+    }
+
+    @Test
+    void executeWithRetryAsync_WhenOperationSucceedsAfterRetries_ShouldCompleteFuture() throws Exception {
+        // Given
+        UUID uuid = UUID.randomUUID();
+        AtomicInteger attemptCount = new AtomicInteger(0);
+        Runnable operation = () -> {
+            if (attemptCount.incrementAndGet() < 3) {
+                throw new RuntimeException("Operation failed");
+            }
+        };
+
+        // When
+        CompletableFuture<Void> future = retryService.executeWithRetryAsync(uuid, "testOperation", operation);
+
+        // Then
+        future.get(5, TimeUnit.SECONDS);
+        assertEquals(3, attemptCount.get());
+    }
+
+    @Test
+    void executeWithRetryAsync_WhenOperationAlwaysFails_ShouldFailAfterMaxAttempts() {
+        // Given
+        UUID uuid = UUID.randomUUID();
+        AtomicInteger attemptCount = new AtomicInteger(0);
+        Runnable operation = () -> {
+            attemptCount.incrementAndGet();
+            throw new RuntimeException("Operation always fails");
+        };
+
+        // When
+        CompletableFuture<Void> future = retryService.executeWithRetryAsync(uuid, "testOperation", operation);
+
+        // Then
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertTrue(exception.getCause().getMessage().contains("falhou apos 3 tentativas"));
+        assertEquals(3, attemptCount.get());
+    }
+
+    @Test
+    void executeWithRetryAsync_WithBusinessException422_ShouldSendToDLQAndFailFuture() {
+        // Given
+        UUID uuid = UUID.randomUUID();
+        BusinessException businessException = new BusinessException(ErrorResponse.builder()
+                .status(HttpStatus.UNPROCESSABLE_ENTITY.value())
+                .message("Unprocessable entity")
+                .build());
+        Runnable operation = () -> {
+            throw businessException;
+        };
+
+        // When
+        CompletableFuture<Void> future = retryService.executeWithRetryAsync(uuid, "testOperation", operation, "data");
+
+        // Then
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertEquals(businessException, exception.getCause());
+        verify(sqsMessageRepository).sendToDLQ(any(), eq(businessException));
+    }
+
+    @Test
+    void executeWithRetryAsync_DuringBackoff_ShouldNotBlockCaller() {
+        // Given
+        UUID uuid = UUID.randomUUID();
+        ReflectionTestUtils.setField(retryService, "delaySeconds", 30L);
+        AtomicInteger attemptCount = new AtomicInteger(0);
+        Runnable operation = () -> {
+            attemptCount.incrementAndGet();
+            throw new RuntimeException("Operation failed");
+        };
+
+        // When
+        long start = System.nanoTime();
+        CompletableFuture<Void> future = retryService.executeWithRetryAsync(uuid, "testOperation", operation);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Then
+        assertTrue(elapsedMillis < 5000);
+        assertFalse(future.isDone());
+        assertEquals(1, attemptCount.get());
+        future.cancel(false);
+    }
+
+    @Test
+    void backoffMillis_ShouldGrowExponentiallyWithJitterAndCap() {
+        // Given
+        ReflectionTestUtils.setField(retryService, "delaySeconds", 1L);
+        ReflectionTestUtils.setField(retryService, "backoffMultiplier", 2.0);
+        ReflectionTestUtils.setField(retryService, "maxDelaySeconds", 5L);
+        ReflectionTestUtils.setField(retryService, "jitterFactor", 0.2);
+
+        // When
+        long first = retryService.backoffMillis(1);
+        long second = retryService.backoffMillis(2);
+        long third = retryService.backoffMillis(3);
+        long capped = retryService.backoffMillis(10);
+
+        // Then
+        assertTrue(first >= 800 && first <= 1000);
+        assertTrue(second >= 1600 && second <= 2000);
+        assertTrue(third >= 3200 && third <= 4000);
+        assertTrue(capped >= 4000 && capped <= 5000);
+    }
+
+    @Test
+    void isRetryable_ShouldClassifyErrors() {
+        assertTrue(retryService.isRetryable(new RuntimeException("timeout")));
+        assertTrue(retryService.isRetryable(new BusinessException(ErrorResponse.builder().status(503).build())));
+        assertTrue(retryService.isRetryable(new BusinessException(ErrorResponse.builder().status(408).build())));
+        assertTrue(retryService.isRetryable(new BusinessException("erro", "ERROR")));
+        assertFalse(retryService.isRetryable(new BusinessException(ErrorResponse.builder().status(404).build())));
+    }
+}
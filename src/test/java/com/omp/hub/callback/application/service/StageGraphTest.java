@@ -0,0 +1,212 @@
+package com.omp.hub.callback.application.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.omp.hub.callback.domain.exceptions.BusinessException;
+
+class StageGraphTest {
+
+    private UUID uuid;
+    private List<String> started;
+
+    @BeforeEach
+    void setUp() {
+        uuid = UUID.randomUUID();
+        started = new CopyOnWriteArrayList<>();
+    }
+
+    @Test
+    void execute_WithIndependentStages_ShouldStartAllBeforeAnyCompletes() {
+        // Given
+        CompletableFuture<Void> sap = new CompletableFuture<>();
+        CompletableFuture<Void> channel = new CompletableFuture<>();
+        StageGraph graph = StageGraph.of(uuid, true)
+                .stage("SAP", () -> track("SAP", sap))
+                .stage("Channel", () -> track("Channel", channel));
+
+        // When
+        CompletableFuture<Void> result = graph.run();
+
+        // Then
+        assertEquals(List.of("SAP", "Channel"), started);
+        assertFalse(result.isDone());
+        sap.complete(null);
+        channel.complete(null);
+        assertTrue(result.isDone());
+        assertFalse(result.isCompletedExceptionally());
+    }
+
+    @Test
+    void execute_WithDependency_ShouldWaitForDependencyToSucceed() {
+        // Given
+        CompletableFuture<Void> redemptions = new CompletableFuture<>();
+        StageGraph graph = StageGraph.of(uuid, true)
+                .stage("Redemptions", () -> track("Redemptions", redemptions))
+                .stage("Payments", () -> track("Payments", CompletableFuture.completedFuture(null)), "Redemptions");
+
+        // When
+        CompletableFuture<Void> result = graph.run();
+
+        // Then
+        assertEquals(List.of("Redemptions"), started);
+        redemptions.complete(null);
+        assertEquals(List.of("Redemptions", "Payments"), started);
+        assertTrue(result.isDone());
+    }
+
+    @Test
+    void execute_WhenStageFails_ShouldSkipDependentsAndFinishIndependentStages() {
+        // Given
+        BusinessException failure = new BusinessException("SAP indisponivel", "SAP_ERR");
+        StageGraph graph = StageGraph.of(uuid, true)
+                .stage("Redemptions", () -> track("Redemptions", CompletableFuture.failedFuture(failure)))
+                .stage("Payments", () -> track("Payments", CompletableFuture.completedFuture(null)), "Redemptions")
+                .stage("Channel", () -> track("Channel", CompletableFuture.completedFuture(null)));
+
+        // When
+        BusinessException thrown = assertThrows(BusinessException.class, graph::execute);
+
+        // Then
+        assertSame(failure, thrown);
+        assertEquals(List.of("Redemptions", "Channel"), started);
+    }
+
+    @Test
+    void execute_WhenSeveralStagesFail_ShouldThrowFirstDeclaredWithOthersSuppressed() {
+        // Given
+        RuntimeException sapFailure = new RuntimeException("Operacao falhou apos 3 tentativas");
+        RuntimeException channelFailure = new RuntimeException("Canal indisponivel");
+        CompletableFuture<Void> sap = new CompletableFuture<>();
+        StageGraph graph = StageGraph.of(uuid, true)
+                .stage("SAP", () -> sap)
+                .stage("Channel", () -> CompletableFuture.failedFuture(channelFailure));
+
+        // When
+        CompletableFuture<Void> result = graph.run();
+        sap.completeExceptionally(sapFailure);
+
+        // Then
+        ExecutionException thrown = assertThrows(ExecutionException.class, () -> result.get(1, TimeUnit.SECONDS));
+        assertSame(sapFailure, thrown.getCause());
+        assertEquals(List.of(channelFailure), List.of(sapFailure.getSuppressed()));
+    }
+
+    @Test
+    void execute_WhenActionThrowsBeforeReturningFuture_ShouldTreatAsStageFailure() {
+        // Given
+        IllegalStateException failure = new IllegalStateException("Erro ao montar requisicao");
+        StageGraph graph = StageGraph.of(uuid, true)
+                .stage("SAP", () -> {
+                    throw failure;
+                })
+                .stage("Channel", () -> track("Channel", CompletableFuture.completedFuture(null)));
+
+        // When & Then
+        assertSame(failure, assertThrows(IllegalStateException.class, graph::execute));
+        assertEquals(List.of("Channel"), started);
+    }
+
+    @Test
+    void execute_WhenActionReturnsNull_ShouldFail() {
+        // Given
+        StageGraph graph = StageGraph.of(uuid, true).stage("SAP", () -> null);
+
+        // When & Then
+        assertThrows(NullPointerException.class, graph::execute);
+    }
+
+    @Test
+    void execute_WithParallelDisabled_ShouldRunStagesInDeclarationOrder() {
+        // Given
+        CompletableFuture<Void> sap = new CompletableFuture<>();
+        StageGraph graph = StageGraph.of(uuid, false)
+                .stage("SAP", () -> track("SAP", sap))
+                .stage("Channel", () -> track("Channel", CompletableFuture.completedFuture(null)));
+
+        // When
+        CompletableFuture<Void> result = graph.run();
+
+        // Then
+        assertEquals(List.of("SAP"), started);
+        sap.complete(null);
+        assertEquals(List.of("SAP", "Channel"), started);
+        assertTrue(result.isDone());
+    }
+
+    @Test
+    void execute_WithParallelDisabledAndFailure_ShouldSkipRemainingStages() {
+        // Given
+        RuntimeException failure = new RuntimeException("SAP indisponivel");
+        StageGraph graph = StageGraph.of(uuid, false)
+                .stage("SAP", () -> CompletableFuture.failedFuture(failure))
+                .stage("Channel", () -> track("Channel", CompletableFuture.completedFuture(null)));
+
+        // When & Then
+        assertSame(failure, assertThrows(RuntimeException.class, graph::execute));
+        assertTrue(started.isEmpty());
+    }
+
+    @Test
+    void execute_WithNoStages_ShouldComplete() {
+        // When
+        CompletableFuture<Void> result = StageGraph.of(uuid, true).run();
+
+        // Then
+        assertTrue(result.isDone());
+        assertFalse(result.isCompletedExceptionally());
+    }
+
+    @Test
+    void stage_WithUndeclaredDependency_ShouldThrowIllegalArgumentException() {
+        // Given
+        StageGraph graph = StageGraph.of(uuid, true);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> graph.stage("Payments", () -> CompletableFuture.completedFuture(null), "Redemptions"));
+    }
+
+    @Test
+    void stage_WithDuplicatedName_ShouldThrowIllegalArgumentException() {
+        // Given
+        StageGraph graph = StageGraph.of(uuid, true).stage("SAP", () -> CompletableFuture.completedFuture(null));
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> graph.stage("SAP", () -> CompletableFuture.completedFuture(null)));
+    }
+
+    @Test
+    void execute_WhenInterrupted_ShouldRestoreInterruptFlag() {
+        // Given
+        StageGraph graph = StageGraph.of(uuid, true).stage("SAP", CompletableFuture::new);
+        Thread.currentThread().interrupt();
+
+        // When & Then
+        try {
+            assertThrows(RuntimeException.class, graph::execute);
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    private CompletableFuture<Void> track(String name, CompletableFuture<Void> future) {
+        started.add(name);
+        return future;
+    }
+}
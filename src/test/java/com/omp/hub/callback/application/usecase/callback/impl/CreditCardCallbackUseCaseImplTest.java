@@ -1,7 +1,10 @@
 package com.omp.hub.callback.application.usecase.callback.impl;
 
+import com.omp.hub.callback.domain.enums.CallbackType;
+import com.omp.hub.callback.domain.model.dto.callback.ParsedCallback;
 import java.util.Arrays;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,6 +12,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.lenient;
@@ -18,6 +22,12 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.omp.hub.callback.application.service.RetryService;
@@ -26,6 +36,7 @@ import com.omp.hub.callback.domain.exceptions.BusinessException;
 import com.omp.hub.callback.domain.model.dto.callback.creditcard.CreditCardCallbackRequest;
 import com.omp.hub.callback.domain.model.dto.information.InformationPaymentDTO;
 import com.omp.hub.callback.domain.model.dto.information.PaymentDTO;
+import com.omp.hub.callback.domain.model.dto.journey.JourneyContext;
 import com.omp.hub.callback.domain.model.dto.journey.single.DataSingleDTO;
 import com.omp.hub.callback.domain.model.dto.journey.single.PaymentSingleDTO;
 import com.omp.hub.callback.domain.model.dto.omphub.transaction.notification.OmphubTransactionNotificationRequest;
@@ -124,6 +135,18 @@ class CreditCardCallbackUseCaseImplTest {
                 throw new RuntimeException(e);
             }
         }).when(retryService).executeWithRetrySyncVoid(any(), anyString(), any(), any());
+
+        lenient().when(retryService.executeWithRetryAsync(any(), anyString(), any(), any()))
+                .thenAnswer(invocation -> runAsync(invocation.getArgument(2)));
+    }
+
+    private static CompletableFuture<Void> runAsync(Runnable runnable) {
+        try {
+            runnable.run();
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
     }
 
     @Test
@@ -132,8 +155,8 @@ class CreditCardCallbackUseCaseImplTest {
         when(port.sendFindByIdentifier(eq("ORDER123"))).thenReturn(info);
         when(mapper.readValue(anyString(), eq(DataSingleDTO.class))).thenReturn(dataSingleDTO);
         when(apigeeHeaderService.generateHeaderApigee(any())).thenReturn(headersBuilder);
-        when(generateRedemptionsService.generateRequest(info)).thenReturn(mock(SapRedemptionsRequest.class));
-        when(generatePaymentsService.generateRequest(request, info)).thenReturn(mock(SapPaymentsRequest.class));
+        when(generateRedemptionsService.generateRequest(eq(info), any(JourneyContext.class))).thenReturn(mock(SapRedemptionsRequest.class));
+        when(generatePaymentsService.generateRequest(eq(request), eq(info), any(JourneyContext.class))).thenReturn(mock(SapPaymentsRequest.class));
         when(service.generateRequest(request)).thenReturn(mock(OmphubTransactionNotificationRequest.class));
 
         // When
@@ -146,7 +169,7 @@ class CreditCardCallbackUseCaseImplTest {
         verify(apigeeHeaderService).generateHeaderApigee(any());
         verify(redemptionsPort).send(any(), any(SapRedemptionsRequest.class), eq(headersBuilder));
         verify(paymentsPort).send(any(), any(SapPaymentsRequest.class), eq(headersBuilder));
-        verify(transactionsPort).send(any(), any(OmphubTransactionNotificationRequest.class), eq(headersBuilder));
+        verify(transactionsPort).send(any(), any(OmphubTransactionNotificationRequest.class), any(Headers.Builder.class));
     }
 
     @Test
@@ -283,27 +306,26 @@ class CreditCardCallbackUseCaseImplTest {
         BusinessException redemptionsException = new BusinessException(new RuntimeException("Redemptions port error"));
 
         // Configure retryService to throw exception when redemptions call fails
-        lenient().doAnswer(invocation -> {
+        lenient().when(retryService.executeWithRetryAsync(any(), anyString(), any(), any())).thenAnswer(invocation -> {
             String operationName = invocation.getArgument(1);
             if ("SAP Redemptions".equals(operationName)) {
-                throw redemptionsException;
+                return CompletableFuture.failedFuture(redemptionsException);
             }
-            Runnable runnable = invocation.getArgument(2);
-            runnable.run();
-            return null;
-        }).when(retryService).executeWithRetrySyncVoid(any(), anyString(), any(), any());
+            return runAsync(invocation.getArgument(2));
+        });
+        lenient().when(service.generateRequest(request)).thenReturn(mock(OmphubTransactionNotificationRequest.class));
 
         when(port.sendFindByIdentifier(eq("ORDER123"))).thenReturn(info);
         when(mapper.readValue(anyString(), eq(DataSingleDTO.class))).thenReturn(dataSingleDTO);
         when(apigeeHeaderService.generateHeaderApigee(any())).thenReturn(headersBuilder);
-        lenient().when(generateRedemptionsService.generateRequest(info)).thenReturn(mock(SapRedemptionsRequest.class));
+        lenient().when(generateRedemptionsService.generateRequest(eq(info), any(JourneyContext.class))).thenReturn(mock(SapRedemptionsRequest.class));
 
         // When & Then
         org.junit.jupiter.api.Assertions.assertThrows(BusinessException.class, () -> useCase.sendCallback(request));
 
         verify(port, times(2)).sendUpdate(any(InformationPaymentDTO.class));
         verify(paymentsPort, never()).send(any(), any(), any());
-        verify(transactionsPort, never()).send(any(), any(), any());
+        verify(transactionsPort).send(any(), any(OmphubTransactionNotificationRequest.class), any(Headers.Builder.class));
     }
 
     @Test
@@ -312,26 +334,92 @@ class CreditCardCallbackUseCaseImplTest {
         BusinessException paymentsException = new BusinessException(new RuntimeException("Payments port error"));
 
         // Configure retryService to throw exception when payments call fails
-        lenient().doAnswer(invocation -> {
+        lenient().when(retryService.executeWithRetryAsync(any(), anyString(), any(), any())).thenAnswer(invocation -> {
             String operationName = invocation.getArgument(1);
             if ("SAP Payments".equals(operationName)) {
-                throw paymentsException;
+                return CompletableFuture.failedFuture(paymentsException);
             }
-            Runnable runnable = invocation.getArgument(2);
-            runnable.run();
-            return null;
-        }).when(retryService).executeWithRetrySyncVoid(any(), anyString(), any(), any());
+            return runAsync(invocation.getArgument(2));
+        });
+        lenient().when(service.generateRequest(request)).thenReturn(mock(OmphubTransactionNotificationRequest.class));
 
         when(port.sendFindByIdentifier(eq("ORDER123"))).thenReturn(info);
         when(mapper.readValue(anyString(), eq(DataSingleDTO.class))).thenReturn(dataSingleDTO);
         when(apigeeHeaderService.generateHeaderApigee(any())).thenReturn(headersBuilder);
-        lenient().when(generateRedemptionsService.generateRequest(info)).thenReturn(mock(SapRedemptionsRequest.class));
-        lenient().when(generatePaymentsService.generateRequest(request, info)).thenReturn(mock(SapPaymentsRequest.class));
+        lenient().when(generateRedemptionsService.generateRequest(eq(info), any(JourneyContext.class))).thenReturn(mock(SapRedemptionsRequest.class));
+        lenient().when(generatePaymentsService.generateRequest(eq(request), eq(info), any(JourneyContext.class))).thenReturn(mock(SapPaymentsRequest.class));
 
         // When & Then
         org.junit.jupiter.api.Assertions.assertThrows(BusinessException.class, () -> useCase.sendCallback(request));
 
         verify(port, times(2)).sendUpdate(any(InformationPaymentDTO.class));
+        verify(transactionsPort).send(any(), any(OmphubTransactionNotificationRequest.class), any(Headers.Builder.class));
+    }
+
+    @Test
+    void sendCallback_WithValidOrderIdAndSalesOrderId_ShouldProcessCompleteFlow_ViaParsedCallback() throws Exception {
+        // Given
+        when(port.sendFindByIdentifier(eq("ORDER123"))).thenReturn(info);
+        when(mapper.readValue(anyString(), eq(DataSingleDTO.class))).thenReturn(dataSingleDTO);
+        when(apigeeHeaderService.generateHeaderApigee(any())).thenReturn(headersBuilder);
+        when(generateRedemptionsService.generateRequest(eq(info), any(JourneyContext.class))).thenReturn(mock(SapRedemptionsRequest.class));
+        when(generatePaymentsService.generateRequest(eq(request), eq(info), any(JourneyContext.class))).thenReturn(mock(SapPaymentsRequest.class));
+        when(service.generateRequest(request)).thenReturn(mock(OmphubTransactionNotificationRequest.class));
+
+        // When
+        useCase.sendCallback(ParsedCallback.builder()
+                .type(CallbackType.CREDIT_CARD)
+                .payload(request)
+                .build());
+
+        // Then
+        verify(port).sendUpdate(any(InformationPaymentDTO.class));
+        verify(port).sendFindByIdentifier(eq("ORDER123"));
+        verify(mapper).readValue(anyString(), eq(DataSingleDTO.class));
+        verify(apigeeHeaderService).generateHeaderApigee(any());
+        verify(redemptionsPort).send(any(), any(SapRedemptionsRequest.class), eq(headersBuilder));
+        verify(paymentsPort).send(any(), any(SapPaymentsRequest.class), eq(headersBuilder));
+        verify(transactionsPort).send(any(), any(OmphubTransactionNotificationRequest.class), any(Headers.Builder.class));
+    }
+
+    @Test
+    void sendCallback_WithSapAndChannelStages_ShouldGiveChannelItsOwnHeadersBuilder() throws Exception {
+        // Given
+        when(port.sendFindByIdentifier(eq("ORDER123"))).thenReturn(info);
+        when(mapper.readValue(anyString(), eq(DataSingleDTO.class))).thenReturn(dataSingleDTO);
+        when(apigeeHeaderService.generateHeaderApigee(any())).thenReturn(headersBuilder.add("Authorization", "Bearer token"));
+        when(generateRedemptionsService.generateRequest(eq(info), any(JourneyContext.class))).thenReturn(mock(SapRedemptionsRequest.class));
+        when(generatePaymentsService.generateRequest(eq(request), eq(info), any(JourneyContext.class))).thenReturn(mock(SapPaymentsRequest.class));
+        when(service.generateRequest(request)).thenReturn(mock(OmphubTransactionNotificationRequest.class));
+        ArgumentCaptor<Headers.Builder> channelBuilder = ArgumentCaptor.forClass(Headers.Builder.class);
+
+        // When
+        useCase.sendCallback(request);
+
+        // Then
+        verify(transactionsPort).send(any(), any(OmphubTransactionNotificationRequest.class), channelBuilder.capture());
+        assertNotSame(headersBuilder, channelBuilder.getValue());
+        assertEquals("Bearer token", channelBuilder.getValue().get("Authorization"));
+    }
+
+    @Test
+    void sendCallback_WithSequentialStagesAndRedemptionsFailure_ShouldSkipChannelNotification() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(useCase, "parallelStages", false);
+        BusinessException redemptionsException = new BusinessException(new RuntimeException("Redemptions port error"));
+        when(retryService.executeWithRetryAsync(any(), eq("SAP Redemptions"), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(redemptionsException));
+
+        when(port.sendFindByIdentifier(eq("ORDER123"))).thenReturn(info);
+        when(mapper.readValue(anyString(), eq(DataSingleDTO.class))).thenReturn(dataSingleDTO);
+        when(apigeeHeaderService.generateHeaderApigee(any())).thenReturn(headersBuilder);
+
+        // When & Then
+        BusinessException thrown = assertThrows(BusinessException.class, () -> useCase.sendCallback(request));
+
+        assertSame(redemptionsException, thrown);
+        verify(port, times(2)).sendUpdate(any(InformationPaymentDTO.class));
+        verify(paymentsPort, never()).send(any(), any(), any());
         verify(transactionsPort, never()).send(any(), any(), any());
     }
 }
@@ -1,6 +1,9 @@
 package com.omp.hub.callback.application.usecase.callback.impl;
 
+import com.omp.hub.callback.domain.enums.CallbackType;
+import com.omp.hub.callback.domain.model.dto.callback.ParsedCallback;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,13 +15,17 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import com.omp.hub.callback.application.service.NotificationOutboxDispatcher;
 import com.omp.hub.callback.application.utils.apigee.ApigeeHeaderService;
 import com.omp.hub.callback.domain.enums.PixAutomaticoEventEnum;
 import com.omp.hub.callback.domain.exceptions.BusinessException;
@@ -232,6 +239,77 @@ class PixCallbackUseCaseImplTest {
                 .processPixAutomaticoNotification(any(), eq("pix-tx-123"), eq(PixAutomaticoEventEnum.PAGAMENTO));
     }
 
+    @Test
+    void sendCallback_WithOverlappingCallbacks_ShouldKeepEachTxId() {
+        // Given
+        PixCallbackRequest other = new PixCallbackRequest();
+        other.setTxId("pix-tx-456");
+        other.setService("gevenue");
+        AtomicBoolean overlapped = new AtomicBoolean();
+        when(pixEventMappingService.isPixAutomaticoEvent(anyString(), anyString())).thenReturn(true);
+        when(pixEventMappingService.mapPaymentTypeToEvent(anyString(), anyString()))
+                .thenReturn(PixAutomaticoEventEnum.PAGAMENTO);
+        when(notificationManagerService.processPixAutomaticoNotification(any(), anyString(), any())).thenReturn(true);
+        when(service.generateRequest(any())).thenReturn(mockNotificationRequest);
+        when(apigeeHeaderService.generateHeaderApigee(any(UUID.class))).thenReturn(mockHeadersBuilder);
+        // Outro callback chega enquanto o primeiro ainda envia a notificacao HUB
+        doAnswer(invocation -> {
+            if (overlapped.compareAndSet(false, true)) {
+                useCase.sendCallback(other);
+            }
+            return null;
+        }).when(transactionsPort).send(any(), any(), any());
+
+        // When
+        useCase.sendCallback(request);
+
+        // Then
+        verify(notificationManagerService, times(1))
+                .processPixAutomaticoNotification(any(), eq("pix-tx-123"), eq(PixAutomaticoEventEnum.PAGAMENTO));
+        verify(notificationManagerService, never()).processPixAutomaticoNotification(any(), eq("pix-tx-456"), any());
+    }
+
+    @Test
+    void sendCallback_WithPixAutomaticoAndOutboxAccepting_ShouldNotNotifyInline() {
+        // Given
+        NotificationOutboxDispatcher notificationOutbox = mock(NotificationOutboxDispatcher.class);
+        ReflectionTestUtils.setField(useCase, "notificationOutbox", notificationOutbox);
+        when(pixEventMappingService.isPixAutomaticoEvent(anyString(), anyString())).thenReturn(true);
+        when(pixEventMappingService.mapPaymentTypeToEvent(anyString(), anyString()))
+                .thenReturn(PixAutomaticoEventEnum.PAGAMENTO);
+        when(notificationOutbox.submit(any(), eq("pix-tx-123"), eq(PixAutomaticoEventEnum.PAGAMENTO))).thenReturn(true);
+        when(service.generateRequest(any())).thenReturn(mockNotificationRequest);
+        when(apigeeHeaderService.generateHeaderApigee(any(UUID.class))).thenReturn(mockHeadersBuilder);
+
+        // When
+        useCase.sendCallback(request);
+
+        // Then
+        verify(notificationOutbox).submit(any(UUID.class), eq("pix-tx-123"), eq(PixAutomaticoEventEnum.PAGAMENTO));
+        verify(notificationManagerService, never()).processPixAutomaticoNotification(any(), anyString(), any());
+    }
+
+    @Test
+    void sendCallback_WithPixAutomaticoAndOutboxRejecting_ShouldNotifyInline() {
+        // Given
+        NotificationOutboxDispatcher notificationOutbox = mock(NotificationOutboxDispatcher.class);
+        ReflectionTestUtils.setField(useCase, "notificationOutbox", notificationOutbox);
+        when(pixEventMappingService.isPixAutomaticoEvent(anyString(), anyString())).thenReturn(true);
+        when(pixEventMappingService.mapPaymentTypeToEvent(anyString(), anyString()))
+                .thenReturn(PixAutomaticoEventEnum.PAGAMENTO);
+        when(notificationOutbox.submit(any(), anyString(), any())).thenReturn(false);
+        when(notificationManagerService.processPixAutomaticoNotification(any(), anyString(), any())).thenReturn(true);
+        when(service.generateRequest(any())).thenReturn(mockNotificationRequest);
+        when(apigeeHeaderService.generateHeaderApigee(any(UUID.class))).thenReturn(mockHeadersBuilder);
+
+        // When
+        useCase.sendCallback(request);
+
+        // Then
+        verify(notificationManagerService, times(1))
+                .processPixAutomaticoNotification(any(), eq("pix-tx-123"), eq(PixAutomaticoEventEnum.PAGAMENTO));
+    }
+
     @Test
     void sendCallback_WithPixAutomaticoAndCriteriosNotMet_ShouldLogNotSent() {
         // Given
@@ -281,4 +359,17 @@ class PixCallbackUseCaseImplTest {
         // Then
         verify(port, times(1)).sendUpdate(any());
     }
+
+    @Test
+    void sendCallback_WithValidTxIdAndNoPixAutomatico_ShouldOnlySendHubNotification_ViaParsedCallback() {
+        // Given
+        when(pixEventMappingService.isPixAutomaticoEvent(anyString(), anyString())).thenReturn(false);
+        when(service.generateRequest(any())).thenReturn(mockNotificationRequest);
+        when(apigeeHeaderService.generateHeaderApigee(any(UUID.class))).thenReturn(mockHeadersBuilder);
+
+        Assertions.assertDoesNotThrow(() -> useCase.sendCallback(ParsedCallback.builder()
+                .type(CallbackType.PIX)
+                .payload(request)
+                .build()));
+    }
 }
@@ -1,5 +1,7 @@
 package com.omp.hub.callback.application.usecase.callback.impl;
 
+import com.omp.hub.callback.domain.enums.CallbackType;
+import com.omp.hub.callback.domain.model.dto.callback.ParsedCallback;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.omp.hub.callback.application.service.SapIntegrationService;
@@ -29,6 +31,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -36,7 +39,6 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.nullable;
-import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -103,6 +105,15 @@ class TefWebCallbackUseCaseImplTest {
 
         mockHeadersBuilder = new Headers.Builder();
 
+        lenient().when(sapIntegrationService.sendToSapRedemptionsAsync(any(), any(), any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        lenient().when(sapIntegrationService.sendToSapPaymentsAsync(any(), any(), any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        lenient().when(sapIntegrationService.sendToSapBillingPaymentsAsync(any(), any(), any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        lenient().when(sapIntegrationService.sendChannelNotificationAsync(any(), any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
         lenient().when(sapIntegrationService.extractBaseTransactionOrderId(anyString()))
                 .thenAnswer(invocation -> {
                     String id = invocation.getArgument(0);
@@ -177,7 +188,7 @@ class TefWebCallbackUseCaseImplTest {
         useCase.sendCallback(request);
 
         // Then
-        verify(sapIntegrationService).sendChannelNotification(any(UUID.class), eq(request), eq(mockHeadersBuilder), any());
+        verify(sapIntegrationService).sendChannelNotificationAsync(any(UUID.class), eq(request), any(Headers.Builder.class), any());
     }
 
     @Test
@@ -194,9 +205,10 @@ class TefWebCallbackUseCaseImplTest {
         useCase.sendCallback(request);
 
         // Then
-        verify(sapIntegrationService).sendToSapRedemptionsAndPayments(any(UUID.class), eq(request), eq(informationPaymentDTO), eq(mockHeadersBuilder), any(DataSingleDTO.class));
-        verify(sapIntegrationService).sendChannelNotification(any(UUID.class), eq(request), eq(mockHeadersBuilder), any());
-        verify(port, times(2)).sendUpdate(any(InformationPaymentDTO.class));
+        verify(sapIntegrationService).sendToSapRedemptionsAsync(any(UUID.class), eq(request), eq(informationPaymentDTO), eq(mockHeadersBuilder), any(DataSingleDTO.class));
+        verify(sapIntegrationService).sendToSapPaymentsAsync(any(UUID.class), eq(request), eq(informationPaymentDTO), eq(mockHeadersBuilder), any(DataSingleDTO.class));
+        verify(sapIntegrationService).sendChannelNotificationAsync(any(UUID.class), eq(request), any(Headers.Builder.class), any());
+        verify(port).sendUpdate(any(InformationPaymentDTO.class));
     }
 
     @Test
@@ -226,9 +238,9 @@ class TefWebCallbackUseCaseImplTest {
         useCase.sendCallback(request);
 
         // Then
-        verify(sapIntegrationService).sendToSapBillingPayments(any(UUID.class), eq(request), eq(informationPaymentDTO), eq(mockHeadersBuilder), any(DataSingleDTO.class));
-        verify(sapIntegrationService).sendChannelNotification(any(UUID.class), eq(request), eq(mockHeadersBuilder), any());
-        verify(port, times(2)).sendUpdate(any(InformationPaymentDTO.class));
+        verify(sapIntegrationService).sendToSapBillingPaymentsAsync(any(UUID.class), eq(request), eq(informationPaymentDTO), eq(mockHeadersBuilder), any(DataSingleDTO.class));
+        verify(sapIntegrationService).sendChannelNotificationAsync(any(UUID.class), eq(request), any(Headers.Builder.class), any());
+        verify(port).sendUpdate(any(InformationPaymentDTO.class));
     }
 
     @Test
@@ -256,7 +268,8 @@ class TefWebCallbackUseCaseImplTest {
         useCase.sendCallback(request);
 
         // Then
-        verify(sapIntegrationService).sendChannelNotification(any(UUID.class), eq(request), eq(mockHeadersBuilder), any());
+        verify(sapIntegrationService).sendChannelNotificationAsync(any(UUID.class), eq(request), any(Headers.Builder.class), any());
+        verify(sapIntegrationService, never()).sendToSapBillingPaymentsAsync(any(), any(), any(), any(), any());
         verify(port).sendUpdate(any(InformationPaymentDTO.class));
     }
 
@@ -293,11 +306,14 @@ class TefWebCallbackUseCaseImplTest {
         when(apigeeHeaderService.generateHeaderApigee(any(UUID.class))).thenReturn(mockHeadersBuilder);
         when(sapIntegrationService.hasSalesOrderId(any(DataSingleDTO.class), anyString())).thenReturn(true);
 
-        doThrow(businessException).when(sapIntegrationService).sendToSapRedemptionsAndPayments(any(UUID.class), eq(request), eq(informationPaymentDTO), eq(mockHeadersBuilder), any(DataSingleDTO.class));
+        when(sapIntegrationService.sendToSapRedemptionsAsync(any(UUID.class), eq(request), eq(informationPaymentDTO), eq(mockHeadersBuilder), any(DataSingleDTO.class)))
+                .thenReturn(CompletableFuture.failedFuture(businessException));
 
         // When & Then
         assertThrows(BusinessException.class, () -> useCase.sendCallback(request));
         verify(port).sendUpdate(any(InformationPaymentDTO.class));
+        verify(sapIntegrationService, never()).sendToSapPaymentsAsync(any(), any(), any(), any(), any());
+        verify(sapIntegrationService).sendChannelNotificationAsync(any(UUID.class), eq(request), any(Headers.Builder.class), any());
     }
 
     @Test
@@ -336,9 +352,10 @@ class TefWebCallbackUseCaseImplTest {
         // Then
         verify(sapIntegrationService).extractBaseTransactionOrderId(anyString());
         verify(sapIntegrationService).shouldSendToSap(any(InformationPaymentDTO.class), eq(PaymentTypeEnum.TEFWEB));
-        verify(sapIntegrationService).sendToSapRedemptionsAndPayments(any(UUID.class), eq(request), any(InformationPaymentDTO.class), eq(mockHeadersBuilder), any(DataSingleDTO.class));
+        verify(sapIntegrationService).sendToSapRedemptionsAsync(any(UUID.class), eq(request), any(InformationPaymentDTO.class), eq(mockHeadersBuilder), any(DataSingleDTO.class));
+        verify(sapIntegrationService).sendToSapPaymentsAsync(any(UUID.class), eq(request), any(InformationPaymentDTO.class), eq(mockHeadersBuilder), any(DataSingleDTO.class));
 //        verify(sapIntegrationService).sendChannelNotification(mockUuid, request, mockHeadersBuilder, any());
-        verify(port, times(2)).sendUpdate(any(InformationPaymentDTO.class));
+        verify(port).sendUpdate(any(InformationPaymentDTO.class));
     }
 
     @Test
@@ -361,7 +378,38 @@ class TefWebCallbackUseCaseImplTest {
         // Then
         verify(sapIntegrationService).extractBaseTransactionOrderId(anyString());
         verify(sapIntegrationService).shouldSendToSap(informationPaymentDTO, PaymentTypeEnum.TEFWEB);
-        verify(sapIntegrationService, never()).sendToSapRedemptionsAndPayments(any(), any(), any(), any(), any());
+        verify(sapIntegrationService, never()).sendToSapRedemptionsAsync(any(), any(), any(), any(), any());
 //        verify(sapIntegrationService).sendChannelNotification(mockUuid, request, mockHeadersBuilder, any());
     }
+
+    @Test
+    void sendCallback_WithValidOrderNumberAndSalesOrderId_ShouldProcessAllSteps_ViaParsedCallback() throws Exception {
+        // Given
+        ProductDTO product = new ProductDTO();
+        product.setCode("T30");
+
+        ComplementaryDataDTO complementaryData = new ComplementaryDataDTO();
+        complementaryData.setProducts(Collections.singletonList(product));
+
+        FraudAnalysisDataDTO fraudAnalysisData = new FraudAnalysisDataDTO();
+        fraudAnalysisData.setComplementaryData(complementaryData);
+
+        dataSingleDTO.setFraudAnalysisData(fraudAnalysisData);
+
+        when(port.sendFindByIdentifier(anyString())).thenReturn(informationPaymentDTO);
+        when(mapper.readValue(nullable(String.class), eq(DataSingleDTO.class))).thenReturn(dataSingleDTO);
+        when(mapper.writeValueAsString(any())).thenReturn("{}");
+        when(apigeeHeaderService.generateHeaderApigee(any(UUID.class))).thenReturn(mockHeadersBuilder);
+
+        // When
+        useCase.sendCallback(ParsedCallback.builder()
+                .type(CallbackType.TEF_WEB)
+                .payload(request)
+                .build());
+
+        // Then
+        verify(mapper).readValue(anyString(), eq(DataSingleDTO.class));
+        verify(apigeeHeaderService).generateHeaderApigee(mockUuid);
+        verify(port).sendUpdate(any(InformationPaymentDTO.class));
+    }
 }
@@ -1,5 +1,8 @@
 package com.omp.hub.callback.application.usecase.callback.impl;
 
+import com.omp.hub.callback.domain.enums.CallbackType;
+import com.omp.hub.callback.domain.model.dto.callback.ParsedCallback;
+import com.omp.hub.callback.application.service.NotificationOutboxDispatcher;
 import com.omp.hub.callback.application.service.RetryService;
 import com.omp.hub.callback.application.utils.apigee.ApigeeHeaderService;
 import com.omp.hub.callback.domain.enums.PixAutomaticoEventEnum;
@@ -19,6 +22,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -116,6 +120,46 @@ class TransactionsCallbackUseCaseImplTest {
         verify(port).sendUpdate(any(InformationPaymentDTO.class));
     }
 
+    @Test
+    void sendCallback_WithEligibleNotificationAndOutboxAccepting_ShouldNotNotifyInline() {
+        // Given
+        NotificationOutboxDispatcher notificationOutbox = mock(NotificationOutboxDispatcher.class);
+        ReflectionTestUtils.setField(useCase, "notificationOutbox", notificationOutbox);
+        when(pixEventMappingService.shouldNotify(eq("tx-123"), eq("PAYMENT"))).thenReturn(true);
+        when(pixEventMappingService.mapEventTypeToEnum(eq("tx-123"), eq("PAYMENT"), isNull(), isNull(), isNull()))
+                .thenReturn(PixAutomaticoEventEnum.PAGAMENTO);
+        when(notificationOutbox.submit(any(UUID.class), eq("tx-123"), eq(PixAutomaticoEventEnum.PAGAMENTO))).thenReturn(true);
+        when(service.generateRequest(any())).thenReturn(mockNotificationRequest);
+        when(apigeeHeaderService.generateHeaderApigee(any(UUID.class))).thenReturn(mockHeadersBuilder);
+
+        // When
+        useCase.sendCallback(request);
+
+        // Then
+        verify(notificationOutbox).submit(any(UUID.class), eq("tx-123"), eq(PixAutomaticoEventEnum.PAGAMENTO));
+        verify(notificationManagerService, never()).processPixAutomaticoNotification(any(), anyString(), any());
+        verify(transactionsPort).send(any(UUID.class), eq(mockNotificationRequest), eq(mockHeadersBuilder));
+    }
+
+    @Test
+    void sendCallback_WithEligibleNotificationAndOutboxRejecting_ShouldNotifyInline() {
+        // Given
+        NotificationOutboxDispatcher notificationOutbox = mock(NotificationOutboxDispatcher.class);
+        ReflectionTestUtils.setField(useCase, "notificationOutbox", notificationOutbox);
+        when(pixEventMappingService.shouldNotify(eq("tx-123"), eq("PAYMENT"))).thenReturn(true);
+        when(pixEventMappingService.mapEventTypeToEnum(eq("tx-123"), eq("PAYMENT"), isNull(), isNull(), isNull()))
+                .thenReturn(PixAutomaticoEventEnum.PAGAMENTO);
+        when(notificationOutbox.submit(any(UUID.class), anyString(), any())).thenReturn(false);
+        when(service.generateRequest(any())).thenReturn(mockNotificationRequest);
+        when(apigeeHeaderService.generateHeaderApigee(any(UUID.class))).thenReturn(mockHeadersBuilder);
+
+        // When
+        useCase.sendCallback(request);
+
+        // Then
+        verify(notificationManagerService).processPixAutomaticoNotification(any(UUID.class), eq("tx-123"), eq(PixAutomaticoEventEnum.PAGAMENTO));
+    }
+
     @Test
     void sendCallback_WithTxIdInOriginPaymentMethod_ShouldExtractTxIdCorrectly() {
         // Given
@@ -257,4 +301,24 @@ class TransactionsCallbackUseCaseImplTest {
         verify(pixEventMappingService).shouldNotify("tx-123", null);
         verify(transactionsPort).send(any(UUID.class), eq(mockNotificationRequest), eq(mockHeadersBuilder));
     }
+
+    @Test
+    void sendCallback_WithTxIdInEventAndNoNotification_ShouldSendTransactionOnly_ViaParsedCallback() {
+        // Given
+        when(pixEventMappingService.shouldNotify(anyString(), anyString())).thenReturn(false);
+        when(service.generateRequest(any())).thenReturn(mockNotificationRequest);
+        when(apigeeHeaderService.generateHeaderApigee(any(UUID.class))).thenReturn(mockHeadersBuilder);
+
+        // When
+        useCase.sendCallback(ParsedCallback.builder()
+                .type(CallbackType.TRANSACTIONS)
+                .payload(request)
+                .build());
+
+        // Then
+        verify(pixEventMappingService).shouldNotify("tx-123", "PAYMENT");
+        verify(notificationManagerService, never()).processPixAutomaticoNotification(any(), anyString(), any());
+        verify(transactionsPort).send(any(UUID.class), eq(mockNotificationRequest), eq(mockHeadersBuilder));
+        verify(port).sendUpdate(any(InformationPaymentDTO.class));
+    }
 }
@@ -8,6 +8,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.UUID;
 
@@ -23,6 +24,8 @@ class ApigeeHeaderServiceImplTest {
     @InjectMocks
     private ApigeeHeaderServiceImpl service;
 
+    private ApigeeTokenManager tokenManager;
+
     private UUID uuid;
     private ApigeeTokenDTO tokenDTO;
 
@@ -31,6 +34,9 @@ class ApigeeHeaderServiceImplTest {
         uuid = UUID.randomUUID();
         tokenDTO = new ApigeeTokenDTO();
         tokenDTO.setAccess_token("test-token-12345");
+
+        tokenManager = new ApigeeTokenManager(port, Runnable::run);
+        ReflectionTestUtils.setField(service, "tokenManager", tokenManager);
     }
 
     @Test
@@ -66,4 +72,21 @@ class ApigeeHeaderServiceImplTest {
         assertEquals("Bearer custom-access-token-xyz", headers.get("x-client-auth"));
         verify(port).getAccessToken(uuid);
     }
+
+    @Test
+    void generateHeaderApigee_WithCachedToken_ShouldNotRequestNewToken() {
+        // Given
+        tokenDTO.setExpires_in("3599");
+        when(port.getAccessToken(any(UUID.class))).thenReturn(tokenDTO);
+
+        // When
+        Headers first = service.generateHeaderApigee(uuid).build();
+        Headers second = service.generateHeaderApigee(UUID.randomUUID()).build();
+
+        // Then
+        assertEquals("Bearer test-token-12345", first.get("x-client-auth"));
+        assertEquals("Bearer test-token-12345", second.get("x-client-auth"));
+        verify(port, times(1)).getAccessToken(any(UUID.class));
+        assertEquals(1, tokenManager.getHitCount());
+    }
 }
@@ -0,0 +1,259 @@
+package com.omp.hub.callback.application.utils.apigee;
+
+import com.omp.hub.callback.application.utils.apigee.dto.ApigeeTokenDTO;
+import com.omp.hub.callback.domain.exceptions.BusinessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ApigeeTokenManagerTest {
+
+    @Mock
+    private AccessTokenPort port;
+
+    private ApigeeTokenManager manager;
+
+    private List<Runnable> backgroundTasks;
+
+    private Instant now;
+
+    @BeforeEach
+    void setUp() {
+        backgroundTasks = new ArrayList<>();
+        manager = new ApigeeTokenManager(port, backgroundTasks::add);
+        now = Instant.parse("2025-01-01T10:00:00Z");
+        useClock(now);
+        ReflectionTestUtils.setField(manager, "expirySkewSeconds", 30L);
+        ReflectionTestUtils.setField(manager, "refreshAheadSeconds", 120L);
+    }
+
+    private void useClock(Instant instant) {
+        ReflectionTestUtils.setField(manager, "clock", Clock.fixed(instant, ZoneOffset.UTC));
+    }
+
+    private ApigeeTokenDTO token(String value, String expiresIn) {
+        return ApigeeTokenDTO.builder().access_token(value).expires_in(expiresIn).build();
+    }
+
+    @Test
+    void getToken_WithinValidity_ShouldReuseCachedToken() {
+        // Given
+        when(port.getAccessToken(any(UUID.class))).thenReturn(token("token-1", "3600"));
+
+        // When
+        ApigeeTokenDTO first = manager.getToken(UUID.randomUUID());
+        useClock(now.plus(Duration.ofMinutes(30)));
+        ApigeeTokenDTO second = manager.getToken(UUID.randomUUID());
+
+        // Then
+        assertSame(first, second);
+        verify(port, times(1)).getAccessToken(any(UUID.class));
+        assertEquals(1, manager.getMissCount());
+        assertEquals(1, manager.getHitCount());
+        assertEquals(1, manager.getRefreshCount());
+        assertTrue(backgroundTasks.isEmpty());
+    }
+
+    @Test
+    void getToken_InsideRefreshWindow_ShouldReturnCurrentTokenAndRefreshInBackground() {
+        // Given
+        when(port.getAccessToken(any(UUID.class)))
+                .thenReturn(token("token-1", "3600"))
+                .thenReturn(token("token-2", "3600"));
+        manager.getToken(UUID.randomUUID());
+
+        // When - 3600s - 30s skew - 120s refresh ahead = 3450s
+        useClock(now.plusSeconds(3460));
+        ApigeeTokenDTO during = manager.getToken(UUID.randomUUID());
+        manager.getToken(UUID.randomUUID());
+
+        // Then
+        assertEquals("token-1", during.getAccess_token());
+        assertEquals(1, backgroundTasks.size());
+
+        backgroundTasks.get(0).run();
+        assertEquals("token-2", manager.getToken(UUID.randomUUID()).getAccess_token());
+        verify(port, times(2)).getAccessToken(any(UUID.class));
+    }
+
+    @Test
+    void getToken_AfterExpiry_ShouldFetchSynchronously() {
+        // Given
+        when(port.getAccessToken(any(UUID.class)))
+                .thenReturn(token("token-1", "3600"))
+                .thenReturn(token("token-2", "3600"));
+        manager.getToken(UUID.randomUUID());
+
+        // When
+        useClock(now.plusSeconds(3575));
+        ApigeeTokenDTO result = manager.getToken(UUID.randomUUID());
+
+        // Then
+        assertEquals("token-2", result.getAccess_token());
+        assertEquals(2, manager.getMissCount());
+        assertTrue(backgroundTasks.isEmpty());
+    }
+
+    @Test
+    void getToken_WithoutExpiresIn_ShouldNotCache() {
+        // Given
+        when(port.getAccessToken(any(UUID.class))).thenReturn(token("token-1", null));
+
+        // When
+        manager.getToken(UUID.randomUUID());
+        manager.getToken(UUID.randomUUID());
+
+        // Then
+        verify(port, times(2)).getAccessToken(any(UUID.class));
+        assertEquals(0, manager.getHitCount());
+    }
+
+    @Test
+    void getToken_WhenCacheDisabled_ShouldAlwaysCallPort() {
+        // Given
+        ReflectionTestUtils.setField(manager, "cacheEnabled", false);
+        when(port.getAccessToken(any(UUID.class))).thenReturn(token("token-1", "3600"));
+
+        // When
+        manager.getToken(UUID.randomUUID());
+        manager.getToken(UUID.randomUUID());
+
+        // Then
+        verify(port, times(2)).getAccessToken(any(UUID.class));
+    }
+
+    @Test
+    void getToken_WhenPortFails_ShouldPropagateBusinessException() {
+        // Given
+        BusinessException error = new BusinessException("Erro", "ERROR_BAD_GATEWAY", "detalhe", HttpStatus.BAD_GATEWAY);
+        when(port.getAccessToken(any(UUID.class))).thenThrow(error);
+
+        // When / Then
+        BusinessException thrown = assertThrows(BusinessException.class,
+                () -> manager.getToken(UUID.randomUUID()));
+        assertSame(error, thrown);
+        assertEquals(1, manager.getRefreshFailureCount());
+    }
+
+    @Test
+    void invalidate_WithCachedToken_ShouldForceNewFetch() {
+        // Given
+        when(port.getAccessToken(any(UUID.class))).thenReturn(token("token-1", "3600"));
+        manager.getToken(UUID.randomUUID());
+
+        // When
+        manager.invalidate("token-1");
+        manager.getToken(UUID.randomUUID());
+
+        // Then
+        verify(port, times(2)).getAccessToken(any(UUID.class));
+    }
+
+    @Test
+    void invalidate_WithAlreadyRenewedToken_ShouldKeepCurrentToken() {
+        // Given
+        when(port.getAccessToken(any(UUID.class))).thenReturn(token("token-2", "3600"));
+        manager.getToken(UUID.randomUUID());
+
+        // When
+        manager.invalidate("token-1");
+        ApigeeTokenDTO result = manager.getToken(UUID.randomUUID());
+
+        // Then
+        assertEquals("token-2", result.getAccess_token());
+        verify(port, times(1)).getAccessToken(any(UUID.class));
+    }
+
+    @Test
+    void getToken_WhenBackgroundRefreshIsRejected_ShouldFailPendingRefreshInsteadOfCancelling() {
+        // Given
+        List<CompletableFuture<?>> pending = new ArrayList<>();
+        RejectedExecutionException rejected = new RejectedExecutionException("fila cheia");
+        manager = new ApigeeTokenManager(port, task -> {
+            // Guarda o refresh que estava publicado para quem chamasse awaitRefresh
+            pending.add(inFlight().get());
+            throw rejected;
+        });
+        useClock(now);
+        when(port.getAccessToken(any(UUID.class))).thenReturn(token("token-1", "3600"));
+        manager.getToken(UUID.randomUUID());
+        useClock(now.plus(Duration.ofMinutes(58)));
+
+        // When
+        ApigeeTokenDTO result = manager.getToken(UUID.randomUUID());
+
+        // Then
+        assertEquals("token-1", result.getAccess_token());
+        CompletableFuture<?> refresh = pending.get(0);
+        assertTrue(refresh.isCompletedExceptionally());
+        assertFalse(refresh.isCancelled());
+        CompletionException thrown = assertThrows(CompletionException.class, refresh::join);
+        assertSame(rejected, thrown.getCause());
+        assertNull(inFlight().get());
+    }
+
+    @SuppressWarnings("unchecked")
+    private AtomicReference<CompletableFuture<?>> inFlight() {
+        return (AtomicReference<CompletableFuture<?>>) ReflectionTestUtils.getField(manager, "inFlight");
+    }
+
+    @Test
+    void getToken_ConcurrentCallersWithoutToken_ShouldShareSingleRefresh() throws Exception {
+        // Given
+        CountDownLatch portEntered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(port.getAccessToken(any(UUID.class))).thenAnswer(invocation -> {
+            portEntered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return token("token-1", "3600");
+        });
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<ApigeeTokenDTO>> futures = new ArrayList<>();
+            futures.add(pool.submit(() -> manager.getToken(UUID.randomUUID())));
+            assertTrue(portEntered.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 3; i++) {
+                futures.add(pool.submit(() -> manager.getToken(UUID.randomUUID())));
+            }
+
+            // When
+            Thread.sleep(100);
+            release.countDown();
+
+            // Then
+            for (Future<ApigeeTokenDTO> future : futures) {
+                assertEquals("token-1", future.get(5, TimeUnit.SECONDS).getAccess_token());
+            }
+            verify(port, times(1)).getAccessToken(any(UUID.class));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
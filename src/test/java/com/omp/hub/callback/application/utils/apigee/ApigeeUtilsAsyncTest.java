@@ -0,0 +1,198 @@
+package com.omp.hub.callback.application.utils.apigee;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omp.hub.callback.domain.exceptions.BusinessException;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+
+class ApigeeUtilsAsyncTest {
+
+    private MockWebServer server;
+    private OkHttpClient okHttpClient;
+    private ApigeeUtils apigeeUtils;
+    private UUID uuid;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        okHttpClient = new OkHttpClient();
+        apigeeUtils = new ApigeeUtils();
+        ReflectionTestUtils.setField(apigeeUtils, "mapper", new ObjectMapper());
+        ReflectionTestUtils.setField(apigeeUtils, "okHttpClient", okHttpClient);
+        ReflectionTestUtils.setField(apigeeUtils, "apigeeUrl", server.url("").toString());
+        uuid = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.shutdown();
+        okHttpClient.dispatcher().executorService().shutdown();
+        okHttpClient.connectionPool().evictAll();
+    }
+
+    @Test
+    void sendRequestToApigeeAsync_WithSuccess_ShouldCompleteWithBody() throws Exception {
+        // Given
+        server.enqueue(new MockResponse().setBody("{\"status\":\"ok\"}"));
+
+        // When
+        Map<?, ?> result = apigeeUtils.sendRequestToApigeeAsync(uuid, get("/sap"), "/sap", Map.class)
+                .get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertEquals("ok", result.get("status"));
+    }
+
+    @Test
+    void sendRequestToApigeeAsync_WithEmptyBody_ShouldCompleteWithNull() throws Exception {
+        // Given
+        server.enqueue(new MockResponse().setResponseCode(204));
+
+        // When
+        Map<?, ?> result = apigeeUtils.sendRequestToApigeeAsync(uuid, get("/sap"), "/sap", Map.class)
+                .get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertNull(result);
+    }
+
+    @Test
+    void sendRequestToApigeeAsync_WithApigeeError_ShouldMapToBusinessException() {
+        // Given
+        server.enqueue(new MockResponse().setResponseCode(400).setBody(
+                "{\"error\":{\"httpCode\":400,\"errorCode\":\"SAP-400\",\"message\":\"Pedido invalido\","
+                        + "\"detailedMessage\":\"Campo obrigatorio\"}}"));
+
+        // When
+        BusinessException error = failure(apigeeUtils.sendRequestToApigeeAsync(uuid, get("/sap"), "/sap", Map.class));
+
+        // Then
+        assertEquals(400, error.getError().getStatus());
+        assertEquals("SAP-400", error.getError().getErrorCode());
+    }
+
+    @Test
+    void sendRequestToApigeeAsync_WithErrorWithoutBody_ShouldMapStatus() {
+        // Given
+        server.enqueue(new MockResponse().setResponseCode(503));
+
+        // When
+        BusinessException error = failure(apigeeUtils.sendRequestToApigeeAsync(uuid, get("/sap"), "/sap", Map.class));
+
+        // Then
+        assertEquals(503, error.getError().getStatus());
+        assertEquals("ERROR_NO_BODY_RESPONSE", error.getError().getErrorCode());
+    }
+
+    @Test
+    void sendRequestToApigeeAsync_WithConnectionRefused_ShouldMapToBadGateway() throws Exception {
+        // Given
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+        Request request = new Request.Builder().url("http://localhost:" + closedPort + "/sap").build();
+
+        // When
+        BusinessException error = failure(apigeeUtils.sendRequestToApigeeAsync(uuid, request, "/sap", Map.class));
+
+        // Then
+        assertEquals(502, error.getError().getStatus());
+        assertEquals("ERROR_BAD_GATEWAY", error.getError().getErrorCode());
+    }
+
+    @Test
+    void sendRequestToApigeeAsync_WithPerCallTimeout_ShouldMapToRequestTimeout() {
+        // Given
+        server.enqueue(new MockResponse().setBody("{}").setHeadersDelay(2, TimeUnit.SECONDS));
+
+        // When
+        BusinessException error = failure(apigeeUtils.sendRequestToApigeeAsync(
+                uuid, get("/sap"), "/sap", Map.class, Duration.ofMillis(200)));
+
+        // Then
+        assertEquals(408, error.getError().getStatus());
+        assertEquals("ERROR_CONNECTION_TIMEOUT", error.getError().getErrorCode());
+    }
+
+    @Test
+    void sendRequestToApigeeAsync_WhenCancelled_ShouldCancelCall() throws Exception {
+        // Given
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE));
+        CompletableFuture<Map> future = apigeeUtils.sendRequestToApigeeAsync(uuid, get("/sap"), "/sap", Map.class);
+        server.takeRequest(5, TimeUnit.SECONDS);
+
+        // When
+        future.cancel(true);
+
+        // Then
+        long deadline = System.currentTimeMillis() + 5000;
+        while (okHttpClient.dispatcher().runningCallsCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, okHttpClient.dispatcher().runningCallsCount());
+    }
+
+    @Test
+    void sendRequestToApigee_ShouldReleaseConnectionForReuse() throws Exception {
+        // Given
+        server.enqueue(new MockResponse().setBody("{\"status\":\"ok\"}"));
+        server.enqueue(new MockResponse().setBody("{\"ignorado\":true}"));
+        server.enqueue(new MockResponse().setResponseCode(503).setBody("{}"));
+        server.enqueue(new MockResponse().setBody("{\"status\":\"ok\"}"));
+
+        // When
+        apigeeUtils.sendRequestToApigee(uuid, get("/sap"), "/sap", Map.class);
+        apigeeUtils.sendRequestToApigee(uuid, get("/notifications"), "/notifications", null);
+        assertThrows(BusinessException.class,
+                () -> apigeeUtils.sendRequestToApigee(uuid, get("/sap"), "/sap", Map.class));
+        apigeeUtils.sendRequestToApigeeAsync(uuid, get("/sap"), "/sap", Map.class).get(5, TimeUnit.SECONDS);
+
+        // Then
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i, server.takeRequest(5, TimeUnit.SECONDS).getSequenceNumber());
+        }
+        assertEquals(1, okHttpClient.connectionPool().connectionCount());
+    }
+
+    @Test
+    void sendRequestToApigeeAsync_WithNullRequest_ShouldCompleteWithNull() throws Exception {
+        // When / Then
+        assertNull(apigeeUtils.sendRequestToApigeeAsync(uuid, null, "/sap", Map.class).get());
+    }
+
+    private Request get(String path) {
+        return new Request.Builder().url(server.url(path)).get().build();
+    }
+
+    private static BusinessException failure(CompletableFuture<?> future) {
+        ExecutionException thrown = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertTrue(thrown.getCause() instanceof BusinessException, String.valueOf(thrown.getCause()));
+        return assertInstanceOf(BusinessException.class, thrown.getCause());
+    }
+}
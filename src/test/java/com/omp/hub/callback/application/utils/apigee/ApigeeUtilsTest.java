@@ -3,16 +3,19 @@ package com.omp.hub.callback.application.utils.apigee;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.omp.hub.callback.domain.exceptions.BusinessException;
+import com.omp.hub.callback.infrastructure.config.OkHttpClients;
 import okhttp3.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.springframework.beans.factory.ObjectProvider;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.ConnectException;
 import java.net.SocketTimeoutException;
 import java.util.UUID;
@@ -67,6 +70,25 @@ class ApigeeUtilsTest {
         verify(mapper, times(2)).writeValueAsString(testBody); // Chamado duas vezes: body + log
         }
 
+        @Test
+        void generateRequest_WithClientProfile_ShouldTagRequest() throws IOException {
+        // Given
+        GenerateRequestDTO<Object> dto = GenerateRequestDTO.builder()
+            .apiUrl("/test/endpoint")
+            .httpVerb("GET")
+            .client(OkHttpClients.SAP)
+            .headers(Headers.of("Accept", "application/json"))
+            .build();
+
+        when(mapper.writeValueAsString(null)).thenReturn("");
+
+        // When
+        Request result = apigeeUtils.generateRequest(uuid, dto);
+
+        // Then
+        assertEquals(OkHttpClients.SAP, result.tag(OkHttpClients.Profile.class).getName());
+        }
+
         @Test
         void generateRequest_WithGetMethod_ShouldCreateGetRequest() throws IOException {
         // Given
@@ -176,7 +198,7 @@ class ApigeeUtilsTest {
 
         when(okHttpClient.newCall(request)).thenReturn(call);
         when(call.execute()).thenReturn(response);
-        when(mapper.readValue(anyString(), eq(TestResponse.class)))
+        when(mapper.readValue(any(InputStream.class), eq(TestResponse.class)))
             .thenReturn(new TestResponse("success"));
 
         // When
@@ -434,6 +456,34 @@ class ApigeeUtilsTest {
     }
 
     // Métodos e classes auxiliares
+    @Test
+    @SuppressWarnings("unchecked")
+    void sendRequestToApigee_WithUnauthorizedResponse_ShouldInvalidateRejectedToken() throws IOException {
+        // Given
+        ApigeeTokenManager tokenManager = mock(ApigeeTokenManager.class);
+        ObjectProvider<ApigeeTokenManager> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(tokenManager);
+        ReflectionTestUtils.setField(apigeeUtils, "tokenManager", provider);
+        Request request = new Request.Builder().url("http://test.com")
+                .header("x-client-auth", "Bearer token-1")
+                .build();
+        Response response = new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(401)
+                .message("Unauthorized")
+                .body(ResponseBody.create("", MediaType.parse("application/json")))
+                .build();
+        Call call = mock(Call.class);
+        when(okHttpClient.newCall(request)).thenReturn(call);
+        when(call.execute()).thenReturn(response);
+
+        // When & Then
+        assertThrows(BusinessException.class,
+                () -> apigeeUtils.sendRequestToApigee(uuid, request, "http://test.com", TestResponse.class));
+        verify(tokenManager).invalidate("token-1");
+    }
+
     private Response createMockResponse(int code, String body) {
         ResponseBody responseBody = body != null ? ResponseBody.create(body, MediaType.parse("application/json")) : null;
         return new Response.Builder()
@@ -0,0 +1,145 @@
+package com.omp.hub.callback.application.utils.apigee;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.omp.hub.callback.domain.exceptions.BusinessException;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+class RequestUtilsAsyncTest {
+
+    private MockWebServer server;
+    private OkHttpClient okHttpClient;
+    private RequestUtils requestUtils;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        okHttpClient = new OkHttpClient();
+        requestUtils = new RequestUtils();
+        ReflectionTestUtils.setField(requestUtils, "mapper", new ObjectMapper().registerModule(new JavaTimeModule()));
+        ReflectionTestUtils.setField(requestUtils, "okHttpClient", okHttpClient);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.shutdown();
+        okHttpClient.dispatcher().executorService().shutdown();
+    }
+
+    @Test
+    void sendRequestAsync_WithSuccess_ShouldCompleteWithBody() throws Exception {
+        // Given
+        server.enqueue(new MockResponse().setBody("{\"identifier\":\"0012765016\"}"));
+        Request request = requestUtils.generateRequest(GenerateRequestDTO.builder()
+                .apiUrl(server.url("/information_payments").toString())
+                .httpVerb("PUT")
+                .body(Map.of("identifier", "0012765016"))
+                .build());
+
+        // When
+        Map<?, ?> result = requestUtils.sendRequestAsync(request, "/information_payments", Map.class)
+                .get(5, TimeUnit.SECONDS);
+
+        // Then
+        RecordedRequest recorded = server.takeRequest(5, TimeUnit.SECONDS);
+        assertEquals("PUT", recorded.getMethod());
+        assertEquals("0012765016", result.get("identifier"));
+    }
+
+    @Test
+    void sendRequestAsync_WithErrorResponse_ShouldMapToBusinessException() {
+        // Given
+        server.enqueue(new MockResponse().setResponseCode(404).setBody(
+                "{\"message\":\"Pagamento nao encontrado\",\"errorCode\":\"NOT_FOUND\",\"status\":404}"));
+
+        // When
+        BusinessException error = failure(requestUtils.sendRequestAsync(get("/information_payments/1"),
+                "/information_payments", Map.class));
+
+        // Then
+        assertEquals(404, error.getError().getStatus());
+        assertEquals("NOT_FOUND", error.getError().getErrorCode());
+    }
+
+    @Test
+    void sendRequest_ShouldReleaseConnectionForReuse() throws Exception {
+        // Given
+        server.enqueue(new MockResponse().setResponseCode(404).setBody(
+                "{\"message\":\"Pagamento nao encontrado\",\"errorCode\":\"NOT_FOUND\",\"status\":404}"));
+        server.enqueue(new MockResponse().setBody("{\"identifier\":\"0012765016\"}"));
+
+        // When
+        assertThrows(BusinessException.class,
+                () -> requestUtils.sendRequest(get("/information_payments/1"), "/information_payments", Map.class));
+        Map<?, ?> result = requestUtils.sendRequest(get("/information_payments/1"), "/information_payments", Map.class);
+
+        // Then
+        assertEquals("0012765016", result.get("identifier"));
+        assertEquals(0, server.takeRequest(5, TimeUnit.SECONDS).getSequenceNumber());
+        assertEquals(1, server.takeRequest(5, TimeUnit.SECONDS).getSequenceNumber());
+    }
+
+    @Test
+    void sendRequestAsync_WithPerCallTimeout_ShouldMapToRequestTimeout() {
+        // Given
+        server.enqueue(new MockResponse().setBody("{}").setBodyDelay(2, TimeUnit.SECONDS));
+
+        // When
+        BusinessException error = failure(requestUtils.sendRequestAsync(get("/information_payments/1"),
+                "/information_payments", Map.class, Duration.ofMillis(200)));
+
+        // Then
+        assertEquals(408, error.getError().getStatus());
+    }
+
+    @Test
+    void sendRequestAsync_ShouldRunIndependentCallsConcurrently() throws Exception {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            server.enqueue(new MockResponse().setBody("{}").setHeadersDelay(300, TimeUnit.MILLISECONDS));
+        }
+        long start = System.nanoTime();
+
+        // When
+        CompletableFuture.allOf(
+                requestUtils.sendRequestAsync(get("/a"), "/a", Map.class),
+                requestUtils.sendRequestAsync(get("/b"), "/b", Map.class),
+                requestUtils.sendRequestAsync(get("/c"), "/c", Map.class)).get(5, TimeUnit.SECONDS);
+
+        // Then
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertEquals(3, server.getRequestCount());
+        assertEquals(true, elapsedMillis < 850, "Chamadas executadas em serie: " + elapsedMillis + "ms");
+    }
+
+    private Request get(String path) {
+        return new Request.Builder().url(server.url(path)).get().build();
+    }
+
+    private static BusinessException failure(CompletableFuture<?> future) {
+        ExecutionException thrown = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        return assertInstanceOf(BusinessException.class, thrown.getCause());
+    }
+}
@@ -12,6 +12,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.ConnectException;
 import java.net.SocketTimeoutException;
 
@@ -236,9 +237,8 @@ class RequestUtilsTest {
         when(okHttpClient.newCall(request)).thenReturn(call);
         when(call.execute()).thenReturn(response);
         when(response.isSuccessful()).thenReturn(true);
-        when(response.body()).thenReturn(responseBody);
-        when(responseBody.string()).thenReturn("{\"message\":\"success\"}");
-        when(mapper.readValue(anyString(), eq(TestResponse.class))).thenReturn(new TestResponse("success"));
+        when(response.body()).thenReturn(ResponseBody.create("{\"message\":\"success\"}", null));
+        when(mapper.readValue(any(InputStream.class), eq(TestResponse.class))).thenReturn(new TestResponse("success"));
 
         // When
         TestResponse result = requestUtils.sendRequest(request, "http://test.com", TestResponse.class);
@@ -262,8 +262,7 @@ class RequestUtilsTest {
         when(okHttpClient.newCall(request)).thenReturn(call);
         when(call.execute()).thenReturn(response);
         when(response.isSuccessful()).thenReturn(true);
-        when(response.body()).thenReturn(responseBody);
-        when(responseBody.string()).thenReturn("");
+        when(response.body()).thenReturn(ResponseBody.create("", null));
 
         // When
         TestResponse result = requestUtils.sendRequest(request, "http://test.com", TestResponse.class);
@@ -0,0 +1,81 @@
+package com.omp.hub.callback.application.utils.apigee;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+class ResponseBodiesTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void read_WithJsonBody_ShouldDeserializeFromStream() throws IOException {
+        // Given
+        Response response = response("{\"status\":\"ok\"}");
+
+        // When
+        Map<?, ?> result = ResponseBodies.read(mapper, response, Map.class);
+
+        // Then
+        assertEquals("ok", result.get("status"));
+    }
+
+    @Test
+    void read_WithLeadingWhitespace_ShouldDeserialize() throws IOException {
+        // Given
+        Response response = response(" \n\t{\"status\":\"ok\"}");
+
+        // When
+        Map<?, ?> result = ResponseBodies.read(mapper, response, Map.class);
+
+        // Then
+        assertEquals("ok", result.get("status"));
+    }
+
+    @Test
+    void read_WithEmptyBody_ShouldReturnNull() throws IOException {
+        assertNull(ResponseBodies.read(mapper, response(""), Map.class));
+    }
+
+    @Test
+    void read_WithWhitespaceOnlyBody_ShouldReturnNull() throws IOException {
+        assertNull(ResponseBodies.read(mapper, response("  \r\n "), Map.class));
+    }
+
+    @Test
+    void read_WithNullBody_ShouldReturnNull() throws IOException {
+        assertNull(ResponseBodies.read(mapper, response(null), Map.class));
+    }
+
+    @Test
+    void string_WithNullBody_ShouldReturnEmpty() throws IOException {
+        assertEquals("", ResponseBodies.string(response(null)));
+    }
+
+    @Test
+    void string_WithBody_ShouldReturnContent() throws IOException {
+        assertEquals("{\"erro\":true}", ResponseBodies.string(response("{\"erro\":true}")));
+    }
+
+    private static Response response(String body) {
+        return new Response.Builder()
+                .request(new Request.Builder().url("http://test.com").build())
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK")
+                .body(body != null ? ResponseBody.create(body, MediaType.parse("application/json")) : null)
+                .build();
+    }
+}
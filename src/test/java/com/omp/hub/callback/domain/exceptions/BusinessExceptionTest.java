@@ -124,4 +124,23 @@ class BusinessExceptionTest {
         assertNotNull(exception.getError());
         assertEquals("NullPointerException", exception.getError().getDetails());
     }
+
+    @Test
+    void isUnprocessableEntity_With422Status_ShouldReturnTrue() {
+        // When
+        BusinessException exception = new BusinessException("Test message", "TEST_CODE", "Detailed description",
+                HttpStatus.UNPROCESSABLE_ENTITY);
+
+        // Then
+        assertTrue(exception.isUnprocessableEntity());
+    }
+
+    @Test
+    void isUnprocessableEntity_WithoutStatus_ShouldReturnFalse() {
+        // When
+        BusinessException exception = new BusinessException(ErrorResponse.builder().errorCode("TEST_CODE").build());
+
+        // Then
+        assertFalse(exception.isUnprocessableEntity());
+    }
 }
@@ -0,0 +1,160 @@
+package com.omp.hub.callback.domain.model.dto.journey;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omp.hub.callback.domain.model.dto.information.InformationPaymentDTO;
+import com.omp.hub.callback.domain.model.dto.information.PaymentDTO;
+import com.omp.hub.callback.domain.model.dto.journey.single.DataSingleDTO;
+import com.omp.hub.callback.domain.model.dto.journey.single.PaymentSingleDTO;
+
+class JourneyContextTest {
+
+    private static final String SINGLE_JSON = "{\"payment\":{\"salesOrderId\":\"SO123\"}}";
+    private static final String RECURRING_JSON = "{\"recurring\":{\"value\":10.00}}";
+
+    private ObjectMapper mapper;
+
+    @BeforeEach
+    void setUp() {
+        mapper = spy(new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false));
+    }
+
+    @Test
+    void getSingle_WithPlainJson_ShouldParse() throws Exception {
+        // Given
+        JourneyContext journey = JourneyContext.of(SINGLE_JSON, mapper);
+
+        // When
+        DataSingleDTO dto = journey.getSingle();
+
+        // Then
+        assertTrue(journey.isPresent());
+        assertEquals("SO123", dto.getPayment().getSalesOrderId());
+    }
+
+    @Test
+    void getSingle_WithDoubleEncodedJson_ShouldUnwrapAndParse() throws Exception {
+        // Given
+        String doubleEncoded = new ObjectMapper().writeValueAsString(SINGLE_JSON);
+        JourneyContext journey = JourneyContext.of(doubleEncoded, mapper);
+
+        // When
+        DataSingleDTO dto = journey.getSingle();
+
+        // Then
+        assertEquals(SINGLE_JSON, journey.getJson());
+        assertEquals("SO123", dto.getPayment().getSalesOrderId());
+    }
+
+    @Test
+    void getSingle_CalledTwice_ShouldParseOnce() throws Exception {
+        // Given
+        String doubleEncoded = new ObjectMapper().writeValueAsString(SINGLE_JSON);
+        JourneyContext journey = JourneyContext.of(doubleEncoded, mapper);
+
+        // When
+        DataSingleDTO first = journey.getSingle();
+        DataSingleDTO second = journey.getSingle();
+        journey.getRecurring();
+        journey.getRecurring();
+
+        // Then
+        assertSame(first, second);
+        verify(mapper, times(1)).readValue(anyString(), eq(String.class));
+        verify(mapper, times(1)).readValue(anyString(), eq(DataSingleDTO.class));
+    }
+
+    @Test
+    void of_WithNullOrBlank_ShouldBeAbsent() throws Exception {
+        // When
+        JourneyContext fromNull = JourneyContext.of((Object) null, mapper);
+        JourneyContext fromBlank = JourneyContext.of("   ", mapper);
+
+        // Then
+        assertFalse(fromNull.isPresent());
+        assertFalse(fromBlank.isPresent());
+        assertNull(fromBlank.getSingle());
+        assertNull(fromBlank.getRecurring());
+        assertFalse(fromBlank.isRecurring());
+    }
+
+    @Test
+    void from_ShouldUseFirstPaymentWithJourney() throws Exception {
+        // Given
+        InformationPaymentDTO info = InformationPaymentDTO.builder()
+                .payments(Arrays.asList(
+                        PaymentDTO.builder().build(),
+                        PaymentDTO.builder().journey(SINGLE_JSON).build()))
+                .build();
+
+        // When
+        JourneyContext journey = JourneyContext.from(info, mapper);
+
+        // Then
+        assertTrue(journey.isPresent());
+        assertEquals("SO123", journey.getSingle().getPayment().getSalesOrderId());
+    }
+
+    @Test
+    void from_WithoutPayments_ShouldBeAbsent() {
+        // When
+        JourneyContext journey = JourneyContext.from(InformationPaymentDTO.builder().build(), mapper);
+
+        // Then
+        assertFalse(journey.isPresent());
+    }
+
+    @Test
+    void isRecurring_ShouldDetectRecurringData() {
+        // When / Then
+        assertTrue(JourneyContext.of(RECURRING_JSON, mapper).isRecurring());
+        assertFalse(JourneyContext.of(SINGLE_JSON, mapper).isRecurring());
+    }
+
+    @Test
+    void of_WithParsedSingle_ShouldNotParseAgain() throws Exception {
+        // Given
+        DataSingleDTO dto = new DataSingleDTO();
+        dto.setPayment(PaymentSingleDTO.builder().salesOrderId("SO999").build());
+
+        // When
+        JourneyContext journey = JourneyContext.of(dto);
+
+        // Then
+        assertTrue(journey.isPresent());
+        assertSame(dto, journey.getSingle());
+        assertFalse(JourneyContext.of((DataSingleDTO) null).isPresent());
+    }
+
+    @Test
+    void getSingle_WithInvalidJson_ShouldRememberError() throws Exception {
+        // Given
+        JourneyContext journey = JourneyContext.of("{invalid", mapper);
+
+        // When
+        JsonProcessingException first = assertThrows(JsonProcessingException.class, journey::getSingle);
+        JsonProcessingException second = assertThrows(JsonProcessingException.class, journey::getSingle);
+
+        // Then
+        assertSame(first, second);
+        verify(mapper, times(1)).readValue(anyString(), eq(DataSingleDTO.class));
+    }
+}
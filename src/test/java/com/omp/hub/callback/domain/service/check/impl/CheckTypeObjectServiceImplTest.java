@@ -0,0 +1,107 @@
+package com.omp.hub.callback.domain.service.check.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omp.hub.callback.domain.enums.CallbackType;
+import com.omp.hub.callback.domain.model.dto.callback.creditcard.CreditCardCallbackRequest;
+import com.omp.hub.callback.domain.model.dto.callback.tefweb.TefWebCallbackRequest;
+
+class CheckTypeObjectServiceImplTest {
+
+    // Casa com TRANSACTIONS, CREDIT_CARD e PIX ao mesmo tempo
+    private static final String AMBIGUOUS = """
+            {"txId":"tx-1","payment":{"orderId":"o-1"},"event":{"type":"PAYMENT"}}
+            """;
+
+    private CheckTypeObjectServiceImpl service;
+    private ObjectMapper mapper;
+
+    @BeforeEach
+    void setUp() {
+        service = new CheckTypeObjectServiceImpl();
+        mapper = new ObjectMapper();
+    }
+
+    @Test
+    void detect_ShouldRespectEachPriorityOrder() throws Exception {
+        // Given
+        JsonNode tree = mapper.readTree(AMBIGUOUS);
+
+        // When / Then
+        assertEquals(CallbackType.PIX, service.detect(AMBIGUOUS, CallbackType.processingOrder()));
+        assertEquals(CallbackType.TRANSACTIONS, service.detect(AMBIGUOUS, CallbackType.detectionOrder()));
+        assertEquals(CallbackType.PIX, service.detect(tree, CallbackType.processingOrder()));
+        assertEquals(CallbackType.TRANSACTIONS, service.detect(tree, CallbackType.detectionOrder()));
+    }
+
+    @Test
+    void detect_ShouldFallBackToLowerPriorityWhenFirstIsIncomplete() {
+        // Given
+        String json = """
+                {"service":"TEFWEB","paymentType":"DEBIT","payment":{"x":1},"sales":[{"nsu":"1"}]}
+                """;
+
+        // When / Then
+        assertEquals(CallbackType.TEF_WEB, service.detect(json, CallbackType.detectionOrder()));
+        assertEquals(CallbackType.CREDIT_CARD, service.detect(json, CallbackType.processingOrder()));
+    }
+
+    @Test
+    void detect_ShouldIgnoreNullFieldsAndKeepLastDuplicate() {
+        // When / Then
+        assertNull(service.detect("{\"txId\":null,\"identifier\":null}", CallbackType.processingOrder()));
+        assertNull(service.detect("{\"payment\":{},\"payment\":null}", CallbackType.processingOrder()));
+        assertEquals(CallbackType.CREDIT_CARD,
+                service.detect("{\"payment\":null,\"payment\":{}}", CallbackType.processingOrder()));
+    }
+
+    @Test
+    void detect_ShouldOnlyConsiderTopLevelFields() {
+        // Given
+        String json = "{\"data\":{\"txId\":\"tx-1\",\"event\":{}},\"items\":[{\"payment\":{}}]}";
+
+        // When / Then
+        assertNull(service.detect(json, CallbackType.processingOrder()));
+        assertNull(service.detect("[{\"txId\":\"tx-1\"}]", CallbackType.processingOrder()));
+        assertNull(service.detect("\"txId\"", CallbackType.processingOrder()));
+    }
+
+    @Test
+    void detect_ShouldStopReadingOnceHighestPriorityMatches() {
+        // Given
+        String truncated = "{\"txId\":\"tx-1\",\"payment\":{\"orderId\":";
+
+        // When / Then
+        assertEquals(CallbackType.PIX, service.detect(truncated, CallbackType.processingOrder()));
+        assertNull(service.detect(truncated, CallbackType.detectionOrder()));
+    }
+
+    @Test
+    void detect_WithInvalidOrEmptyJson_ShouldReturnNull() {
+        // When / Then
+        assertNull(service.detect("{invalid json}", CallbackType.processingOrder()));
+        assertNull(service.detect("", CallbackType.processingOrder()));
+        assertNull(service.detect((String) null, CallbackType.processingOrder()));
+        assertNull(service.detect((JsonNode) null, CallbackType.processingOrder()));
+    }
+
+    @Test
+    void isValid_ShouldMatchSingleTypeRegardlessOfOtherFields() throws Exception {
+        // Given
+        JsonNode tree = mapper.readTree(AMBIGUOUS);
+
+        // When / Then
+        assertTrue(service.isValid(AMBIGUOUS, CreditCardCallbackRequest.class));
+        assertTrue(service.isValid(tree, CreditCardCallbackRequest.class));
+        assertFalse(service.isValid(AMBIGUOUS, TefWebCallbackRequest.class));
+        assertFalse(service.isValid(tree, String.class));
+    }
+}
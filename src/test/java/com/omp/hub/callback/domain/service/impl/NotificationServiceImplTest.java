@@ -24,6 +24,11 @@ import org.mockito.quality.Strictness;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -462,4 +467,68 @@ class NotificationServiceImplTest {
         assertDoesNotThrow(() -> service.sendPixAutomaticoNotificationWithCustomerData(
                 uuid, txId, PixAutomaticoEventEnum.OPTIN, name, msisdn, email));
     }
+
+    @Test
+    void sendPixAutomaticoNotification_WithExecutor_ShouldSendSmsAndEmailConcurrently() throws Exception {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        ReflectionTestUtils.setField(service, "notificationExecutor", executor);
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        when(communicationPort.sendMessage(any(UUID.class), any(CommunicationMessageRequest.class), any(Headers.Builder.class)))
+                .thenAnswer(invocation -> {
+                    bothStarted.countDown();
+                    // Um envio so termina quando o outro ja comecou
+                    assertTrue(bothStarted.await(5, TimeUnit.SECONDS));
+                    return CommunicationMessageResponse.builder().build();
+                });
+
+        try {
+            // When
+            service.sendPixAutomaticoNotificationWithCustomerData(uuid, txId, PixAutomaticoEventEnum.OPTIN, name, msisdn, email);
+
+            // Then
+            assertEquals(0, bothStarted.getCount());
+            verify(communicationPort, times(2)).sendMessage(any(UUID.class), any(CommunicationMessageRequest.class), any(Headers.Builder.class));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void sendPixAutomaticoNotification_WithBothChannels_ShouldFetchHeaderOnceAndCopyBuilderPerChannel() {
+        // Given
+        headersBuilder.add("Authorization", "Bearer token");
+        ArgumentCaptor<Headers.Builder> builderCaptor = ArgumentCaptor.forClass(Headers.Builder.class);
+        when(communicationPort.sendMessage(any(UUID.class), any(CommunicationMessageRequest.class), any(Headers.Builder.class)))
+                .thenReturn(CommunicationMessageResponse.builder().build());
+
+        // When
+        service.sendPixAutomaticoNotificationWithCustomerData(uuid, txId, PixAutomaticoEventEnum.OPTIN, name, msisdn, email);
+
+        // Then
+        verify(apigeeHeaderService, times(1)).generateHeaderApigee(uuid);
+        verify(communicationPort, times(2)).sendMessage(any(UUID.class), any(CommunicationMessageRequest.class), builderCaptor.capture());
+        Headers.Builder smsBuilder = builderCaptor.getAllValues().get(0);
+        Headers.Builder emailBuilder = builderCaptor.getAllValues().get(1);
+        assertNotSame(smsBuilder, emailBuilder);
+        assertEquals("Bearer token", smsBuilder.get("Authorization"));
+        assertEquals("Bearer token", emailBuilder.get("Authorization"));
+    }
+
+    @Test
+    void sendPixAutomaticoNotification_WithParallelDisabled_ShouldSendOnCallerThread() {
+        // Given
+        Executor executor = mock(Executor.class);
+        ReflectionTestUtils.setField(service, "notificationExecutor", executor);
+        ReflectionTestUtils.setField(service, "parallelChannels", false);
+        when(communicationPort.sendMessage(any(UUID.class), any(CommunicationMessageRequest.class), any(Headers.Builder.class)))
+                .thenReturn(CommunicationMessageResponse.builder().build());
+
+        // When
+        service.sendPixAutomaticoNotificationWithCustomerData(uuid, txId, PixAutomaticoEventEnum.OPTIN, name, msisdn, email);
+
+        // Then
+        verifyNoInteractions(executor);
+        verify(communicationPort, times(2)).sendMessage(any(UUID.class), any(CommunicationMessageRequest.class), any(Headers.Builder.class));
+    }
 }
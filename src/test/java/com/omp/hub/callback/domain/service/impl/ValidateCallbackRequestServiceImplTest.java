@@ -5,6 +5,8 @@ import com.omp.hub.callback.domain.model.dto.callback.creditcard.CreditCardCallb
 import com.omp.hub.callback.domain.model.dto.callback.pix.PixCallbackRequest;
 import com.omp.hub.callback.domain.model.dto.callback.tefweb.TefWebCallbackRequest;
 import com.omp.hub.callback.domain.model.dto.callback.transactions.TransactionsRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -116,4 +118,25 @@ class ValidateCallbackRequestServiceImplTest {
         Boolean result = service.isValid(json, TransactionsRequest.class);
         assertFalse(result);
     }
+
+    @Test
+    void isValid_WithJsonNode_ShouldApplySameRulesWithoutParsing() {
+        ObjectNode node = new ObjectMapper().createObjectNode();
+        node.put("service", "TEFWEB");
+        node.put("paymentType", "CREDITO");
+        node.putArray("sales");
+
+        assertTrue(service.isValid(node, TefWebCallbackRequest.class));
+        assertFalse(service.isValid(node, TransactionsRequest.class));
+        assertFalse(service.isValid(node, CreditCardCallbackRequest.class));
+        assertFalse(service.isValid(node, PixCallbackRequest.class));
+    }
+
+    @Test
+    void isValid_WithNullFieldInJsonNode_ShouldReturnFalse() {
+        ObjectNode node = new ObjectMapper().createObjectNode();
+        node.putNull("txId");
+
+        assertFalse(service.isValid(node, PixCallbackRequest.class));
+    }
 }
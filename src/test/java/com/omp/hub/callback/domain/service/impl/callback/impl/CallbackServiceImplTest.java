@@ -1,7 +1,11 @@
 package com.omp.hub.callback.domain.service.impl.callback.impl;
 
+import java.util.concurrent.CompletableFuture;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -24,7 +28,9 @@ import com.omp.hub.callback.application.usecase.callback.PixCallbackUseCase;
 import com.omp.hub.callback.application.usecase.callback.TefWebCallbackUseCase;
 import com.omp.hub.callback.application.usecase.callback.TransactionsCallbackUseCase;
 import com.omp.hub.callback.domain.exceptions.BusinessException;
+import com.omp.hub.callback.domain.enums.CallbackType;
 import com.omp.hub.callback.domain.model.dto.callback.CallbackRequest;
+import com.omp.hub.callback.domain.model.dto.callback.ParsedCallback;
 import com.omp.hub.callback.domain.model.dto.callback.creditcard.CreditCardCallbackRequest;
 import com.omp.hub.callback.domain.model.dto.callback.pix.PixCallbackRequest;
 import com.omp.hub.callback.domain.model.dto.callback.tefweb.TefWebCallbackRequest;
@@ -199,6 +205,57 @@ class CallbackServiceImplTest {
         assertEquals("Erro convert Json", exception.getError().getMessage());
     }
 
+    @Test
+    void processCallback_WithParsedPixCallback_ShouldDispatchWithoutParsingAgain() {
+        // Given
+        ParsedCallback parsed = ParsedCallback.builder()
+                .type(CallbackType.PIX)
+                .payload(new PixCallbackRequest())
+                .build();
+
+        // When
+        callbackService.processCallback(parsed);
+
+        // Then
+        verify(pixCallbackUseCase).sendCallback(parsed);
+        verifyNoInteractions(validateService, objectMapper, creditCardCallbackUseCase, tefwebCallbackUseCase,
+                transactionsCallbackUseCase);
+    }
+
+    @Test
+    void processCallback_WithParsedCallbacks_ShouldDispatchByResolvedType() {
+        // Given
+        ParsedCallback creditCard = ParsedCallback.builder().type(CallbackType.CREDIT_CARD).build();
+        ParsedCallback tefWeb = ParsedCallback.builder().type(CallbackType.TEF_WEB).build();
+        ParsedCallback transactions = ParsedCallback.builder().type(CallbackType.TRANSACTIONS).build();
+
+        // When
+        callbackService.processCallback(creditCard);
+        callbackService.processCallback(tefWeb);
+        callbackService.processCallback(transactions);
+
+        // Then
+        verify(creditCardCallbackUseCase).sendCallback(creditCard);
+        verify(tefwebCallbackUseCase).sendCallback(tefWeb);
+        verify(transactionsCallbackUseCase).sendCallback(transactions);
+        verifyNoInteractions(pixCallbackUseCase);
+    }
+
+    @Test
+    void processCallback_WithUnsupportedParsedCallback_ShouldThrowBusinessException() {
+        // Given
+        ParsedCallback parsed = ParsedCallback.builder().build();
+
+        // When & Then
+        BusinessException exception = assertThrows(BusinessException.class, () -> {
+            callbackService.processCallback(parsed);
+        });
+
+        assertEquals("INVALID_CALLBACK_TYPE", exception.getError().getErrorCode());
+        assertEquals(HttpStatus.BAD_REQUEST.value(), exception.getError().getStatus());
+        verifyNoInteractions(pixCallbackUseCase, creditCardCallbackUseCase, tefwebCallbackUseCase, transactionsCallbackUseCase);
+    }
+
     @Test
     void processCallbackAsync_WithValidCallbackRequest_ShouldSendToSqs() throws Exception {
         // Given
@@ -224,4 +281,31 @@ class CallbackServiceImplTest {
         assertEquals("ERROR_SEND_TO_QUEUE", exception.getError().getErrorCode());
         assertEquals("Erro ao enviar callback para fila", exception.getError().getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void processCallbackAsync_WithParsedCallback_ShouldSendToSqs() {
+        // Given
+        ParsedCallback parsedCallback = ParsedCallback.builder().type(CallbackType.PIX).build();
+
+        // When
+        CompletableFuture<Void> sent = callbackService.processCallbackAsync(parsedCallback);
+
+        // Then
+        assertTrue(sent.isDone());
+        assertFalse(sent.isCompletedExceptionally());
+        verify(sqsMessageRepository).sendMessage(parsedCallback);
+    }
+
+    @Test
+    void processCallbackAsync_WithParsedCallbackAndSqsFailure_ShouldThrowBusinessException() {
+        // Given
+        ParsedCallback parsedCallback = ParsedCallback.builder().type(CallbackType.PIX).build();
+        doThrow(new RuntimeException("SQS error")).when(sqsMessageRepository).sendMessage(any(ParsedCallback.class));
+
+        // When & Then
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> callbackService.processCallbackAsync(parsedCallback));
+
+        assertEquals("ERROR_SEND_TO_QUEUE", exception.getError().getErrorCode());
+    }
+}
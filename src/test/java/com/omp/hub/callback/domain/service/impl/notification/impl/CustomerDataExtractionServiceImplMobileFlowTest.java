@@ -6,6 +6,10 @@ import static org.mockito.Mockito.*;
 
 import java.util.Arrays;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,6 +17,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -119,6 +124,62 @@ class CustomerDataExtractionServiceImplTest {
         assertTrue(result.getCriteriosAtendidos()); // Flag deve ser true
     }
 
+    @Test
+    void testEnrichMobileCustomerData_WithExecutor_ShouldQueryBillingAndSubscribersConcurrently() {
+        // Arrange - cada consulta so responde depois que a outra ja comecou
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        ReflectionTestUtils.setField(service, "enrichmentExecutor", executor);
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        when(mobileBillingDetailsPort.getCustomerBillingDetailsByMobileBan(any(UUID.class), eq("146164452")))
+                .thenAnswer(invocation -> {
+                    bothStarted.countDown();
+                    assertTrue(bothStarted.await(5, TimeUnit.SECONDS));
+                    return createMockBillingResponse();
+                });
+        when(customerMobilePort.send(any(UUID.class), eq(document), eq("ATIVO")))
+                .thenAnswer(invocation -> {
+                    bothStarted.countDown();
+                    assertTrue(bothStarted.await(5, TimeUnit.SECONDS));
+                    return createMockSubscribersResponse();
+                });
+
+        try {
+            // Act
+            ExtractedCustomerDataDTO result = service.enrichCustomerData(uuid, customerData);
+
+            // Assert
+            assertEquals("teste@gmail.com", result.getEmail());
+            assertEquals("11992212346", result.getMsisdn());
+            assertTrue(result.getCriteriosAtendidos());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testEnrichMobileCustomerData_WithExecutorAndSubscribersFailure_ShouldKeepEmail() {
+        // Arrange
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        ReflectionTestUtils.setField(service, "enrichmentExecutor", executor);
+        when(mobileBillingDetailsPort.getCustomerBillingDetailsByMobileBan(any(UUID.class), eq("146164452")))
+                .thenReturn(createMockBillingResponse());
+        when(customerMobilePort.send(any(UUID.class), eq(document), eq("ATIVO")))
+                .thenThrow(new RuntimeException("Timeout"));
+
+        try {
+            // Act
+            ExtractedCustomerDataDTO result = service.enrichCustomerData(uuid, customerData);
+
+            // Assert
+            assertEquals("teste@gmail.com", result.getEmail());
+            assertNull(result.getMsisdn());
+            assertFalse(result.getCriteriosAtendidos());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     private MobileBillingDetailsResponse createMockBillingResponse() {
         MobileBillingDetailsCustomer customer = MobileBillingDetailsCustomer.builder()
                 .contactEmail("teste@gmail.com")
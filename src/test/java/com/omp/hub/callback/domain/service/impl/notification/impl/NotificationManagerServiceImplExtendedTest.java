@@ -15,6 +15,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -45,7 +46,8 @@ class NotificationManagerServiceImplExtendedTest {
     void setUp() {
         testUUID = UUID.randomUUID();
         testIdentifier = "TX_123456";
-        lenient().doNothing().when(notificationService).sendPixAutomaticoNotificationWithCustomerData(any(), any(), any(), any(), any(), any());
+        lenient().when(notificationService.sendPixAutomaticoNotificationWithCustomerData(any(), any(), any(), any(), any(), any()))
+                .thenReturn(Set.of());
     }
 
     @Test
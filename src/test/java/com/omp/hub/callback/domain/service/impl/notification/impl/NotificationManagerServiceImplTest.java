@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import java.util.Set;
 import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -13,8 +14,10 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.omp.hub.callback.domain.enums.NotificationChannelEnum;
 import com.omp.hub.callback.domain.enums.PixAutomaticoEventEnum;
 import com.omp.hub.callback.domain.model.dto.customer.ExtractedCustomerDataDTO;
+import com.omp.hub.callback.domain.model.dto.notification.NotificationOutcome;
 import com.omp.hub.callback.domain.service.impl.notification.CustomerDataExtractionService;
 import com.omp.hub.callback.domain.service.impl.notification.NotificationService;
 
@@ -157,4 +160,43 @@ class NotificationManagerServiceImplTest {
         verify(notificationService).sendPixAutomaticoNotificationWithCustomerData(
                 any(), any(), any(), any(), any(), any());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testDeliverPixAutomaticoNotification_ComCanalFalhando_ReturnFailedChannels() {
+        // Arrange
+        ExtractedCustomerDataDTO customerData = ExtractedCustomerDataDTO.builder()
+                .name("TESTE QA")
+                .cpf("12345678901")
+                .email("teste@gmail.com")
+                .msisdn("11992212346")
+                .build();
+        Set<NotificationChannelEnum> channels = Set.of(NotificationChannelEnum.SMS);
+
+        when(customerDataExtractionService.extractCustomerDataFromPaymentInfo(uuid, identifier))
+                .thenReturn(customerData);
+        when(customerDataExtractionService.enrichCustomerData(uuid, customerData))
+                .thenReturn(customerData);
+        when(notificationService.sendPixAutomaticoNotificationWithCustomerData(uuid, identifier, eventType,
+                "TESTE QA", "11992212346", "teste@gmail.com", channels))
+                .thenReturn(Set.of(NotificationChannelEnum.SMS));
+
+        // Act
+        NotificationOutcome outcome = service.deliverPixAutomaticoNotification(uuid, identifier, eventType, channels);
+
+        // Assert
+        assertTrue(outcome.isCriteriaMet());
+        assertEquals(Set.of(NotificationChannelEnum.SMS), outcome.getFailedChannels());
+    }
+
+    @Test
+    void testDeliverPixAutomaticoNotification_ExceptionOccurred_ShouldPropagate() {
+        // Arrange
+        when(customerDataExtractionService.extractCustomerDataFromPaymentInfo(uuid, identifier))
+                .thenThrow(new RuntimeException("timeout"));
+
+        // Act & Assert
+        assertThrows(RuntimeException.class,
+                () -> service.deliverPixAutomaticoNotification(uuid, identifier, eventType, null));
+        verifyNoInteractions(notificationService);
+    }
+}
@@ -1,6 +1,7 @@
 package com.omp.hub.callback.domain.service.impl.notification.impl;
 
 import com.omp.hub.callback.application.utils.apigee.ApigeeHeaderService;
+import com.omp.hub.callback.domain.enums.NotificationChannelEnum;
 import com.omp.hub.callback.domain.enums.PixAutomaticoEventEnum;
 import com.omp.hub.callback.domain.model.dto.communication.CommunicationMessageRequest;
 import com.omp.hub.callback.domain.model.dto.communication.CommunicationMessageResponse;
@@ -12,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -19,11 +21,13 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -172,4 +176,55 @@ class NotificationServiceImplAdditionalTest {
         // Then - o serviço deve tentar processar mesmo com todos os campos nulos
         assertThat(apigeeHeaderService).isNotNull();
     }
+
+    @Test
+    void sendPixAutomaticoNotificationWithCustomerData_WhenSmsFails_ShouldReturnSmsAsFailed() {
+        // Given
+        CommunicationMessageResponse successResponse = CommunicationMessageResponse.builder().build();
+        when(communicationPort.sendMessage(any(UUID.class), any(CommunicationMessageRequest.class), any(Headers.Builder.class)))
+                .thenAnswer(invocation -> {
+                    CommunicationMessageRequest request = invocation.getArgument(1);
+                    if ("1".equals(request.getData().getChannel())) {
+                        throw new RuntimeException("timeout");
+                    }
+                    return successResponse;
+                });
+
+        // When
+        Set<NotificationChannelEnum> failed = service.sendPixAutomaticoNotificationWithCustomerData(uuid, txId,
+                PixAutomaticoEventEnum.OPTIN, name, "5511999999999", email);
+
+        // Then
+        assertThat(failed).containsExactly(NotificationChannelEnum.SMS);
+    }
+
+    @Test
+    void sendPixAutomaticoNotificationWithCustomerData_WithRequestedChannels_ShouldSendOnlyThose() {
+        // Given
+        when(communicationPort.sendMessage(any(UUID.class), any(CommunicationMessageRequest.class), any(Headers.Builder.class)))
+                .thenReturn(CommunicationMessageResponse.builder().build());
+
+        // When
+        Set<NotificationChannelEnum> failed = service.sendPixAutomaticoNotificationWithCustomerData(uuid, txId,
+                PixAutomaticoEventEnum.OPTIN, name, "5511999999999", email, Set.of(NotificationChannelEnum.EMAIL));
+
+        // Then
+        assertThat(failed).isEmpty();
+        ArgumentCaptor<CommunicationMessageRequest> captor = ArgumentCaptor.forClass(CommunicationMessageRequest.class);
+        verify(communicationPort, times(1)).sendMessage(any(UUID.class), captor.capture(), any(Headers.Builder.class));
+        assertThat(captor.getValue().getData().getDestination()).isEqualTo(email);
+    }
+
+    @Test
+    void sendPixAutomaticoNotificationWithCustomerData_WhenHeaderFails_ShouldReturnRequestedChannelsAsFailed() {
+        // Given
+        when(apigeeHeaderService.generateHeaderApigee(uuid)).thenThrow(new RuntimeException("token indisponivel"));
+
+        // When
+        Set<NotificationChannelEnum> failed = service.sendPixAutomaticoNotificationWithCustomerData(uuid, txId,
+                PixAutomaticoEventEnum.OPTIN, name, "5511999999999", email);
+
+        // Then
+        assertThat(failed).containsExactlyInAnyOrder(NotificationChannelEnum.SMS, NotificationChannelEnum.EMAIL);
+    }
 }
@@ -0,0 +1,269 @@
+package com.omp.hub.callback.infrastructure.client;
+
+import com.omp.hub.callback.domain.model.dto.claro.CustomerContractsSubscribersContract;
+import com.omp.hub.callback.domain.model.dto.claro.CustomerContractsSubscribersData;
+import com.omp.hub.callback.domain.model.dto.claro.CustomerContractsSubscribersResponse;
+import com.omp.hub.callback.domain.model.dto.customer.CustomerMobileResponse;
+import com.omp.hub.callback.domain.model.dto.customer.ExtractedCustomerDataDTO;
+import com.omp.hub.callback.domain.model.dto.customer.MobileSubscriptionDataDTO;
+import com.omp.hub.callback.domain.model.dto.customer.SubscriberDTO;
+import com.omp.hub.callback.domain.model.dto.customer.billing.MobileBillingDetailsCustomer;
+import com.omp.hub.callback.domain.model.dto.customer.billing.MobileBillingDetailsData;
+import com.omp.hub.callback.domain.model.dto.customer.billing.MobileBillingDetailsResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachingCustomerLookupClientTest {
+
+    private static final String MOBILE_BAN = "123456789";
+    private static final String DOCUMENT = "12345678901";
+
+    @Mock
+    private MobileBillingDetailsClient mobileBillingDetailsClient;
+
+    @Mock
+    private CustomerMobileSubscriberClient customerMobileSubscriberClient;
+
+    @Mock
+    private CustomerContractsSubscribersClient customerContractsSubscribersClient;
+
+    private CachingCustomerLookupClient client;
+    private UUID uuid;
+    private Instant now;
+
+    @BeforeEach
+    void setUp() {
+        client = new CachingCustomerLookupClient(mobileBillingDetailsClient, customerMobileSubscriberClient,
+                customerContractsSubscribersClient);
+        uuid = UUID.randomUUID();
+        now = Instant.parse("2025-01-10T10:00:00Z");
+        setClock(now);
+    }
+
+    @Test
+    void getCustomerBillingDetailsByMobileBan_WhenCalledTwice_ShouldCallDelegateOnce() {
+        // Given
+        MobileBillingDetailsResponse response = billing("cliente@claro.com.br");
+        when(mobileBillingDetailsClient.getCustomerBillingDetailsByMobileBan(any(), any())).thenReturn(response);
+
+        // When
+        client.getCustomerBillingDetailsByMobileBan(uuid, MOBILE_BAN);
+        MobileBillingDetailsResponse second = client.getCustomerBillingDetailsByMobileBan(UUID.randomUUID(), MOBILE_BAN);
+
+        // Then
+        assertThat(second).isSameAs(response);
+        verify(mobileBillingDetailsClient, times(1)).getCustomerBillingDetailsByMobileBan(uuid, MOBILE_BAN);
+        assertThat(client.cache(CachingCustomerLookupClient.MOBILE_BILLING).getHitCount()).isEqualTo(1);
+        assertThat(client.cache(CachingCustomerLookupClient.MOBILE_BILLING).getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getCustomerBillingDetailsByMobileBan_AfterTtl_ShouldCallDelegateAgain() {
+        // Given
+        when(mobileBillingDetailsClient.getCustomerBillingDetailsByMobileBan(any(), any()))
+                .thenReturn(billing("cliente@claro.com.br"));
+        client.getCustomerBillingDetailsByMobileBan(uuid, MOBILE_BAN);
+
+        // When
+        setClock(now.plusMillis(900000));
+        client.getCustomerBillingDetailsByMobileBan(uuid, MOBILE_BAN);
+
+        // Then
+        verify(mobileBillingDetailsClient, times(2)).getCustomerBillingDetailsByMobileBan(uuid, MOBILE_BAN);
+    }
+
+    @Test
+    void getCustomerBillingDetailsByMobileBan_WhenDelegateReturnsNull_ShouldNotCache() {
+        // Given
+        when(mobileBillingDetailsClient.getCustomerBillingDetailsByMobileBan(any(), any())).thenReturn(null);
+
+        // When
+        client.getCustomerBillingDetailsByMobileBan(uuid, MOBILE_BAN);
+        client.getCustomerBillingDetailsByMobileBan(uuid, MOBILE_BAN);
+
+        // Then
+        verify(mobileBillingDetailsClient, times(2)).getCustomerBillingDetailsByMobileBan(uuid, MOBILE_BAN);
+        assertThat(client.cache(CachingCustomerLookupClient.MOBILE_BILLING).size()).isZero();
+    }
+
+    @Test
+    void getCustomerBillingDetailsByMobileBan_WhenCustomerNotFound_ShouldUseNegativeTtl() {
+        // Given
+        when(mobileBillingDetailsClient.getCustomerBillingDetailsByMobileBan(any(), any()))
+                .thenReturn(MobileBillingDetailsResponse.builder().data(new MobileBillingDetailsData()).build());
+        client.getCustomerBillingDetailsByMobileBan(uuid, MOBILE_BAN);
+
+        // When
+        setClock(now.plusMillis(59999));
+        client.getCustomerBillingDetailsByMobileBan(uuid, MOBILE_BAN);
+        setClock(now.plusMillis(60000));
+        client.getCustomerBillingDetailsByMobileBan(uuid, MOBILE_BAN);
+
+        // Then
+        verify(mobileBillingDetailsClient, times(2)).getCustomerBillingDetailsByMobileBan(uuid, MOBILE_BAN);
+        assertThat(client.cache(CachingCustomerLookupClient.MOBILE_BILLING).getNegativeHitCount()).isEqualTo(1);
+        assertThat(client.cache(CachingCustomerLookupClient.MOBILE_BILLING).getHitCount()).isZero();
+    }
+
+    @Test
+    void send_MobileSubscribers_ShouldCacheByDocumentAndStatus() {
+        // Given
+        when(customerMobileSubscriberClient.send(any(), any(), any())).thenReturn(subscribers(List.of(new SubscriberDTO())));
+
+        // When
+        client.send(uuid, DOCUMENT, "ATIVO");
+        client.send(uuid, DOCUMENT, "ATIVO");
+        client.send(uuid, DOCUMENT, "SUSPENSO");
+
+        // Then
+        verify(customerMobileSubscriberClient, times(1)).send(uuid, DOCUMENT, "ATIVO");
+        verify(customerMobileSubscriberClient, times(1)).send(uuid, DOCUMENT, "SUSPENSO");
+    }
+
+    @Test
+    void send_MobileSubscribersWithEmptyList_ShouldCountNegativeHit() {
+        // Given
+        when(customerMobileSubscriberClient.send(any(), any(), any())).thenReturn(subscribers(List.of()));
+
+        // When
+        client.send(uuid, DOCUMENT, "ATIVO");
+        client.send(uuid, DOCUMENT, "ATIVO");
+
+        // Then
+        verify(customerMobileSubscriberClient, times(1)).send(uuid, DOCUMENT, "ATIVO");
+        assertThat(client.cache(CachingCustomerLookupClient.MOBILE_SUBSCRIBERS).getNegativeHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void send_MobileSubscribersWhenDelegateThrows_ShouldPropagateAndNotCache() {
+        // Given
+        when(customerMobileSubscriberClient.send(any(), any(), any()))
+                .thenThrow(new RuntimeException("Timeout"))
+                .thenReturn(subscribers(List.of(new SubscriberDTO())));
+
+        // When & Then
+        assertThatThrownBy(() -> client.send(uuid, DOCUMENT, "ATIVO")).hasMessage("Timeout");
+        assertThat(client.send(uuid, DOCUMENT, "ATIVO")).isNotNull();
+        verify(customerMobileSubscriberClient, times(2)).send(uuid, DOCUMENT, "ATIVO");
+    }
+
+    @Test
+    void send_Contracts_ShouldCacheByDocumentAndContractTriple() {
+        // Given
+        when(customerContractsSubscribersClient.send(any(), any(), any())).thenReturn(contracts());
+        ExtractedCustomerDataDTO customer = residential("001");
+        ExtractedCustomerDataDTO otherCity = residential("002");
+
+        // When
+        client.send(uuid, DOCUMENT, customer);
+        client.send(uuid, DOCUMENT, customer.toBuilder().name("OUTRO NOME").build());
+        client.send(uuid, DOCUMENT, otherCity);
+
+        // Then
+        verify(customerContractsSubscribersClient, times(2)).send(any(), any(), any());
+        assertThat(client.cache(CachingCustomerLookupClient.CONTRACTS).size()).isEqualTo(2);
+    }
+
+    @Test
+    void send_ContractsWithoutContractNumber_ShouldBypassCache() {
+        // Given
+        ExtractedCustomerDataDTO customer = ExtractedCustomerDataDTO.builder().cpf(DOCUMENT).build();
+        when(customerContractsSubscribersClient.send(uuid, DOCUMENT, customer)).thenReturn(contracts());
+
+        // When
+        client.send(uuid, DOCUMENT, customer);
+        client.send(uuid, DOCUMENT, customer);
+
+        // Then
+        verify(customerContractsSubscribersClient, times(2)).send(uuid, DOCUMENT, customer);
+    }
+
+    @Test
+    void getCustomerBillingDetailsByMobileBan_WhenCacheDisabled_ShouldAlwaysCallDelegate() {
+        // Given
+        ReflectionTestUtils.setField(client, "cacheEnabled", false);
+        when(mobileBillingDetailsClient.getCustomerBillingDetailsByMobileBan(any(), any()))
+                .thenReturn(billing("cliente@claro.com.br"));
+
+        // When
+        client.getCustomerBillingDetailsByMobileBan(uuid, MOBILE_BAN);
+        client.getCustomerBillingDetailsByMobileBan(uuid, MOBILE_BAN);
+
+        // Then
+        verify(mobileBillingDetailsClient, times(2)).getCustomerBillingDetailsByMobileBan(uuid, MOBILE_BAN);
+        assertThat(client.cache(CachingCustomerLookupClient.MOBILE_BILLING).getMissCount()).isZero();
+    }
+
+    @Test
+    void getCustomerBillingDetailsByMobileBan_WhenFull_ShouldStayWithinMaxEntries() {
+        // Given
+        ReflectionTestUtils.setField(client, "maxEntries", 2);
+        when(mobileBillingDetailsClient.getCustomerBillingDetailsByMobileBan(any(), any()))
+                .thenReturn(billing("cliente@claro.com.br"));
+
+        // When
+        client.getCustomerBillingDetailsByMobileBan(uuid, "1");
+        client.getCustomerBillingDetailsByMobileBan(uuid, "2");
+        client.getCustomerBillingDetailsByMobileBan(uuid, "3");
+
+        // Then
+        assertThat(client.cache(CachingCustomerLookupClient.MOBILE_BILLING).size()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void cache_WithUnknownLookup_ShouldThrowIllegalArgumentException() {
+        assertThatThrownBy(() -> client.cache("desconhecida")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void setClock(Instant instant) {
+        ReflectionTestUtils.setField(client, "clock", Clock.fixed(instant, ZoneOffset.UTC));
+    }
+
+    private MobileBillingDetailsResponse billing(String email) {
+        return MobileBillingDetailsResponse.builder()
+                .data(MobileBillingDetailsData.builder()
+                        .customer(MobileBillingDetailsCustomer.builder().contactEmail(email).build())
+                        .build())
+                .build();
+    }
+
+    private CustomerMobileResponse subscribers(List<SubscriberDTO> subscribers) {
+        return CustomerMobileResponse.builder()
+                .data(MobileSubscriptionDataDTO.builder().subscribers(subscribers).build())
+                .build();
+    }
+
+    private CustomerContractsSubscribersResponse contracts() {
+        CustomerContractsSubscribersResponse response = new CustomerContractsSubscribersResponse();
+        response.setData(new CustomerContractsSubscribersData(List.of(new CustomerContractsSubscribersContract())));
+        return response;
+    }
+
+    private ExtractedCustomerDataDTO residential(String cityCode) {
+        return ExtractedCustomerDataDTO.builder()
+                .name("JOAO")
+                .cpf(DOCUMENT)
+                .contractNumber("987654")
+                .operatorCode("003")
+                .cityCode(cityCode)
+                .build();
+    }
+}
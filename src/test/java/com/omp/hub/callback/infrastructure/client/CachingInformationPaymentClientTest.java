@@ -0,0 +1,219 @@
+package com.omp.hub.callback.infrastructure.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.omp.hub.callback.domain.enums.PaymentStatusEnum;
+import com.omp.hub.callback.domain.model.dto.information.InformationPaymentDTO;
+import com.omp.hub.callback.domain.model.dto.information.PaymentDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachingInformationPaymentClientTest {
+
+    private static final String IDENTIFIER = "SV12345678";
+
+    @Mock
+    private InformationPaymentClient delegate;
+
+    private CachingInformationPaymentClient client;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        client = new CachingInformationPaymentClient(delegate, mapper);
+    }
+
+    @Test
+    void sendFindByIdentifier_WhenCalledTwice_ShouldCallDelegateOnce() {
+        // Given
+        when(delegate.sendFindByIdentifier(IDENTIFIER)).thenReturn(info());
+
+        // When
+        InformationPaymentDTO first = client.sendFindByIdentifier(IDENTIFIER);
+        InformationPaymentDTO second = client.sendFindByIdentifier(IDENTIFIER);
+
+        // Then
+        verify(delegate, times(1)).sendFindByIdentifier(IDENTIFIER);
+        assertThat(second).isEqualTo(first);
+        assertThat(client.getHitCount()).isEqualTo(1);
+        assertThat(client.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    void sendFindByIdentifier_ShouldReturnIndependentCopies() {
+        // Given
+        when(delegate.sendFindByIdentifier(IDENTIFIER)).thenReturn(info());
+        client.sendFindByIdentifier(IDENTIFIER);
+
+        // When
+        InformationPaymentDTO cached = client.sendFindByIdentifier(IDENTIFIER);
+        cached.getPayments().get(0).setPaymentStatus(PaymentStatusEnum.ERROR);
+        cached.setChannel("OUTRO");
+
+        // Then
+        InformationPaymentDTO again = client.sendFindByIdentifier(IDENTIFIER);
+        assertThat(again.getChannel()).isEqualTo("LOJA");
+        assertThat(again.getPayments().get(0).getPaymentStatus()).isEqualTo(PaymentStatusEnum.PENDING);
+        assertThat(again.getCreatedAt()).isEqualTo(Instant.parse("2025-01-01T10:00:00Z"));
+    }
+
+    @Test
+    void sendFindByIdentifier_AfterTtl_ShouldReloadFromDelegate() {
+        // Given
+        ReflectionTestUtils.setField(client, "ttlMillis", 1000L);
+        ReflectionTestUtils.setField(client, "clock", Clock.fixed(Instant.ofEpochMilli(0), ZoneOffset.UTC));
+        when(delegate.sendFindByIdentifier(IDENTIFIER)).thenReturn(info());
+        client.sendFindByIdentifier(IDENTIFIER);
+
+        // When
+        ReflectionTestUtils.setField(client, "clock", Clock.fixed(Instant.ofEpochMilli(1000), ZoneOffset.UTC));
+        client.sendFindByIdentifier(IDENTIFIER);
+
+        // Then
+        verify(delegate, times(2)).sendFindByIdentifier(IDENTIFIER);
+    }
+
+    @Test
+    void sendUpdate_ShouldInvalidateIdentifier() {
+        // Given
+        when(delegate.sendFindByIdentifier(IDENTIFIER)).thenReturn(info());
+        client.sendFindByIdentifier(IDENTIFIER);
+
+        // When
+        client.sendUpdate(InformationPaymentDTO.builder().identifier(IDENTIFIER).build());
+        client.sendFindByIdentifier(IDENTIFIER);
+
+        // Then
+        verify(delegate).sendUpdate(any(InformationPaymentDTO.class));
+        verify(delegate, times(2)).sendFindByIdentifier(IDENTIFIER);
+        assertThat(client.getInvalidationCount()).isEqualTo(1);
+    }
+
+    @Test
+    void updatePaymentInList_ShouldInvalidateIdentifier_EvenWhenDelegateFails() {
+        // Given
+        when(delegate.sendFindByIdentifier(IDENTIFIER)).thenReturn(info());
+        when(delegate.updatePaymentInList(anyString(), anyString(), any(InformationPaymentDTO.class)))
+                .thenThrow(new RuntimeException("timeout"));
+        client.sendFindByIdentifier(IDENTIFIER);
+
+        // When
+        assertThatThrownBy(() -> client.updatePaymentInList(IDENTIFIER, "TEFWEB", new InformationPaymentDTO()))
+                .hasMessage("timeout");
+        client.sendFindByIdentifier(IDENTIFIER);
+
+        // Then
+        verify(delegate, times(2)).sendFindByIdentifier(IDENTIFIER);
+    }
+
+    @Test
+    void sendFindByIdentifier_ConcurrentLookups_ShouldShareSingleCall() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.sendFindByIdentifier(IDENTIFIER)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return info();
+        });
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            // When
+            List<Future<InformationPaymentDTO>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(pool.submit(() -> client.sendFindByIdentifier(IDENTIFIER)));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            // Then
+            for (Future<InformationPaymentDTO> future : futures) {
+                assertThat(future.get(5, TimeUnit.SECONDS).getIdentifier()).isEqualTo(IDENTIFIER);
+            }
+            verify(delegate, times(1)).sendFindByIdentifier(IDENTIFIER);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void sendFindByIdentifier_WhenDelegateFails_ShouldNotCacheError() {
+        // Given
+        when(delegate.sendFindByIdentifier(IDENTIFIER))
+                .thenThrow(new RuntimeException("503"))
+                .thenReturn(info());
+
+        // When
+        assertThatThrownBy(() -> client.sendFindByIdentifier(IDENTIFIER)).hasMessage("503");
+        InformationPaymentDTO result = client.sendFindByIdentifier(IDENTIFIER);
+
+        // Then
+        assertThat(result.getIdentifier()).isEqualTo(IDENTIFIER);
+        verify(delegate, times(2)).sendFindByIdentifier(IDENTIFIER);
+    }
+
+    @Test
+    void sendFindByIdentifier_WhenDelegateReturnsNull_ShouldNotCache() {
+        // Given
+        when(delegate.sendFindByIdentifier(IDENTIFIER)).thenReturn(null);
+
+        // When
+        client.sendFindByIdentifier(IDENTIFIER);
+        client.sendFindByIdentifier(IDENTIFIER);
+
+        // Then
+        verify(delegate, times(2)).sendFindByIdentifier(IDENTIFIER);
+        assertThat(client.size()).isZero();
+    }
+
+    @Test
+    void sendFindByIdentifier_WhenCacheDisabled_ShouldAlwaysCallDelegate() {
+        // Given
+        ReflectionTestUtils.setField(client, "cacheEnabled", false);
+        when(delegate.sendFindByIdentifier(IDENTIFIER)).thenReturn(info());
+
+        // When
+        client.sendFindByIdentifier(IDENTIFIER);
+        client.sendFindByIdentifier(IDENTIFIER);
+
+        // Then
+        verify(delegate, times(2)).sendFindByIdentifier(IDENTIFIER);
+    }
+
+    private static InformationPaymentDTO info() {
+        List<PaymentDTO> payments = new ArrayList<>();
+        payments.add(PaymentDTO.builder().paymentStatus(PaymentStatusEnum.PENDING).build());
+        return InformationPaymentDTO.builder()
+                .uuid(UUID.fromString("11111111-2222-3333-4444-555555555555"))
+                .identifier(IDENTIFIER)
+                .channel("LOJA")
+                .payments(payments)
+                .createdAt(Instant.parse("2025-01-01T10:00:00Z"))
+                .build();
+    }
+}
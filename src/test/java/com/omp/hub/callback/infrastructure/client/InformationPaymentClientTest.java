@@ -3,13 +3,16 @@ package com.omp.hub.callback.infrastructure.client;
 import com.omp.hub.callback.application.utils.apigee.GenerateRequestDTO;
 import com.omp.hub.callback.application.utils.apigee.RequestUtils;
 import com.omp.hub.callback.domain.model.dto.information.InformationPaymentDTO;
+import com.omp.hub.callback.infrastructure.resilience.ResilienceRegistry;
 import okhttp3.Request;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -26,6 +29,9 @@ class InformationPaymentClientTest {
     @Mock
     private RequestUtils requestUtils;
 
+    @Spy
+    private ResilienceRegistry resilience = new ResilienceRegistry(new MockEnvironment());
+
     @InjectMocks
     private InformationPaymentClient informationPaymentClient;
 
@@ -4,6 +4,7 @@ import com.omp.hub.callback.application.utils.apigee.ApigeeUtils;
 import com.omp.hub.callback.application.utils.apigee.GenerateRequestDTO;
 import com.omp.hub.callback.domain.model.dto.sap.billing.payments.SapBillingPaymentsRequest;
 import com.omp.hub.callback.domain.model.dto.sap.billing.payments.SapBillingPaymentsResponse;
+import com.omp.hub.callback.infrastructure.resilience.ResilienceRegistry;
 import okhttp3.Headers;
 import okhttp3.Request;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,7 +12,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.UUID;
@@ -26,6 +29,9 @@ class SapBillingPaymentsClientTest {
     @Mock
     private ApigeeUtils apigeeUtils;
 
+    @Spy
+    private ResilienceRegistry resilience = new ResilienceRegistry(new MockEnvironment());
+
     @InjectMocks
     private SapBillingPaymentsClient client;
 
@@ -2,8 +2,11 @@ package com.omp.hub.callback.infrastructure.client;
 
 import com.omp.hub.callback.application.utils.apigee.ApigeeUtils;
 import com.omp.hub.callback.application.utils.apigee.GenerateRequestDTO;
+import com.omp.hub.callback.domain.exceptions.CallNotPermittedException;
 import com.omp.hub.callback.domain.model.dto.sap.payments.SapPaymentsRequest;
 import com.omp.hub.callback.domain.model.dto.sap.payments.SapPaymentsResponse;
+import com.omp.hub.callback.infrastructure.resilience.CircuitBreaker;
+import com.omp.hub.callback.infrastructure.resilience.ResilienceRegistry;
 import okhttp3.Headers;
 import okhttp3.Request;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,7 +14,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.UUID;
@@ -26,6 +31,9 @@ class SapPaymentsClientTest {
     @Mock
     private ApigeeUtils apigeeUtils;
 
+    @Spy
+    private ResilienceRegistry resilience = new ResilienceRegistry(new MockEnvironment());
+
     @InjectMocks
     private SapPaymentsClient client;
 
@@ -63,4 +71,21 @@ class SapPaymentsClientTest {
         verify(apigeeUtils).sendRequestToApigee(eq(uuid), eq(mockRequest), 
                 eq("https://api.sap.com/payments"), eq(SapPaymentsResponse.class));
     }
+
+    @Test
+    void send_WhenCircuitBreakerOpen_ShouldFailFastWithoutCallingApigee() {
+        // Given
+        CircuitBreaker circuitBreaker = resilience.circuitBreaker(ResilienceRegistry.SAP_PAYMENTS);
+        for (int i = 0; i < 10; i++) {
+            circuitBreaker.onFailure(circuitBreaker.tryAcquirePermission());
+        }
+
+        // When
+        CallNotPermittedException exception = assertThrows(CallNotPermittedException.class,
+                () -> client.send(uuid, request, headersBuilder));
+
+        // Then
+        assertEquals(CallNotPermittedException.CIRCUIT_OPEN, exception.getError().getErrorCode());
+        verifyNoInteractions(apigeeUtils);
+    }
 }
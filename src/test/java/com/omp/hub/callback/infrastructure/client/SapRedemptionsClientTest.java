@@ -5,6 +5,7 @@ import com.omp.hub.callback.application.utils.apigee.ApigeeUtils;
 import com.omp.hub.callback.application.utils.apigee.GenerateRequestDTO;
 import com.omp.hub.callback.domain.model.dto.sap.redemptions.SapRedemptionsRequest;
 import com.omp.hub.callback.domain.model.dto.sap.redemptions.SapRedemptionsResponse;
+import com.omp.hub.callback.infrastructure.resilience.ResilienceRegistry;
 import okhttp3.Headers;
 import okhttp3.Request;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,7 +13,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.UUID;
@@ -30,6 +33,9 @@ class SapRedemptionsClientTest {
     @Mock
     private ApigeeHeaderService apigeeHeaderService;
 
+    @Spy
+    private ResilienceRegistry resilience = new ResilienceRegistry(new MockEnvironment());
+
     @InjectMocks
     private SapRedemptionsClient client;
 
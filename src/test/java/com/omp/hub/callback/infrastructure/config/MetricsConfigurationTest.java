@@ -0,0 +1,176 @@
+package com.omp.hub.callback.infrastructure.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.omp.hub.callback.application.service.CallbackIdempotencyCache;
+import com.omp.hub.callback.application.service.NotificationOutboxDispatcher;
+import com.omp.hub.callback.application.utils.apigee.ApigeeTokenManager;
+import com.omp.hub.callback.domain.model.dto.customer.billing.MobileBillingDetailsResponse;
+import com.omp.hub.callback.infrastructure.client.CachingCustomerLookupClient;
+import com.omp.hub.callback.infrastructure.client.CachingInformationPaymentClient;
+import com.omp.hub.callback.infrastructure.client.CustomerContractsSubscribersClient;
+import com.omp.hub.callback.infrastructure.client.CustomerMobileSubscriberClient;
+import com.omp.hub.callback.infrastructure.client.MobileBillingDetailsClient;
+import com.omp.hub.callback.infrastructure.persistence.message.sqs.SqsBatchSender;
+import com.omp.hub.callback.infrastructure.resilience.CircuitBreaker;
+import com.omp.hub.callback.infrastructure.resilience.ResilienceRegistry;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class MetricsConfigurationTest {
+
+    @Mock
+    private ApigeeTokenManager tokenManager;
+
+    @Mock
+    private SqsBatchSender batchSender;
+
+    @Mock
+    private CachingInformationPaymentClient cache;
+
+    private final MetricsConfiguration configuration = new MetricsConfiguration();
+
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void apigeeTokenMetrics_ShouldExposeManagerCounters() {
+        // Given
+        when(tokenManager.getHitCount()).thenReturn(7L);
+        when(tokenManager.getRefreshFailureCount()).thenReturn(2L);
+
+        // When
+        configuration.apigeeTokenMetrics(tokenManager).bindTo(registry);
+
+        // Then
+        assertEquals(7, registry.get("apigee.token.cache.hits").functionCounter().count());
+        assertEquals(2, registry.get("apigee.token.refreshes").tag("outcome", "error").functionCounter().count());
+    }
+
+    @Test
+    void sqsBatchSenderMetrics_ShouldExposeSenderStats() {
+        // Given
+        when(batchSender.getEntryCount()).thenReturn(30L);
+        when(batchSender.getAverageBatchSize()).thenReturn(7.5);
+
+        // When
+        configuration.sqsBatchSenderMetrics(batchSender).bindTo(registry);
+
+        // Then
+        assertEquals(30, registry.get("sqs.producer.entries").functionCounter().count());
+        assertEquals(7.5, registry.get("sqs.producer.batch.size.avg").gauge().value());
+    }
+
+    @Test
+    void informationPaymentCacheMetrics_ShouldExposeCacheStats() {
+        // Given
+        when(cache.getCoalescedCount()).thenReturn(4L);
+        when(cache.size()).thenReturn(12);
+
+        // When
+        configuration.informationPaymentCacheMetrics(cache).bindTo(registry);
+
+        // Then
+        assertEquals(4, registry.get("information.payment.cache.coalesced").functionCounter().count());
+        assertEquals(12, registry.get("information.payment.cache.size").gauge().value());
+    }
+
+    @Test
+    void customerLookupCacheMetrics_ShouldExposeStatsPerLookup() {
+        // Given
+        MobileBillingDetailsClient mobileBillingDetailsClient = mock(MobileBillingDetailsClient.class);
+        CachingCustomerLookupClient lookupClient = new CachingCustomerLookupClient(mobileBillingDetailsClient,
+                mock(CustomerMobileSubscriberClient.class), mock(CustomerContractsSubscribersClient.class));
+        when(mobileBillingDetailsClient.getCustomerBillingDetailsByMobileBan(any(), any()))
+                .thenReturn(new MobileBillingDetailsResponse());
+        lookupClient.getCustomerBillingDetailsByMobileBan(UUID.randomUUID(), "123456789");
+        lookupClient.getCustomerBillingDetailsByMobileBan(UUID.randomUUID(), "123456789");
+
+        // When
+        configuration.customerLookupCacheMetrics(lookupClient).bindTo(registry);
+
+        // Then
+        assertEquals(1, registry.get("customer.lookup.cache.misses")
+                .tag("lookup", CachingCustomerLookupClient.MOBILE_BILLING).functionCounter().count());
+        assertEquals(1, registry.get("customer.lookup.cache.negative.hits")
+                .tag("lookup", CachingCustomerLookupClient.MOBILE_BILLING).functionCounter().count());
+        assertEquals(0, registry.get("customer.lookup.cache.size")
+                .tag("lookup", CachingCustomerLookupClient.CONTRACTS).gauge().value());
+    }
+
+    @Test
+    void callbackIdempotencyMetrics_ShouldExposeStatsPerScope() {
+        // Given
+        CallbackIdempotencyCache idempotencyCache = new CallbackIdempotencyCache();
+        idempotencyCache.window(CallbackIdempotencyCache.INGRESS).register("key");
+        idempotencyCache.window(CallbackIdempotencyCache.INGRESS).register("key");
+
+        // When
+        configuration.callbackIdempotencyMetrics(idempotencyCache).bindTo(registry);
+
+        // Then
+        assertEquals(1, registry.get("callback.idempotency.hits")
+                .tag("scope", CallbackIdempotencyCache.INGRESS).functionCounter().count());
+        assertEquals(1, registry.get("callback.idempotency.size")
+                .tag("scope", CallbackIdempotencyCache.INGRESS).gauge().value());
+        assertEquals(0, registry.get("callback.idempotency.misses")
+                .tag("scope", CallbackIdempotencyCache.CONSUMER).functionCounter().count());
+        assertEquals(0, registry.get("callback.idempotency.evictions")
+                .tag("scope", CallbackIdempotencyCache.INGRESS).functionCounter().count());
+    }
+
+    @Test
+    void notificationOutboxMetrics_ShouldExposeDispatcherCounters() {
+        // Given
+        NotificationOutboxDispatcher dispatcher = mock(NotificationOutboxDispatcher.class);
+        when(dispatcher.getPendingCount()).thenReturn(4);
+        when(dispatcher.getDeliveredCount()).thenReturn(9L);
+        when(dispatcher.getBypassedCount()).thenReturn(1L);
+
+        // When
+        configuration.notificationOutboxMetrics(dispatcher).bindTo(registry);
+
+        // Then
+        assertEquals(4, registry.get("notification.outbox.pending").gauge().value());
+        assertEquals(9, registry.get("notification.outbox.delivered").functionCounter().count());
+        assertEquals(1, registry.get("notification.outbox.bypassed").functionCounter().count());
+        assertEquals(0, registry.get("notification.outbox.failed").functionCounter().count());
+    }
+
+    @Test
+    void resilienceMetrics_ShouldExposeStatePerDownstream() {
+        // Given
+        ResilienceRegistry resilience = new ResilienceRegistry(new MockEnvironment()
+                .withProperty("client.resilience.defaults.minimum-calls", "1"));
+        CircuitBreaker circuitBreaker = resilience.circuitBreaker(ResilienceRegistry.SAP_PAYMENTS);
+        circuitBreaker.onFailure(circuitBreaker.tryAcquirePermission());
+
+        // When
+        configuration.resilienceMetrics(resilience).bindTo(registry);
+
+        // Then
+        assertEquals(1, registry.get("resilience.circuitbreaker.state")
+                .tag("downstream", ResilienceRegistry.SAP_PAYMENTS).gauge().value());
+        assertEquals(0, registry.get("resilience.circuitbreaker.state")
+                .tag("downstream", ResilienceRegistry.SAP_REDEMPTIONS).gauge().value());
+        assertEquals(20, registry.get("resilience.bulkhead.available")
+                .tag("downstream", ResilienceRegistry.COMMUNICATION).gauge().value());
+    }
+}
@@ -7,7 +7,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.TestPropertySource;
 
+import java.util.List;
+
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 
 @SpringBootTest
 @TestPropertySource(properties = {
@@ -21,6 +27,9 @@ class OkHttpClientConfigTest {
     @Autowired
     private OkHttpClient okHttpClient;
 
+    @Autowired
+    private OkHttpClients okHttpClients;
+
     @Test
     void okHttpClient_ShouldBeConfigured() {
         // Then
@@ -30,6 +39,83 @@ class OkHttpClientConfigTest {
         assertEquals(10000, okHttpClient.writeTimeoutMillis());
     }
 
+    @Test
+    void okHttpClient_ShouldRaiseDispatcherLimitsForAsyncCalls() {
+        // Then
+        assertEquals(64, okHttpClient.dispatcher().getMaxRequests());
+        assertEquals(20, okHttpClient.dispatcher().getMaxRequestsPerHost());
+    }
+
+    @Test
+    void okHttpClients_JourneyProfile_ShouldUseHttp1WithLargePool() {
+        // When
+        OkHttpClient journey = okHttpClients.get(OkHttpClients.JOURNEY);
+
+        // Then
+        assertEquals(List.of(Protocol.HTTP_1_1), journey.protocols());
+        assertEquals(10000, journey.readTimeoutMillis());
+        assertEquals(2000, journey.connectTimeoutMillis());
+        assertEquals(64, journey.dispatcher().getMaxRequestsPerHost());
+        assertNotSame(okHttpClient.connectionPool(), journey.connectionPool());
+        assertNotSame(okHttpClient.dispatcher(), journey.dispatcher());
+    }
+
+    @Test
+    void okHttpClients_SapProfile_ShouldOnlyOverrideReadTimeout() {
+        // When
+        OkHttpClient sap = okHttpClients.get(OkHttpClients.SAP);
+
+        // Then
+        assertEquals(60000, sap.readTimeoutMillis());
+        assertEquals(5000, sap.connectTimeoutMillis());
+        assertEquals(10000, sap.writeTimeoutMillis());
+        assertEquals(10000, okHttpClient.readTimeoutMillis());
+    }
+
+    @Test
+    void okHttpClients_UnconfiguredProfile_ShouldUseGlobalSettingsWithOwnPool() {
+        // When
+        OkHttpClient customer = okHttpClients.get(OkHttpClients.CUSTOMER);
+
+        // Then
+        assertEquals(10000, customer.readTimeoutMillis());
+        assertEquals(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1), customer.protocols());
+        assertEquals(20, customer.dispatcher().getMaxRequestsPerHost());
+        assertNotSame(okHttpClient.connectionPool(), customer.connectionPool());
+        assertSame(okHttpClient.eventListenerFactory(), customer.eventListenerFactory());
+    }
+
+    @Test
+    void okHttpClients_ShouldCreateOneClientPerProfile() {
+        assertEquals(OkHttpClients.PROFILES, List.copyOf(okHttpClients.profiles().keySet()));
+        assertSame(okHttpClient, okHttpClients.get(null));
+    }
+
+    @Test
+    void profileClient_WithProfileProperties_ShouldOverrideGlobalSettings() {
+        // Given
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("okhttp.clients.sap.call-timeout", "90s")
+                .withProperty("okhttp.clients.sap.http2", "false")
+                .withProperty("okhttp.clients.sap.max-requests", "8")
+                .withProperty("okhttp.clients.sap.max-idle-connections", "3")
+                .withProperty("okhttp.clients.sap.keep-alive", "30s");
+        OkHttpClientConfig config = new OkHttpClientConfig();
+        ReflectionTestUtils.setField(config, "connectTimeout", "10s");
+        ReflectionTestUtils.setField(config, "readTimeout", "30s");
+        ReflectionTestUtils.setField(config, "writeTimeout", "20s");
+
+        // When
+        OkHttpClient sap = config.profileClient(new OkHttpClient(), "sap", environment);
+
+        // Then
+        assertEquals(90000, sap.callTimeoutMillis());
+        assertEquals(List.of(Protocol.HTTP_1_1), sap.protocols());
+        assertEquals(8, sap.dispatcher().getMaxRequests());
+        assertEquals(20, sap.dispatcher().getMaxRequestsPerHost());
+        assertEquals(30000, sap.readTimeoutMillis());
+    }
+
     @Test
     void okHttpClient_WithTrustAll_ShouldBeConfigured() {
         // Given - trustAll=true via @TestPropertySource
@@ -0,0 +1,62 @@
+package com.omp.hub.callback.infrastructure.config;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+
+class OkHttpClientsTest {
+
+    private OkHttpClient defaultClient;
+    private OkHttpClient sapClient;
+    private OkHttpClients clients;
+
+    @BeforeEach
+    void setUp() {
+        defaultClient = new OkHttpClient();
+        sapClient = defaultClient.newBuilder().build();
+        clients = new OkHttpClients(defaultClient, Map.of(OkHttpClients.SAP, sapClient));
+    }
+
+    @Test
+    void get_WithKnownProfile_ShouldReturnProfileClient() {
+        assertSame(sapClient, clients.get(OkHttpClients.SAP));
+    }
+
+    @Test
+    void get_WithNullOrUnknownProfile_ShouldReturnDefaultClient() {
+        assertSame(defaultClient, clients.get(null));
+        assertSame(defaultClient, clients.get("desconhecido"));
+    }
+
+    @Test
+    void forRequest_WithProfileTag_ShouldReturnProfileClient() {
+        // Given
+        Request request = new Request.Builder()
+                .url("http://localhost/sap")
+                .tag(OkHttpClients.Profile.class, OkHttpClients.profile(OkHttpClients.SAP))
+                .build();
+
+        // When & Then
+        assertSame(sapClient, clients.forRequest(request));
+    }
+
+    @Test
+    void forRequest_WithoutProfileTag_ShouldReturnDefaultClient() {
+        // Given
+        Request request = new Request.Builder()
+                .url("http://localhost/sap")
+                .tag(OkHttpClients.Profile.class, OkHttpClients.profile(null))
+                .build();
+
+        // When & Then
+        assertNull(request.tag(OkHttpClients.Profile.class));
+        assertSame(defaultClient, clients.forRequest(request));
+    }
+}
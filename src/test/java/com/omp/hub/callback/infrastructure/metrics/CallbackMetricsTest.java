@@ -0,0 +1,115 @@
+package com.omp.hub.callback.infrastructure.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CallbackMetricsTest {
+
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        Metrics.addRegistry(registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        Metrics.removeRegistry(registry);
+        registry.close();
+    }
+
+    @Test
+    void recordStage_ShouldTimeSuccessAndReturnResult() {
+        // When
+        String result = CallbackMetrics.recordStage(CallbackMetrics.PARSE, () -> "ok");
+
+        // Then
+        assertEquals("ok", result);
+        assertEquals(1, registry.get(CallbackMetrics.STAGE_TIMER)
+                .tag("stage", CallbackMetrics.PARSE)
+                .tag("outcome", "success")
+                .timer().count());
+    }
+
+    @Test
+    void recordStage_WhenCallThrows_ShouldTimeErrorAndRethrow() {
+        // When
+        assertThrows(IOException.class, () -> CallbackMetrics.recordStage(CallbackMetrics.SQS_SEND, () -> {
+            throw new IOException("falha");
+        }));
+
+        // Then
+        assertEquals(1, registry.get(CallbackMetrics.STAGE_TIMER)
+                .tag("stage", CallbackMetrics.SQS_SEND)
+                .tag("outcome", "error")
+                .timer().count());
+    }
+
+    @Test
+    void recordQueueAge_ShouldIgnoreNegativeAges() {
+        // When
+        CallbackMetrics.recordQueueAge(Duration.ofSeconds(3));
+        CallbackMetrics.recordQueueAge(Duration.ofSeconds(-1));
+        CallbackMetrics.recordQueueAge(null);
+
+        // Then
+        assertEquals(1, registry.get(CallbackMetrics.QUEUE_AGE_TIMER).timer().count());
+        assertEquals(3, registry.get(CallbackMetrics.QUEUE_AGE_TIMER).timer().totalTime(TimeUnit.SECONDS));
+    }
+
+    @Test
+    void countRetryAndDlq_ShouldIncrementTaggedCounters() {
+        // When
+        CallbackMetrics.countRetry("SAP Payments", "retried");
+        CallbackMetrics.countRetry("SAP Payments", "retried");
+        CallbackMetrics.countRetry(null, "exhausted");
+        CallbackMetrics.countDlq(new IllegalStateException());
+
+        // Then
+        assertEquals(2, registry.get(CallbackMetrics.RETRY_COUNTER)
+                .tag("operation", "SAP Payments").tag("outcome", "retried").counter().count());
+        assertEquals(1, registry.get(CallbackMetrics.RETRY_COUNTER)
+                .tag("operation", "unknown").counter().count());
+        assertEquals(1, registry.get(CallbackMetrics.DLQ_COUNTER)
+                .tag("reason", "IllegalStateException").counter().count());
+    }
+
+    @Test
+    void recordBodySize_ShouldRecordPerCodec() {
+        // When
+        CallbackMetrics.recordBodySize("json-v1", 300);
+        CallbackMetrics.recordBodySize("json-v1", 100);
+        CallbackMetrics.recordBodySize("smile-v1", 80);
+
+        // Then
+        assertEquals(2, registry.get(CallbackMetrics.BODY_SIZE_SUMMARY).tag("codec", "json-v1").summary().count());
+        assertEquals(400, registry.get(CallbackMetrics.BODY_SIZE_SUMMARY).tag("codec", "json-v1").summary().totalAmount());
+        assertEquals(80, registry.get(CallbackMetrics.BODY_SIZE_SUMMARY).tag("codec", "smile-v1").summary().totalAmount());
+    }
+
+    @Test
+    void withoutRegistry_ShouldBeNoOp() {
+        // Given
+        Metrics.removeRegistry(registry);
+
+        // When
+        Object result = CallbackMetrics.recordStage(CallbackMetrics.DETECT, () -> null);
+
+        // Then
+        assertNull(result);
+        assertNull(registry.find(CallbackMetrics.STAGE_TIMER).tag("stage", CallbackMetrics.DETECT).timer());
+    }
+}
@@ -0,0 +1,94 @@
+package com.omp.hub.callback.infrastructure.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.Call;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+class OkHttpMetricsEventListenerTest {
+
+    private SimpleMeterRegistry registry;
+    private Call call;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        Metrics.addRegistry(registry);
+        call = new OkHttpClient().newCall(new Request.Builder()
+                .url("https://apigee.example.com/payments/v1/omphub/paymentjourneys/information_payments/ORD202401010001")
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        Metrics.removeRegistry(registry);
+        registry.close();
+    }
+
+    @Test
+    void normalize_ShouldReplaceIdentifierSegments() {
+        // Then
+        assertEquals("/payments/v1/omphub/paymentjourneys/information_payments/{id}",
+                OkHttpMetricsEventListener.normalize(call.request().url()));
+        assertEquals("/customer/{id}/contracts/{id}",
+                OkHttpMetricsEventListener.normalize(HttpUrl.get(
+                        "https://host/customer/123/contracts/6f1c2b7e-3c1d-4a5e-9b0f-2d3c4e5f6a7b")));
+        assertEquals("/oauth2/v1/token", OkHttpMetricsEventListener.normalize(HttpUrl.get("https://host/oauth2/v1/token")));
+        assertEquals("/", OkHttpMetricsEventListener.normalize(HttpUrl.get("https://host/")));
+    }
+
+    @Test
+    void completedCall_ShouldRecordDurationAndTimeToFirstByteWithStatus() {
+        // Given
+        OkHttpMetricsEventListener listener = new OkHttpMetricsEventListener();
+        Response response = new Response.Builder()
+                .request(call.request())
+                .protocol(Protocol.HTTP_1_1)
+                .code(503)
+                .message("Service Unavailable")
+                .build();
+
+        // When
+        listener.callStart(call);
+        listener.requestHeadersStart(call);
+        listener.responseHeadersEnd(call, response);
+        listener.callEnd(call);
+
+        // Then
+        assertEquals(1, registry.get(OkHttpMetricsEventListener.CALL_TIMER)
+                .tag("method", "GET")
+                .tag("uri", "/payments/v1/omphub/paymentjourneys/information_payments/{id}")
+                .tag("status", "503")
+                .tag("outcome", "success")
+                .timer().count());
+        assertEquals(1, registry.get(OkHttpMetricsEventListener.TTFB_TIMER).tag("status", "503").timer().count());
+    }
+
+    @Test
+    void failedCall_ShouldRecordErrorWithoutStatus() {
+        // Given
+        OkHttpMetricsEventListener listener = new OkHttpMetricsEventListener();
+
+        // When
+        listener.callStart(call);
+        listener.callFailed(call, new IOException("timeout"));
+
+        // Then
+        assertEquals(1, registry.get(OkHttpMetricsEventListener.CALL_TIMER)
+                .tag("status", "NONE")
+                .tag("outcome", "error")
+                .timer().count());
+    }
+}
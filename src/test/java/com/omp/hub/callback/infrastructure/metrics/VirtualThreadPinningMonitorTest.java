@@ -0,0 +1,104 @@
+package com.omp.hub.callback.infrastructure.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.omp.hub.callback.application.config.VirtualThreads;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class VirtualThreadPinningMonitorTest {
+
+    private SimpleMeterRegistry registry;
+    private VirtualThreadPinningMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        Metrics.addRegistry(registry);
+        monitor = new VirtualThreadPinningMonitor(20);
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+        Metrics.removeRegistry(registry);
+        registry.close();
+    }
+
+    @Test
+    void record_ShouldTimePinnedDuration() {
+        // Given
+        List<String> frames = List.of(
+                "java.net.SocketInputStream.read:10",
+                "com.omp.hub.callback.infrastructure.client.SapPaymentsClient.send:42");
+
+        // When
+        monitor.record(Duration.ofMillis(35), frames);
+        monitor.record(Duration.ofMillis(25), frames);
+
+        // Then
+        Timer timer = registry.get(VirtualThreadPinningMonitor.PINNED_TIMER).timer();
+        assertEquals(2, timer.count());
+        assertEquals(60, timer.totalTime(TimeUnit.MILLISECONDS), 0.001);
+    }
+
+    @Test
+    void site_ShouldPreferFirstApplicationFrame() {
+        // Given
+        List<String> frames = List.of(
+                "okhttp3.internal.connection.RealConnectionPool.put:60",
+                "com.omp.hub.callback.application.utils.apigee.ApigeeUtils.sendRequestToApigee:105",
+                "com.omp.hub.callback.infrastructure.client.SapPaymentsClient.send:42");
+
+        // When
+        String site = VirtualThreadPinningMonitor.site(frames);
+
+        // Then
+        assertEquals("com.omp.hub.callback.application.utils.apigee.ApigeeUtils.sendRequestToApigee:105", site);
+    }
+
+    @Test
+    void site_WithoutApplicationFrame_ShouldUseTopFrame() {
+        // When / Then
+        assertEquals("java.lang.Object.wait:1", VirtualThreadPinningMonitor.site(List.of("java.lang.Object.wait:1")));
+        assertEquals("desconhecido", VirtualThreadPinningMonitor.site(List.of()));
+    }
+
+    @Test
+    void start_WhenJvmHasNoVirtualThreads_ShouldNotStartRecording() {
+        // Given
+        assumeFalse(VirtualThreads.isSupported());
+
+        // When
+        monitor.start();
+
+        // Then
+        assertFalse(monitor.isRunning());
+    }
+
+    @Test
+    void start_WhenJvmSupportsVirtualThreads_ShouldStartRecording() {
+        // Given
+        assumeTrue(VirtualThreads.isSupported());
+
+        // When
+        monitor.start();
+
+        // Then
+        assertTrue(monitor.isRunning());
+    }
+}
@@ -0,0 +1,100 @@
+package com.omp.hub.callback.infrastructure.persistence.message.sqs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omp.hub.callback.domain.enums.CallbackType;
+import com.omp.hub.callback.infrastructure.util.CallbackFingerprint;
+
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+class CallbackRoutingTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void of_ShouldExtractKeysOnce() throws Exception {
+        // Given
+        String json = "{\"txId\":\"tx-1\",\"identifier\":\"id-1\",\"ompTransactionId\":\"omp-1\",\"value\":10}";
+
+        // When
+        CallbackRouting routing = CallbackRouting.of(mapper.readTree(json), CallbackType.PIX);
+
+        // Then
+        assertEquals(CallbackType.PIX, routing.getCallbackType());
+        assertEquals("tx-1", routing.getTxId());
+        assertEquals("id-1", routing.getIdentifier());
+        assertEquals("omp-1", routing.getOmpTransactionId());
+        assertEquals(CallbackFingerprint.of(mapper.readTree(json)), routing.getFingerprint());
+        assertEquals("callback-omp-1", routing.messageGroupId());
+        assertEquals("tx-1", routing.logId());
+    }
+
+    @Test
+    void messageGroupId_ShouldFollowPriority() {
+        assertEquals("callback-id-1",
+                CallbackRouting.of((Object) Map.of("identifier", "id-1", "txId", "tx-1"), null).messageGroupId());
+        assertEquals("callback-tx-1", CallbackRouting.of((Object) Map.of("txId", "tx-1"), null).messageGroupId());
+        assertEquals(CallbackRouting.DEFAULT_GROUP_ID,
+                CallbackRouting.of((Object) Map.of("txId", ""), null).messageGroupId());
+    }
+
+    @Test
+    void of_WithJsonStringOrNumber_ShouldReadValue() {
+        // When
+        CallbackRouting routing = CallbackRouting.of((Object) "{\"ompTransactionId\":12345}", null);
+
+        // Then
+        assertEquals("callback-12345", routing.messageGroupId());
+    }
+
+    @Test
+    void of_WithInvalidData_ShouldReturnEmptyRouting() {
+        // When
+        CallbackRouting routing = CallbackRouting.of((Object) "invalid json", null);
+
+        // Then
+        assertTrue(routing.isEmpty());
+        assertEquals(CallbackRouting.DEFAULT_GROUP_ID, routing.messageGroupId());
+        assertNull(routing.getFingerprint());
+    }
+
+    @Test
+    void addTo_ShouldRoundTripThroughAttributes() {
+        // Given
+        CallbackRouting routing = CallbackRouting.of((Object) Map.of("txId", "tx-1"), CallbackType.TRANSACTIONS);
+        Map<String, MessageAttributeValue> attributes = new HashMap<>();
+
+        // When
+        routing.addTo(attributes);
+        CallbackRouting received = CallbackRouting.fromAttributes(attributes);
+
+        // Then
+        assertFalse(attributes.containsKey(CallbackRouting.IDENTIFIER));
+        assertEquals("String", attributes.get(CallbackRouting.TX_ID).dataType());
+        assertEquals(CallbackType.TRANSACTIONS, received.getCallbackType());
+        assertEquals("tx-1", received.getTxId());
+        assertEquals(routing.getFingerprint(), received.getFingerprint());
+        assertEquals(routing.messageGroupId(), received.messageGroupId());
+    }
+
+    @Test
+    void fromAttributes_WithUnknownTypeOrNoAttributes_ShouldLeaveFieldsEmpty() {
+        // Given
+        Map<String, MessageAttributeValue> attributes = Map.of(CallbackRouting.CALLBACK_TYPE,
+                MessageAttributeValue.builder().dataType("String").stringValue("BOLETO").build());
+
+        // When & Then
+        assertNull(CallbackRouting.fromAttributes(attributes).getCallbackType());
+        assertTrue(CallbackRouting.fromAttributes(Map.of()).isEmpty());
+        assertTrue(CallbackRouting.fromAttributes(null).isEmpty());
+    }
+}
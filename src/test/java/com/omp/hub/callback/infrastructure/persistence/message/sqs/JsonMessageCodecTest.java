@@ -0,0 +1,62 @@
+package com.omp.hub.callback.infrastructure.persistence.message.sqs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.omp.hub.callback.domain.model.dto.callback.CallbackRequest;
+import com.omp.hub.callback.infrastructure.config.JacksonConfiguration;
+
+class JsonMessageCodecTest {
+
+    private final JsonMessageCodec codec = new JsonMessageCodec(new JacksonConfiguration().objectMapper());
+
+    @Test
+    void encode_ShouldWriteIsoDatesAndOmitNulls() throws Exception {
+        MessageSQS<Object> message = MessageSQS.builder()
+                .callbackRequest(CallbackRequest.builder().data(Map.of("txId", "tx-1")).build())
+                .timestamp(LocalDateTime.of(2026, 10, 18, 10, 30, 15))
+                .retryCount(0)
+                .build();
+
+        String body = codec.encode(message);
+
+        assertThat(body).isEqualTo(
+                "{\"callbackRequest\":{\"data\":{\"txId\":\"tx-1\"}},\"timestamp\":\"2026-10-18T10:30:15\",\"retryCount\":0}");
+    }
+
+    @Test
+    void decode_ShouldReadDataAsTree() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        MessageSQS<Object> message = MessageSQS.builder()
+                .messageId("msg-1")
+                .callbackRequest(CallbackRequest.builder().data(Map.of("txId", "tx-1", "value", 10)).build())
+                .timestamp(now)
+                .retryCount(2)
+                .build();
+
+        MessageSQS<Object> decoded = codec.decode(codec.encode(message));
+
+        assertThat(decoded.getMessageId()).isEqualTo("msg-1");
+        assertThat(decoded.getTimestamp()).isEqualTo(now);
+        assertThat(decoded.getRetryCount()).isEqualTo(2);
+        assertThat(decoded.getCallbackRequest().getData()).isInstanceOf(JsonNode.class);
+        assertThat(((JsonNode) decoded.getCallbackRequest().getData()).get("value").asInt()).isEqualTo(10);
+    }
+
+    @Test
+    void decode_ShouldReadBodyWrittenByGson() throws Exception {
+        String body = "{\"callbackRequest\":{\"data\":{\"txId\":\"tx-1\"}},"
+                + "\"timestamp\":\"2026-10-18T10:30:15.123\",\"retryCount\":1,\"unknownField\":true}";
+
+        MessageSQS<Object> decoded = codec.decode(body);
+
+        assertThat(decoded.getTimestamp()).isEqualTo(LocalDateTime.of(2026, 10, 18, 10, 30, 15, 123_000_000));
+        assertThat(decoded.getRetryCount()).isEqualTo(1);
+        assertThat(decoded.getCallbackRequest().getData()).hasToString("{\"txId\":\"tx-1\"}");
+    }
+}
@@ -0,0 +1,81 @@
+package com.omp.hub.callback.infrastructure.persistence.message.sqs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omp.hub.callback.infrastructure.config.JacksonConfiguration;
+
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+class MessageCodecsTest {
+
+    private JsonMessageCodec json;
+    private SmileMessageCodec smile;
+    private MessageCodecs codecs;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper mapper = new JacksonConfiguration().objectMapper();
+        json = new JsonMessageCodec(mapper);
+        smile = new SmileMessageCodec(mapper);
+        codecs = new MessageCodecs(List.of(json, smile));
+    }
+
+    @Test
+    void producer_ShouldDefaultToJson() {
+        assertThat(codecs.producer()).isSameAs(json);
+        assertThat(codecs.json()).isSameAs(json);
+    }
+
+    @Test
+    void producer_ShouldUseConfiguredCodec() {
+        ReflectionTestUtils.setField(codecs, "producerVersion", SmileMessageCodec.VERSION);
+        codecs.init();
+
+        assertThat(codecs.producer()).isSameAs(smile);
+        assertThat(codecs.json()).isSameAs(json);
+    }
+
+    @Test
+    void init_WithUnknownCodec_ShouldFail() {
+        ReflectionTestUtils.setField(codecs, "producerVersion", "avro-v1");
+
+        assertThatThrownBy(codecs::init)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("avro-v1");
+    }
+
+    @Test
+    void forAttributes_ShouldSelectCodecByAttribute() {
+        assertThat(codecs.forAttributes(attribute(SmileMessageCodec.VERSION))).isSameAs(smile);
+        assertThat(codecs.forAttributes(attribute(JsonMessageCodec.VERSION))).isSameAs(json);
+    }
+
+    @Test
+    void forAttributes_WithoutAttribute_ShouldUseJson() {
+        assertThat(codecs.forAttributes(Map.of())).isSameAs(json);
+        assertThat(codecs.forAttributes(null)).isSameAs(json);
+    }
+
+    @Test
+    void forAttributes_WithUnknownVersion_ShouldFail() {
+        assertThatThrownBy(() -> codecs.forAttributes(attribute("smile-v2")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("smile-v2");
+    }
+
+    private static Map<String, MessageAttributeValue> attribute(String version) {
+        return Map.of(MessageCodec.ATTRIBUTE, MessageAttributeValue.builder()
+                .dataType("String")
+                .stringValue(version)
+                .build());
+    }
+}
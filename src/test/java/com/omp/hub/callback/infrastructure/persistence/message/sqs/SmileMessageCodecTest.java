@@ -0,0 +1,57 @@
+package com.omp.hub.callback.infrastructure.persistence.message.sqs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omp.hub.callback.domain.model.dto.callback.CallbackRequest;
+import com.omp.hub.callback.infrastructure.config.JacksonConfiguration;
+
+class SmileMessageCodecTest {
+
+    private final ObjectMapper mapper = new JacksonConfiguration().objectMapper();
+    private final SmileMessageCodec codec = new SmileMessageCodec(mapper);
+
+    @Test
+    void encode_ShouldWriteBase64Smile() throws Exception {
+        MessageSQS<Object> message = MessageSQS.builder()
+                .callbackRequest(CallbackRequest.builder().data("tx-1").build())
+                .build();
+
+        byte[] raw = Base64.getDecoder().decode(codec.encode(message));
+
+        // Cabecalho ":)\n" do formato Smile
+        assertThat(new String(raw, 0, 3)).isEqualTo(":)\n");
+    }
+
+    @Test
+    void decode_ShouldRoundTripMessage() throws Exception {
+        JsonNode data = mapper.readTree("{\"txId\":\"tx-1\",\"items\":[{\"id\":1,\"value\":10.5},{\"id\":2,\"value\":20.25}]}");
+        LocalDateTime now = LocalDateTime.now();
+        MessageSQS<Object> message = MessageSQS.builder()
+                .messageId("msg-1")
+                .callbackRequest(CallbackRequest.builder().data(data).build())
+                .timestamp(now)
+                .retryCount(1)
+                .build();
+
+        MessageSQS<Object> decoded = codec.decode(codec.encode(message));
+
+        assertThat(decoded.getMessageId()).isEqualTo("msg-1");
+        assertThat(decoded.getTimestamp()).isEqualTo(now);
+        assertThat(decoded.getRetryCount()).isEqualTo(1);
+        assertThat(decoded.getCallbackRequest().getData()).isEqualTo(data);
+    }
+
+    @Test
+    void decode_WithJsonBody_ShouldFail() {
+        assertThatThrownBy(() -> codec.decode("{\"retryCount\":1}"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,194 @@
+package com.omp.hub.callback.infrastructure.persistence.message.sqs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SqsException;
+
+@ExtendWith(MockitoExtension.class)
+class SqsBatchSenderTest {
+
+    private static final String QUEUE_URL = "https://sqs.sa-east-1.amazonaws.com/123456789/test-queue.fifo";
+
+    @Mock
+    private SqsClient sqsClient;
+
+    private SqsBatchSender batchSender;
+
+    @BeforeEach
+    void setUp() {
+        batchSender = new SqsBatchSender(sqsClient);
+        ReflectionTestUtils.setField(batchSender, "lingerMillis", 200L);
+        ReflectionTestUtils.setField(batchSender, "sendTimeoutSeconds", 5L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchSender.close();
+    }
+
+    @Test
+    void sendAsync_ShouldMergeConcurrentSendsIntoSingleBatch() throws Exception {
+        when(sqsClient.sendMessageBatch(any(SendMessageBatchRequest.class)))
+                .thenAnswer(invocation -> successFor(invocation.getArgument(0)));
+
+        List<CompletableFuture<SendMessageResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            futures.add(batchSender.sendAsync(request("body-" + i)));
+        }
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(futures.get(i).get(5, TimeUnit.SECONDS).messageId()).isEqualTo("msg-body-" + i);
+        }
+
+        ArgumentCaptor<SendMessageBatchRequest> captor = ArgumentCaptor.forClass(SendMessageBatchRequest.class);
+        verify(sqsClient).sendMessageBatch(captor.capture());
+        SendMessageBatchRequest batch = captor.getValue();
+        assertThat(batch.queueUrl()).isEqualTo(QUEUE_URL);
+        assertThat(batch.entries()).hasSize(5);
+        assertThat(batch.entries().get(0).messageGroupId()).isEqualTo("group-1");
+        assertThat(batch.entries().get(0).messageAttributes()).containsKey("timestamp");
+        assertThat(batchSender.getBatchCount()).isEqualTo(1);
+        assertThat(batchSender.getAverageBatchSize()).isEqualTo(5.0);
+    }
+
+    @Test
+    void sendAsync_ShouldNeverExceedTenEntriesPerBatch() throws Exception {
+        when(sqsClient.sendMessageBatch(any(SendMessageBatchRequest.class)))
+                .thenAnswer(invocation -> successFor(invocation.getArgument(0)));
+
+        List<CompletableFuture<SendMessageResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            futures.add(batchSender.sendAsync(request("body-" + i)));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+
+        ArgumentCaptor<SendMessageBatchRequest> captor = ArgumentCaptor.forClass(SendMessageBatchRequest.class);
+        verify(sqsClient, atLeast(3)).sendMessageBatch(captor.capture());
+        assertThat(captor.getAllValues()).allSatisfy(batch -> assertThat(batch.entries()).hasSizeLessThanOrEqualTo(10));
+        assertThat(batchSender.getEntryCount()).isEqualTo(25);
+    }
+
+    @Test
+    void send_ShouldFailOnlyRejectedEntries_WhenBatchPartiallyFails() throws Exception {
+        when(sqsClient.sendMessageBatch(any(SendMessageBatchRequest.class))).thenAnswer(invocation -> {
+            SendMessageBatchRequest batch = invocation.getArgument(0);
+            List<SendMessageBatchResultEntry> successful = new ArrayList<>();
+            List<BatchResultErrorEntry> failed = new ArrayList<>();
+            for (SendMessageBatchRequestEntry entry : batch.entries()) {
+                if (entry.messageBody().equals("bad")) {
+                    failed.add(BatchResultErrorEntry.builder()
+                            .id(entry.id())
+                            .code("InvalidMessageContents")
+                            .message("invalid body")
+                            .senderFault(true)
+                            .build());
+                } else {
+                    successful.add(SendMessageBatchResultEntry.builder()
+                            .id(entry.id())
+                            .messageId("msg-" + entry.messageBody())
+                            .build());
+                }
+            }
+            return SendMessageBatchResponse.builder().successful(successful).failed(failed).build();
+        });
+
+        CompletableFuture<SendMessageResponse> good = batchSender.sendAsync(request("good"));
+        CompletableFuture<SendMessageResponse> bad = batchSender.sendAsync(request("bad"));
+
+        assertThat(good.get(5, TimeUnit.SECONDS).messageId()).isEqualTo("msg-good");
+        assertThatThrownBy(() -> bad.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(SqsException.class)
+                .hasMessageContaining("invalid body");
+        assertThat(batchSender.getFailedEntryCount()).isEqualTo(1);
+    }
+
+    @Test
+    void send_ShouldRethrowClientException_WhenWholeBatchFails() {
+        ReflectionTestUtils.setField(batchSender, "lingerMillis", 0L);
+        when(sqsClient.sendMessageBatch(any(SendMessageBatchRequest.class)))
+                .thenThrow(SqsException.builder().message("SQS indisponivel").build());
+
+        assertThatThrownBy(() -> batchSender.send(request("body")))
+                .isInstanceOf(SqsException.class)
+                .hasMessageContaining("SQS indisponivel");
+        assertThat(batchSender.getFailedBatchCount()).isEqualTo(1);
+    }
+
+    @Test
+    void sendAsync_ShouldSplitBatch_WhenPayloadExceedsSqsLimit() throws Exception {
+        when(sqsClient.sendMessageBatch(any(SendMessageBatchRequest.class)))
+                .thenAnswer(invocation -> successFor(invocation.getArgument(0)));
+
+        String large = "x".repeat(150_000);
+        CompletableFuture<SendMessageResponse> first = batchSender.sendAsync(request(large));
+        CompletableFuture<SendMessageResponse> second = batchSender.sendAsync(request(large));
+        CompletableFuture.allOf(first, second).get(5, TimeUnit.SECONDS);
+
+        ArgumentCaptor<SendMessageBatchRequest> captor = ArgumentCaptor.forClass(SendMessageBatchRequest.class);
+        verify(sqsClient, atLeast(2)).sendMessageBatch(captor.capture());
+        assertThat(captor.getAllValues()).allSatisfy(batch -> assertThat(batch.entries()).hasSize(1));
+    }
+
+    @Test
+    void sendAsync_AfterClose_ShouldSendDirectly() throws Exception {
+        batchSender.close();
+        when(sqsClient.sendMessage(any(SendMessageRequest.class)))
+                .thenReturn(SendMessageResponse.builder().messageId("direct").build());
+
+        assertThat(batchSender.sendAsync(request("body")).get(1, TimeUnit.SECONDS).messageId()).isEqualTo("direct");
+    }
+
+    private static SendMessageRequest request(String body) {
+        return SendMessageRequest.builder()
+                .queueUrl(QUEUE_URL)
+                .messageBody(body)
+                .messageGroupId("group-1")
+                .messageDeduplicationId(body.length() > 20 ? String.valueOf(body.hashCode()) : body)
+                .messageAttributes(Map.of("timestamp",
+                        MessageAttributeValue.builder()
+                                .dataType("String")
+                                .stringValue("2025-01-01T00:00")
+                                .build()))
+                .build();
+    }
+
+    private static SendMessageBatchResponse successFor(SendMessageBatchRequest batch) {
+        List<SendMessageBatchResultEntry> successful = new ArrayList<>();
+        for (SendMessageBatchRequestEntry entry : batch.entries()) {
+            successful.add(SendMessageBatchResultEntry.builder()
+                    .id(entry.id())
+                    .messageId("msg-" + entry.messageBody())
+                    .build());
+        }
+        return SendMessageBatchResponse.builder().successful(successful).build();
+    }
+}
@@ -4,10 +4,15 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,11 +20,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
-import com.google.gson.Gson;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omp.hub.callback.domain.enums.CallbackType;
 import com.omp.hub.callback.domain.model.dto.callback.CallbackRequest;
+import com.omp.hub.callback.domain.model.dto.callback.ParsedCallback;
+import com.omp.hub.callback.infrastructure.config.JacksonConfiguration;
+import com.omp.hub.callback.infrastructure.util.CallbackFingerprint;
 
 import software.amazon.awssdk.services.sqs.SqsClient;
 import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
@@ -34,8 +45,11 @@ class SqsMessageRepositoryTest {
     @Mock
     private SqsClient sqsClient;
 
+    @Spy
+    private MessageCodecs codecs = codecs();
+
     @Mock
-    private Gson gson;
+    private SqsBatchSender batchSender;
 
     @InjectMocks
     private SqsMessageRepository sqsMessageRepository;
@@ -43,10 +57,18 @@ class SqsMessageRepositoryTest {
     private static final String QUEUE_URL = "https://sqs.sa-east-1.amazonaws.com/123456789/test-queue.fifo";
     private static final String DLQ_URL = "https://sqs.sa-east-1.amazonaws.com/123456789/test-queue-dlq.fifo";
 
+    private static MessageCodecs codecs() {
+        ObjectMapper mapper = new JacksonConfiguration().objectMapper();
+        MessageCodecs codecs = new MessageCodecs(List.of(new JsonMessageCodec(mapper), new SmileMessageCodec(mapper)));
+        codecs.init();
+        return codecs;
+    }
+
     @BeforeEach
     void setUp() {
         ReflectionTestUtils.setField(sqsMessageRepository, "queueUrl", QUEUE_URL);
         ReflectionTestUtils.setField(sqsMessageRepository, "dlqUrl", DLQ_URL);
+        ReflectionTestUtils.setField(sqsMessageRepository, "batchEnabled", false);
         
         lenient().when(sqsClient.sendMessage(any(SendMessageRequest.class)))
                 .thenReturn(SendMessageResponse.builder().messageId("test-message-id").build());
@@ -121,7 +143,6 @@ class SqsMessageRepositoryTest {
 
         Exception error = new RuntimeException("Processing failed");
 
-        lenient().when(gson.toJson(any())).thenReturn("{}");
 
         sqsMessageRepository.sendToDLQ(message, error);
 
@@ -147,7 +168,6 @@ class SqsMessageRepositoryTest {
 
         Exception error = new RuntimeException();
 
-        lenient().when(gson.toJson(any())).thenReturn("{}");
 
         sqsMessageRepository.sendToDLQ(message, error);
 
@@ -168,7 +188,6 @@ class SqsMessageRepositoryTest {
 
         Exception error = new RuntimeException("Processing failed");
 
-        lenient().when(gson.toJson(any())).thenReturn("{}");
 
         sqsMessageRepository.sendToDLQ(message, error);
 
@@ -189,7 +208,6 @@ class SqsMessageRepositoryTest {
 
         Exception error = new RuntimeException("Processing failed");
 
-        lenient().when(gson.toJson(any())).thenReturn("{}");
 
         sqsMessageRepository.sendToDLQ(message, error);
 
@@ -210,7 +228,6 @@ class SqsMessageRepositoryTest {
 
         Exception error = new RuntimeException("Processing failed");
 
-        lenient().when(gson.toJson(any())).thenReturn("{}");
 
         sqsMessageRepository.sendToDLQ(message, error);
 
@@ -241,7 +258,6 @@ class SqsMessageRepositoryTest {
                 .message("Access denied to KMS key")
                 .build();
 
-        lenient().when(gson.toJson(any())).thenReturn("{}");
         when(sqsClient.sendMessage(any(SendMessageRequest.class))).thenThrow(kmsException);
 
         assertThatThrownBy(() -> sqsMessageRepository.sendToDLQ(message, error))
@@ -259,7 +275,6 @@ class SqsMessageRepositoryTest {
 
         Exception error = new RuntimeException("Processing failed");
 
-        lenient().when(gson.toJson(any())).thenReturn("{}");
         when(sqsClient.sendMessage(any(SendMessageRequest.class)))
                 .thenThrow(SqsException.builder().message("SQS Error").build());
 
@@ -278,7 +293,6 @@ class SqsMessageRepositoryTest {
 
         Exception error = new RuntimeException("Processing failed");
 
-        lenient().when(gson.toJson(any())).thenReturn("{}");
         when(sqsClient.sendMessage(any(SendMessageRequest.class)))
                 .thenThrow(new RuntimeException("Unexpected error"));
 
@@ -289,14 +303,11 @@ class SqsMessageRepositoryTest {
 
     @Test
     void sendMessage_ShouldUseOmpTransactionIdAsMessageGroupId() {
-        String testData = "test-data";
         String testDataJson = "{\"ompTransactionId\":\"tx-12345\"}";
         CallbackRequest<String> callbackRequest = CallbackRequest.<String>builder()
-                .data(testData)
+                .data(testDataJson)
                 .build();
 
-        lenient().when(gson.toJson(testData)).thenReturn(testDataJson);
-
         sqsMessageRepository.sendMessage(callbackRequest);
 
         ArgumentCaptor<SendMessageRequest> captor = ArgumentCaptor.forClass(SendMessageRequest.class);
@@ -308,14 +319,11 @@ class SqsMessageRepositoryTest {
 
     @Test
     void sendMessage_ShouldUseIdentifierAsMessageGroupId_WhenOmpTransactionIdNotPresent() {
-        String testData = "test-data";
         String testDataJson = "{\"identifier\":\"id-67890\"}";
         CallbackRequest<String> callbackRequest = CallbackRequest.<String>builder()
-                .data(testData)
+                .data(testDataJson)
                 .build();
 
-        lenient().when(gson.toJson(testData)).thenReturn(testDataJson);
-
         sqsMessageRepository.sendMessage(callbackRequest);
 
         ArgumentCaptor<SendMessageRequest> captor = ArgumentCaptor.forClass(SendMessageRequest.class);
@@ -327,14 +335,11 @@ class SqsMessageRepositoryTest {
 
     @Test
     void sendMessage_ShouldUseTxIdAsMessageGroupId_WhenOthersNotPresent() {
-        String testData = "test-data";
         String testDataJson = "{\"txId\":\"txid-999\"}";
         CallbackRequest<String> callbackRequest = CallbackRequest.<String>builder()
-                .data(testData)
+                .data(testDataJson)
                 .build();
 
-        lenient().when(gson.toJson(testData)).thenReturn(testDataJson);
-
         sqsMessageRepository.sendMessage(callbackRequest);
 
         ArgumentCaptor<SendMessageRequest> captor = ArgumentCaptor.forClass(SendMessageRequest.class);
@@ -351,7 +356,6 @@ class SqsMessageRepositoryTest {
                 .data(testData)
                 .build();
 
-        lenient().when(gson.toJson(any())).thenReturn(testData);
 
         sqsMessageRepository.sendMessage(callbackRequest);
 
@@ -369,7 +373,6 @@ class SqsMessageRepositoryTest {
                 .data(invalidJson)
                 .build();
 
-        lenient().when(gson.toJson(any())).thenReturn(invalidJson);
 
         sqsMessageRepository.sendMessage(callbackRequest);
 
@@ -380,6 +383,48 @@ class SqsMessageRepositoryTest {
         assertThat(request.messageGroupId()).isEqualTo("payment-callback-default");
     }
 
+    @Test
+    void sendMessage_ShouldDeriveDeduplicationIdFromPayload() {
+        Map<String, Object> first = new LinkedHashMap<>();
+        first.put("txId", "tx-123");
+        first.put("value", "100.50");
+        Map<String, Object> reordered = new LinkedHashMap<>();
+        reordered.put("value", "100.50");
+        reordered.put("txId", "tx-123");
+        Map<String, Object> other = Map.of("txId", "tx-123", "value", "200.00");
+
+        sqsMessageRepository.sendMessage(CallbackRequest.builder().data(first).build());
+        sqsMessageRepository.sendMessage(CallbackRequest.builder().data(reordered).build());
+        sqsMessageRepository.sendMessage(CallbackRequest.builder().data(other).build());
+
+        ArgumentCaptor<SendMessageRequest> captor = ArgumentCaptor.forClass(SendMessageRequest.class);
+        verify(sqsClient, times(3)).sendMessage(captor.capture());
+        List<SendMessageRequest> requests = captor.getAllValues();
+        assertThat(requests.get(0).messageDeduplicationId()).startsWith("tx-123-").hasSizeLessThanOrEqualTo(128);
+        assertThat(requests.get(1).messageDeduplicationId()).isEqualTo(requests.get(0).messageDeduplicationId());
+        assertThat(requests.get(2).messageDeduplicationId()).isNotEqualTo(requests.get(0).messageDeduplicationId());
+    }
+
+    @Test
+    void resendForRetry_ShouldSuffixDeduplicationIdWithRetryCount() {
+        CallbackRequest<Object> callbackRequest = CallbackRequest.builder()
+                .data(Map.of("txId", "tx-123"))
+                .build();
+        MessageSQS<Object> message = MessageSQS.builder()
+                .messageId("msg-123")
+                .callbackRequest(callbackRequest)
+                .retryCount(0)
+                .build();
+
+        sqsMessageRepository.sendMessage(callbackRequest);
+        sqsMessageRepository.resendForRetry(message);
+
+        ArgumentCaptor<SendMessageRequest> captor = ArgumentCaptor.forClass(SendMessageRequest.class);
+        verify(sqsClient, times(2)).sendMessage(captor.capture());
+        String original = captor.getAllValues().get(0).messageDeduplicationId();
+        assertThat(captor.getAllValues().get(1).messageDeduplicationId()).isEqualTo(original + "-r1");
+    }
+
     @Test
     void resendForRetry_ShouldIncrementRetryCountAndSendMessage() {
         CallbackRequest<String> callbackRequest = CallbackRequest.<String>builder()
@@ -393,7 +438,6 @@ class SqsMessageRepositoryTest {
                 .retryCount(1)
                 .build();
 
-        lenient().when(gson.toJson(any())).thenReturn("{}");
 
         sqsMessageRepository.resendForRetry(message);
 
@@ -421,7 +465,6 @@ class SqsMessageRepositoryTest {
                 .retryCount(null)
                 .build();
 
-        lenient().when(gson.toJson(any())).thenReturn("{}");
 
         sqsMessageRepository.resendForRetry(message);
 
@@ -447,7 +490,6 @@ class SqsMessageRepositoryTest {
                 .retryCount(2)
                 .build();
 
-        lenient().when(gson.toJson(any())).thenReturn("{}");
 
         sqsMessageRepository.resendForRetry(message);
 
@@ -471,7 +513,6 @@ class SqsMessageRepositoryTest {
                 .retryCount(1)
                 .build();
 
-        lenient().when(gson.toJson(any())).thenReturn("{}");
         when(sqsClient.sendMessage(any(SendMessageRequest.class)))
                 .thenThrow(SqsException.builder().message("SQS Error").build());
 
@@ -489,7 +530,6 @@ class SqsMessageRepositoryTest {
                 .retryCount(1)
                 .build();
 
-        lenient().when(gson.toJson(any())).thenReturn("{}");
 
         sqsMessageRepository.resendForRetry(message);
 
@@ -520,7 +560,6 @@ class SqsMessageRepositoryTest {
                 .data(null)
                 .build();
 
-        lenient().when(gson.toJson(any())).thenReturn("null");
 
         sqsMessageRepository.sendMessage(callbackRequest);
 
@@ -530,4 +569,170 @@ class SqsMessageRepositoryTest {
         SendMessageRequest request = captor.getValue();
         assertThat(request.messageGroupId()).isEqualTo("payment-callback-default");
     }
-}
\ No newline at end of file
+
+    @Test
+    void sendMessage_ShouldUseBatchSender_WhenBatchEnabled() {
+        ReflectionTestUtils.setField(sqsMessageRepository, "batchEnabled", true);
+        when(batchSender.send(any(SendMessageRequest.class)))
+                .thenReturn(SendMessageResponse.builder().messageId("batched-id").build());
+
+        CallbackRequest<String> callbackRequest = CallbackRequest.<String>builder()
+                .data("test-data")
+                .build();
+
+        sqsMessageRepository.sendMessage(callbackRequest);
+
+        ArgumentCaptor<SendMessageRequest> captor = ArgumentCaptor.forClass(SendMessageRequest.class);
+        verify(batchSender).send(captor.capture());
+        verify(sqsClient, never()).sendMessage(any(SendMessageRequest.class));
+        assertThat(captor.getValue().queueUrl()).isEqualTo(QUEUE_URL);
+        assertThat(captor.getValue().messageAttributes()).containsKey("timestamp");
+    }
+
+    @Test
+    void sendToDLQ_ShouldUseBatchSender_WhenBatchEnabled() {
+        ReflectionTestUtils.setField(sqsMessageRepository, "batchEnabled", true);
+        when(batchSender.send(any(SendMessageRequest.class)))
+                .thenReturn(SendMessageResponse.builder().messageId("batched-id").build());
+
+        MessageSQS<String> message = MessageSQS.<String>builder()
+                .messageId("msg-123")
+                .timestamp(LocalDateTime.now())
+                .retryCount(3)
+                .build();
+
+        sqsMessageRepository.sendToDLQ(message, new RuntimeException("erro"));
+
+        ArgumentCaptor<SendMessageRequest> captor = ArgumentCaptor.forClass(SendMessageRequest.class);
+        verify(batchSender).send(captor.capture());
+        assertThat(captor.getValue().queueUrl()).isEqualTo(DLQ_URL);
+    }
+
+    @Test
+    void resendForRetry_ShouldPropagateFailure_WhenBatchEntryFails() {
+        ReflectionTestUtils.setField(sqsMessageRepository, "batchEnabled", true);
+        when(batchSender.send(any(SendMessageRequest.class)))
+                .thenThrow(SqsException.builder().message("entry failed").build());
+
+        MessageSQS<String> message = MessageSQS.<String>builder()
+                .messageId("msg-123")
+                .timestamp(LocalDateTime.now())
+                .retryCount(0)
+                .build();
+
+        assertThatThrownBy(() -> sqsMessageRepository.resendForRetry(message))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Falha ao reenviar mensagem para retry");
+    }
+
+    @Test
+    void sendMessage_ShouldMapBatchEntryFailureToSqsError_WhenBatchEnabled() {
+        ReflectionTestUtils.setField(sqsMessageRepository, "batchEnabled", true);
+        when(batchSender.send(any(SendMessageRequest.class)))
+                .thenThrow(SqsException.builder().message("entry failed").build());
+
+        CallbackRequest<String> callbackRequest = CallbackRequest.<String>builder()
+                .data("test-data")
+                .build();
+
+        assertThatThrownBy(() -> sqsMessageRepository.sendMessage(callbackRequest))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Falha ao enviar mensagem para SQS");
+    }
+
+    @Test
+    void sendMessage_WithParsedCallback_ShouldSendRoutingKeysAsAttributes() throws Exception {
+        JsonNode tree = new ObjectMapper().readTree("{\"txId\":\"tx-123\",\"identifier\":\"id-123\",\"value\":10}");
+        ParsedCallback callback = ParsedCallback.builder().tree(tree).type(CallbackType.PIX).build();
+
+        sqsMessageRepository.sendMessage(callback);
+
+        ArgumentCaptor<SendMessageRequest> captor = ArgumentCaptor.forClass(SendMessageRequest.class);
+        verify(sqsClient).sendMessage(captor.capture());
+        SendMessageRequest request = captor.getValue();
+        assertThat(codecs.json().decode(request.messageBody()).getCallbackRequest().getData()).isEqualTo(tree);
+        assertThat(request.messageAttributes().get(CallbackRouting.CALLBACK_TYPE).stringValue()).isEqualTo("PIX");
+        assertThat(request.messageAttributes().get(CallbackRouting.TX_ID).stringValue()).isEqualTo("tx-123");
+        assertThat(request.messageAttributes()).doesNotContainKey(CallbackRouting.OMP_TRANSACTION_ID);
+        assertThat(request.messageGroupId()).isEqualTo("callback-id-123");
+        assertThat(request.messageDeduplicationId())
+                .isEqualTo(request.messageAttributes().get(CallbackRouting.FINGERPRINT).stringValue())
+                .isEqualTo(CallbackFingerprint.of(tree));
+    }
+
+    @Test
+    void sendMessage_WithParsedCallback_ShouldReuseFingerprintFromIngress() throws Exception {
+        JsonNode tree = new ObjectMapper().readTree("{\"txId\":\"tx-123\",\"value\":10}");
+        ParsedCallback callback = ParsedCallback.builder().tree(tree).type(CallbackType.PIX).build();
+        String fingerprint = callback.getFingerprint();
+
+        sqsMessageRepository.sendMessage(callback);
+
+        ArgumentCaptor<SendMessageRequest> captor = ArgumentCaptor.forClass(SendMessageRequest.class);
+        verify(sqsClient).sendMessage(captor.capture());
+        assertThat(fingerprint).isEqualTo(CallbackFingerprint.of(tree));
+        assertThat(captor.getValue().messageAttributes().get(CallbackRouting.FINGERPRINT).stringValue())
+                .isSameAs(fingerprint);
+    }
+
+    @Test
+    void resendForRetry_WithRouting_ShouldKeepRoutingAttributes() {
+        MessageSQS<Object> message = MessageSQS.builder()
+                .messageId("msg-123")
+                .callbackRequest(CallbackRequest.builder().data("{}").build())
+                .retryCount(0)
+                .build();
+        CallbackRouting routing = CallbackRouting.builder()
+                .callbackType(CallbackType.TRANSACTIONS)
+                .txId("tx-123")
+                .fingerprint("tx-123-abc")
+                .build();
+
+        sqsMessageRepository.resendForRetry(message, routing);
+
+        ArgumentCaptor<SendMessageRequest> captor = ArgumentCaptor.forClass(SendMessageRequest.class);
+        verify(sqsClient).sendMessage(captor.capture());
+        SendMessageRequest request = captor.getValue();
+        assertThat(request.messageAttributes().get(CallbackRouting.CALLBACK_TYPE).stringValue()).isEqualTo("TRANSACTIONS");
+        assertThat(request.messageGroupId()).isEqualTo("callback-tx-123");
+        assertThat(request.messageDeduplicationId()).isEqualTo("tx-123-abc-r1");
+    }
+
+    @Test
+    void sendMessage_ShouldWriteJsonBodyWithCodecAttribute() throws Exception {
+        sqsMessageRepository.sendMessage(CallbackRequest.builder().data(Map.of("txId", "tx-123")).build());
+
+        ArgumentCaptor<SendMessageRequest> captor = ArgumentCaptor.forClass(SendMessageRequest.class);
+        verify(sqsClient).sendMessage(captor.capture());
+        SendMessageRequest request = captor.getValue();
+        assertThat(request.messageAttributes().get(MessageCodec.ATTRIBUTE).stringValue()).isEqualTo(JsonMessageCodec.VERSION);
+        assertThat(request.messageBody()).startsWith("{").doesNotContain("null");
+        MessageSQS<Object> decoded = codecs.forAttributes(request.messageAttributes()).decode(request.messageBody());
+        assertThat(decoded.getRetryCount()).isZero();
+        assertThat(decoded.getCallbackRequest().getData()).isInstanceOf(JsonNode.class);
+    }
+
+    @Test
+    void sendMessage_WithSmileCodec_ShouldWriteBinaryBodyAndKeepDlqAsJson() throws Exception {
+        ReflectionTestUtils.setField(codecs, "producerVersion", SmileMessageCodec.VERSION);
+        codecs.init();
+        MessageSQS<Object> failed = MessageSQS.builder()
+                .messageId("msg-123")
+                .callbackRequest(CallbackRequest.builder().data(Map.of("txId", "tx-123")).build())
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        sqsMessageRepository.sendMessage(CallbackRequest.builder().data(Map.of("txId", "tx-123")).build());
+        sqsMessageRepository.sendToDLQ(failed, new RuntimeException("falha"));
+
+        ArgumentCaptor<SendMessageRequest> captor = ArgumentCaptor.forClass(SendMessageRequest.class);
+        verify(sqsClient, times(2)).sendMessage(captor.capture());
+        SendMessageRequest queued = captor.getAllValues().get(0);
+        SendMessageRequest dlq = captor.getAllValues().get(1);
+        assertThat(queued.messageAttributes().get(MessageCodec.ATTRIBUTE).stringValue()).isEqualTo(SmileMessageCodec.VERSION);
+        assertThat(codecs.forAttributes(queued.messageAttributes()).decode(queued.messageBody())
+                .getCallbackRequest().getData()).hasToString("{\"txId\":\"tx-123\"}");
+        assertThat(dlq.messageAttributes().get(MessageCodec.ATTRIBUTE).stringValue()).isEqualTo(JsonMessageCodec.VERSION);
+        assertThat(dlq.messageBody()).contains("\"errorMessage\":\"falha\"");
+    }
+}
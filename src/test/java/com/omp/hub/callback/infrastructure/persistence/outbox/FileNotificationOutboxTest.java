@@ -0,0 +1,255 @@
+package com.omp.hub.callback.infrastructure.persistence.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.omp.hub.callback.domain.enums.NotificationChannelEnum;
+import com.omp.hub.callback.domain.enums.PixAutomaticoEventEnum;
+import com.omp.hub.callback.domain.model.dto.notification.NotificationIntent;
+
+class FileNotificationOutboxTest {
+
+    @TempDir
+    Path dir;
+
+    private FileNotificationOutbox outbox;
+
+    @BeforeEach
+    void setUp() {
+        outbox = newOutbox();
+    }
+
+    @AfterEach
+    void tearDown() {
+        outbox.close();
+    }
+
+    @Test
+    void save_ShouldKeepIntentsOrderedByCreation() {
+        // Given
+        outbox.save(intent("b", 20));
+        outbox.save(intent("a", 10));
+
+        // When
+        List<NotificationIntent> pending = outbox.findAll();
+
+        // Then
+        assertEquals(List.of("a", "b"), pending.stream().map(NotificationIntent::getId).toList());
+        assertEquals(2, outbox.size());
+        assertEquals(PixAutomaticoEventEnum.PAGAMENTO, outbox.findById("a").orElseThrow().getEventType());
+    }
+
+    @Test
+    void save_WithExistingId_ShouldReplaceIntent() {
+        // Given
+        outbox.save(intent("a", 10));
+
+        // When
+        outbox.save(intent("a", 10).toBuilder().attempts(2).nextAttemptAt(500).build());
+
+        // Then
+        assertEquals(1, outbox.size());
+        assertEquals(2, outbox.findById("a").orElseThrow().getAttempts());
+    }
+
+    @Test
+    void remove_ShouldDropIntent() {
+        // Given
+        outbox.save(intent("a", 10));
+
+        // When
+        outbox.remove("a");
+        outbox.remove("missing");
+
+        // Then
+        assertTrue(outbox.findById("a").isEmpty());
+        assertEquals(0, outbox.size());
+    }
+
+    @Test
+    void findDue_ShouldReturnEarliestDueIntentsUpToLimit() {
+        // Given
+        outbox.save(intent("a", 10).toBuilder().nextAttemptAt(300).build());
+        outbox.save(intent("b", 20));
+        outbox.save(intent("c", 30).toBuilder().nextAttemptAt(5).build());
+        outbox.save(intent("d", 40));
+        outbox.save(intent("later", 50).toBuilder().nextAttemptAt(1000).build());
+
+        // When
+        List<NotificationIntent> due = outbox.findDue(100, 2);
+
+        // Then
+        assertEquals(List.of("c", "b"), due.stream().map(NotificationIntent::getId).toList());
+        assertEquals(List.of("c", "b", "d"), outbox.findDue(100, 10).stream().map(NotificationIntent::getId).toList());
+        assertTrue(outbox.findDue(100, 0).isEmpty());
+    }
+
+    @Test
+    void findById_ShouldReturnCopy() {
+        // Given
+        outbox.save(intent("a", 10));
+
+        // When
+        outbox.findById("a").orElseThrow().setAttempts(9);
+
+        // Then
+        assertEquals(0, outbox.findById("a").orElseThrow().getAttempts());
+    }
+
+    @Test
+    void reopen_ShouldReplayJournal() {
+        // Given
+        outbox.save(intent("a", 10));
+        outbox.save(intent("b", 20));
+        outbox.save(intent("b", 20).toBuilder().attempts(1).build());
+        outbox.remove("a");
+        outbox.close();
+
+        // When
+        FileNotificationOutbox reopened = newOutbox();
+
+        // Then
+        List<NotificationIntent> pending = reopened.findAll();
+        assertEquals(1, pending.size());
+        assertEquals("b", pending.get(0).getId());
+        assertEquals(1, pending.get(0).getAttempts());
+        assertEquals("tx-b", pending.get(0).getTxId());
+        reopened.close();
+    }
+
+    @Test
+    void reopen_WithTruncatedLastLine_ShouldIgnoreItAndKeepAppending() throws IOException {
+        // Given
+        outbox.save(intent("a", 10));
+        outbox.close();
+        Files.writeString(dir.resolve(FileNotificationOutbox.JOURNAL_FILE), "{\"op\":\"PUT\",\"id\":\"b\",\"inte",
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        // When
+        FileNotificationOutbox reopened = newOutbox();
+        reopened.save(intent("c", 30));
+        reopened.close();
+
+        // Then
+        FileNotificationOutbox replayed = newOutbox();
+        assertEquals(List.of("a", "c"), replayed.findAll().stream().map(NotificationIntent::getId).toList());
+        replayed.close();
+    }
+
+    @Test
+    void remove_AboveCompactThreshold_ShouldRewriteJournalWithPendingOnly() throws IOException {
+        // Given
+        ReflectionTestUtils.setField(outbox, "compactThreshold", 4);
+        outbox.save(intent("a", 10));
+        outbox.save(intent("b", 20));
+        outbox.save(intent("c", 30));
+
+        // When
+        outbox.remove("a");
+        outbox.remove("b");
+
+        // Then
+        List<String> lines = Files.readAllLines(dir.resolve(FileNotificationOutbox.JOURNAL_FILE));
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).contains("\"id\":\"c\""));
+        assertFalse(Files.exists(dir.resolve(FileNotificationOutbox.JOURNAL_FILE + ".tmp")));
+
+        outbox.save(intent("d", 40));
+        outbox.close();
+        FileNotificationOutbox reopened = newOutbox();
+        assertEquals(List.of("c", "d"), reopened.findAll().stream().map(NotificationIntent::getId).toList());
+        reopened.close();
+    }
+
+    @Test
+    void save_WithoutDirectory_ShouldFailInsteadOfUsingTempDir() {
+        // Given
+        FileNotificationOutbox unconfigured = new FileNotificationOutbox(new ObjectMapper());
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> unconfigured.save(intent("a", 10)));
+    }
+
+    @Test
+    void save_ConcurrentlyWithFsync_ShouldPersistEveryIntent() throws Exception {
+        // Given
+        outbox.close();
+        outbox = newOutbox();
+        ReflectionTestUtils.setField(outbox, "fsync", true);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        try {
+            List<Future<?>> saves = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                String id = "n" + i;
+                saves.add(executor.submit(() -> outbox.save(intent(id, 10))));
+            }
+            for (Future<?> save : saves) {
+                save.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        outbox.close();
+        FileNotificationOutbox reopened = newOutbox();
+        assertEquals(64, reopened.size());
+        reopened.close();
+    }
+
+    @Test
+    void save_WithPendingChannels_ShouldSurviveReopen() {
+        // Given
+        outbox.save(intent("a", 10).toBuilder().channels(Set.of(NotificationChannelEnum.EMAIL)).build());
+
+        // When
+        outbox.close();
+        FileNotificationOutbox reopened = newOutbox();
+
+        // Then
+        assertEquals(Set.of(NotificationChannelEnum.EMAIL), reopened.findById("a").orElseThrow().getChannels());
+        reopened.close();
+    }
+
+    private FileNotificationOutbox newOutbox() {
+        FileNotificationOutbox fileOutbox = new FileNotificationOutbox(new ObjectMapper());
+        ReflectionTestUtils.setField(fileOutbox, "directory", dir.toString());
+        ReflectionTestUtils.setField(fileOutbox, "fsync", false);
+        return fileOutbox;
+    }
+
+    private static NotificationIntent intent(String id, long createdAt) {
+        return NotificationIntent.builder()
+                .id(id)
+                .txId("tx-" + id)
+                .eventType(PixAutomaticoEventEnum.PAGAMENTO)
+                .correlationId("7f1c1c1e-8c3b-4c7a-9d43-1f0e5d6c7b8a")
+                .createdAt(createdAt)
+                .nextAttemptAt(createdAt)
+                .build();
+    }
+}
@@ -0,0 +1,41 @@
+package com.omp.hub.callback.infrastructure.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class BulkheadTest {
+
+    @Test
+    void tryAcquire_WhenFull_ShouldRejectUntilReleased() {
+        // Given
+        Bulkhead bulkhead = new Bulkhead("communication", 2, 0);
+
+        // When
+        boolean first = bulkhead.tryAcquire();
+        boolean second = bulkhead.tryAcquire();
+        boolean third = bulkhead.tryAcquire();
+
+        // Then
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(third);
+        assertEquals(0, bulkhead.getAvailableConcurrentCalls());
+        assertEquals(1, bulkhead.getRejectedCalls());
+
+        bulkhead.release();
+        assertTrue(bulkhead.tryAcquire());
+    }
+
+    @Test
+    void constructor_WithInvalidLimit_ShouldAllowAtLeastOneCall() {
+        // When
+        Bulkhead bulkhead = new Bulkhead("communication", 0, -1);
+
+        // Then
+        assertEquals(1, bulkhead.getMaxConcurrentCalls());
+        assertTrue(bulkhead.tryAcquire());
+    }
+}
@@ -0,0 +1,146 @@
+package com.omp.hub.callback.infrastructure.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+
+    private AtomicLong now;
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong(1000);
+        circuitBreaker = new CircuitBreaker("sap-payments", 50f, 4, 4, 10000, 2, now::get);
+    }
+
+    @Test
+    void onFailure_BelowMinimumCalls_ShouldStayClosed() {
+        // When
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.onFailure(circuitBreaker.tryAcquirePermission());
+        }
+
+        // Then
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(-1f, circuitBreaker.getFailureRate());
+    }
+
+    @Test
+    void onFailure_WhenFailureRateReachesThreshold_ShouldOpenAndRejectCalls() {
+        // Given
+        record(true, false, true, false);
+
+        // Then
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertNull(circuitBreaker.tryAcquirePermission());
+        assertEquals(1, circuitBreaker.getNotPermittedCalls());
+    }
+
+    @Test
+    void slidingWindow_ShouldForgetOldestOutcome() {
+        // Given
+        record(true, false, false, false);
+
+        // When
+        record(false);
+
+        // Then
+        assertEquals(4, circuitBreaker.getBufferedCalls());
+        assertEquals(0, circuitBreaker.getFailedCalls());
+        assertEquals(0f, circuitBreaker.getFailureRate());
+    }
+
+    @Test
+    void openDurationElapsed_ShouldAllowLimitedHalfOpenCallsAndCloseOnSuccess() {
+        // Given
+        record(true, true, true, true);
+        now.addAndGet(10000);
+
+        // When
+        CircuitBreaker.Permit first = circuitBreaker.tryAcquirePermission();
+        CircuitBreaker.Permit second = circuitBreaker.tryAcquirePermission();
+        CircuitBreaker.Permit third = circuitBreaker.tryAcquirePermission();
+        circuitBreaker.onSuccess(first);
+        circuitBreaker.onSuccess(second);
+
+        // Then
+        assertEquals(CircuitBreaker.State.HALF_OPEN, first.getState());
+        assertNull(third);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(0, circuitBreaker.getBufferedCalls());
+    }
+
+    @Test
+    void halfOpenFailure_ShouldReopen() {
+        // Given
+        record(true, true, true, true);
+        now.addAndGet(10000);
+
+        // When
+        CircuitBreaker.Permit trial = circuitBreaker.tryAcquirePermission();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        circuitBreaker.onFailure(trial);
+
+        // Then
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertNull(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    void callAdmittedWhileClosed_CompletingDuringHalfOpen_ShouldNotCountAsTrial() {
+        // Given
+        CircuitBreaker.Permit slowFailure = circuitBreaker.tryAcquirePermission();
+        CircuitBreaker.Permit slowSuccess = circuitBreaker.tryAcquirePermission();
+        record(true, true, true, true);
+        now.addAndGet(10000);
+        CircuitBreaker.Permit trial = circuitBreaker.tryAcquirePermission();
+
+        // When
+        circuitBreaker.onFailure(slowFailure);
+        circuitBreaker.onSuccess(slowSuccess);
+
+        // Then
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        assertNotNull(circuitBreaker.tryAcquirePermission());
+        assertNull(circuitBreaker.tryAcquirePermission());
+        circuitBreaker.onSuccess(trial);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void trialFromPreviousHalfOpen_CompletingAfterReopen_ShouldBeIgnored() {
+        // Given
+        record(true, true, true, true);
+        now.addAndGet(10000);
+        CircuitBreaker.Permit failedTrial = circuitBreaker.tryAcquirePermission();
+        CircuitBreaker.Permit lateTrial = circuitBreaker.tryAcquirePermission();
+        circuitBreaker.onFailure(failedTrial);
+        now.addAndGet(10000);
+        CircuitBreaker.Permit newTrial = circuitBreaker.tryAcquirePermission();
+
+        // When
+        circuitBreaker.onSuccess(lateTrial);
+        circuitBreaker.onSuccess(newTrial);
+
+        // Then
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+    }
+
+    private void record(boolean... failures) {
+        for (boolean failure : failures) {
+            CircuitBreaker.Permit permit = circuitBreaker.tryAcquirePermission();
+            if (failure) {
+                circuitBreaker.onFailure(permit);
+            } else {
+                circuitBreaker.onSuccess(permit);
+            }
+        }
+    }
+}
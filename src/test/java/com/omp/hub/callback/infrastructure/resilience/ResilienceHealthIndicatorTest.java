@@ -0,0 +1,34 @@
+package com.omp.hub.callback.infrastructure.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.mock.env.MockEnvironment;
+
+class ResilienceHealthIndicatorTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void health_ShouldStayUpAndDetailEachBreaker() {
+        // Given
+        ResilienceRegistry registry = new ResilienceRegistry(new MockEnvironment()
+                .withProperty("client.resilience.defaults.minimum-calls", "1"));
+        CircuitBreaker circuitBreaker = registry.circuitBreaker(ResilienceRegistry.COMMUNICATION);
+        circuitBreaker.onFailure(circuitBreaker.tryAcquirePermission());
+
+        // When
+        Health health = new ResilienceHealthIndicator(registry).health();
+
+        // Then
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(true, health.getDetails().get("enabled"));
+        Map<String, Object> communication = (Map<String, Object>) health.getDetails().get(ResilienceRegistry.COMMUNICATION);
+        assertEquals("OPEN", communication.get("state"));
+        assertTrue(health.getDetails().containsKey(ResilienceRegistry.SAP_PAYMENTS));
+    }
+}
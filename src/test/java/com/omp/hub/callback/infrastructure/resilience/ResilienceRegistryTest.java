@@ -0,0 +1,177 @@
+package com.omp.hub.callback.infrastructure.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.omp.hub.callback.domain.exceptions.BusinessException;
+import com.omp.hub.callback.domain.exceptions.CallNotPermittedException;
+import com.omp.hub.callback.domain.exceptions.ErrorResponse;
+
+class ResilienceRegistryTest {
+
+    private MockEnvironment environment;
+    private ResilienceRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        environment = new MockEnvironment()
+                .withProperty("client.resilience.defaults.sliding-window-size", "4")
+                .withProperty("client.resilience.defaults.minimum-calls", "4")
+                .withProperty("client.resilience.defaults.open-duration-ms", "60000")
+                .withProperty("client.resilience.sap-payments.max-concurrent-calls", "1")
+                .withProperty("client.resilience.sap-payments.max-wait-ms", "0");
+        registry = new ResilienceRegistry(environment);
+    }
+
+    @Test
+    void constructor_ShouldReadPerDownstreamOverridesAndDefaults() {
+        // Then
+        assertEquals(1, registry.bulkhead(ResilienceRegistry.SAP_PAYMENTS).getMaxConcurrentCalls());
+        assertEquals(20, registry.bulkhead(ResilienceRegistry.SAP_REDEMPTIONS).getMaxConcurrentCalls());
+    }
+
+    @Test
+    void execute_WhenServerErrorsReachThreshold_ShouldOpenAndFailFast() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        for (int i = 0; i < 4; i++) {
+            assertThrows(BusinessException.class, () -> registry.execute(ResilienceRegistry.SAP_REDEMPTIONS, () -> {
+                calls.incrementAndGet();
+                throw businessException(HttpStatus.BAD_GATEWAY);
+            }));
+        }
+
+        // When
+        CallNotPermittedException exception = assertThrows(CallNotPermittedException.class,
+                () -> registry.execute(ResilienceRegistry.SAP_REDEMPTIONS, calls::incrementAndGet));
+
+        // Then
+        assertEquals(4, calls.get());
+        assertEquals(CallNotPermittedException.CIRCUIT_OPEN, exception.getError().getErrorCode());
+        assertEquals(503, exception.getError().getStatus());
+        assertEquals(CircuitBreaker.State.OPEN, registry.circuitBreaker(ResilienceRegistry.SAP_REDEMPTIONS).getState());
+        assertEquals(CircuitBreaker.State.CLOSED, registry.circuitBreaker(ResilienceRegistry.SAP_PAYMENTS).getState());
+    }
+
+    @Test
+    void execute_WithClientErrors_ShouldNotOpen() {
+        // When
+        for (int i = 0; i < 4; i++) {
+            assertThrows(BusinessException.class, () -> registry.execute(ResilienceRegistry.COMMUNICATION, () -> {
+                throw businessException(HttpStatus.BAD_REQUEST);
+            }));
+        }
+
+        // Then
+        assertEquals(CircuitBreaker.State.CLOSED, registry.circuitBreaker(ResilienceRegistry.COMMUNICATION).getState());
+        assertEquals(0, registry.circuitBreaker(ResilienceRegistry.COMMUNICATION).getFailedCalls());
+    }
+
+    @Test
+    void execute_WhenHalfOpenCallThrowsError_ShouldReleaseTrialAndReopen() {
+        // Given
+        registry = new ResilienceRegistry(environment
+                .withProperty("client.resilience.information-payment.open-duration-ms", "0")
+                .withProperty("client.resilience.information-payment.half-open-calls", "1"));
+        for (int i = 0; i < 4; i++) {
+            assertThrows(BusinessException.class, () -> registry.execute(ResilienceRegistry.INFORMATION_PAYMENT, () -> {
+                throw businessException(HttpStatus.SERVICE_UNAVAILABLE);
+            }));
+        }
+
+        // When
+        assertThrows(StackOverflowError.class, () -> registry.execute(ResilienceRegistry.INFORMATION_PAYMENT, () -> {
+            throw new StackOverflowError();
+        }));
+        String result = registry.execute(ResilienceRegistry.INFORMATION_PAYMENT, () -> "ok");
+
+        // Then
+        assertEquals("ok", result);
+        assertEquals(CircuitBreaker.State.CLOSED, registry.circuitBreaker(ResilienceRegistry.INFORMATION_PAYMENT).getState());
+    }
+
+    @Test
+    void execute_WhenBulkheadFull_ShouldRejectAndReleaseAfterCall() throws Exception {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> registry.run(ResilienceRegistry.SAP_PAYMENTS, () -> {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            // When
+            CallNotPermittedException exception = assertThrows(CallNotPermittedException.class,
+                    () -> registry.execute(ResilienceRegistry.SAP_PAYMENTS, () -> "ok"));
+
+            // Then
+            assertEquals(CallNotPermittedException.BULKHEAD_FULL, exception.getError().getErrorCode());
+            assertEquals(1, registry.bulkhead(ResilienceRegistry.SAP_PAYMENTS).getRejectedCalls());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        }
+        assertEquals("ok", registry.execute(ResilienceRegistry.SAP_PAYMENTS, () -> "ok"));
+    }
+
+    @Test
+    void execute_WhenDisabled_ShouldCallThrough() {
+        // Given
+        registry = new ResilienceRegistry(environment.withProperty("client.resilience.enabled", "false"));
+        for (int i = 0; i < 10; i++) {
+            assertThrows(BusinessException.class, () -> registry.execute(ResilienceRegistry.SAP_PAYMENTS, () -> {
+                throw businessException(HttpStatus.INTERNAL_SERVER_ERROR);
+            }));
+        }
+
+        // When
+        String result = registry.execute(ResilienceRegistry.SAP_PAYMENTS, () -> "ok");
+
+        // Then
+        assertFalse(registry.isEnabled());
+        assertEquals("ok", result);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void snapshot_ShouldExposeStateOfEveryDownstream() {
+        // When
+        Map<String, Object> snapshot = registry.snapshot();
+
+        // Then
+        assertEquals(6, snapshot.size());
+        Map<String, Object> information = (Map<String, Object>) snapshot.get(ResilienceRegistry.INFORMATION_PAYMENT);
+        assertEquals("CLOSED", information.get("state"));
+        assertEquals(20, information.get("bulkheadAvailableConcurrentCalls"));
+    }
+
+    private static BusinessException businessException(HttpStatus status) {
+        return new BusinessException(ErrorResponse.builder()
+                .message("erro")
+                .errorCode("ERROR")
+                .status(status.value())
+                .build());
+    }
+}
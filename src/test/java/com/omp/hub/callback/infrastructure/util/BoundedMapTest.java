@@ -0,0 +1,120 @@
+package com.omp.hub.callback.infrastructure.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class BoundedMapTest {
+
+    @Test
+    void put_AboveMaxEntries_ShouldEvictOldestFirst() {
+        // Given
+        BoundedMap<String, String> map = new BoundedMap<>(() -> 2);
+
+        // When
+        map.put("a", "1");
+        map.put("b", "2");
+        map.put("c", "3");
+
+        // Then
+        assertEquals(2, map.size());
+        assertNull(map.get("a"));
+        assertEquals("2", map.get("b"));
+        assertEquals("3", map.get("c"));
+        assertEquals(1, map.getEvictionCount());
+    }
+
+    @Test
+    void put_ExistingKey_ShouldMoveKeyToNewest() {
+        // Given
+        BoundedMap<String, String> map = new BoundedMap<>(() -> 2);
+        map.put("a", "1");
+        map.put("b", "2");
+
+        // When
+        map.put("a", "1b");
+        map.put("c", "3");
+
+        // Then
+        assertEquals("1b", map.get("a"));
+        assertNull(map.get("b"));
+    }
+
+    @Test
+    void maxEntries_ShouldBeReadOnEachWrite() {
+        // Given
+        AtomicInteger limit = new AtomicInteger(10);
+        BoundedMap<String, String> map = new BoundedMap<>(limit::get);
+        map.put("a", "1");
+        map.put("b", "2");
+        map.put("c", "3");
+
+        // When
+        limit.set(1);
+        map.put("d", "4");
+
+        // Then
+        assertEquals(1, map.size());
+        assertEquals("4", map.get("d"));
+    }
+
+    @Test
+    void conditionalOperations_ShouldCompareByIdentity() {
+        // Given
+        BoundedMap<String, String> map = new BoundedMap<>(() -> 10);
+        String first = new String("v");
+
+        // When & Then
+        assertTrue(map.putIfAbsent("k", first));
+        assertFalse(map.putIfAbsent("k", "outro"));
+        assertFalse(map.replace("k", new String("v"), "novo"));
+        assertTrue(map.replace("k", first, "novo"));
+        assertFalse(map.remove("k", first));
+        assertEquals("novo", map.get("k"));
+        assertEquals("novo", map.remove("k"));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void compute_ShouldWriteRemoveOrKeepValue() {
+        // Given
+        BoundedMap<String, Integer> map = new BoundedMap<>(() -> 10);
+
+        // When & Then
+        assertEquals(1, map.compute("k", (key, current) -> current == null ? 1 : current + 1));
+        assertEquals(2, map.compute("k", (key, current) -> current == null ? 1 : current + 1));
+        assertNull(map.compute("k", (key, current) -> null));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void concurrentWrites_ShouldNeverExceedMaxEntries() throws Exception {
+        // Given
+        BoundedMap<Integer, Integer> map = new BoundedMap<>(() -> 100);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+
+        // When
+        for (int t = 0; t < 8; t++) {
+            int offset = t * 10_000;
+            pool.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    map.put(offset + i, i);
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        // Then
+        assertEquals(100, map.size());
+        assertEquals(80_000 - 100, map.getEvictionCount());
+    }
+}
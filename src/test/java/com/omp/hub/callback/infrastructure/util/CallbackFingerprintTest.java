@@ -0,0 +1,107 @@
+package com.omp.hub.callback.infrastructure.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class CallbackFingerprintTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void of_WithReorderedFields_ShouldReturnSameValue() throws Exception {
+        // Given
+        String first = "{\"txId\":\"tx-1\",\"event\":{\"type\":\"PAYMENT\",\"value\":10}}";
+        String reordered = "{\"event\":{\"value\":10,\"type\":\"PAYMENT\"},\"txId\":\"tx-1\"}";
+
+        // When
+        String a = CallbackFingerprint.of(mapper.readTree(first));
+        String b = CallbackFingerprint.of(mapper.readTree(reordered));
+
+        // Then
+        assertEquals(a, b);
+        assertTrue(a.startsWith("tx-1-"));
+    }
+
+    @Test
+    void of_WithDifferentPayload_ShouldReturnDifferentValue() throws Exception {
+        // Given
+        JsonNode first = mapper.readTree("{\"txId\":\"tx-1\",\"status\":\"PAID\"}");
+        JsonNode second = mapper.readTree("{\"txId\":\"tx-1\",\"status\":\"CANCELLED\"}");
+
+        // When & Then
+        assertNotEquals(CallbackFingerprint.of(first), CallbackFingerprint.of(second));
+    }
+
+    @Test
+    void of_WithMalformedPaymentField_ShouldMatchSanitizedPayloadWithoutChangingTree() throws Exception {
+        // Given
+        JsonNode raw = mapper.readTree(
+                "{\"identifier\":\"id-9\",\"event\":{\"payment\":[{\"cash\":\"null\",\"pix\":{\"value\":1}}]}}");
+        JsonNode sanitized = mapper.readTree(
+                "{\"identifier\":\"id-9\",\"event\":{\"payment\":[{\"pix\":{\"value\":1}}]}}");
+
+        // When
+        String fromRaw = CallbackFingerprint.of(raw);
+
+        // Then
+        assertEquals(CallbackFingerprint.of(sanitized), fromRaw);
+        assertTrue(raw.get("event").get("payment").get(0).has("cash"));
+    }
+
+    @Test
+    void of_WithMapOrJsonString_ShouldMatchTree() throws Exception {
+        // Given
+        String json = "{\"txId\":\"tx-1\",\"value\":\"100.50\"}";
+
+        // When
+        String fromTree = CallbackFingerprint.of(mapper.readTree(json));
+
+        // Then
+        assertEquals(fromTree, CallbackFingerprint.of((Object) json));
+        assertEquals(fromTree, CallbackFingerprint.of((Object) Map.of("value", "100.50", "txId", "tx-1")));
+    }
+
+    @Test
+    void of_WithoutTxId_ShouldReturnHashOnly() throws Exception {
+        // When
+        String fingerprint = CallbackFingerprint.of(mapper.readTree("{\"status\":\"PAID\"}"));
+
+        // Then
+        assertEquals(64, fingerprint.length());
+    }
+
+    @Test
+    void of_WithLongTxId_ShouldFitSqsLimit() {
+        // When
+        String fingerprint = CallbackFingerprint.of((Object) Map.of("txId", "x".repeat(200)));
+
+        // Then
+        assertEquals(128, fingerprint.length());
+    }
+
+    @Test
+    void of_WithNonObjectPayload_ShouldReturnNull() {
+        assertNull(CallbackFingerprint.of((Object) null));
+        assertNull(CallbackFingerprint.of((Object) "not json"));
+        assertNull(CallbackFingerprint.of((Object) "\"text\""));
+    }
+
+    @Test
+    void txId_ShouldFollowFieldPriority() throws Exception {
+        // Given
+        JsonNode tree = mapper.readTree("{\"ompTransactionId\":\"omp-1\",\"identifier\":\"id-1\",\"txId\":\"\"}");
+
+        // When & Then
+        assertEquals("id-1", CallbackFingerprint.txId(tree));
+        assertNull(CallbackFingerprint.txId(null));
+    }
+}
@@ -141,4 +141,116 @@ class JsonSanitizerUtilTest {
         assertFalse(sanitized.contains("\"cash\""), "Campo 'cash' malformado deveria ter sido removido");
         assertFalse(sanitized.contains("\"pix\""), "Campo 'pix' malformado deveria ter sido removido");
     }
+
+    @Test
+    @DisplayName("Deve sanitizar a arvore no proprio lugar e indicar alteracao")
+    void shouldSanitizeTreeInPlace() throws Exception {
+        // Given
+        com.fasterxml.jackson.databind.JsonNode tree = mapper.readTree("""
+            {
+                "event": {
+                    "payment": [
+                        { "pix": "texto" },
+                        { "card": { "brand": "VISA" } }
+                    ]
+                }
+            }
+            """);
+
+        // When
+        boolean changed = JsonSanitizerUtil.sanitizeCallbackTree(tree);
+
+        // Then
+        assertTrue(changed);
+        assertFalse(tree.get("event").get("payment").get(0).has("pix"));
+        assertTrue(tree.get("event").get("payment").get(1).has("card"));
+    }
+
+    @Test
+    @DisplayName("Deve indicar que a arvore nao foi alterada quando nao ha campos malformados")
+    void shouldReportUnchangedTree() throws Exception {
+        // Given
+        com.fasterxml.jackson.databind.JsonNode tree = mapper.readTree("{\"txId\":\"123\"}");
+
+        // When / Then
+        assertFalse(JsonSanitizerUtil.sanitizeCallbackTree(tree));
+    }
+
+    @Test
+    @DisplayName("Deve retornar a mesma instancia quando nao ha campos malformados")
+    void shouldReturnSameInstanceWhenNothingToSanitize() {
+        // Given
+        String validJson = "{\"event\":{\"payment\":[{\"card\":{\"brand\":\"VISA\"}},\"x\"]},\"cash\":\"texto\"}";
+
+        // When
+        String sanitized = JsonSanitizerUtil.sanitizeCallbackJson(validJson, mapper);
+
+        // Then
+        assertSame(validJson, sanitized);
+    }
+
+    @Test
+    @DisplayName("Deve ignorar campos com o mesmo nome fora de event.payment[]")
+    void shouldIgnoreSameFieldNamesOutsidePaymentPath() {
+        // Given
+        String json = """
+            {
+                "payment": [ { "cash": "texto" } ],
+                "data": { "event": { "payment": [ { "pix": "texto" } ] } },
+                "event": { "payment": [ { "items": [ { "card": "texto" } ] } ] }
+            }
+            """;
+
+        // When
+        String sanitized = JsonSanitizerUtil.sanitizeCallbackJson(json, mapper);
+
+        // Then
+        assertSame(json, sanitized);
+    }
+
+    @Test
+    @DisplayName("Deve remover apenas o campo malformado preservando os demais tokens")
+    void shouldRemoveOnlyMalformedFieldPreservingOthers() throws Exception {
+        // Given
+        String json = """
+            {
+                "event": {
+                    "type": "PAYMENT",
+                    "payment": [
+                        { "pix": "texto", "value": 100.10, "tefweb": { "sales": [ { "nsu": 123 } ] } }
+                    ]
+                },
+                "amount": 12345678901234567890.00
+            }
+            """;
+
+        // When
+        String sanitized = JsonSanitizerUtil.sanitizeCallbackJson(json, mapper);
+
+        // Then
+        assertEquals("{\"event\":{\"type\":\"PAYMENT\",\"payment\":[{\"value\":100.10,"
+                + "\"tefweb\":{\"sales\":[{\"nsu\":123}]}}]},\"amount\":12345678901234567890.00}", sanitized);
+        assertNotNull(mapper.readTree(sanitized));
+    }
+
+    @Test
+    @DisplayName("Deve retornar a entrada quando nula ou vazia")
+    void shouldReturnInputWhenNullOrEmpty() {
+        // When / Then
+        assertNull(JsonSanitizerUtil.sanitizeCallbackJson(null, mapper));
+        assertEquals("", JsonSanitizerUtil.sanitizeCallbackJson("", mapper));
+    }
+
+    @Test
+    @DisplayName("Deve retornar JSON original quando o erro aparece depois de um campo malformado")
+    void shouldReturnOriginalJsonWhenTruncatedAfterMalformedField() {
+        // Given
+        String truncatedJson = "{\"event\":{\"payment\":[{\"cash\":\"texto\"},{\"pix\":";
+
+        // When
+        String result = JsonSanitizerUtil.sanitizeCallbackJson(truncatedJson, mapper);
+
+        // Then
+        assertEquals(truncatedJson, result);
+    }
 }
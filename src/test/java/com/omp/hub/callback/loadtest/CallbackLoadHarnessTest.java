@@ -0,0 +1,409 @@
+package com.omp.hub.callback.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+/**
+ * Harness de carga: sobe a aplicacao inteira com SQS em memoria ({@link InMemorySqsClient}) e
+ * downstreams simulados ({@link StubDownstreams}), envia callbacks para o {@code CallbackController}
+ * a uma taxa fixa e mede o tempo ate cada callback sair da fila (sucesso ou DLQ).
+ * <p>
+ * Desabilitado por padrao. Exemplo:
+ * <pre>
+ * mvn test -Dtest=CallbackLoadHarnessTest -Dloadtest=true -Dloadtest.rate=100 -Dloadtest.duration-seconds=30 \
+ *     -Dloadtest.stub.sap-payments.latency-ms=200 -Dloadtest.stub.notifications.error-rate=0.05 \
+ *     -Daws.sqs.consumer.worker-threads=20
+ * </pre>
+ * Propriedades da aplicacao passadas com {@code -D} (consumer, retry, executors) sobrepoem os
+ * valores padrao do harness, que reduzem esperas (long poll, backoff) para que retries caibam no teste.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class CallbackLoadHarnessTest {
+
+    private static final String QUEUE_URL = "http://in-memory/000000000000/load-test-callback.fifo";
+    private static final String DLQ_URL = "http://in-memory/000000000000/load-test-callback-dlq.fifo";
+    private static final String GROUP_PREFIX = "callback-";
+
+    private static final InMemorySqsClient SQS = new InMemorySqsClient(
+            Integer.getInteger("loadtest.sqs.visibility-timeout-seconds", 30));
+    private static final StubDownstreams STUBS = new StubDownstreams();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @TestConfiguration
+    static class InMemorySqsConfiguration {
+
+        @Bean
+        @Primary
+        SqsClient inMemorySqsClient() {
+            return SQS;
+        }
+    }
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) throws Exception {
+        STUBS.start();
+        SQS.redrive(QUEUE_URL, DLQ_URL, Integer.getInteger("loadtest.sqs.max-receive-count", 10));
+
+        registry.add("apigee.url", STUBS::baseUrl);
+        registry.add("omp.journeys.url", STUBS::baseUrl);
+        registry.add("aws.sqs.queue-url", () -> QUEUE_URL);
+        registry.add("aws.sqs.dlq-url", () -> DLQ_URL);
+
+        tunable(registry, "feature.async-processing.enabled", "true");
+        tunable(registry, "aws.sqs.consumer.enabled", "true");
+        tunable(registry, "aws.sqs.consumer.wait-time-seconds", "1");
+        tunable(registry, "aws.sqs.consumer.visibility-retry.base-delay-seconds", "1");
+        tunable(registry, "aws.sqs.consumer.visibility-retry.max-delay-seconds", "5");
+        tunable(registry, "client.retry.retry-delay-api-seconds", "1");
+        tunable(registry, "client.retry.max-delay-api-seconds", "5");
+        tunable(registry, "logging.level.com.omp", "WARN");
+        tunable(registry, "logging.level.org.springframework.web", "WARN");
+    }
+
+    private static void tunable(DynamicPropertyRegistry registry, String key, String defaultValue) {
+        registry.add(key, () -> System.getProperty(key, defaultValue));
+    }
+
+    @AfterAll
+    static void tearDown() throws Exception {
+        STUBS.shutdown();
+    }
+
+    @Test
+    void reportThroughputAndLatency() throws Exception {
+        // Given
+        int rate = Integer.getInteger("loadtest.rate", 50);
+        int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 20);
+        int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 5);
+        int drainSeconds = Integer.getInteger("loadtest.drain-seconds", 60);
+        String mix = System.getProperty("loadtest.mix", "pix=1,credit-card=1");
+
+        List<ObjectNode> payloads = payloads(mix);
+        Tracker tracker = new Tracker();
+        SQS.addListener(tracker);
+
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        URI endpoint = URI.create("http://localhost:" + port
+                + environment.getProperty("server.servlet.context-path", "") + "/omphub/callback");
+
+        if (warmupSeconds > 0) {
+            drive(http, endpoint, payloads, tracker, rate, warmupSeconds);
+            tracker.awaitDrained(drainSeconds);
+            tracker.reset();
+        }
+
+        ThreadSampler threads = new ThreadSampler();
+
+        // When
+        threads.start();
+        long start = System.nanoTime();
+        drive(http, endpoint, payloads, tracker, rate, durationSeconds);
+        boolean drained = tracker.awaitDrained(drainSeconds);
+        threads.stop();
+
+        // Then
+        report(tracker, threads, rate, durationSeconds, mix, start);
+        assertTrue(tracker.accepted.sum() > 0, "Nenhum callback aceito pelo controller");
+        assertTrue(drained, "Callbacks ainda na fila apos " + drainSeconds + "s: " + tracker.pending.size());
+        assertEquals(0, tracker.pending.size());
+    }
+
+    private void drive(HttpClient http, URI endpoint, List<ObjectNode> payloads, Tracker tracker,
+            int rate, int durationSeconds) throws InterruptedException {
+        int total = rate * durationSeconds;
+        AtomicInteger sequence = new AtomicInteger();
+        CountDownLatch responses = new CountDownLatch(total);
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+        ScheduledFuture<?> ticks = scheduler.scheduleAtFixedRate(() -> {
+            int index = sequence.getAndIncrement();
+            if (index >= total) {
+                return;
+            }
+            String id = UUID.randomUUID().toString();
+            ObjectNode payload = payloads.get(index % payloads.size()).deepCopy();
+            payload.put("ompTransactionId", id);
+            if (payload.has("orderId")) {
+                payload.put("orderId", id);
+            }
+            if (payload.has("txId")) {
+                payload.put("txId", id.replace("-", ""));
+            }
+
+            String body = objectMapper.createObjectNode().set("data", payload).toString();
+            long sentAt = tracker.register(id);
+            http.sendAsync(HttpRequest.newBuilder(endpoint)
+                            .header("Content-Type", "application/json")
+                            .timeout(Duration.ofSeconds(30))
+                            .POST(HttpRequest.BodyPublishers.ofString(body))
+                            .build(), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        tracker.responded(id, sentAt, response != null && response.statusCode() == 200);
+                        responses.countDown();
+                    });
+        }, 0, TimeUnit.SECONDS.toNanos(1) / Math.max(1, rate), TimeUnit.NANOSECONDS);
+
+        try {
+            responses.await(durationSeconds + 60L, TimeUnit.SECONDS);
+        } finally {
+            ticks.cancel(false);
+            scheduler.shutdownNow();
+        }
+    }
+
+    private List<ObjectNode> payloads(String mix) throws Exception {
+        List<ObjectNode> payloads = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1;
+            ObjectNode payload = (ObjectNode) objectMapper.readTree(
+                    StubDownstreams.resource("/loadtest/" + parts[0].trim() + ".json"));
+            for (int i = 0; i < weight; i++) {
+                payloads.add(payload);
+            }
+        }
+        return payloads;
+    }
+
+    private void report(Tracker tracker, ThreadSampler threads, int rate, int durationSeconds, String mix,
+            long start) {
+        long[] endToEnd = tracker.endToEnd.stream().mapToLong(Long::longValue).sorted().toArray();
+        long[] ingest = tracker.ingest.stream().mapToLong(Long::longValue).sorted().toArray();
+        long lastCompletion = tracker.lastCompletion.get();
+        double elapsedSeconds = lastCompletion > start ? (lastCompletion - start) / 1e9 : durationSeconds;
+
+        StringBuilder out = new StringBuilder("\n=== Callback load test ===\n");
+        out.append(String.format("Taxa alvo: %d/s por %ds (mix %s)%n", rate, durationSeconds, mix));
+        out.append(String.format("Enviados: %d, aceitos: %d, erros HTTP: %d%n",
+                tracker.sent.sum(), tracker.accepted.sum(), tracker.rejected.sum()));
+        out.append(String.format("Concluidos: %d (DLQ: %d), ainda na fila: %d%n",
+                endToEnd.length, tracker.deadLettered.sum(), tracker.pending.size()));
+        out.append(String.format("Throughput: %.1f callbacks/s%n", endToEnd.length / elapsedSeconds));
+        out.append(String.format("Ingestao HTTP (ms): p50=%.1f p99=%.1f max=%.1f%n",
+                percentile(ingest, 50), percentile(ingest, 99), percentile(ingest, 100)));
+        out.append(String.format("Ponta a ponta (ms): p50=%.1f p99=%.1f max=%.1f%n",
+                percentile(endToEnd, 50), percentile(endToEnd, 99), percentile(endToEnd, 100)));
+        out.append(String.format("Threads: pico da JVM %d%n", threads.peak));
+        threads.maxByPool.forEach((pool, count) -> out.append(String.format("  %-32s %d%n", pool, count)));
+        out.append("Stubs (requisicoes/erros, latencia):\n");
+        STUBS.routes().forEach((name, route) -> {
+            if (route.getRequests() > 0) {
+                out.append(String.format("  %-22s %d/%d, %dms%n",
+                        name, route.getRequests(), route.getErrors(), route.getLatencyMs()));
+            }
+        });
+        System.out.println(out);
+    }
+
+    static double percentile(long[] sortedNanos, int percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sortedNanos.length) - 1;
+        return sortedNanos[Math.min(Math.max(index, 0), sortedNanos.length - 1)] / 1e6;
+    }
+
+    /**
+     * Acompanha cada callback pelo {@code ompTransactionId}, que o produtor usa no MessageGroupId.
+     * Um callback termina quando nao resta nenhuma mensagem dele na fila principal; reenvios
+     * (retry-mode resend) contam como nova mensagem do mesmo callback.
+     */
+    private final class Tracker implements InMemorySqsClient.QueueListener {
+
+        private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+        private final ConcurrentLinkedQueue<Long> endToEnd = new ConcurrentLinkedQueue<>();
+        private final ConcurrentLinkedQueue<Long> ingest = new ConcurrentLinkedQueue<>();
+        private final LongAdder sent = new LongAdder();
+        private final LongAdder accepted = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder deadLettered = new LongAdder();
+        private final AtomicLong lastCompletion = new AtomicLong();
+
+        private long register(String id) {
+            long now = System.nanoTime();
+            pending.put(id, new Pending(now));
+            sent.increment();
+            return now;
+        }
+
+        private void responded(String id, long sentAt, boolean ok) {
+            ingest.add(System.nanoTime() - sentAt);
+            if (ok) {
+                accepted.increment();
+            } else {
+                rejected.increment();
+                pending.remove(id);
+            }
+        }
+
+        @Override
+        public void sent(String queueUrl, Message message) {
+            if (QUEUE_URL.equals(queueUrl)) {
+                Pending callback = pending.get(callbackId(message));
+                if (callback != null) {
+                    callback.messages.incrementAndGet();
+                }
+            } else if (DLQ_URL.equals(queueUrl)) {
+                Pending callback = pending.get(deadLetterId(message));
+                if (callback != null) {
+                    callback.deadLettered = true;
+                }
+            }
+        }
+
+        @Override
+        public void deleted(String queueUrl, Message message) {
+            if (!QUEUE_URL.equals(queueUrl)) {
+                return;
+            }
+            String id = callbackId(message);
+            Pending callback = pending.get(id);
+            if (callback != null && callback.messages.decrementAndGet() == 0 && pending.remove(id, callback)) {
+                long now = System.nanoTime();
+                endToEnd.add(now - callback.startedAt);
+                lastCompletion.accumulateAndGet(now, Math::max);
+                if (callback.deadLettered) {
+                    deadLettered.increment();
+                }
+            }
+        }
+
+        private boolean awaitDrained(int seconds) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+            while (!pending.isEmpty() && System.nanoTime() < deadline) {
+                Thread.sleep(100);
+            }
+            return pending.isEmpty();
+        }
+
+        private void reset() {
+            pending.clear();
+            endToEnd.clear();
+            ingest.clear();
+            sent.reset();
+            accepted.reset();
+            rejected.reset();
+            deadLettered.reset();
+            lastCompletion.set(0);
+        }
+
+        private String callbackId(Message message) {
+            String group = message.attributesAsStrings().get("MessageGroupId");
+            return group != null && group.startsWith(GROUP_PREFIX) ? group.substring(GROUP_PREFIX.length()) : "";
+        }
+
+        private String deadLetterId(Message message) {
+            try {
+                JsonNode body = objectMapper.readTree(message.body());
+                return body.path("callbackRequest").path("data").path("ompTransactionId").asText("");
+            } catch (Exception e) {
+                return "";
+            }
+        }
+    }
+
+    private static final class Pending {
+
+        private final long startedAt;
+        private final AtomicInteger messages = new AtomicInteger();
+        private volatile boolean deadLettered;
+
+        private Pending(long startedAt) {
+            this.startedAt = startedAt;
+        }
+    }
+
+    /**
+     * Amostra as threads vivas a cada 250ms e guarda o maximo por pool, agrupando pelo nome sem o
+     * sufixo numerico ({@code sqs-worker-3} conta em {@code sqs-worker}).
+     */
+    private static final class ThreadSampler {
+
+        private final ThreadMXBean mxBean = ManagementFactory.getThreadMXBean();
+        private final Map<String, Integer> maxByPool = new TreeMap<>();
+        private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "load-test-thread-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        private int peak;
+
+        private void start() {
+            mxBean.resetPeakThreadCount();
+            executor.scheduleAtFixedRate(this::sample, 0, 250, TimeUnit.MILLISECONDS);
+        }
+
+        private void stop() throws InterruptedException {
+            executor.shutdown();
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+            peak = mxBean.getPeakThreadCount();
+        }
+
+        private synchronized void sample() {
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            Arrays.stream(mxBean.getThreadInfo(mxBean.getAllThreadIds()))
+                    .filter(info -> info != null)
+                    .forEach(info -> counts.merge(pool(info.getThreadName()), 1, Integer::sum));
+            counts.forEach((pool, count) -> maxByPool.merge(pool, count, Math::max));
+        }
+
+        static String pool(String threadName) {
+            String pool = threadName.replaceAll("[-#]?\\d+$", "").replaceAll("\\d+", "N");
+            return pool.isEmpty() ? threadName : pool;
+        }
+    }
+}
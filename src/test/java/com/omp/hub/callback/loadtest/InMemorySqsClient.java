@@ -0,0 +1,421 @@
+package com.omp.hub.callback.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageResponse;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesResponse;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlResponse;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+import software.amazon.awssdk.services.sqs.model.ReceiptHandleIsInvalidException;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+
+/**
+ * {@link SqsClient} em memoria com o comportamento do SQS que o consumidor depende: grupos FIFO
+ * (um grupo com mensagem em voo nao entrega as seguintes), visibility timeout, deduplicacao por
+ * {@code MessageDeduplicationId}, long polling e redrive para DLQ apos {@code maxReceiveCount}.
+ * <p>
+ * As filas sao criadas no primeiro uso, identificadas pela URL. Filas cuja URL termina em
+ * {@code .fifo} seguem a semantica FIFO; as demais entregam sem ordem de grupo.
+ */
+public class InMemorySqsClient implements SqsClient {
+
+    private static final Duration DEDUPLICATION_WINDOW = Duration.ofMinutes(5);
+
+    private final Map<String, InMemoryQueue> queues = new ConcurrentHashMap<>();
+    private final List<QueueListener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final int defaultVisibilityTimeoutSeconds;
+
+    /**
+     * Eventos das filas, usados pelo harness para medir latencia ponta a ponta.
+     */
+    public interface QueueListener {
+
+        default void sent(String queueUrl, Message message) {
+        }
+
+        default void deleted(String queueUrl, Message message) {
+        }
+    }
+
+    public InMemorySqsClient() {
+        this(30);
+    }
+
+    public InMemorySqsClient(int defaultVisibilityTimeoutSeconds) {
+        this.defaultVisibilityTimeoutSeconds = defaultVisibilityTimeoutSeconds;
+    }
+
+    public void addListener(QueueListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Mensagens recebidas {@code maxReceiveCount} vezes sem serem removidas vao para {@code dlqUrl}
+     * em vez de serem entregues de novo.
+     */
+    public void redrive(String queueUrl, String dlqUrl, int maxReceiveCount) {
+        InMemoryQueue queue = queue(queueUrl);
+        queue.lock.lock();
+        try {
+            queue.dlqUrl = dlqUrl;
+            queue.maxReceiveCount = maxReceiveCount;
+        } finally {
+            queue.lock.unlock();
+        }
+    }
+
+    public int size(String queueUrl) {
+        InMemoryQueue queue = queue(queueUrl);
+        queue.lock.lock();
+        try {
+            return queue.messages.size();
+        } finally {
+            queue.lock.unlock();
+        }
+    }
+
+    public int inFlight(String queueUrl) {
+        InMemoryQueue queue = queue(queueUrl);
+        queue.lock.lock();
+        try {
+            long now = System.nanoTime();
+            return (int) queue.messages.stream().filter(message -> !message.isVisible(now)).count();
+        } finally {
+            queue.lock.unlock();
+        }
+    }
+
+    @Override
+    public SendMessageResponse sendMessage(SendMessageRequest request) {
+        StoredMessage message = enqueue(request.queueUrl(), request.messageBody(), request.messageGroupId(),
+                request.messageDeduplicationId(), request.messageAttributes(), request.delaySeconds());
+        return SendMessageResponse.builder()
+                .messageId(message.messageId)
+                .sequenceNumber(String.valueOf(message.sequenceNumber))
+                .build();
+    }
+
+    @Override
+    public SendMessageBatchResponse sendMessageBatch(SendMessageBatchRequest request) {
+        List<SendMessageBatchResultEntry> successful = new ArrayList<>();
+        List<BatchResultErrorEntry> failed = new ArrayList<>();
+
+        for (SendMessageBatchRequestEntry entry : request.entries()) {
+            try {
+                StoredMessage message = enqueue(request.queueUrl(), entry.messageBody(), entry.messageGroupId(),
+                        entry.messageDeduplicationId(), entry.messageAttributes(), entry.delaySeconds());
+                successful.add(SendMessageBatchResultEntry.builder()
+                        .id(entry.id())
+                        .messageId(message.messageId)
+                        .sequenceNumber(String.valueOf(message.sequenceNumber))
+                        .build());
+            } catch (RuntimeException e) {
+                failed.add(BatchResultErrorEntry.builder()
+                        .id(entry.id())
+                        .code("InternalError")
+                        .message(e.getMessage())
+                        .senderFault(false)
+                        .build());
+            }
+        }
+
+        return SendMessageBatchResponse.builder().successful(successful).failed(failed).build();
+    }
+
+    @Override
+    public ReceiveMessageResponse receiveMessage(ReceiveMessageRequest request) {
+        InMemoryQueue queue = queue(request.queueUrl());
+        int max = request.maxNumberOfMessages() != null ? Math.max(1, request.maxNumberOfMessages()) : 1;
+        int waitSeconds = request.waitTimeSeconds() != null ? request.waitTimeSeconds() : 0;
+        int visibilitySeconds = request.visibilityTimeout() != null
+                ? request.visibilityTimeout()
+                : defaultVisibilityTimeoutSeconds;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(waitSeconds);
+
+        List<Message> received = new ArrayList<>();
+        List<StoredMessage> redriven = new ArrayList<>();
+
+        queue.lock.lock();
+        try {
+            while (true) {
+                long now = System.nanoTime();
+                collect(queue, max, visibilitySeconds, now, received, redriven);
+                if (!received.isEmpty() || now >= deadline) {
+                    break;
+                }
+                long waitNanos = Math.min(deadline, queue.nextVisibleAt(now)) - now;
+                try {
+                    queue.changed.awaitNanos(Math.max(waitNanos, TimeUnit.MILLISECONDS.toNanos(1)));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        } finally {
+            queue.lock.unlock();
+        }
+
+        for (StoredMessage message : redriven) {
+            enqueue(queue.dlqUrl, message.body, message.groupId, null, message.attributes, null);
+        }
+
+        return ReceiveMessageResponse.builder().messages(received).build();
+    }
+
+    /**
+     * Percorre a fila em ordem de envio. Em filas FIFO, um grupo com mensagem em voo de um receive
+     * anterior fica bloqueado; mensagens do mesmo grupo podem vir juntas no mesmo receive.
+     */
+    private void collect(InMemoryQueue queue, int max, int visibilitySeconds, long now,
+            List<Message> received, List<StoredMessage> redriven) {
+        Set<String> blockedGroups = new HashSet<>();
+        Set<String> takenGroups = new HashSet<>();
+
+        Iterator<StoredMessage> iterator = queue.messages.iterator();
+        while (iterator.hasNext() && received.size() < max) {
+            StoredMessage message = iterator.next();
+            String group = queue.fifo ? message.groupId : null;
+
+            if (group != null && blockedGroups.contains(group)) {
+                continue;
+            }
+            if (!message.isVisible(now)) {
+                if (group != null && !takenGroups.contains(group)) {
+                    blockedGroups.add(group);
+                }
+                continue;
+            }
+            if (queue.dlqUrl != null && queue.maxReceiveCount > 0 && message.receiveCount >= queue.maxReceiveCount) {
+                iterator.remove();
+                queue.byReceipt.remove(message.receiptHandle);
+                redriven.add(message);
+                continue;
+            }
+
+            message.receiveCount++;
+            message.visibleAt = now + TimeUnit.SECONDS.toNanos(visibilitySeconds);
+            queue.byReceipt.remove(message.receiptHandle);
+            message.receiptHandle = UUID.randomUUID().toString();
+            queue.byReceipt.put(message.receiptHandle, message);
+            if (group != null) {
+                takenGroups.add(group);
+            }
+            received.add(message.toMessage());
+        }
+    }
+
+    @Override
+    public DeleteMessageResponse deleteMessage(DeleteMessageRequest request) {
+        InMemoryQueue queue = queue(request.queueUrl());
+        StoredMessage message;
+
+        queue.lock.lock();
+        try {
+            message = queue.byReceipt.remove(request.receiptHandle());
+            if (message == null) {
+                throw ReceiptHandleIsInvalidException.builder()
+                        .message("Receipt handle invalido: " + request.receiptHandle())
+                        .build();
+            }
+            queue.messages.remove(message);
+            queue.changed.signalAll();
+        } finally {
+            queue.lock.unlock();
+        }
+
+        Message deleted = message.toMessage();
+        listeners.forEach(listener -> listener.deleted(request.queueUrl(), deleted));
+        return DeleteMessageResponse.builder().build();
+    }
+
+    @Override
+    public ChangeMessageVisibilityResponse changeMessageVisibility(ChangeMessageVisibilityRequest request) {
+        InMemoryQueue queue = queue(request.queueUrl());
+
+        queue.lock.lock();
+        try {
+            StoredMessage message = queue.byReceipt.get(request.receiptHandle());
+            if (message == null) {
+                throw ReceiptHandleIsInvalidException.builder()
+                        .message("Receipt handle invalido: " + request.receiptHandle())
+                        .build();
+            }
+            int timeout = request.visibilityTimeout() != null ? request.visibilityTimeout() : 0;
+            message.visibleAt = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeout);
+            queue.changed.signalAll();
+        } finally {
+            queue.lock.unlock();
+        }
+        return ChangeMessageVisibilityResponse.builder().build();
+    }
+
+    @Override
+    public GetQueueUrlResponse getQueueUrl(GetQueueUrlRequest request) {
+        String name = request.queueName();
+        return queues.keySet().stream()
+                .filter(url -> url.endsWith("/" + name))
+                .findFirst()
+                .map(url -> GetQueueUrlResponse.builder().queueUrl(url).build())
+                .orElseGet(() -> GetQueueUrlResponse.builder().queueUrl("http://in-memory/" + name).build());
+    }
+
+    @Override
+    public GetQueueAttributesResponse getQueueAttributes(GetQueueAttributesRequest request) {
+        int total = size(request.queueUrl());
+        int notVisible = inFlight(request.queueUrl());
+        Map<QueueAttributeName, String> attributes = new HashMap<>();
+        attributes.put(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES, String.valueOf(total - notVisible));
+        attributes.put(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES_NOT_VISIBLE, String.valueOf(notVisible));
+        return GetQueueAttributesResponse.builder().attributes(attributes).build();
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+        queues.clear();
+    }
+
+    private StoredMessage enqueue(String queueUrl, String body, String groupId, String deduplicationId,
+            Map<String, MessageAttributeValue> attributes, Integer delaySeconds) {
+        InMemoryQueue queue = queue(queueUrl);
+        StoredMessage message;
+
+        queue.lock.lock();
+        try {
+            long now = System.nanoTime();
+            if (queue.fifo && deduplicationId != null) {
+                queue.deduplication.values().removeIf(sentAt -> now - sentAt > DEDUPLICATION_WINDOW.toNanos());
+                if (queue.deduplication.putIfAbsent(deduplicationId, now) != null) {
+                    return new StoredMessage(UUID.randomUUID().toString(), sequence.incrementAndGet(), body, groupId,
+                            attributes, now);
+                }
+            }
+
+            long visibleAt = delaySeconds != null && !queue.fifo ? now + TimeUnit.SECONDS.toNanos(delaySeconds) : now;
+            message = new StoredMessage(UUID.randomUUID().toString(), sequence.incrementAndGet(), body, groupId,
+                    attributes, visibleAt);
+            queue.messages.add(message);
+            queue.changed.signalAll();
+        } finally {
+            queue.lock.unlock();
+        }
+
+        Message sent = message.toMessage();
+        listeners.forEach(listener -> listener.sent(queueUrl, sent));
+        return message;
+    }
+
+    private InMemoryQueue queue(String queueUrl) {
+        if (queueUrl == null) {
+            throw new IllegalArgumentException("QueueUrl obrigatoria");
+        }
+        return queues.computeIfAbsent(queueUrl, url -> new InMemoryQueue(url.endsWith(".fifo")));
+    }
+
+    private static final class InMemoryQueue {
+
+        private final boolean fifo;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition changed = lock.newCondition();
+        private final LinkedList<StoredMessage> messages = new LinkedList<>();
+        private final Map<String, StoredMessage> byReceipt = new HashMap<>();
+        private final Map<String, Long> deduplication = new HashMap<>();
+        private String dlqUrl;
+        private int maxReceiveCount;
+
+        private InMemoryQueue(boolean fifo) {
+            this.fifo = fifo;
+        }
+
+        private long nextVisibleAt(long now) {
+            long next = Long.MAX_VALUE;
+            for (StoredMessage message : messages) {
+                if (message.visibleAt > now) {
+                    next = Math.min(next, message.visibleAt);
+                }
+            }
+            return next;
+        }
+    }
+
+    private static final class StoredMessage {
+
+        private final String messageId;
+        private final long sequenceNumber;
+        private final String body;
+        private final String groupId;
+        private final Map<String, MessageAttributeValue> attributes;
+        private final long sentTimestamp = System.currentTimeMillis();
+        private long visibleAt;
+        private int receiveCount;
+        private String receiptHandle;
+
+        private StoredMessage(String messageId, long sequenceNumber, String body, String groupId,
+                Map<String, MessageAttributeValue> attributes, long visibleAt) {
+            this.messageId = messageId;
+            this.sequenceNumber = sequenceNumber;
+            this.body = body;
+            this.groupId = groupId;
+            this.attributes = attributes != null ? Map.copyOf(attributes) : Map.of();
+            this.visibleAt = visibleAt;
+        }
+
+        private boolean isVisible(long now) {
+            return visibleAt <= now;
+        }
+
+        private Message toMessage() {
+            Map<MessageSystemAttributeName, String> system = new HashMap<>();
+            system.put(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT, String.valueOf(receiveCount));
+            system.put(MessageSystemAttributeName.SENT_TIMESTAMP, String.valueOf(sentTimestamp));
+            system.put(MessageSystemAttributeName.SEQUENCE_NUMBER, String.valueOf(sequenceNumber));
+            if (groupId != null) {
+                system.put(MessageSystemAttributeName.MESSAGE_GROUP_ID, groupId);
+            }
+            return Message.builder()
+                    .messageId(messageId)
+                    .receiptHandle(receiptHandle)
+                    .body(body)
+                    .attributes(system)
+                    .messageAttributes(attributes)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.omp.hub.callback.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.ReceiptHandleIsInvalidException;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+
+class InMemorySqsClientTest {
+
+    private static final String QUEUE = "http://in-memory/000000000000/callbacks.fifo";
+    private static final String DLQ = "http://in-memory/000000000000/callbacks-dlq.fifo";
+
+    private InMemorySqsClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = new InMemorySqsClient(30);
+    }
+
+    @Test
+    void shouldNotDeliverNextMessageOfGroupWhileFirstIsInFlight() {
+        // Given
+        send("group-a", "a1");
+        send("group-a", "a2");
+        send("group-b", "b1");
+
+        // When
+        List<Message> first = receive(1);
+        List<Message> second = receive(10);
+
+        // Then
+        assertEquals(List.of("a1"), bodies(first));
+        assertEquals(List.of("b1"), bodies(second));
+
+        // When
+        delete(first.get(0));
+        List<Message> third = receive(10);
+
+        // Then
+        assertEquals(List.of("a2"), bodies(third));
+    }
+
+    @Test
+    void shouldReturnSeveralMessagesOfSameGroupInOrderInOneReceive() {
+        // Given
+        send("group-a", "a1");
+        send("group-a", "a2");
+
+        // When
+        List<Message> messages = receive(10);
+
+        // Then
+        assertEquals(List.of("a1", "a2"), bodies(messages));
+    }
+
+    @Test
+    void shouldRedeliverWhenVisibilityIsChangedToZero() {
+        // Given
+        send("group-a", "a1");
+        Message message = receive(1).get(0);
+
+        // When
+        client.changeMessageVisibility(ChangeMessageVisibilityRequest.builder()
+                .queueUrl(QUEUE)
+                .receiptHandle(message.receiptHandle())
+                .visibilityTimeout(0)
+                .build());
+        List<Message> redelivered = receive(1);
+
+        // Then
+        assertEquals(List.of("a1"), bodies(redelivered));
+        assertEquals("2", redelivered.get(0).attributesAsStrings().get("ApproximateReceiveCount"));
+        assertEquals("group-a", redelivered.get(0).attributesAsStrings().get("MessageGroupId"));
+    }
+
+    @Test
+    void shouldWaitForVisibilityTimeoutDuringLongPoll() {
+        // Given
+        client = new InMemorySqsClient(1);
+        send("group-a", "a1");
+        receive(1);
+
+        // When
+        long start = System.nanoTime();
+        List<Message> redelivered = client.receiveMessage(ReceiveMessageRequest.builder()
+                .queueUrl(QUEUE)
+                .maxNumberOfMessages(1)
+                .waitTimeSeconds(3)
+                .build()).messages();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Then
+        assertEquals(List.of("a1"), bodies(redelivered));
+        assertTrue(elapsedMillis >= 500, "Redelivery antes do visibility timeout: " + elapsedMillis + "ms");
+    }
+
+    @Test
+    void shouldMoveToDlqAfterMaxReceiveCount() {
+        // Given
+        client.redrive(QUEUE, DLQ, 2);
+        send("group-a", "a1");
+
+        // When
+        for (int i = 0; i < 2; i++) {
+            Message message = receive(1).get(0);
+            client.changeMessageVisibility(ChangeMessageVisibilityRequest.builder()
+                    .queueUrl(QUEUE)
+                    .receiptHandle(message.receiptHandle())
+                    .visibilityTimeout(0)
+                    .build());
+        }
+        List<Message> afterLimit = receive(1);
+
+        // Then
+        assertTrue(afterLimit.isEmpty());
+        assertEquals(0, client.size(QUEUE));
+        assertEquals(1, client.size(DLQ));
+    }
+
+    @Test
+    void shouldIgnoreDuplicatedDeduplicationId() {
+        // Given
+        SendMessageRequest request = SendMessageRequest.builder()
+                .queueUrl(QUEUE)
+                .messageBody("a1")
+                .messageGroupId("group-a")
+                .messageDeduplicationId("dedup-1")
+                .build();
+
+        // When
+        client.sendMessage(request);
+        client.sendMessage(request);
+
+        // Then
+        assertEquals(1, client.size(QUEUE));
+    }
+
+    @Test
+    void shouldSendBatchAndKeepMessageAttributes() {
+        // Given
+        SendMessageBatchRequest request = SendMessageBatchRequest.builder()
+                .queueUrl(QUEUE)
+                .entries(SendMessageBatchRequestEntry.builder()
+                                .id("0")
+                                .messageBody("a1")
+                                .messageGroupId("group-a")
+                                .messageAttributes(Map.of("timestamp", MessageAttributeValue.builder()
+                                        .dataType("String")
+                                        .stringValue("2024-05-10T14:32:11")
+                                        .build()))
+                                .build(),
+                        SendMessageBatchRequestEntry.builder()
+                                .id("1")
+                                .messageBody("b1")
+                                .messageGroupId("group-b")
+                                .build())
+                .build();
+
+        // When
+        SendMessageBatchResponse response = client.sendMessageBatch(request);
+        List<Message> messages = receive(10);
+
+        // Then
+        assertEquals(2, response.successful().size());
+        assertEquals(List.of("a1", "b1"), bodies(messages));
+        assertEquals("2024-05-10T14:32:11", messages.get(0).messageAttributes().get("timestamp").stringValue());
+    }
+
+    @Test
+    void shouldNotifyListenerOnSendAndDelete() {
+        // Given
+        List<String> events = new ArrayList<>();
+        client.addListener(new InMemorySqsClient.QueueListener() {
+            @Override
+            public void sent(String queueUrl, Message message) {
+                events.add("sent:" + message.body());
+            }
+
+            @Override
+            public void deleted(String queueUrl, Message message) {
+                events.add("deleted:" + message.body());
+            }
+        });
+        send("group-a", "a1");
+
+        // When
+        delete(receive(1).get(0));
+
+        // Then
+        assertEquals(List.of("sent:a1", "deleted:a1"), events);
+    }
+
+    @Test
+    void shouldRejectDeleteWithUnknownReceiptHandle() {
+        // Given
+        DeleteMessageRequest request = DeleteMessageRequest.builder()
+                .queueUrl(QUEUE)
+                .receiptHandle("unknown")
+                .build();
+
+        // When / Then
+        assertThrows(ReceiptHandleIsInvalidException.class, () -> client.deleteMessage(request));
+    }
+
+    private void send(String groupId, String body) {
+        client.sendMessage(SendMessageRequest.builder()
+                .queueUrl(QUEUE)
+                .messageBody(body)
+                .messageGroupId(groupId)
+                .build());
+    }
+
+    private List<Message> receive(int max) {
+        return client.receiveMessage(ReceiveMessageRequest.builder()
+                .queueUrl(QUEUE)
+                .maxNumberOfMessages(max)
+                .waitTimeSeconds(0)
+                .build()).messages();
+    }
+
+    private void delete(Message message) {
+        client.deleteMessage(DeleteMessageRequest.builder()
+                .queueUrl(QUEUE)
+                .receiptHandle(message.receiptHandle())
+                .build());
+    }
+
+    private static List<String> bodies(List<Message> messages) {
+        return messages.stream().map(Message::body).toList();
+    }
+}
@@ -0,0 +1,184 @@
+package com.omp.hub.callback.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+/**
+ * Apigee e Journey MS simulados por um {@link MockWebServer}.
+ * <p>
+ * Cada rota tem latencia e taxa de erro proprias, lidas de
+ * {@code loadtest.stub.<rota>.latency-ms} e {@code loadtest.stub.<rota>.error-rate} (0 a 1), com
+ * fallback para {@code loadtest.stub.latency-ms} e {@code loadtest.stub.error-rate}. Erros
+ * respondem 503 sem body, como um gateway indisponivel.
+ */
+public class StubDownstreams {
+
+    public static final String TOKEN = "token";
+    public static final String JOURNEY_GET = "journey-get";
+    public static final String JOURNEY_UPDATE = "journey-update";
+    public static final String SAP_REDEMPTIONS = "sap-redemptions";
+    public static final String SAP_PAYMENTS = "sap-payments";
+    public static final String SAP_BILLING_PAYMENTS = "sap-billing-payments";
+    public static final String NOTIFICATIONS = "notifications";
+    public static final String COMMUNICATION = "communication";
+    public static final String OTHER = "other";
+
+    private static final String PREFIX = "loadtest.stub.";
+    private static final String TOKEN_RESPONSE = "{\"access_token\":\"load-test-token\",\"token_type\":\"Bearer\","
+            + "\"expires_in\":\"3599\"}";
+
+    private final MockWebServer server = new MockWebServer();
+    private final Map<String, Route> routes = new LinkedHashMap<>();
+    private final String informationPayment;
+
+    public StubDownstreams() {
+        for (String name : new String[] {TOKEN, JOURNEY_GET, JOURNEY_UPDATE, SAP_REDEMPTIONS, SAP_PAYMENTS,
+                SAP_BILLING_PAYMENTS, NOTIFICATIONS, COMMUNICATION, OTHER}) {
+            routes.put(name, new Route(
+                    Long.getLong(PREFIX + name + ".latency-ms", Long.getLong(PREFIX + "latency-ms", 20L)),
+                    doubleProperty(PREFIX + name + ".error-rate", doubleProperty(PREFIX + "error-rate", 0d))));
+        }
+        this.informationPayment = resource("/loadtest/information-payment.json");
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return respond(request);
+            }
+        });
+    }
+
+    public void start() throws IOException {
+        server.start();
+    }
+
+    public void shutdown() throws IOException {
+        server.shutdown();
+    }
+
+    /**
+     * URL base sem barra final, no formato esperado por {@code apigee.url} e {@code omp.journeys.url}.
+     */
+    public String baseUrl() {
+        String url = server.url("/").toString();
+        return url.substring(0, url.length() - 1);
+    }
+
+    public Map<String, Route> routes() {
+        return routes;
+    }
+
+    MockResponse respond(RecordedRequest request) {
+        String name = route(request.getMethod(), request.getRequestUrl() != null
+                ? request.getRequestUrl().encodedPath()
+                : request.getPath());
+        Route route = routes.get(name);
+        route.requests.increment();
+
+        MockResponse response;
+        if (route.errorRate > 0 && ThreadLocalRandom.current().nextDouble() < route.errorRate) {
+            route.errors.increment();
+            response = new MockResponse().setResponseCode(503);
+        } else {
+            response = new MockResponse()
+                    .setResponseCode(200)
+                    .setHeader("Content-Type", "application/json")
+                    .setBody(body(name));
+        }
+        if (route.latencyMs > 0) {
+            response.setHeadersDelay(route.latencyMs, TimeUnit.MILLISECONDS);
+        }
+        return response;
+    }
+
+    static String route(String method, String path) {
+        if (path == null) {
+            return OTHER;
+        }
+        if (path.endsWith("/oauth2/v1/token")) {
+            return TOKEN;
+        }
+        if (path.contains("/information_payments")) {
+            return "GET".equals(method) ? JOURNEY_GET : JOURNEY_UPDATE;
+        }
+        if (path.endsWith("/materials/orders/redemptions")) {
+            return SAP_REDEMPTIONS;
+        }
+        if (path.endsWith("/materials/orders/payments")) {
+            return SAP_PAYMENTS;
+        }
+        if (path.endsWith("/sap/billingpayments")) {
+            return SAP_BILLING_PAYMENTS;
+        }
+        if (path.endsWith("/transactions/notifications")) {
+            return NOTIFICATIONS;
+        }
+        if (path.endsWith("/communication/v1/messages")) {
+            return COMMUNICATION;
+        }
+        return OTHER;
+    }
+
+    private String body(String route) {
+        return switch (route) {
+            case TOKEN -> TOKEN_RESPONSE;
+            case JOURNEY_GET -> informationPayment;
+            default -> "{}";
+        };
+    }
+
+    private static double doubleProperty(String key, double defaultValue) {
+        String value = System.getProperty(key);
+        return value != null ? Double.parseDouble(value) : defaultValue;
+    }
+
+    static String resource(String path) {
+        try (InputStream in = StubDownstreams.class.getResourceAsStream(path)) {
+            if (in == null) {
+                throw new IllegalStateException("Recurso nao encontrado: " + path);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("Falha ao ler " + path, e);
+        }
+    }
+
+    public static final class Route {
+
+        private final long latencyMs;
+        private final double errorRate;
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+
+        private Route(long latencyMs, double errorRate) {
+            this.latencyMs = latencyMs;
+            this.errorRate = errorRate;
+        }
+
+        public long getLatencyMs() {
+            return latencyMs;
+        }
+
+        public double getErrorRate() {
+            return errorRate;
+        }
+
+        public long getRequests() {
+            return requests.sum();
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+    }
+}